@@ -0,0 +1,207 @@
+package com.hrishabh.algocracksubmissionservice.judging.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic raw outputs, shaped exactly like what CXE returns for each
+ * question family. All generators are deterministic (fixed seed) so reports
+ * from different runs are comparable.
+ *
+ * "size" is the number of elements (array entries, tree nodes, edges,
+ * graph nodes, matrix cells, design-class operations).
+ */
+final class JudgingPayloads {
+
+    private static final long SEED = 42L;
+
+    private JudgingPayloads() {
+    }
+
+    /**
+     * [0, 1, 2, ..., n-1], optionally shuffled.
+     */
+    static String intArray(int n, boolean shuffled) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        if (shuffled) {
+            shuffle(values, new SplittableRandom(SEED));
+        }
+        StringBuilder sb = new StringBuilder(n * 8).append('[');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * n/3 triplets (e.g. 3Sum output). When shuffled, both the outer order and
+     * the order inside each triplet are permuted.
+     */
+    static String nestedList(int n, boolean shuffled) {
+        int groups = Math.max(1, n / 3);
+        int[] order = new int[groups];
+        for (int i = 0; i < groups; i++) {
+            order[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        if (shuffled) {
+            shuffle(order, random);
+        }
+        StringBuilder sb = new StringBuilder(groups * 24).append('[');
+        for (int g = 0; g < groups; g++) {
+            if (g > 0) sb.append(',');
+            int base = order[g] * 3;
+            int[] triplet = {base, base + 1, base + 2};
+            if (shuffled) {
+                shuffle(triplet, random);
+            }
+            sb.append('[').append(triplet[0]).append(',').append(triplet[1]).append(',').append(triplet[2]).append(']');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Complete binary tree of n nodes in level order (no nulls).
+     */
+    static String completeTree(int n) {
+        return intArray(n, false);
+    }
+
+    /**
+     * Right-skewed tree of n nodes in level order: [0,null,1,null,2,...].
+     * This is the flattened-tree (linked list form) shape.
+     */
+    static String rightSkewedTree(int n) {
+        StringBuilder sb = new StringBuilder(n * 12).append('[');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(",null,");
+            sb.append(i);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * n undirected edges over n nodes (a spanning path plus random chords).
+     * When scrambled, edge order is shuffled and every other edge is reversed.
+     */
+    static String edgeList(int n, boolean scrambled) {
+        int[] a = new int[n];
+        int[] b = new int[n];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < n; i++) {
+            a[i] = i;
+            b[i] = i + 1 < n ? i + 1 : random.nextInt(Math.max(1, n));
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (scrambled) {
+            shuffle(order, new SplittableRandom(SEED + 1));
+        }
+        StringBuilder sb = new StringBuilder(n * 16).append('[');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            int e = order[i];
+            boolean flip = scrambled && (i & 1) == 1;
+            sb.append('[').append(flip ? b[e] : a[e]).append(',').append(flip ? a[e] : b[e]).append(']');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Clone Graph output: 1-indexed adjacency list of an n-node ring.
+     */
+    static String ringAdjacencyList(int n) {
+        StringBuilder sb = new StringBuilder(n * 16).append('[');
+        for (int i = 1; i <= n; i++) {
+            if (i > 1) sb.append(',');
+            int prev = i == 1 ? n : i - 1;
+            int next = i == n ? 1 : i + 1;
+            if (n == 1) {
+                sb.append("[]");
+            } else if (prev == next) {
+                sb.append('[').append(prev).append(']');
+            } else {
+                sb.append('[').append(prev).append(',').append(next).append(']');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * A solved 9x9 Sudoku as char[][] (rows serialized as strings).
+     * Sudoku is fixed-size; the size parameter does not apply.
+     */
+    static String sudokuBoard() {
+        StringBuilder sb = new StringBuilder(120).append('[');
+        for (int row = 0; row < 9; row++) {
+            if (row > 0) sb.append(',');
+            sb.append('"');
+            for (int col = 0; col < 9; col++) {
+                sb.append((char) ('1' + (row * 3 + row / 3 + col) % 9));
+            }
+            sb.append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Square char[][] of roughly n cells (Surrounded Regions style), rows
+     * serialized as strings.
+     */
+    static String charMatrix(int n) {
+        int side = Math.max(1, (int) Math.sqrt(n));
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(side * (side + 3) + 2).append('[');
+        for (int row = 0; row < side; row++) {
+            if (row > 0) sb.append(',');
+            sb.append('"');
+            for (int col = 0; col < side; col++) {
+                sb.append(random.nextInt(4) == 0 ? 'O' : 'X');
+            }
+            sb.append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Stateful design-class result array (LRU Cache style): constructor null
+     * followed by n-1 mixed observable results.
+     */
+    static String statefulSequence(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(n * 6).append("[null");
+        for (int i = 1; i < n; i++) {
+            sb.append(',');
+            switch (random.nextInt(4)) {
+                case 0 -> sb.append("null");
+                case 1 -> sb.append(-1);
+                case 2 -> sb.append(random.nextBoolean());
+                default -> sb.append(random.nextInt(10_000));
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Codec round-trip result array: [null, "serialized", [tree]] where the
+     * tree has n nodes.
+     */
+    static String roundTrip(int n) {
+        String tree = completeTree(n);
+        return "[null," + '"' + tree.replace(',', '#') + '"' + ',' + tree + ']';
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
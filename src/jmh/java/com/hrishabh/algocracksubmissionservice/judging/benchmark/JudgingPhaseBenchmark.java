@@ -0,0 +1,80 @@
+package com.hrishabh.algocracksubmissionservice.judging.benchmark;
+
+import com.hrishabh.algocracksubmissionservice.judging.ExecutionOutput;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingResult;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.ComparisonResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase cost of the assembled pipeline for every scenario and size:
+ * extract (user side), normalize (user side), compare, and the full judge()
+ * of one passing testcase.
+ *
+ * Run: ./gradlew jmh -Pjmh.include=JudgingPhaseBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JudgingPhaseBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PhaseState extends PipelineFixture {
+
+        @Param
+        public Scenario scenario;
+
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        public ExecutionOutput userOutput;
+        public ExecutionOutput oracleOutput;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            setUp(scenario, size);
+            userOutput = ExecutionOutput.builder().rawOutput(userRaw).build();
+            oracleOutput = ExecutionOutput.builder().rawOutput(oracleRaw).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            tearDown();
+        }
+    }
+
+    @Benchmark
+    public Object extract(PhaseState state) {
+        return state.pipeline.getExtractor().extract(state.userRaw, state.context);
+    }
+
+    @Benchmark
+    public Object normalize(PhaseState state) {
+        return state.pipeline.getNormalizer().normalize(state.userExtracted, state.context);
+    }
+
+    @Benchmark
+    public ComparisonResult compare(PhaseState state) {
+        return state.pipeline.getComparator().compare(state.userNormalized, state.oracleNormalized, state.context);
+    }
+
+    @Benchmark
+    public JudgingResult judge(PhaseState state) {
+        return state.pipeline.judge(state.userOutput, state.oracleOutput, state.context);
+    }
+}
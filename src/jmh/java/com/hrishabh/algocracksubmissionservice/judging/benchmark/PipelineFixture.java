@@ -0,0 +1,52 @@
+package com.hrishabh.algocracksubmissionservice.judging.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingPipeline;
+import com.hrishabh.algocracksubmissionservice.judging.PipelineAssembler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Shared benchmark setup: boots the judging package in a bare Spring context
+ * (the same component wiring the service uses), assembles the pipeline for a
+ * scenario, and precomputes each phase's inputs so every benchmark measures
+ * exactly one phase.
+ */
+public abstract class PipelineFixture {
+
+    private AnnotationConfigApplicationContext spring;
+
+    public JudgingPipeline pipeline;
+    public JudgingContext context;
+
+    public String userRaw;
+    public String oracleRaw;
+    public Object userExtracted;
+    public Object oracleExtracted;
+    public Object userNormalized;
+    public Object oracleNormalized;
+
+    protected void setUp(Scenario scenario, int size) {
+        spring = new AnnotationConfigApplicationContext();
+        spring.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        spring.registerBean(MeterRegistry.class, () -> new SimpleMeterRegistry());
+        spring.scan("com.hrishabh.algocracksubmissionservice.judging");
+        spring.refresh();
+
+        context = scenario.context();
+        pipeline = spring.getBean(PipelineAssembler.class).assemble(context);
+
+        userRaw = scenario.userOutput(size);
+        oracleRaw = scenario.oracleOutput(size);
+        userExtracted = pipeline.getExtractor().extract(userRaw, context);
+        oracleExtracted = pipeline.getExtractor().extract(oracleRaw, context);
+        userNormalized = pipeline.getNormalizer().normalize(userExtracted, context);
+        oracleNormalized = pipeline.getNormalizer().normalize(oracleExtracted, context);
+    }
+
+    protected void tearDown() {
+        spring.close();
+    }
+}
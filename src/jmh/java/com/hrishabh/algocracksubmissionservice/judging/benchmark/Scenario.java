@@ -0,0 +1,124 @@
+package com.hrishabh.algocracksubmissionservice.judging.benchmark;
+
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.models.NodeType;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Question families covered by the benchmarks. Each scenario carries the
+ * JudgingContext that routes PipelineAssembler to a specific component
+ * combination, plus matching user/oracle payloads. Together the scenarios
+ * reach every extractor, normalizer, comparator and validator the
+ * assembler wires:
+ *
+ * - INT_ARRAY:             JsonArrayExtractor, IdentityNormalizer, JsonDeepComparator
+ * - INT_ARRAY_UNORDERED:   SortedListNormalizer, SetEqualityComparator
+ * - NESTED_LIST_UNORDERED: SortedNestedListNormalizer
+ * - EDGE_LIST_UNORDERED:   EdgeNormalizer
+ * - TREE:                  StructuralTreeComparator, StructuralSafetyValidator
+ * - LINEAR_TREE:           LinkedListShapeValidator
+ * - LINKED_LIST:           ExactMatchComparator
+ * - CLONE_GRAPH:           IdentityExtractor, DeepCopyValidator
+ * - SUDOKU:                CharMatrixNormalizer, SudokuConstraintValidator (fixed 9x9)
+ * - CHAR_MATRIX:           CharMatrixNormalizer
+ * - DESIGN_STATEFUL:       DesignClassExtractor, DesignClassSizeValidator
+ * - DESIGN_ROUND_TRIP:     DesignClassExtractor (ROUND_TRIP)
+ *
+ * Unordered scenarios feed the user side in a scrambled order so
+ * normalizers do real work; all scenarios are passing testcases (the
+ * common case, and the one that runs every phase).
+ */
+public enum Scenario {
+
+    INT_ARRAY(
+            JudgingContext.builder().returnType("int[]").isOutputOrderMatters(true).build(),
+            n -> JudgingPayloads.intArray(n, false),
+            n -> JudgingPayloads.intArray(n, false)),
+
+    INT_ARRAY_UNORDERED(
+            JudgingContext.builder().returnType("List<Integer>").isOutputOrderMatters(false).build(),
+            n -> JudgingPayloads.intArray(n, true),
+            n -> JudgingPayloads.intArray(n, false)),
+
+    NESTED_LIST_UNORDERED(
+            JudgingContext.builder().returnType("List<List<Integer>>").isOutputOrderMatters(false).build(),
+            n -> JudgingPayloads.nestedList(n, true),
+            n -> JudgingPayloads.nestedList(n, false)),
+
+    EDGE_LIST_UNORDERED(
+            JudgingContext.builder().returnType("List<List<Integer>>").nodeType(NodeType.GRAPH_NODE)
+                    .isOutputOrderMatters(false).build(),
+            n -> JudgingPayloads.edgeList(n, true),
+            n -> JudgingPayloads.edgeList(n, false)),
+
+    TREE(
+            JudgingContext.builder().returnType("TreeNode").nodeType(NodeType.TREE_NODE).build(),
+            JudgingPayloads::completeTree,
+            JudgingPayloads::completeTree),
+
+    LINEAR_TREE(
+            JudgingContext.builder().returnType("void").effectiveOutputType("TreeNode")
+                    .nodeType(NodeType.TREE_NODE).validationHints(List.of("EXPECT_LINEAR_FORM")).build(),
+            JudgingPayloads::rightSkewedTree,
+            JudgingPayloads::rightSkewedTree),
+
+    LINKED_LIST(
+            JudgingContext.builder().returnType("ListNode").nodeType(NodeType.LIST_NODE).build(),
+            n -> JudgingPayloads.intArray(n, false),
+            n -> JudgingPayloads.intArray(n, false)),
+
+    CLONE_GRAPH(
+            JudgingContext.builder().returnType("Node").nodeType(NodeType.GRAPH_NODE)
+                    .validationHints(List.of("REQUIRE_DEEP_COPY")).build(),
+            JudgingPayloads::ringAdjacencyList,
+            JudgingPayloads::ringAdjacencyList),
+
+    SUDOKU(
+            JudgingContext.builder().returnType("void").mutationTarget("board").effectiveOutputType("char[][]")
+                    .validationHints(List.of("SUDOKU_RULES")).build(),
+            n -> JudgingPayloads.sudokuBoard(),
+            n -> JudgingPayloads.sudokuBoard()),
+
+    CHAR_MATRIX(
+            JudgingContext.builder().returnType("void").mutationTarget("board").effectiveOutputType("char[][]")
+                    .build(),
+            JudgingPayloads::charMatrix,
+            JudgingPayloads::charMatrix),
+
+    DESIGN_STATEFUL(
+            JudgingContext.builder().executionStrategy("CLASS").returnType("LRUCache")
+                    .validationHints(List.of("STATEFUL_SEQUENCE")).build(),
+            JudgingPayloads::statefulSequence,
+            JudgingPayloads::statefulSequence),
+
+    DESIGN_ROUND_TRIP(
+            JudgingContext.builder().executionStrategy("CLASS").returnType("Codec").nodeType(NodeType.TREE_NODE)
+                    .validationHints(List.of("ROUND_TRIP")).build(),
+            JudgingPayloads::roundTrip,
+            JudgingPayloads::roundTrip);
+
+    private final JudgingContext context;
+    private final IntFunction<String> userOutput;
+    private final IntFunction<String> oracleOutput;
+
+    Scenario(JudgingContext context, IntFunction<String> userOutput, IntFunction<String> oracleOutput) {
+        this.context = context;
+        this.userOutput = userOutput;
+        this.oracleOutput = oracleOutput;
+        this.context.setQuestionId((long) ordinal() + 1);
+    }
+
+    public JudgingContext context() {
+        return context;
+    }
+
+    public String userOutput(int size) {
+        return userOutput.apply(size);
+    }
+
+    public String oracleOutput(int size) {
+        return oracleOutput.apply(size);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hrishabh.algocracksubmissionservice.judging.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.CharMatrixNormalizer;
+import com.hrishabh.algocracksubmissionservice.judging.validator.SudokuConstraintValidator;
+import com.hrishabh.algocracksubmissionservice.judging.validator.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitmask SudokuConstraintValidator vs the previous HashSet implementation.
+ *
+ * NORMALIZED_NODE is the production input (CharMatrixNormalizer output);
+ * RAW_STRING is an int-array board as text, which the old validator
+ * re-parsed into a tree and the new one streams.
+ *
+ * Run: ./gradlew jmh -Pjmh.include=SudokuValidatorBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SudokuValidatorBenchmark {
+
+    public enum Input {
+        NORMALIZED_NODE, RAW_STRING
+    }
+
+    @Param
+    public Input input;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JudgingContext context = JudgingContext.builder().validationHints(
+            List.of("SUDOKU_RULES")).build();
+    private final SudokuConstraintValidator bitmask = new SudokuConstraintValidator(mapper);
+    private final HashSetSudokuValidator hashSet = new HashSetSudokuValidator(mapper);
+
+    private Object board;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String rows = JudgingPayloads.sudokuBoard();
+        if (input == Input.NORMALIZED_NODE) {
+            board = new CharMatrixNormalizer(mapper).normalize(mapper.readTree(rows), context);
+        } else {
+            int[][] grid = new int[9][9];
+            String[] lines = mapper.readValue(rows, String[].class);
+            for (int r = 0; r < 9; r++) {
+                for (int c = 0; c < 9; c++) {
+                    grid[r][c] = lines[r].charAt(c) - '0';
+                }
+            }
+            board = mapper.writeValueAsString(grid);
+        }
+        if (!bitmask.validate(board, null, context).isPassed() || !hashSet.validate(board, null, context).isPassed()) {
+            throw new IllegalStateException("Benchmark board must be a valid Sudoku");
+        }
+    }
+
+    @Benchmark
+    public ValidationResult bitmask() {
+        return bitmask.validate(board, null, context);
+    }
+
+    @Benchmark
+    public ValidationResult hashSet() {
+        return hashSet.validate(board, null, context);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hrishabh.algocracksubmissionservice.judging.benchmark;
+
+import com.hrishabh.algocracksubmissionservice.judging.validator.OutputValidator;
+import com.hrishabh.algocracksubmissionservice.judging.validator.ValidationStage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the validators the assembler adds for each validator-bearing
+ * scenario, each fed the input of its stage (extracted for PRE_COMPARE,
+ * normalized for POST_COMPARE).
+ *
+ * Run: ./gradlew jmh -Pjmh.include=ValidatorBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ValidatorState extends PipelineFixture {
+
+        @Param({"TREE", "LINEAR_TREE", "LINKED_LIST", "CLONE_GRAPH", "SUDOKU", "DESIGN_STATEFUL"})
+        public Scenario scenario;
+
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            setUp(scenario, size);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            tearDown();
+        }
+    }
+
+    @Benchmark
+    public void validate(ValidatorState state, Blackhole blackhole) {
+        for (OutputValidator validator : state.pipeline.getValidators()) {
+            if (validator.getStage() == ValidationStage.PRE_COMPARE) {
+                blackhole.consume(validator.validate(state.userExtracted, state.oracleExtracted, state.context));
+            } else {
+                blackhole.consume(validator.validate(state.userNormalized, state.oracleNormalized, state.context));
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hrishabh.algocracksubmissionservice.service.benchmark;
+
+import com.hrishabh.algocracksubmissionservice.service.sketch.LogLinearHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One "beats X%" lookup over a question's accepted runtimes: the cached
+ * LogLinearHistogram ranks AcceptedDistributions serves from, against
+ * sorting the runtimes and ranking in them per request.
+ *
+ * Runtimes are log-normal around 40 ms with a long tail.
+ *
+ * Run: ./gradlew jmh -Pjmh.include=DistributionLookupBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistributionLookupBenchmark {
+
+    @Param({"1000", "100000"})
+    public int samples;
+
+    private long[] runtimes;
+    private LogLinearHistogram.Ranks ranks;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(3);
+        runtimes = new long[samples];
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 0; i < samples; i++) {
+            runtimes[i] = Math.round(Math.exp(Math.log(40) + random.nextGaussian()));
+            histogram.record(runtimes[i]);
+        }
+        ranks = histogram.ranks();
+    }
+
+    @Benchmark
+    public Double histogramRanks() {
+        return ranks.percentAbove(probe());
+    }
+
+    @Benchmark
+    public double sortPerRequest() {
+        long value = probe();
+        long[] sorted = runtimes.clone();
+        Arrays.sort(sorted);
+        int above = 0;
+        int same = 0;
+        for (long runtime : sorted) {
+            if (runtime > value) {
+                above++;
+            } else if (runtime == value) {
+                same++;
+            }
+        }
+        return (above + same / 2.0) * 100.0 / sorted.length;
+    }
+
+    private long probe() {
+        next = (next + 1) % samples;
+        return runtimes[next];
+    }
+}
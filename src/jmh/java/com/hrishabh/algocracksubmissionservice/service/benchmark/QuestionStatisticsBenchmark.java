@@ -0,0 +1,130 @@
+package com.hrishabh.algocracksubmissionservice.service.benchmark;
+
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionVerdict;
+import com.hrishabh.algocracksubmissionservice.repository.QuestionStatisticsRepository;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.AcceptedDistributions;
+import com.hrishabh.algocracksubmissionservice.service.FirstAcceptTracker;
+import com.hrishabh.algocracksubmissionservice.service.QuestionStatisticsAggregator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Verdicts per second on one hot question from 16 threads:
+ * QuestionStatisticsAggregator.record() with its flush thread running,
+ * against the previous read-modify-write of the question's row, modelled as
+ * a lock held for a 500 us commit.
+ *
+ * The repositories are no-op stand-ins, so the aggregator side measures
+ * record() and the flush's in-memory work, not the database.
+ *
+ * Run: ./gradlew jmh -Pjmh.include=QuestionStatisticsBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class QuestionStatisticsBenchmark {
+
+    private static final long ROW_COMMIT_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final Object row = new Object();
+    private final AtomicLong nextId = new AtomicLong();
+    private QuestionStatisticsAggregator aggregator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SubmissionRepository submissions = noOp(SubmissionRepository.class);
+        QuestionStatisticsRepository statistics = noOp(QuestionStatisticsRepository.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        aggregator = new QuestionStatisticsAggregator(submissions, statistics,
+                new FirstAcceptTracker(submissions, 100_000),
+                new AcceptedDistributions(statistics, registry, 1000, 30_000),
+                noOp(PlatformTransactionManager.class), registry, true, 10, 60_000, 30, 500);
+        aggregator.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        aggregator.stop();
+    }
+
+    @Benchmark
+    public void aggregated() {
+        aggregator.record(Submission.builder()
+                .id(nextId.incrementAndGet())
+                .userId("user")
+                .language("java")
+                .questionId(1L)
+                .verdict(SubmissionVerdict.ACCEPTED)
+                .runtimeMs(42)
+                .memoryKb(4000)
+                .completedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Benchmark
+    public void rowLocked() {
+        synchronized (row) {
+            LockSupport.parkNanos(ROW_COMMIT_NANOS);
+        }
+    }
+
+    /**
+     * A stand-in whose queries find nothing and whose writes change nothing;
+     * lockStatsPending finds every submission it is given still pending.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T noOp(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getName().equals("toString")) {
+                return type.getSimpleName() + " (no-op)";
+            }
+            if (method.getName().equals("lockStatsPending")) {
+                return args[0];
+            }
+            Class<?> returns = method.getReturnType();
+            if (returns == List.class) {
+                return List.of();
+            }
+            if (returns == Optional.class) {
+                return Optional.empty();
+            }
+            if (returns == int.class) {
+                return 0;
+            }
+            if (returns == long.class) {
+                return 0L;
+            }
+            if (returns == boolean.class) {
+                return false;
+            }
+            return null;
+        });
+    }
+}
@@ -9,6 +9,7 @@ import com.hrishabh.algocracksubmissionservice.dto.QuestionMetadataApiDto;
 import com.hrishabh.algocracksubmissionservice.dto.SubmissionStatusDto;
 import com.hrishabh.algocracksubmissionservice.dto.internal.*;
 import com.hrishabh.algocracksubmissionservice.service.CodeExecutionClientService;
+import com.hrishabh.algocracksubmissionservice.service.CxeLatencyTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -31,6 +32,7 @@ public class CxeExecutionAdapter implements ExecutionAdapter {
     private final CodeExecutionClientService cxeClient;
     private final ProblemServiceClient problemServiceClient;
     private final ObjectMapper objectMapper;
+    private final CxeLatencyTracker cxeLatencyTracker;
 
     private static final int MAX_POLL_ATTEMPTS = 60;
     private static final int POLL_INTERVAL_MS = 500;
@@ -88,17 +90,25 @@ public class CxeExecutionAdapter implements ExecutionAdapter {
             // 3. Submit to CXE
             System.out.println("\n[CxeExecutionAdapter] Submitting to CXE...");
             log.debug("[{}] Submitting to CXE", codeBundle.getExecutionId());
-            ExecutionResponse response = cxeClient.submitCode(cxeRequest);
-
-            System.out.println("[CxeExecutionAdapter] CXE Submit Response:");
-            System.out.println("    submissionId: " + response.getSubmissionId());
-            System.out.println("    status: " + response.getStatus());
-            System.out.println("    message: " + response.getMessage());
-            System.out.println("    queuePosition: " + response.getQueuePosition());
-
-            // 4. Poll for completion
-            System.out.println("\n[CxeExecutionAdapter] Polling CXE for completion...");
-            SubmissionStatusDto status = pollForCompletion(response.getSubmissionId());
+            // Latency of the CXE round trip (submit + poll), for admission control
+            ExecutionResponse response;
+            SubmissionStatusDto status;
+            long cxeStarted = cxeLatencyTracker.begin();
+            try {
+                response = cxeClient.submitCode(cxeRequest);
+
+                System.out.println("[CxeExecutionAdapter] CXE Submit Response:");
+                System.out.println("    submissionId: " + response.getSubmissionId());
+                System.out.println("    status: " + response.getStatus());
+                System.out.println("    message: " + response.getMessage());
+                System.out.println("    queuePosition: " + response.getQueuePosition());
+
+                // 4. Poll for completion
+                System.out.println("\n[CxeExecutionAdapter] Polling CXE for completion...");
+                status = pollForCompletion(response.getSubmissionId());
+            } finally {
+                cxeLatencyTracker.end(cxeStarted);
+            }
 
             System.out.println("\n[CxeExecutionAdapter] CXE Final Status (RECEIVED FROM CXE):");
             System.out.println("    submissionId: " + status.getSubmissionId());
@@ -147,6 +157,87 @@ public class CxeExecutionAdapter implements ExecutionAdapter {
         }
     }
 
+    /**
+     * Submit every bundle before polling any, then poll them in one loop, so
+     * a group's executions run side by side in CXE instead of each waiting
+     * out the previous one's submit and poll interval. A bundle that fails to
+     * submit or doesn't finish in time gets an INTERNAL_ERROR result; the
+     * others are unaffected.
+     */
+    @Override
+    public List<BatchExecutionResult> executeAll(List<CodeBundle> codeBundles) {
+        if (codeBundles.size() == 1) {
+            return List.of(execute(codeBundles.get(0)));
+        }
+        BatchExecutionResult[] results = new BatchExecutionResult[codeBundles.size()];
+        Map<Integer, String> pending = new LinkedHashMap<>();
+        Map<Integer, Long> started = new HashMap<>();
+
+        // 1. Submit all
+        for (int i = 0; i < codeBundles.size(); i++) {
+            CodeBundle codeBundle = codeBundles.get(i);
+            long cxeStarted = cxeLatencyTracker.begin();
+            try {
+                if (codeBundle.getMetadata() == null) {
+                    codeBundle.setMetadata(fetchMetadata(codeBundle.getQuestionId(), codeBundle.getLanguage()));
+                }
+                ExecutionResponse response = cxeClient.submitCode(translateToRequest(codeBundle));
+                log.debug("[{}] Submitted to CXE as {}", codeBundle.getExecutionId(), response.getSubmissionId());
+                pending.put(i, response.getSubmissionId());
+                started.put(i, cxeStarted);
+            } catch (Exception e) {
+                cxeLatencyTracker.end(cxeStarted);
+                log.error("[{}] CXE submit failed: {}", codeBundle.getExecutionId(), e.getMessage(), e);
+                results[i] = internalError(e.getMessage());
+            }
+        }
+
+        // 2. Poll all until done
+        boolean interrupted = false;
+        for (int attempt = 0; attempt < MAX_POLL_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            Iterator<Map.Entry<Integer, String>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, String> entry = it.next();
+                int i = entry.getKey();
+                try {
+                    SubmissionStatusDto status = cxeClient.getStatus(entry.getValue());
+                    if (!"COMPLETED".equals(status.getStatus()) && !"FAILED".equals(status.getStatus())) {
+                        continue;
+                    }
+                    results[i] = translateToResult(cxeClient.getResults(entry.getValue()));
+                } catch (Exception e) {
+                    log.error("[{}] CXE poll failed: {}", codeBundles.get(i).getExecutionId(), e.getMessage(), e);
+                    results[i] = internalError(e.getMessage());
+                }
+                cxeLatencyTracker.end(started.get(i));
+                it.remove();
+            }
+            if (!pending.isEmpty()) {
+                try {
+                    Thread.sleep(POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    break;
+                }
+            }
+        }
+        for (int i : pending.keySet()) {
+            cxeLatencyTracker.end(started.get(i));
+            results[i] = internalError(interrupted ? "Polling interrupted"
+                    : "Execution timeout after " + (MAX_POLL_ATTEMPTS * POLL_INTERVAL_MS / 1000) + " seconds");
+        }
+        return Arrays.asList(results);
+    }
+
+    private static BatchExecutionResult internalError(String message) {
+        return BatchExecutionResult.builder()
+                .status(BatchExecutionResult.ExecutionStatus.INTERNAL_ERROR)
+                .errorMessage(message)
+                .outputs(Collections.emptyList())
+                .build();
+    }
+
     /**
      * Fetch question metadata via ProblemService API.
      */
@@ -182,8 +273,9 @@ public class CxeExecutionAdapter implements ExecutionAdapter {
 
     /**
      * Translate internal CodeBundle to CXE ExecutionRequest.
+     * Public for the startup JIT warm-up and the allocation budget test.
      */
-    private ExecutionRequest translateToRequest(CodeBundle bundle) {
+    public ExecutionRequest translateToRequest(CodeBundle bundle) {
         // Convert metadata
         ExecutionRequest.QuestionMetadata cxeMetadata = ExecutionRequest.QuestionMetadata.builder()
                 .fullyQualifiedPackageName(bundle.getMetadata().getFullyQualifiedPackageName())
@@ -260,8 +352,9 @@ public class CxeExecutionAdapter implements ExecutionAdapter {
 
     /**
      * Translate CXE SubmissionStatusDto to internal BatchExecutionResult.
+     * Public for the startup JIT warm-up and the allocation budget test.
      */
-    private BatchExecutionResult translateToResult(SubmissionStatusDto status) {
+    public BatchExecutionResult translateToResult(SubmissionStatusDto status) {
         // Determine execution status
         BatchExecutionResult.ExecutionStatus execStatus = determineStatus(status);
 
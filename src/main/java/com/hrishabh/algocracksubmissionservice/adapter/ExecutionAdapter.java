@@ -3,6 +3,9 @@ package com.hrishabh.algocracksubmissionservice.adapter;
 import com.hrishabh.algocracksubmissionservice.dto.internal.BatchExecutionResult;
 import com.hrishabh.algocracksubmissionservice.dto.internal.CodeBundle;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Abstraction layer for code execution.
  * Decouples the Submission Service from any specific execution engine (CXE).
@@ -20,4 +23,17 @@ public interface ExecutionAdapter {
      * @return The execution result with outputs for each testcase
      */
     BatchExecutionResult execute(CodeBundle codeBundle);
+
+    /**
+     * Execute several bundles (e.g. a question-affinity group), returning
+     * their results in the same order. Implementations may overlap the
+     * executions; by default they run one after another.
+     */
+    default List<BatchExecutionResult> executeAll(List<CodeBundle> codeBundles) {
+        List<BatchExecutionResult> results = new ArrayList<>(codeBundles.size());
+        for (CodeBundle codeBundle : codeBundles) {
+            results.add(execute(codeBundle));
+        }
+        return results;
+    }
 }
@@ -1,5 +1,6 @@
 package com.hrishabh.algocracksubmissionservice.client;
 
+import com.hrishabh.algocracksubmissionservice.dto.ContestRegistrationDto;
 import com.hrishabh.algocracksubmissionservice.dto.QuestionMetadataApiDto;
 import com.hrishabh.algocracksubmissionservice.dto.ReferenceSolutionDto;
 import com.hrishabh.algocracksubmissionservice.dto.TestCaseDto;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -66,4 +68,18 @@ public class ProblemServiceClient {
         log.debug("Fetching oracle from: {}", url);
         return restTemplate.getForObject(url, ReferenceSolutionDto.class);
     }
+
+    /**
+     * Get a user's registration for a contest, or null if the user isn't
+     * registered.
+     */
+    public ContestRegistrationDto getContestRegistration(Long contestId, String userId) {
+        String url = problemServiceUrl + "/api/v1/contests/" + contestId + "/registrations/" + userId;
+        log.debug("Fetching contest registration from: {}", url);
+        try {
+            return restTemplate.getForObject(url, ContestRegistrationDto.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
 }
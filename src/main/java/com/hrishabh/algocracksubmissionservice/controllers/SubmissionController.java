@@ -2,15 +2,19 @@ package com.hrishabh.algocracksubmissionservice.controllers;
 
 import com.hrishabh.algocracksubmissionservice.models.Submission;
 import com.hrishabh.algocracksubmissionservice.dto.*;
+import com.hrishabh.algocracksubmissionservice.exception.ServiceOverloadedException;
 import com.hrishabh.algocracksubmissionservice.exception.TooManyRequestsException;
 import com.hrishabh.algocracksubmissionservice.exception.ValidationException;
 import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.AdmissionControlService;
+import com.hrishabh.algocracksubmissionservice.service.ContestRegistrations;
 import com.hrishabh.algocracksubmissionservice.service.CustomExecutionService;
 import com.hrishabh.algocracksubmissionservice.service.SubmissionService;
 import com.hrishabh.algocracksubmissionservice.service.UnifiedExecutionService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,10 +34,15 @@ public class SubmissionController {
     private final CustomExecutionService customExecutionService;
     private final UnifiedExecutionService unifiedExecutionService;
     private final SubmissionRepository submissionRepository;
+    private final AdmissionControlService admissionControl;
+    private final ContestRegistrations contestRegistrations;
 
     /**
      * Submit code for official judging (async).
-     * Returns immediately with submission ID.
+     * Returns immediately with submission ID and estimated start time, or
+     * 429/503 with Retry-After if admission control sheds the request. A
+     * contestId the user isn't registered for (or whose contest isn't
+     * running) is rejected with 400.
      * 
      * @param request Submission request
      * @return Submission response with ID
@@ -47,6 +56,10 @@ public class SubmissionController {
         System.out.println("[CONTROLLER] questionId: " + request.getQuestionId());
         System.out.println("[CONTROLLER] language: " + request.getLanguage());
         System.out.println("=".repeat(80) + "\n");
+        // The contest class (weight, wait SLO) is only for verified participants
+        contestRegistrations.requireActiveRegistration(request.getContestId(), request.getUserId());
+        AdmissionControlService.Admission admission = admissionControl.admitSubmission(
+                request.getUserId(), request.getContestId());
         Submission submission = submissionService.createAndProcess(request);
 
         return ResponseEntity.status(HttpStatus.ACCEPTED)
@@ -54,6 +67,8 @@ public class SubmissionController {
                         .submissionId(submission.getSubmissionId())
                         .status(submission.getStatus().name())
                         .message("Submission queued for processing")
+                        .estimatedWaitMs(admission.estimatedWait().toMillis())
+                        .estimatedStartTime(admission.estimatedStart())
                         .build());
     }
 
@@ -108,7 +123,13 @@ public class SubmissionController {
 
         log.info("RUN request from IP: {} for question: {}", clientIp, request.getQuestionId());
 
-        RunResponseDto response = unifiedExecutionService.executeRun(request, clientIp);
+        admissionControl.admitRun();
+        RunResponseDto response;
+        try {
+            response = unifiedExecutionService.executeRun(request, clientIp);
+        } finally {
+            admissionControl.runFinished();
+        }
 
         // ==================== RESPONSE LOGGING ====================
         System.out.println("\n" + "=".repeat(80));
@@ -285,7 +306,19 @@ public class SubmissionController {
     @ExceptionHandler(TooManyRequestsException.class)
     public ResponseEntity<String> handleRateLimitExceeded(TooManyRequestsException e) {
         log.warn("Rate limit exceeded: {}", e.getMessage());
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (e.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return response.body(e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleOverloaded(ServiceOverloadedException e) {
+        log.warn("Load shed: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
     }
 
     @ExceptionHandler(ValidationException.class)
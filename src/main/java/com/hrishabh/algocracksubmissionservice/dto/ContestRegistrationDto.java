@@ -0,0 +1,18 @@
+package com.hrishabh.algocracksubmissionservice.dto;
+
+import lombok.*;
+
+/**
+ * DTO for a user's contest registration received from ProblemService API.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContestRegistrationDto {
+    private Long contestId;
+    private String userId;
+    private boolean registered;
+    // True while the contest is running (between its start and end)
+    private boolean active;
+}
@@ -31,6 +31,9 @@ public class SubmissionDetailDto {
     private String verdict;
     private Integer runtimeMs;
     private Integer memoryKb;
+    /** Percentage of accepted submissions in the same language this one beats (accepted only). */
+    private Double runtimeBeatsPercent;
+    private Double memoryBeatsPercent;
     private Integer passedTestCases;
     private Integer totalTestCases;
     private String errorMessage;
@@ -16,6 +16,9 @@ public class SubmissionRequestDto {
     private String language;
     private String code;
 
+    // Optional: set for contest submissions, which are scheduled ahead of practice
+    private Long contestId;
+
     // Optional client metadata
     private String ipAddress;
     private String userAgent;
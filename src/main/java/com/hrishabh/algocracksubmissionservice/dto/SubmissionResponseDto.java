@@ -2,6 +2,8 @@ package com.hrishabh.algocracksubmissionservice.dto;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * API Response DTO for immediate submission response.
  */
@@ -14,4 +16,8 @@ public class SubmissionResponseDto {
     private String submissionId;
     private String status;
     private String message;
+
+    // Admission control's estimate of the queue wait, and when judging should start
+    private Long estimatedWaitMs;
+    private LocalDateTime estimatedStartTime;
 }
@@ -0,0 +1,18 @@
+package com.hrishabh.algocracksubmissionservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when admission control sheds a request because the
+ * service can't start it within its latency objective.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
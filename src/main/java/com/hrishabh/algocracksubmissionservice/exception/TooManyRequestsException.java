@@ -1,11 +1,24 @@
 package com.hrishabh.algocracksubmissionservice.exception;
 
+import lombok.Getter;
+
 /**
  * Exception thrown when rate limit is exceeded.
  */
+@Getter
 public class TooManyRequestsException extends RuntimeException {
 
+    /**
+     * Suggested Retry-After, or 0 if none.
+     */
+    private final long retryAfterSeconds;
+
     public TooManyRequestsException(String message) {
+        this(message, 0);
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 }
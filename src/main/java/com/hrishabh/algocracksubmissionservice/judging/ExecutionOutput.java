@@ -32,6 +32,12 @@ public class ExecutionOutput {
      */
     private Long executionTimeMs;
 
+    /**
+     * Stable testcase identity (ProblemService testcase id); null for ad-hoc
+     * inputs such as custom RUN testcases.
+     */
+    private Long testcaseId;
+
     // ---- Future-safe fields (add now, use later — avoids breaking interfaces)
     // ----
 
@@ -0,0 +1,152 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Wall-time and output-size budget for judging one submission (or one RUN).
+ *
+ * Two deadlines apply to every testcase: its own (testcase budget from when
+ * judging of that testcase starts) and the submission's (fixed when the budget
+ * is created). Whichever comes first is enforced.
+ *
+ * Enforcement is cooperative — nothing is interrupted:
+ * - JudgingPipeline checks the deadline before each phase component runs.
+ * - Long loops inside components (sorting normalizers, streaming comparison)
+ *   call checkpoint(), which reads the clock once every CHECK_INTERVAL calls.
+ * - User raw output longer than maxOutputChars is rejected before extraction,
+ *   which bounds every non-cooperative step (parsing, JsonNode equality).
+ *
+ * Overrunning throws JudgeBudgetExceededException, which the pipeline turns
+ * into a JudgingResult instead of letting a pathological output stall the
+ * worker thread.
+ */
+public final class JudgeBudget {
+
+    /**
+     * What ran out.
+     */
+    public enum Kind {
+        TIME, OUTPUT_SIZE;
+
+        final String tag = name().toLowerCase();
+    }
+
+    /**
+     * Which deadline was the binding one when time ran out.
+     */
+    public enum Scope {
+        TESTCASE, SUBMISSION;
+
+        final String tag = name().toLowerCase();
+    }
+
+    /**
+     * checkpoint() reads the clock once per this many calls (power of two).
+     */
+    static final int CHECK_INTERVAL = 1024;
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long testcaseNanos;
+    private final long submissionDeadline;
+    private final long maxOutputChars;
+    private final LongSupplier nanoClock;
+
+    JudgeBudget(long testcaseNanos, long submissionNanos, long maxOutputChars) {
+        this(testcaseNanos, submissionNanos, maxOutputChars, System::nanoTime);
+    }
+
+    /**
+     * With the clock deadlines are read from (System.nanoTime() outside tests).
+     */
+    JudgeBudget(long testcaseNanos, long submissionNanos, long maxOutputChars, LongSupplier nanoClock) {
+        this.testcaseNanos = testcaseNanos;
+        this.submissionDeadline = nanoClock.getAsLong() + submissionNanos;
+        this.maxOutputChars = maxOutputChars;
+        this.nanoClock = nanoClock;
+    }
+
+    public long getMaxOutputChars() {
+        return maxOutputChars;
+    }
+
+    /**
+     * Start judging one testcase on the current thread. The returned deadline
+     * is installed for checkpoint() until closed.
+     */
+    Deadline startTestcase() {
+        long testcaseDeadline = nanoClock.getAsLong() + testcaseNanos;
+        Deadline deadline = submissionDeadline - testcaseDeadline < 0
+                ? new Deadline(submissionDeadline, Scope.SUBMISSION, maxOutputChars, nanoClock)
+                : new Deadline(testcaseDeadline, Scope.TESTCASE, maxOutputChars, nanoClock);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * Cooperative cancellation point for long loops inside phase components.
+     * A no-op outside a budgeted testcase; otherwise reads the clock once
+     * every CHECK_INTERVAL calls.
+     *
+     * @throws JudgeBudgetExceededException when the testcase is out of time
+     */
+    public static void checkpoint() {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && (++deadline.ticks & (CHECK_INTERVAL - 1)) == 0) {
+            deadline.check();
+        }
+    }
+
+    /**
+     * Deadline of the testcase being judged on this thread.
+     */
+    static final class Deadline implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final Scope scope;
+        private final long maxOutputChars;
+        private final LongSupplier nanoClock;
+        private int ticks;
+        private Object component;
+
+        private Deadline(long deadlineNanos, Scope scope, long maxOutputChars, LongSupplier nanoClock) {
+            this.deadlineNanos = deadlineNanos;
+            this.scope = scope;
+            this.maxOutputChars = maxOutputChars;
+            this.nanoClock = nanoClock;
+        }
+
+        /**
+         * Reject user output above the size ceiling before anything parses it.
+         */
+        void checkOutput(String userRaw) {
+            if (userRaw != null && userRaw.length() > maxOutputChars) {
+                throw new JudgeBudgetExceededException(Kind.OUTPUT_SIZE, Scope.TESTCASE, null,
+                        "Output size limit exceeded: " + userRaw.length()
+                                + " characters (limit " + maxOutputChars + ")");
+            }
+        }
+
+        /**
+         * Check the deadline (charged to the component that just ran), then
+         * hand the testcase to the next component.
+         */
+        void enter(Object next) {
+            check();
+            component = next;
+        }
+
+        void check() {
+            if (nanoClock.getAsLong() - deadlineNanos > 0) {
+                String name = component != null ? component.getClass().getSimpleName() : "judging";
+                throw new JudgeBudgetExceededException(Kind.TIME, scope, component,
+                        "Judge time budget exceeded (" + scope.tag + ") in " + name);
+            }
+        }
+
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a testcase runs out of its JudgeBudget. Caught by
+ * JudgingPipeline and turned into a JudgingResult; never escapes judge().
+ *
+ * No stack trace is captured — the component that was running is recorded
+ * instead, and that is what the budget metrics are tagged with.
+ */
+@Getter
+public class JudgeBudgetExceededException extends RuntimeException {
+
+    private final JudgeBudget.Kind kind;
+    private final JudgeBudget.Scope scope;
+
+    /**
+     * Phase component that was running, or null if none had started.
+     */
+    private final transient Object component;
+
+    public JudgeBudgetExceededException(JudgeBudget.Kind kind, JudgeBudget.Scope scope, Object component,
+            String message) {
+        super(message, null, false, false);
+        this.kind = kind;
+        this.scope = scope;
+        this.component = component;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configured judge budgets (judging.budget.*). Each SUBMIT / RUN starts its
+ * own JudgeBudget so the submission deadline is per request.
+ */
+@Slf4j
+@Component
+public class JudgeBudgetPolicy {
+
+    private final boolean enabled;
+    private final long testcaseNanos;
+    private final long submissionNanos;
+    private final long maxOutputChars;
+
+    public JudgeBudgetPolicy(
+            @Value("${judging.budget.enabled:true}") boolean enabled,
+            @Value("${judging.budget.testcase-millis:2000}") long testcaseMillis,
+            @Value("${judging.budget.submission-millis:10000}") long submissionMillis,
+            @Value("${judging.budget.max-output-chars:16000000}") long maxOutputChars) {
+        this.enabled = enabled;
+        this.testcaseNanos = TimeUnit.MILLISECONDS.toNanos(testcaseMillis);
+        this.submissionNanos = TimeUnit.MILLISECONDS.toNanos(submissionMillis);
+        this.maxOutputChars = maxOutputChars;
+        log.info("[JudgeBudgetPolicy] enabled={}, testcaseMillis={}, submissionMillis={}, maxOutputChars={}",
+                enabled, testcaseMillis, submissionMillis, maxOutputChars);
+    }
+
+    /**
+     * Start the budget for one submission, or null when budgets are disabled.
+     */
+    public JudgeBudget start() {
+        return enabled ? new JudgeBudget(testcaseNanos, submissionNanos, maxOutputChars) : null;
+    }
+}
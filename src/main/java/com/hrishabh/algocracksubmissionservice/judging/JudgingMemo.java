@@ -0,0 +1,291 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memo of judging results for repeated user outputs.
+ *
+ * Many users submit equivalent solutions, so their raw outputs for a HIDDEN
+ * testcase are byte-identical; the result of judging one applies to all.
+ *
+ * Key: (pipeline plan id, testcase id, 64-bit hash + length of the raw user
+ * output, hash + length of the raw oracle output). The plan id identifies the
+ * assembled components and the metadata they read (see PipelineAssembler), so
+ * a changed pipeline or oracle never hits an old entry.
+ *
+ * Collisions: each entry keeps the raw user output it was computed from and a
+ * hit is only served when it is equal to the current one, so a hash collision
+ * is a (counted) miss, never a wrong verdict.
+ *
+ * Bounds: outputs longer than maxEntryChars are not memoized; the memo is
+ * split into SEGMENTS independently locked LRU maps, each limited in entries
+ * and retained characters. Only definitive results are stored — judge errors
+ * and budget trips are always recomputed. Failure previews are rendered when
+ * stored so entries never retain extracted/normalized structures.
+ *
+ * Meters (hit ratio per question):
+ * - judging.memo.lookups   {questionId, result=hit|miss}
+ * - judging.memo.hit.ratio {questionId}
+ * - judging.memo.collisions
+ */
+@Slf4j
+@Component
+public class JudgingMemo {
+
+    private static final int SEGMENTS = 16;
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int maxEntryChars;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final Map<Long, QuestionStats> questions = new ConcurrentHashMap<>();
+    private final Counter collisions;
+
+    public JudgingMemo(MeterRegistry registry,
+            @Value("${judging.memo.enabled:true}") boolean enabled,
+            @Value("${judging.memo.max-entries:20000}") int maxEntries,
+            @Value("${judging.memo.max-total-chars:16000000}") long maxTotalChars,
+            @Value("${judging.memo.max-entry-chars:65536}") int maxEntryChars) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxEntryChars = maxEntryChars;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.max(1, maxEntries / SEGMENTS), Math.max(1, maxTotalChars / SEGMENTS));
+        }
+        this.collisions = Counter.builder("judging.memo.collisions")
+                .description("Memo lookups whose hash matched a different user output")
+                .register(registry);
+        Gauge.builder("judging.memo.entries", this, JudgingMemo::size)
+                .description("Judging results currently memoized")
+                .register(registry);
+        log.info("[JudgingMemo] enabled={}, maxEntries={}, maxTotalChars={}, maxEntryChars={}",
+                enabled, maxEntries, maxTotalChars, maxEntryChars);
+    }
+
+    /**
+     * Memo key for one testcase, or null when it cannot be memoized (memo
+     * disabled, ad-hoc testcase without id, oracle failure, oversized output).
+     */
+    public Key keyFor(String planId, ExecutionOutput userOutput, ExecutionOutput oracleOutput) {
+        if (!enabled || planId == null || userOutput.getTestcaseId() == null || oracleOutput.hasError()) {
+            return null;
+        }
+        String userRaw = userOutput.getRawOutput();
+        String oracleRaw = oracleOutput.getRawOutput();
+        if (userRaw == null || oracleRaw == null || userRaw.length() > maxEntryChars) {
+            return null;
+        }
+        return new Key(planId, userOutput.getTestcaseId(), hash64(userRaw), userRaw.length(),
+                hash64(oracleRaw), oracleRaw.length(), userRaw);
+    }
+
+    /**
+     * Memoized result for the key, or null on a miss.
+     */
+    public JudgingResult get(Key key, JudgingContext context) {
+        Entry entry = segmentFor(key).get(key);
+        boolean hit = entry != null && entry.userRaw.equals(key.userRaw);
+        if (entry != null && !hit) {
+            collisions.increment();
+            log.debug("[JudgingMemo] Hash collision for testcase {}", key.testcaseId);
+        }
+        QuestionStats stats = statsFor(context.getQuestionId());
+        if (stats != null) {
+            (hit ? stats.hits : stats.misses).increment();
+        }
+        return hit ? entry.result : null;
+    }
+
+    /**
+     * Store a freshly judged result. Judge errors and budget trips are skipped.
+     */
+    public void put(Key key, JudgingResult result) {
+        if (result.isJudgeError() || result.getBudgetExceeded() != null) {
+            return;
+        }
+        JudgingResult detached = result.isPassed() ? JudgingResult.passed() : JudgingResult.builder()
+                .passed(false)
+                .failureReason(result.getFailureReason())
+                .userPreview(OutputPreview.rendered(result.getNormalizedUserOutput()))
+                .oraclePreview(OutputPreview.rendered(result.getNormalizedOracleOutput()))
+                .build();
+        segmentFor(key).put(key, new Entry(key.userRaw, detached));
+    }
+
+    /**
+     * Number of memoized results across all segments.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Hit ratio for a question since startup, or NaN if it was never looked up.
+     */
+    public double hitRatio(Long questionId) {
+        QuestionStats stats = questionId != null ? questions.get(questionId) : null;
+        return stats != null ? stats.ratio() : Double.NaN;
+    }
+
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private QuestionStats statsFor(Long questionId) {
+        if (questionId == null) {
+            return null;
+        }
+        return questions.computeIfAbsent(questionId, id -> {
+            QuestionStats stats = new QuestionStats();
+            String tag = String.valueOf(id);
+            FunctionCounter.builder("judging.memo.lookups", stats, s -> s.hits.sum())
+                    .description("Memo lookups by outcome")
+                    .tag("questionId", tag).tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("judging.memo.lookups", stats, s -> s.misses.sum())
+                    .description("Memo lookups by outcome")
+                    .tag("questionId", tag).tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("judging.memo.hit.ratio", stats, QuestionStats::ratio)
+                    .description("Fraction of testcases served from the memo")
+                    .tag("questionId", tag)
+                    .register(registry);
+            return stats;
+        });
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units.
+     */
+    static long hash64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * Memo key. userRaw is carried for collision verification only and is not
+     * part of equality.
+     */
+    public static final class Key {
+        private final String planId;
+        private final long testcaseId;
+        private final long userHash;
+        private final int userLength;
+        private final long oracleHash;
+        private final int oracleLength;
+        private final String userRaw;
+        private final int hash;
+
+        Key(String planId, long testcaseId, long userHash, int userLength,
+                long oracleHash, int oracleLength, String userRaw) {
+            this.planId = planId;
+            this.testcaseId = testcaseId;
+            this.userHash = userHash;
+            this.userLength = userLength;
+            this.oracleHash = oracleHash;
+            this.oracleLength = oracleLength;
+            this.userRaw = userRaw;
+            this.hash = 31 * (31 * planId.hashCode() + Long.hashCode(testcaseId)) + Long.hashCode(userHash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return testcaseId == k.testcaseId && userHash == k.userHash && userLength == k.userLength
+                    && oracleHash == k.oracleHash && oracleLength == k.oracleLength && planId.equals(k.planId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record Entry(String userRaw, JudgingResult result) {
+
+        int weight() {
+            int weight = userRaw.length();
+            if (result.getUserPreview() != null) {
+                weight += result.getNormalizedUserOutput().length();
+            }
+            if (result.getOraclePreview() != null) {
+                weight += result.getNormalizedOracleOutput().length();
+            }
+            return weight;
+        }
+    }
+
+    /**
+     * One LRU stripe, bounded by entry count and retained characters.
+     */
+    private static final class Segment {
+        private final int maxEntries;
+        private final long maxChars;
+        private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+        private long chars;
+
+        private Segment(int maxEntries, long maxChars) {
+            this.maxEntries = maxEntries;
+            this.maxChars = maxChars;
+        }
+
+        synchronized Entry get(Key key) {
+            return map.get(key);
+        }
+
+        synchronized void put(Key key, Entry entry) {
+            Entry previous = map.put(key, entry);
+            if (previous != null) {
+                chars -= previous.weight();
+            }
+            chars += entry.weight();
+            Iterator<Entry> eldest = map.values().iterator();
+            while ((map.size() > maxEntries || chars > maxChars) && eldest.hasNext()) {
+                chars -= eldest.next().weight();
+                eldest.remove();
+            }
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+
+    private static final class QuestionStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        double ratio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? Double.NaN : (double) h / total;
+        }
+    }
+}
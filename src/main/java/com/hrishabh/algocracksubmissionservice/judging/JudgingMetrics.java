@@ -0,0 +1,187 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-phase timers and counters for JudgingPipeline, published through
+ * Micrometer (exposed at /actuator/metrics).
+ *
+ * Meters:
+ * - judging.phase.time     {phase, component, questionBucket}
+ * - judging.phase.failures {phase, component, questionBucket}
+ * - judging.testcases      {outcome, questionBucket}
+ * - judging.budget.trips   {kind, scope, component}
+ *
+ * component is the simple class name of the extractor / validator /
+ * normalizer / comparator that ran, so the slowest component shows up
+ * directly. questionBucket groups question IDs into fixed-size ranges to
+ * keep tag cardinality bounded.
+ *
+ * Sampling: when disabled, startSample() is a single field read returning
+ * null and the pipeline skips every timing call. When enabled, only a
+ * sample-rate fraction of testcases is instrumented.
+ *
+ * Budget trips are rare and are always counted, independent of sampling, so
+ * the trip rate per component is exact.
+ */
+@Slf4j
+@Component
+public class JudgingMetrics {
+
+    /**
+     * Pipeline phases, in execution order.
+     */
+    public enum Phase {
+        PRE_EXTRACT, EXTRACT, PRE_COMPARE, NORMALIZE, COMPARE, POST_COMPARE;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long questionBucketSize;
+
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> failures = new ConcurrentHashMap<>();
+    private final Map<OutcomeKey, Counter> outcomes = new ConcurrentHashMap<>();
+    private final Map<TripKey, Counter> budgetTrips = new ConcurrentHashMap<>();
+
+    public JudgingMetrics(MeterRegistry registry,
+            @Value("${judging.metrics.enabled:false}") boolean enabled,
+            @Value("${judging.metrics.sample-rate:1.0}") double sampleRate,
+            @Value("${judging.metrics.question-bucket-size:100}") long questionBucketSize) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.questionBucketSize = Math.max(1, questionBucketSize);
+        log.info("[JudgingMetrics] enabled={}, sampleRate={}, questionBucketSize={}",
+                enabled, sampleRate, this.questionBucketSize);
+    }
+
+    /**
+     * Start instrumenting one testcase, or return null if this testcase is
+     * not sampled (always null when disabled).
+     */
+    public Sample startSample(JudgingContext context) {
+        if (!enabled) {
+            return null;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        return new Sample(questionBucket(context.getQuestionId()));
+    }
+
+    /**
+     * Count a testcase that ran out of its judge budget, tagged with what ran
+     * out and the component that was running ("none" before any started).
+     */
+    public void budgetExceeded(JudgeBudgetExceededException e, JudgingContext context) {
+        Class<?> component = e.getComponent() != null ? e.getComponent().getClass() : null;
+        budgetTrips.computeIfAbsent(new TripKey(e.getKind(), e.getScope(), component),
+                k -> Counter.builder("judging.budget.trips")
+                        .description("Testcases that ran out of their judge time or output-size budget")
+                        .tag("kind", e.getKind().tag)
+                        .tag("scope", e.getScope().tag)
+                        .tag("component", component != null ? component.getSimpleName() : "none")
+                        .register(registry))
+                .increment();
+        log.debug("[JudgingMetrics] Budget trip for question {}: {}", context.getQuestionId(), e.getMessage());
+    }
+
+    private String questionBucket(Long questionId) {
+        if (questionId == null) {
+            return "unknown";
+        }
+        long low = (questionId / questionBucketSize) * questionBucketSize;
+        return low + "-" + (low + questionBucketSize - 1);
+    }
+
+    private Timer timer(Phase phase, Class<?> component, String bucket) {
+        return timers.computeIfAbsent(new MeterKey(phase, component, bucket),
+                k -> Timer.builder("judging.phase.time")
+                        .description("Time spent per judging phase and component")
+                        .tag("phase", phase.tag)
+                        .tag("component", component.getSimpleName())
+                        .tag("questionBucket", bucket)
+                        .register(registry));
+    }
+
+    private Counter failureCounter(Phase phase, Class<?> component, String bucket) {
+        return failures.computeIfAbsent(new MeterKey(phase, component, bucket),
+                k -> Counter.builder("judging.phase.failures")
+                        .description("Testcases rejected by a judging phase and component")
+                        .tag("phase", phase.tag)
+                        .tag("component", component.getSimpleName())
+                        .tag("questionBucket", bucket)
+                        .register(registry));
+    }
+
+    private Counter outcomeCounter(String outcome, String bucket) {
+        return outcomes.computeIfAbsent(new OutcomeKey(outcome, bucket),
+                k -> Counter.builder("judging.testcases")
+                        .description("Judged testcases by outcome")
+                        .tag("outcome", outcome)
+                        .tag("questionBucket", bucket)
+                        .register(registry));
+    }
+
+    private record MeterKey(Phase phase, Class<?> component, String bucket) {
+    }
+
+    private record OutcomeKey(String outcome, String bucket) {
+    }
+
+    private record TripKey(JudgeBudget.Kind kind, JudgeBudget.Scope scope, Class<?> component) {
+    }
+
+    /**
+     * Instrumentation handle for a single sampled testcase.
+     */
+    public final class Sample {
+
+        private final String bucket;
+
+        private Sample(String bucket) {
+            this.bucket = bucket;
+        }
+
+        /**
+         * Record time since startNanos for a phase component.
+         *
+         * @return the current nanoTime, to chain into the next phase
+         */
+        public long record(Phase phase, Object component, long startNanos) {
+            long now = System.nanoTime();
+            timer(phase, component.getClass(), bucket).record(now - startNanos, TimeUnit.NANOSECONDS);
+            return now;
+        }
+
+        /**
+         * Count a testcase rejected by this phase component.
+         */
+        public void failed(Phase phase, Object component) {
+            failureCounter(phase, component.getClass(), bucket).increment();
+        }
+
+        /**
+         * Count the final outcome of the testcase.
+         */
+        public void finish(JudgingResult result) {
+            String outcome = result.getBudgetExceeded() != null ? "budget_exceeded"
+                    : result.isJudgeError() ? "judge_error" : result.isPassed() ? "passed" : "failed";
+            outcomeCounter(outcome, bucket).increment();
+        }
+    }
+}
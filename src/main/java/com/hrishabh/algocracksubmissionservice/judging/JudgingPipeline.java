@@ -2,12 +2,14 @@ package com.hrishabh.algocracksubmissionservice.judging;
 
 import com.hrishabh.algocracksubmissionservice.judging.comparator.ComparisonResult;
 import com.hrishabh.algocracksubmissionservice.judging.comparator.OutputComparator;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.RawOutputComparator;
 import com.hrishabh.algocracksubmissionservice.judging.extractor.OutputExtractor;
 import com.hrishabh.algocracksubmissionservice.judging.normalizer.OutputNormalizer;
 import com.hrishabh.algocracksubmissionservice.judging.validator.OutputValidator;
 import com.hrishabh.algocracksubmissionservice.judging.validator.ValidationResult;
 import com.hrishabh.algocracksubmissionservice.judging.validator.ValidationStage;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collections;
@@ -18,14 +20,36 @@ import java.util.List;
  *
  * Pipeline flow:
  * 1. Oracle guard (never penalize user for oracle failure)
+ *    + PRE_EXTRACT validators (streaming guards over the raw strings)
  * 2. Extract (raw output → structured form)
  * 3. PRE_COMPARE validators (structural constraints that must hold regardless)
  * 4. Normalize (structured → canonical form)
  * 5. Compare (user canonical vs oracle canonical)
  * 6. POST_COMPARE validators (constraints verified after equality confirmed)
+ *
+ * If a RawOutputComparator is set, it runs right after the oracle guard and
+ * its verdict replaces phases 2-6; it may decline (null) and fall back to them.
+ *
+ * Display strings are never built here: failures carry lazy, size-capped
+ * OutputPreviews and passes carry nothing. Per-testcase progress, phase
+ * output previews included, is logged only at TRACE: the service runs at
+ * DEBUG, and a line per phase per testcase was most of what judging a
+ * passing testcase allocated.
+ *
+ * When metrics are set and the testcase is sampled, each phase component is
+ * timed individually (see JudgingMetrics). Unsampled testcases pay one null
+ * check per phase.
+ *
+ * When a memo and plan id are set, testcases with a stable id are looked up
+ * by their raw user output first and judged only on a miss (see JudgingMemo).
+ *
+ * When a JudgeBudget is passed, oversized user output is rejected before
+ * extraction and the deadline is checked before every phase component; an
+ * overrun ends the testcase with JudgingResult.budgetExceeded().
  */
 @Slf4j
 @Builder
+@Getter
 public class JudgingPipeline {
 
     private final OutputExtractor extractor;
@@ -35,13 +59,73 @@ public class JudgingPipeline {
     @Builder.Default
     private final List<OutputValidator> validators = Collections.emptyList();
 
+    /**
+     * Optional streaming fast path over raw outputs; null disables it.
+     */
+    private final RawOutputComparator rawComparator;
+
+    /**
+     * Optional per-phase instrumentation; null disables it.
+     */
+    private final JudgingMetrics metrics;
+
+    /**
+     * Optional memo of results for repeated user outputs; null disables it.
+     */
+    private final JudgingMemo memo;
+
+    /**
+     * Identity of this assembled pipeline, part of every memo key.
+     */
+    private final String planId;
+
     /**
      * Judge a single testcase's user output against oracle output.
      */
     public JudgingResult judge(ExecutionOutput userOutput, ExecutionOutput oracleOutput,
             JudgingContext context) {
+        return judge(userOutput, oracleOutput, context, null);
+    }
+
+    /**
+     * Judge a single testcase within a judge budget (null = unbounded).
+     */
+    public JudgingResult judge(ExecutionOutput userOutput, ExecutionOutput oracleOutput,
+            JudgingContext context, JudgeBudget budget) {
+
+        log.trace("[JudgingPipeline] Judging testcase for question {}", context.getQuestionId());
+
+        JudgingMemo.Key memoKey = memo != null ? memo.keyFor(planId, userOutput, oracleOutput) : null;
+        if (memoKey != null) {
+            JudgingResult memoized = memo.get(memoKey, context);
+            if (memoized != null) {
+                log.trace("[JudgingPipeline] Memo hit for testcase {}", userOutput.getTestcaseId());
+                return memoized;
+            }
+        }
+
+        JudgingMetrics.Sample sample = metrics != null ? metrics.startSample(context) : null;
+        JudgingResult result;
+        try (JudgeBudget.Deadline deadline = budget != null ? budget.startTestcase() : null) {
+            result = judgePhases(userOutput, oracleOutput, context, sample, deadline);
+        } catch (JudgeBudgetExceededException e) {
+            log.warn("[JudgingPipeline] {} (question {})", e.getMessage(), context.getQuestionId());
+            if (metrics != null) {
+                metrics.budgetExceeded(e, context);
+            }
+            result = JudgingResult.budgetExceeded(e.getKind(), e.getMessage());
+        }
+        if (sample != null) {
+            sample.finish(result);
+        }
+        if (memoKey != null) {
+            memo.put(memoKey, result);
+        }
+        return result;
+    }
 
-        log.debug("[JudgingPipeline] Judging testcase for question {}", context.getQuestionId());
+    private JudgingResult judgePhases(ExecutionOutput userOutput, ExecutionOutput oracleOutput,
+            JudgingContext context, JudgingMetrics.Sample sample, JudgeBudget.Deadline deadline) {
 
         // Guard: Oracle failure should never penalize the user
         if (oracleOutput.hasError()) {
@@ -50,55 +134,137 @@ public class JudgingPipeline {
                     "Oracle execution failed: " + oracleOutput.getError());
         }
 
+        if (deadline != null) {
+            deadline.checkOutput(userOutput.getRawOutput());
+        }
+
+        long start = sample != null ? System.nanoTime() : 0L;
+
+        // Phase 0: PRE_EXTRACT validators — reject before any tree is built
+        for (OutputValidator validator : validators) {
+            if (validator.getStage() == ValidationStage.PRE_EXTRACT) {
+                enter(deadline, validator);
+                ValidationResult validation = validator.validate(
+                        userOutput.getRawOutput(), oracleOutput.getRawOutput(), context);
+                if (sample != null) {
+                    start = sample.record(JudgingMetrics.Phase.PRE_EXTRACT, validator, start);
+                }
+                if (!validation.isPassed()) {
+                    log.debug("[JudgingPipeline] PRE_EXTRACT validation failed: {}", validation.getReason());
+                    if (sample != null) {
+                        sample.failed(JudgingMetrics.Phase.PRE_EXTRACT, validator);
+                    }
+                    return JudgingResult.failed(validation.getReason(),
+                            userOutput.getRawOutput(), oracleOutput.getRawOutput());
+                }
+            }
+        }
+
+        // Fast path: compare raw token streams without building trees
+        if (rawComparator != null) {
+            enter(deadline, rawComparator);
+            ComparisonResult streamed = rawComparator.compareRaw(
+                    userOutput.getRawOutput(), oracleOutput.getRawOutput(), context);
+            if (sample != null) {
+                start = sample.record(JudgingMetrics.Phase.COMPARE, rawComparator, start);
+            }
+            if (streamed != null) {
+                if (streamed.isPassed()) {
+                    log.trace("[JudgingPipeline] Streaming comparison passed");
+                    return JudgingResult.passed();
+                }
+                log.debug("[JudgingPipeline] Streaming comparison failed: {}", streamed.getReason());
+                if (sample != null) {
+                    sample.failed(JudgingMetrics.Phase.COMPARE, rawComparator);
+                }
+                return JudgingResult.failed(streamed.getReason(),
+                        userOutput.getRawOutput(), oracleOutput.getRawOutput());
+            }
+        }
+
         // Phase 1: Extract
+        enter(deadline, extractor);
         Object userExtracted = extractor.extract(userOutput.getRawOutput(), context);
         Object oracleExtracted = extractor.extract(oracleOutput.getRawOutput(), context);
+        if (sample != null) {
+            start = sample.record(JudgingMetrics.Phase.EXTRACT, extractor, start);
+        }
 
-        log.debug("[JudgingPipeline] Extracted — user: {}, oracle: {}", userExtracted, oracleExtracted);
+        if (log.isTraceEnabled()) {
+            log.trace("[JudgingPipeline] Extracted — user: {}, oracle: {}",
+                    OutputPreview.of(userExtracted), OutputPreview.of(oracleExtracted));
+        }
 
         // Phase 2: PRE_COMPARE validators
         for (OutputValidator validator : validators) {
             if (validator.getStage() == ValidationStage.PRE_COMPARE) {
+                enter(deadline, validator);
                 ValidationResult validation = validator.validate(userExtracted, oracleExtracted, context);
+                if (sample != null) {
+                    start = sample.record(JudgingMetrics.Phase.PRE_COMPARE, validator, start);
+                }
                 if (!validation.isPassed()) {
                     log.debug("[JudgingPipeline] PRE_COMPARE validation failed: {}", validation.getReason());
-                    return JudgingResult.failed(validation.getReason(),
-                            safeToString(userExtracted), safeToString(oracleExtracted));
+                    if (sample != null) {
+                        sample.failed(JudgingMetrics.Phase.PRE_COMPARE, validator);
+                    }
+                    return JudgingResult.failed(validation.getReason(), userExtracted, oracleExtracted);
                 }
             }
         }
 
         // Phase 3: Normalize
+        enter(deadline, normalizer);
         Object userNormalized = normalizer.normalize(userExtracted, context);
         Object oracleNormalized = normalizer.normalize(oracleExtracted, context);
+        if (sample != null) {
+            start = sample.record(JudgingMetrics.Phase.NORMALIZE, normalizer, start);
+        }
 
-        log.debug("[JudgingPipeline] Normalized — user: {}, oracle: {}", userNormalized, oracleNormalized);
+        if (log.isTraceEnabled()) {
+            log.trace("[JudgingPipeline] Normalized — user: {}, oracle: {}",
+                    OutputPreview.of(userNormalized), OutputPreview.of(oracleNormalized));
+        }
 
         // Phase 4: Compare
+        enter(deadline, comparator);
         ComparisonResult comparison = comparator.compare(userNormalized, oracleNormalized, context);
+        if (sample != null) {
+            start = sample.record(JudgingMetrics.Phase.COMPARE, comparator, start);
+        }
         if (!comparison.isPassed()) {
             log.debug("[JudgingPipeline] Comparison failed: {}", comparison.getReason());
-            return JudgingResult.failed(comparison.getReason(),
-                    safeToString(userNormalized), safeToString(oracleNormalized));
+            if (sample != null) {
+                sample.failed(JudgingMetrics.Phase.COMPARE, comparator);
+            }
+            return JudgingResult.failed(comparison.getReason(), userNormalized, oracleNormalized);
         }
 
         // Phase 5: POST_COMPARE validators
         for (OutputValidator validator : validators) {
             if (validator.getStage() == ValidationStage.POST_COMPARE) {
+                enter(deadline, validator);
                 ValidationResult validation = validator.validate(userNormalized, oracleNormalized, context);
+                if (sample != null) {
+                    start = sample.record(JudgingMetrics.Phase.POST_COMPARE, validator, start);
+                }
                 if (!validation.isPassed()) {
                     log.debug("[JudgingPipeline] POST_COMPARE validation failed: {}", validation.getReason());
-                    return JudgingResult.failed(validation.getReason(),
-                            safeToString(userNormalized), safeToString(oracleNormalized));
+                    if (sample != null) {
+                        sample.failed(JudgingMetrics.Phase.POST_COMPARE, validator);
+                    }
+                    return JudgingResult.failed(validation.getReason(), userNormalized, oracleNormalized);
                 }
             }
         }
 
-        log.debug("[JudgingPipeline] All phases passed");
-        return JudgingResult.passed(safeToString(userNormalized), safeToString(oracleNormalized));
+        log.trace("[JudgingPipeline] All phases passed");
+        return JudgingResult.passed();
     }
 
-    private String safeToString(Object obj) {
-        return obj != null ? obj.toString() : null;
+    private static void enter(JudgeBudget.Deadline deadline, Object component) {
+        if (deadline != null) {
+            deadline.enter(component);
+        }
     }
 }
@@ -20,14 +20,14 @@ public class JudgingResult {
     private boolean passed;
 
     /**
-     * Normalized user output for frontend display.
+     * Lazily rendered, size-capped user output (set on failure only).
      */
-    private String normalizedUserOutput;
+    private OutputPreview userPreview;
 
     /**
-     * Normalized oracle output for frontend display.
+     * Lazily rendered, size-capped oracle output (set on failure only).
      */
-    private String normalizedOracleOutput;
+    private OutputPreview oraclePreview;
 
     /**
      * Reason for failure (optional, null when passed).
@@ -39,20 +39,30 @@ public class JudgingResult {
      */
     private boolean judgeError;
 
-    public static JudgingResult passed(String userDisplay, String oracleDisplay) {
+    /**
+     * Set when the testcase ran out of its JudgeBudget (null otherwise).
+     */
+    private JudgeBudget.Kind budgetExceeded;
+
+    /**
+     * Passed testcases carry no previews — nothing is rendered or retained.
+     */
+    public static JudgingResult passed() {
         return JudgingResult.builder()
                 .passed(true)
-                .normalizedUserOutput(userDisplay)
-                .normalizedOracleOutput(oracleDisplay)
                 .build();
     }
 
-    public static JudgingResult failed(String reason, String userDisplay, String oracleDisplay) {
+    /**
+     * Failed testcase. Previews wrap the structured outputs and render only
+     * if the failure is actually displayed.
+     */
+    public static JudgingResult failed(String reason, Object userOutput, Object oracleOutput) {
         return JudgingResult.builder()
                 .passed(false)
                 .failureReason(reason)
-                .normalizedUserOutput(userDisplay)
-                .normalizedOracleOutput(oracleDisplay)
+                .userPreview(OutputPreview.of(userOutput))
+                .oraclePreview(OutputPreview.of(oracleOutput))
                 .build();
     }
 
@@ -66,4 +76,31 @@ public class JudgingResult {
                 .failureReason(reason)
                 .build();
     }
+
+    /**
+     * Testcase ran out of its judge budget. Running out of time is the judge's
+     * problem (judge error); oversized user output is the user's.
+     */
+    public static JudgingResult budgetExceeded(JudgeBudget.Kind kind, String reason) {
+        return JudgingResult.builder()
+                .passed(false)
+                .judgeError(kind == JudgeBudget.Kind.TIME)
+                .budgetExceeded(kind)
+                .failureReason(reason)
+                .build();
+    }
+
+    /**
+     * Capped user output for display (renders on first call), or null.
+     */
+    public String getNormalizedUserOutput() {
+        return userPreview != null ? userPreview.render() : null;
+    }
+
+    /**
+     * Capped oracle output for display (renders on first call), or null.
+     */
+    public String getNormalizedOracleOutput() {
+        return oraclePreview != null ? oraclePreview.render() : null;
+    }
 }
@@ -0,0 +1,174 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Lazily rendered, size-capped display form of a judged output.
+ *
+ * Holds a reference to the structured value and renders it only when
+ * someone asks (failure diagnostics, response building). Rendering keeps
+ * the first HEAD_CHARS and last TAIL_CHARS characters with a truncation
+ * marker in between, so a multi-megabyte output never becomes a
+ * multi-megabyte String just to be shown in a few lines.
+ *
+ * JsonNode values are streamed through a bounded Writer — the full JSON
+ * text is never materialized.
+ */
+public final class OutputPreview {
+
+    /**
+     * Characters kept from the start of the rendered output.
+     */
+    public static final int HEAD_CHARS = 3072;
+
+    /**
+     * Characters kept from the end of the rendered output.
+     */
+    public static final int TAIL_CHARS = 1024;
+
+    private final Object source;
+    private String rendered;
+
+    private OutputPreview(Object source) {
+        this.source = source;
+    }
+
+    /**
+     * Wrap a value for lazy rendering. Returns null for null values.
+     */
+    public static OutputPreview of(Object source) {
+        return source != null ? new OutputPreview(source) : null;
+    }
+
+    /**
+     * Wrap an already rendered (and capped) display string, e.g. to detach a
+     * preview from the structured value it was rendered from.
+     */
+    public static OutputPreview rendered(String display) {
+        if (display == null) {
+            return null;
+        }
+        OutputPreview preview = new OutputPreview(display);
+        preview.rendered = display;
+        return preview;
+    }
+
+    /**
+     * Render (once) and return the capped display string.
+     */
+    public String render() {
+        String result = rendered;
+        if (result == null) {
+            result = renderBounded(source);
+            rendered = result;
+        }
+        return result;
+    }
+
+    /**
+     * Cap an already-materialized string to head + marker + tail.
+     * Returns the input unchanged when it fits.
+     */
+    public static String cap(String value) {
+        if (value == null || value.length() <= HEAD_CHARS + TAIL_CHARS) {
+            return value;
+        }
+        int omitted = value.length() - HEAD_CHARS - TAIL_CHARS;
+        return value.substring(0, HEAD_CHARS)
+                + truncationMarker(omitted)
+                + value.substring(value.length() - TAIL_CHARS);
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    private static String renderBounded(Object value) {
+        if (value instanceof String) {
+            return cap((String) value);
+        }
+        if (value instanceof JsonNode) {
+            BoundedWriter writer = new BoundedWriter();
+            try {
+                PreviewMapper.INSTANCE.writeValue(writer, value);
+                return writer.result();
+            } catch (IOException e) {
+                return cap(value.toString());
+            }
+        }
+        return cap(value.toString());
+    }
+
+    private static String truncationMarker(long omitted) {
+        return "...[" + omitted + " chars truncated]...";
+    }
+
+    /**
+     * Created on first render, so loading OutputPreview stays cheap.
+     */
+    private static final class PreviewMapper {
+        static final ObjectMapper INSTANCE = new ObjectMapper();
+    }
+
+    /**
+     * Writer that keeps only the head and a ring buffer of the tail.
+     */
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder head = new StringBuilder(256);
+        private final char[] tail = new char[TAIL_CHARS];
+        private long total;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                put(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                put(str.charAt(i));
+            }
+        }
+
+        private void put(char c) {
+            if (total < HEAD_CHARS) {
+                head.append(c);
+            } else {
+                tail[(int) ((total - HEAD_CHARS) % TAIL_CHARS)] = c;
+            }
+            total++;
+        }
+
+        String result() {
+            long tailCount = Math.min(TAIL_CHARS, Math.max(0, total - HEAD_CHARS));
+            StringBuilder out = new StringBuilder(head.length() + (int) tailCount + 48);
+            out.append(head);
+            long omitted = total - HEAD_CHARS - tailCount;
+            if (omitted > 0) {
+                out.append(truncationMarker(omitted));
+            }
+            // Replay the ring buffer in write order
+            long start = total - tailCount;
+            for (long i = start; i < total; i++) {
+                out.append(tail[(int) ((i - HEAD_CHARS) % TAIL_CHARS)]);
+            }
+            return out.toString();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
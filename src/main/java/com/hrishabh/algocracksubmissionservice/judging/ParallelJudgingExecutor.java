@@ -0,0 +1,206 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a JudgingPipeline over a whole testcase suite, sequentially or on a
+ * dedicated fork-join pool.
+ *
+ * JudgingPipeline and its phase components are stateless, so testcases can be
+ * judged concurrently. Parallel mode switches on automatically when the suite
+ * is large enough (testcase count or total output size) to amortize the
+ * hand-off; small suites stay on the caller's thread.
+ *
+ * First-failure semantics are preserved exactly:
+ * - Workers claim testcase indices in ascending order from a shared counter.
+ * - The lowest failing index seen so far is published atomically; workers stop
+ *   claiming once the next index is above it (later work is cancelled).
+ * - Every index below the final minimum has been judged and passed, so the
+ *   reported failure is the one a sequential loop would have returned.
+ * - A pipeline exception is treated as a failure at its index and rethrown only
+ *   if it is the lowest one, matching sequential behavior.
+ *
+ * The JudgeBudget (nullable) is shared by all testcases of the call, so its
+ * submission deadline bounds the whole suite whichever thread judges it.
+ */
+@Slf4j
+@Component
+public class ParallelJudgingExecutor {
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int minTestcases;
+    private final long minOutputChars;
+
+    public ParallelJudgingExecutor(
+            @Value("${judging.parallel.parallelism:0}") int parallelism,
+            @Value("${judging.parallel.min-testcases:64}") int minTestcases,
+            @Value("${judging.parallel.min-output-chars:1000000}") long minOutputChars) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.minTestcases = minTestcases;
+        this.minOutputChars = minOutputChars;
+        this.pool = new ForkJoinPool(this.parallelism, judgeThreadFactory(), null, false);
+    }
+
+    /**
+     * Result of a first-failure scan. index is -1 when every testcase passed.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class FirstFailure {
+        private int index;
+        private JudgingResult result;
+
+        public boolean isAllPassed() {
+            return index < 0;
+        }
+    }
+
+    /**
+     * Judge every testcase (RUN mode needs a result per testcase).
+     * oracleOutputs must be index-aligned with userOutputs.
+     */
+    public JudgingResult[] judgeAll(JudgingPipeline pipeline, List<ExecutionOutput> userOutputs,
+            List<ExecutionOutput> oracleOutputs, JudgingContext context, JudgeBudget budget) {
+        int count = userOutputs.size();
+        JudgingResult[] results = new JudgingResult[count];
+
+        if (!shouldParallelize(userOutputs, oracleOutputs)) {
+            for (int i = 0; i < count; i++) {
+                results[i] = pipeline.judge(userOutputs.get(i), oracleOutputs.get(i), context, budget);
+            }
+            return results;
+        }
+
+        log.debug("[ParallelJudgingExecutor] Judging {} testcases in parallel (all results)", count);
+        AtomicInteger next = new AtomicInteger();
+        runWorkers(count, () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < count) {
+                results[i] = pipeline.judge(userOutputs.get(i), oracleOutputs.get(i), context, budget);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Judge testcases until the first failure (SUBMIT mode).
+     * oracleOutputs must be index-aligned with userOutputs.
+     *
+     * @return the lowest failing index and its result, or index -1 if all passed
+     */
+    public FirstFailure judgeUntilFirstFailure(JudgingPipeline pipeline, List<ExecutionOutput> userOutputs,
+            List<ExecutionOutput> oracleOutputs, JudgingContext context, JudgeBudget budget) {
+        int count = userOutputs.size();
+
+        if (!shouldParallelize(userOutputs, oracleOutputs)) {
+            for (int i = 0; i < count; i++) {
+                JudgingResult result = pipeline.judge(userOutputs.get(i), oracleOutputs.get(i), context, budget);
+                if (!result.isPassed()) {
+                    return new FirstFailure(i, result);
+                }
+            }
+            return new FirstFailure(-1, null);
+        }
+
+        log.debug("[ParallelJudgingExecutor] Judging {} testcases in parallel (first failure)", count);
+        JudgingResult[] results = new JudgingResult[count];
+        RuntimeException[] errors = new RuntimeException[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger firstFailure = new AtomicInteger(count);
+
+        runWorkers(count, () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < count && i < firstFailure.get()) {
+                try {
+                    JudgingResult result = pipeline.judge(userOutputs.get(i), oracleOutputs.get(i), context, budget);
+                    results[i] = result;
+                    if (!result.isPassed()) {
+                        firstFailure.accumulateAndGet(i, Math::min);
+                    }
+                } catch (RuntimeException e) {
+                    errors[i] = e;
+                    firstFailure.accumulateAndGet(i, Math::min);
+                }
+            }
+        });
+
+        int index = firstFailure.get();
+        if (index >= count) {
+            return new FirstFailure(-1, null);
+        }
+        if (errors[index] != null) {
+            throw errors[index];
+        }
+        log.debug("[ParallelJudgingExecutor] First failure at testcase {} (skipped {} remaining)",
+                index, Math.max(0, count - next.get()));
+        return new FirstFailure(index, results[index]);
+    }
+
+    /**
+     * Parallelize only when the suite is big enough to pay for the hand-off.
+     */
+    boolean shouldParallelize(List<ExecutionOutput> userOutputs, List<ExecutionOutput> oracleOutputs) {
+        int count = userOutputs.size();
+        if (parallelism < 2 || count < 2) {
+            return false;
+        }
+        if (count >= minTestcases) {
+            return true;
+        }
+        long outputChars = 0;
+        for (int i = 0; i < count; i++) {
+            outputChars += rawLength(userOutputs.get(i)) + rawLength(oracleOutputs.get(i));
+            if (outputChars >= minOutputChars) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fork one worker per pool thread (bounded by testcase count) and wait for
+     * all of them. Workers pull indices themselves, so joins happen-before the
+     * caller reads the shared result arrays.
+     */
+    private void runWorkers(int count, Runnable worker) {
+        int workers = Math.min(parallelism, count);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(pool.submit(worker));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    private long rawLength(ExecutionOutput output) {
+        return output != null && output.getRawOutput() != null ? output.getRawOutput().length() : 0;
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory judgeThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("judge-" + counter.incrementAndGet());
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -1,10 +1,14 @@
 package com.hrishabh.algocracksubmissionservice.judging;
 
 import com.hrishabh.algocracksubmissionservice.models.NodeType;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.CanonicalDigester;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.DigestMode;
 import com.hrishabh.algocracksubmissionservice.judging.comparator.ExactMatchComparator;
 import com.hrishabh.algocracksubmissionservice.judging.comparator.JsonDeepComparator;
 import com.hrishabh.algocracksubmissionservice.judging.comparator.OutputComparator;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.RawOutputComparator;
 import com.hrishabh.algocracksubmissionservice.judging.comparator.SetEqualityComparator;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.StreamingSequenceComparator;
 import com.hrishabh.algocracksubmissionservice.judging.comparator.StructuralTreeComparator;
 import com.hrishabh.algocracksubmissionservice.judging.extractor.DesignClassExtractor;
 import com.hrishabh.algocracksubmissionservice.judging.extractor.IdentityExtractor;
@@ -14,9 +18,11 @@ import com.hrishabh.algocracksubmissionservice.judging.normalizer.*;
 import com.hrishabh.algocracksubmissionservice.judging.validator.DeepCopyValidator;
 import com.hrishabh.algocracksubmissionservice.judging.validator.DesignClassSizeValidator;
 import com.hrishabh.algocracksubmissionservice.judging.validator.LinkedListShapeValidator;
+import com.hrishabh.algocracksubmissionservice.judging.validator.OutputSizeGuardValidator;
 import com.hrishabh.algocracksubmissionservice.judging.validator.OutputValidator;
 import com.hrishabh.algocracksubmissionservice.judging.validator.StructuralSafetyValidator;
 import com.hrishabh.algocracksubmissionservice.judging.validator.SudokuConstraintValidator;
+import com.hrishabh.algocracksubmissionservice.judging.validator.ValidationStage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -59,6 +65,7 @@ public class PipelineAssembler {
     private final StructuralTreeComparator structuralTreeComparator;
 
     // Phase 4 components (validators)
+    private final OutputSizeGuardValidator outputSizeGuardValidator;
     private final StructuralSafetyValidator structuralSafetyValidator;
     private final LinkedListShapeValidator linkedListShapeValidator;
     private final SudokuConstraintValidator sudokuConstraintValidator;
@@ -70,6 +77,16 @@ public class PipelineAssembler {
     // Phase 7 components (design-class behavioral validation)
     private final DesignClassExtractor designClassExtractor;
     private final DesignClassSizeValidator designClassSizeValidator;
+    private final StreamingSequenceComparator streamingSequenceComparator;
+
+    // Digest judging mode for large outputs
+    private final CanonicalDigester canonicalDigester;
+
+    // Per-phase instrumentation (no-op unless judging.metrics.enabled)
+    private final JudgingMetrics judgingMetrics;
+
+    // Results for repeated user outputs, keyed by plan id
+    private final JudgingMemo judgingMemo;
 
     /**
      * Assemble a judging pipeline based on question metadata.
@@ -79,19 +96,74 @@ public class PipelineAssembler {
      * @return Assembled JudgingPipeline ready to judge testcases
      */
     public JudgingPipeline assemble(JudgingContext context) {
+        return assemble(context, judgingMetrics);
+    }
+
+    /**
+     * The same pipeline without per-phase metrics, for synthetic judging
+     * (JitWarmupService) that must not show up in judging.phase.time or
+     * judging.testcases.
+     */
+    public JudgingPipeline assembleUninstrumented(JudgingContext context) {
+        return assemble(context, null);
+    }
+
+    private JudgingPipeline assemble(JudgingContext context, JudgingMetrics metrics) {
         log.debug(
                 "[PipelineAssembler] Assembling pipeline for question {} — returnType={}, effectiveOutputType={}, orderMatters={}, nodeType={}",
                 context.getQuestionId(), context.getReturnType(), context.getEffectiveOutputType(),
                 context.getIsOutputOrderMatters(), context.getNodeType());
 
+        OutputExtractor extractor = selectExtractor(context);
+        OutputNormalizer normalizer = selectNormalizer(context);
+        OutputComparator comparator = selectComparator(context);
+        List<OutputValidator> validators = selectValidators(context, extractor);
+        String planId = planId(context, extractor, normalizer, comparator, validators);
+
+        RawOutputComparator rawComparator = selectRawComparator(context, validators);
+        if (rawComparator == null) {
+            rawComparator = selectDigestComparator(context, extractor, normalizer, comparator, validators, planId);
+        }
+
         return JudgingPipeline.builder()
-                .extractor(selectExtractor(context))
-                .normalizer(selectNormalizer(context))
-                .comparator(selectComparator(context))
-                .validators(selectValidators(context))
+                .extractor(extractor)
+                .normalizer(normalizer)
+                .comparator(comparator)
+                .validators(validators)
+                .rawComparator(rawComparator)
+                .metrics(metrics)
+                .memo(judgingMemo)
+                .planId(planId)
                 .build();
     }
 
+    /**
+     * Identity of an assembled pipeline: its components plus the metadata
+     * they read. Equal plan ids judge any given output identically (the raw
+     * comparator is derived from these, so it is not part of the id).
+     */
+    private String planId(JudgingContext ctx, OutputExtractor extractor, OutputNormalizer normalizer,
+            OutputComparator comparator, List<OutputValidator> validators) {
+        StringBuilder sb = new StringBuilder(128)
+                .append(ctx.getQuestionId())
+                .append('|').append(extractor.getClass().getSimpleName())
+                .append('|').append(normalizer.getClass().getSimpleName())
+                .append('|').append(comparator.getClass().getSimpleName());
+        for (OutputValidator validator : validators) {
+            sb.append('|').append(validator.getClass().getSimpleName());
+        }
+        return sb.append('|').append(ctx.getReturnType())
+                .append('|').append(ctx.getEffectiveOutputType())
+                .append('|').append(ctx.getNodeType())
+                .append('|').append(ctx.getIsOutputOrderMatters())
+                .append('|').append(ctx.getExecutionStrategy())
+                .append('|').append(ctx.getValidationHints())
+                .append('|').append(ctx.getMutationTarget())
+                .append('|').append(ctx.getSerializationStrategy())
+                .append('|').append(ctx.getQuestionType())
+                .toString();
+    }
+
     // ---- Phase selection methods (each independent, no combinatorial coupling)
     // ----
 
@@ -203,9 +275,76 @@ public class PipelineAssembler {
         return exactMatchComparator;
     }
 
-    private List<OutputValidator> selectValidators(JudgingContext ctx) {
+    /**
+     * Streaming fast path for design-class operation logs. Only chosen when it
+     * covers everything the regular phases would check: STATEFUL_SEQUENCE, or
+     * ROUND_TRIP with a non-tree result (tree round-trips need structural
+     * comparison), and no validator other than the size check it subsumes.
+     * The regular phases stay assembled as the fallback.
+     */
+    private RawOutputComparator selectRawComparator(JudgingContext ctx, List<OutputValidator> validators) {
+        if (!"CLASS".equalsIgnoreCase(ctx.getExecutionStrategy())) {
+            return null;
+        }
+        List<String> hints = ctx.getValidationHints();
+        if (hints == null) {
+            return null;
+        }
+        boolean streamable = hints.contains("STATEFUL_SEQUENCE")
+                || (hints.contains("ROUND_TRIP") && ctx.getNodeType() != NodeType.TREE_NODE);
+        if (!streamable) {
+            return null;
+        }
+        for (OutputValidator validator : validators) {
+            if (validator != designClassSizeValidator) {
+                return null;
+            }
+        }
+        log.debug("[PipelineAssembler] Using StreamingSequenceComparator for CLASS execution");
+        return streamingSequenceComparator;
+    }
+
+    /**
+     * Digest mode: JSON array outputs whose normalized form can be hashed
+     * straight off the token stream (ordered deep comparison, or sorted
+     * lists compared as multisets), with no validator that needs the
+     * extracted structure. Only large oracle outputs take this path; the
+     * regular phases stay assembled as the fallback.
+     */
+    private RawOutputComparator selectDigestComparator(JudgingContext ctx, OutputExtractor extractor,
+            OutputNormalizer normalizer, OutputComparator comparator, List<OutputValidator> validators,
+            String planId) {
+        if (extractor != jsonArrayExtractor) {
+            return null;
+        }
+        for (OutputValidator validator : validators) {
+            if (validator.getStage() != ValidationStage.PRE_EXTRACT) {
+                return null;
+            }
+        }
+        DigestMode mode;
+        if (normalizer == identityNormalizer && comparator == jsonDeepComparator) {
+            mode = DigestMode.ORDERED;
+        } else if (normalizer == sortedListNormalizer && comparator == setEqualityComparator) {
+            mode = DigestMode.UNORDERED;
+        } else if (normalizer == sortedNestedListNormalizer && comparator == setEqualityComparator) {
+            mode = DigestMode.UNORDERED_NESTED;
+        } else {
+            return null;
+        }
+        log.debug("[PipelineAssembler] Digest mode {} available for large outputs", mode);
+        return canonicalDigester.comparator(mode, planId);
+    }
+
+    private List<OutputValidator> selectValidators(JudgingContext ctx, OutputExtractor extractor) {
         List<OutputValidator> validators = new ArrayList<>();
 
+        // Class 0: Raw size guard — whenever output is parsed as a JSON array (PRE_EXTRACT)
+        if (extractor == jsonArrayExtractor) {
+            log.debug("[PipelineAssembler] Adding OutputSizeGuardValidator for JSON array extraction");
+            validators.add(outputSizeGuardValidator);
+        }
+
         // Class 1: Structural safety — trait-driven (PRE_COMPARE)
         NodeType nodeType = ctx.getNodeType();
         if (nodeType == NodeType.LIST_NODE || nodeType == NodeType.TREE_NODE) {
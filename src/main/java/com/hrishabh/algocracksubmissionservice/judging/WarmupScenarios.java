@@ -0,0 +1,208 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.hrishabh.algocracksubmissionservice.models.NodeType;
+
+import java.util.List;
+
+/**
+ * Synthetic question families, one per PipelineAssembler route, used to
+ * warm up the judging code before the service reports ready. Each scenario
+ * carries the JudgingContext that selects the route plus a passing pair of
+ * raw outputs shaped like what CXE returns:
+ *
+ * - int[]                      JsonArrayExtractor, IdentityNormalizer, JsonDeepComparator
+ * - List (unordered)           SortedListNormalizer, SetEqualityComparator
+ * - List of lists (unordered)  SortedNestedListNormalizer
+ * - edge list (unordered)      EdgeNormalizer
+ * - TreeNode                   StructuralTreeComparator, StructuralSafetyValidator
+ * - flattened TreeNode         LinkedListShapeValidator
+ * - ListNode                   ExactMatchComparator
+ * - clone graph                IdentityExtractor, DeepCopyValidator
+ * - Sudoku                     CharMatrixNormalizer, SudokuConstraintValidator
+ * - char[][]                   CharMatrixNormalizer
+ * - design class (stateful)    StreamingSequenceComparator
+ * - design class (round trip)  DesignClassExtractor, DesignClassSizeValidator
+ *
+ * Unordered scenarios scramble the user side so the normalizers sort.
+ * Payloads are deterministic; "size" is the number of elements.
+ */
+public final class WarmupScenarios {
+
+    private WarmupScenarios() {
+    }
+
+    public record Scenario(String route, JudgingContext context, String userOutput, String oracleOutput) {
+    }
+
+    public static List<Scenario> all(int size) {
+        int n = Math.max(8, size);
+        return List.of(
+                new Scenario("int-array",
+                        JudgingContext.builder().returnType("int[]").isOutputOrderMatters(true).build(),
+                        intArray(n, 1), intArray(n, 1)),
+                new Scenario("unordered-list",
+                        JudgingContext.builder().returnType("List<Integer>").isOutputOrderMatters(false).build(),
+                        intArray(n, stride(n)), intArray(n, 1)),
+                new Scenario("unordered-nested-list",
+                        JudgingContext.builder().returnType("List<List<Integer>>").isOutputOrderMatters(false)
+                                .build(),
+                        triplets(n / 3, stride(n / 3)), triplets(n / 3, 1)),
+                new Scenario("unordered-edge-list",
+                        JudgingContext.builder().returnType("List<List<Integer>>").nodeType(NodeType.GRAPH_NODE)
+                                .isOutputOrderMatters(false).build(),
+                        edges(n, stride(n - 1)), edges(n, 1)),
+                new Scenario("tree",
+                        JudgingContext.builder().returnType("TreeNode").nodeType(NodeType.TREE_NODE).build(),
+                        intArray(n, 1), intArray(n, 1)),
+                new Scenario("flattened-tree",
+                        JudgingContext.builder().returnType("void").effectiveOutputType("TreeNode")
+                                .nodeType(NodeType.TREE_NODE).validationHints(List.of("EXPECT_LINEAR_FORM"))
+                                .build(),
+                        rightSkewedTree(n), rightSkewedTree(n)),
+                new Scenario("linked-list",
+                        JudgingContext.builder().returnType("ListNode").nodeType(NodeType.LIST_NODE).build(),
+                        intArray(n, 1), intArray(n, 1)),
+                new Scenario("clone-graph",
+                        JudgingContext.builder().returnType("Node").nodeType(NodeType.GRAPH_NODE)
+                                .validationHints(List.of("REQUIRE_DEEP_COPY")).build(),
+                        ring(n), ring(n)),
+                new Scenario("sudoku",
+                        JudgingContext.builder().returnType("void").mutationTarget("board")
+                                .effectiveOutputType("char[][]").validationHints(List.of("SUDOKU_RULES")).build(),
+                        sudoku(), sudoku()),
+                new Scenario("char-matrix",
+                        JudgingContext.builder().returnType("void").mutationTarget("board")
+                                .effectiveOutputType("char[][]").build(),
+                        charMatrix(n), charMatrix(n)),
+                new Scenario("design-stateful",
+                        JudgingContext.builder().executionStrategy("CLASS").returnType("LRUCache")
+                                .validationHints(List.of("STATEFUL_SEQUENCE")).build(),
+                        operations(n), operations(n)),
+                new Scenario("design-round-trip",
+                        JudgingContext.builder().executionStrategy("CLASS").returnType("Codec")
+                                .nodeType(NodeType.TREE_NODE).validationHints(List.of("ROUND_TRIP")).build(),
+                        roundTrip(n), roundTrip(n)));
+    }
+
+    /**
+     * A stride coprime to n, so visiting i * stride % n scrambles 0..n-1.
+     */
+    private static int stride(int n) {
+        int stride = 7;
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static String intArray(int n, int stride) {
+        StringBuilder sb = new StringBuilder(n * 4).append('[');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append((long) i * stride % n);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String triplets(int groups, int stride) {
+        StringBuilder sb = new StringBuilder(groups * 16).append('[');
+        for (int i = 0; i < groups; i++) {
+            if (i > 0) sb.append(',');
+            int base = (int) ((long) i * stride % groups) * 3;
+            if (stride == 1) {
+                sb.append('[').append(base).append(',').append(base + 1).append(',').append(base + 2).append(']');
+            } else {
+                sb.append('[').append(base + 2).append(',').append(base).append(',').append(base + 1).append(']');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * A path over n nodes; scrambled edges are reordered and reversed.
+     */
+    private static String edges(int n, int stride) {
+        StringBuilder sb = new StringBuilder(n * 12).append('[');
+        for (int i = 0; i < n - 1; i++) {
+            if (i > 0) sb.append(',');
+            int a = (int) ((long) i * stride % (n - 1));
+            if (stride == 1) {
+                sb.append('[').append(a).append(',').append(a + 1).append(']');
+            } else {
+                sb.append('[').append(a + 1).append(',').append(a).append(']');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String rightSkewedTree(int n) {
+        StringBuilder sb = new StringBuilder(n * 12).append('[');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(",null,");
+            sb.append(i);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * 1-indexed adjacency list of an n-node ring.
+     */
+    private static String ring(int n) {
+        StringBuilder sb = new StringBuilder(n * 12).append('[');
+        for (int i = 1; i <= n; i++) {
+            if (i > 1) sb.append(',');
+            sb.append('[').append(i == 1 ? n : i - 1).append(',').append(i == n ? 1 : i + 1).append(']');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String sudoku() {
+        StringBuilder sb = new StringBuilder(120).append('[');
+        for (int row = 0; row < 9; row++) {
+            if (row > 0) sb.append(',');
+            sb.append('"');
+            for (int col = 0; col < 9; col++) {
+                sb.append((char) ('1' + (row * 3 + row / 3 + col) % 9));
+            }
+            sb.append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String charMatrix(int cells) {
+        int side = Math.max(1, (int) Math.sqrt(cells));
+        StringBuilder sb = new StringBuilder(side * (side + 3) + 2).append('[');
+        for (int row = 0; row < side; row++) {
+            if (row > 0) sb.append(',');
+            sb.append('"');
+            for (int col = 0; col < side; col++) {
+                sb.append((row * 7 + col * 3) % 4 == 0 ? 'O' : 'X');
+            }
+            sb.append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String operations(int n) {
+        StringBuilder sb = new StringBuilder(n * 5).append("[null");
+        for (int i = 1; i < n; i++) {
+            sb.append(',');
+            switch (i % 4) {
+                case 0 -> sb.append("null");
+                case 1 -> sb.append(-1);
+                case 2 -> sb.append(i % 3 == 0);
+                default -> sb.append(i);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String roundTrip(int n) {
+        String tree = intArray(n, 1);
+        return "[null,\"" + tree.replace(',', '#') + "\"," + tree + ']';
+    }
+}
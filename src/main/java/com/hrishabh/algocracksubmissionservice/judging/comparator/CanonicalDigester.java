@@ -0,0 +1,274 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgeBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming canonical digests of JSON array outputs (digest judging mode).
+ *
+ * For questions whose outputs run to megabytes, building JsonNode trees for
+ * both sides (and sorting them) dominates judging cost and memory. Instead,
+ * each output is hashed straight off the token stream into a 64-bit digest of
+ * its canonical form — the form it would have after the question's
+ * normalizer — so equal digests mean equal normalized outputs:
+ *
+ * - Values hash with JsonNode equality semantics: scalars by kind and value
+ *   (int / long / big-integer / double / string / boolean / null), arrays in
+ *   order, objects independent of field order.
+ * - UNORDERED / UNORDERED_NESTED combine elements with a commutative sum of
+ *   mixed hashes, i.e. a multiset hash: no sort, no buffering.
+ *
+ * Oracle digests are kept in a small LRU store keyed by (plan id, mode, oracle
+ * length, oracle content hash), so repeated submissions for the same testcase
+ * only hash the oracle text instead of re-parsing it.
+ *
+ * Only outputs whose oracle is at least minOutputChars long are judged by
+ * digest; smaller ones keep the regular phases and their detailed messages.
+ */
+@Slf4j
+@Component
+public class CanonicalDigester {
+
+    private static final long ARRAY_SEED = 0x9E3779B97F4A7C15L;
+    private static final long OBJECT_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long STRING_SEED = 0x165667B19E3779F9L;
+    private static final long MULTISET_SEED = 0x27D4EB2F165667C5L;
+    private static final long PRIME = 0x100000001B3L;
+
+    private final ObjectMapper objectMapper;
+    private final long minOutputChars;
+    private final Map<StoreKey, Digest> expected;
+
+    public CanonicalDigester(ObjectMapper objectMapper,
+            @Value("${judging.digest.min-output-chars:1000000}") long minOutputChars,
+            @Value("${judging.digest.store-entries:4096}") int storeEntries) {
+        this.objectMapper = objectMapper;
+        this.minOutputChars = minOutputChars;
+        this.expected = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StoreKey, Digest> eldest) {
+                return size() > storeEntries;
+            }
+        };
+    }
+
+    /**
+     * Outputs at least this long are judged (and stored) by digest.
+     */
+    public long getMinOutputChars() {
+        return minOutputChars;
+    }
+
+    /**
+     * Digest-mode fast path for one assembled pipeline.
+     */
+    public RawOutputComparator comparator(DigestMode mode, String planId) {
+        return new DigestComparator(this, mode, planId);
+    }
+
+    /**
+     * Digest of a raw output, or null if it is not a JSON array.
+     */
+    public Digest digest(String raw, DigestMode mode) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(raw)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            return mode == DigestMode.ORDERED ? orderedArray(parser) : multiset(parser, mode);
+        }
+    }
+
+    /**
+     * Oracle digest through the store; computed on a miss.
+     */
+    Digest expected(String oracleRaw, DigestMode mode, String planId) throws IOException {
+        StoreKey key = new StoreKey(planId, mode, oracleRaw.length(), contentHash(oracleRaw));
+        Digest digest;
+        synchronized (expected) {
+            digest = expected.get(key);
+        }
+        if (digest == null) {
+            digest = digest(oracleRaw, mode);
+            if (digest != null) {
+                synchronized (expected) {
+                    expected.put(key, digest);
+                }
+            }
+        }
+        return digest;
+    }
+
+    private Digest orderedArray(JsonParser parser) throws IOException {
+        long h = ARRAY_SEED;
+        long count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            JudgeBudget.checkpoint();
+            h = h * PRIME + value(parser, expect(token));
+            count++;
+        }
+        return new Digest(mix(h ^ count), count);
+    }
+
+    /**
+     * Top-level multiset; for UNORDERED_NESTED each element is itself a
+     * multiset (a scalar counts as a one-element list, like the normalizer).
+     */
+    private Digest multiset(JsonParser parser, DigestMode mode) throws IOException {
+        long sum = 0;
+        long count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            JudgeBudget.checkpoint();
+            expect(token);
+            long element;
+            if (mode == DigestMode.UNORDERED_NESTED) {
+                element = token == JsonToken.START_ARRAY ? innerMultiset(parser) : singleton(value(parser, token));
+            } else {
+                element = value(parser, token);
+            }
+            sum += mix(element);
+            count++;
+        }
+        return new Digest(mix(MULTISET_SEED ^ sum ^ mix(count)), count);
+    }
+
+    private long innerMultiset(JsonParser parser) throws IOException {
+        long sum = 0;
+        long count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            sum += mix(value(parser, expect(token)));
+            count++;
+        }
+        return mix(MULTISET_SEED ^ sum ^ mix(count));
+    }
+
+    private static long singleton(long value) {
+        return mix(MULTISET_SEED ^ mix(value) ^ mix(1));
+    }
+
+    /**
+     * Hash of the value starting at token, leaving the parser on its last token.
+     */
+    private long value(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_ARRAY: {
+                long h = ARRAY_SEED;
+                long count = 0;
+                JsonToken t;
+                while ((t = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    h = h * PRIME + value(parser, expect(t));
+                    count++;
+                }
+                return mix(h ^ count);
+            }
+            case START_OBJECT: {
+                long sum = 0;
+                long count = 0;
+                JsonToken t;
+                while ((t = parser.nextToken()) != JsonToken.END_OBJECT) {
+                    if (t != JsonToken.FIELD_NAME) {
+                        throw new IOException("Expected field name, got " + t);
+                    }
+                    long name = text(parser);
+                    sum += mix(name * PRIME + value(parser, expect(parser.nextToken())));
+                    count++;
+                }
+                return mix(OBJECT_SEED ^ sum ^ count);
+            }
+            case VALUE_STRING:
+                return text(parser);
+            case VALUE_NUMBER_INT:
+                JsonParser.NumberType type = parser.getNumberType();
+                long bits = type == JsonParser.NumberType.BIG_INTEGER
+                        ? bytes(parser.getBigIntegerValue().toByteArray())
+                        : parser.getLongValue();
+                return mix(bits * 31 + type.ordinal() + 1);
+            case VALUE_NUMBER_FLOAT:
+                return mix(Double.doubleToLongBits(parser.getDoubleValue()) * 31 + 7);
+            case VALUE_TRUE:
+                return 0x5555555555555555L;
+            case VALUE_FALSE:
+                return 0x3333333333333333L;
+            case VALUE_NULL:
+                return 0x0F0F0F0F0F0F0F0FL;
+            default:
+                throw new IOException("Unexpected token " + token);
+        }
+    }
+
+    /**
+     * Hash of the current string / field name, read from the parser's buffer.
+     */
+    private static long text(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        long h = STRING_SEED;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ chars[offset + i]) * PRIME;
+        }
+        return mix(h ^ length);
+    }
+
+    /**
+     * Hash of a big integer's two's-complement bytes. BigInteger.hashCode()
+     * is 32 bits and easy to collide on purpose.
+     */
+    private static long bytes(byte[] value) {
+        long h = STRING_SEED;
+        for (byte b : value) {
+            h = (h ^ (b & 0xFF)) * PRIME;
+        }
+        return mix(h ^ value.length);
+    }
+
+    private static JsonToken expect(JsonToken token) throws IOException {
+        if (token == null) {
+            throw new IOException("Unexpected end of input");
+        }
+        return token;
+    }
+
+    /**
+     * 64-bit FNV-1a of the raw text, used only to key the oracle store.
+     */
+    private static long contentHash(String raw) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < raw.length(); i++) {
+            h = (h ^ raw.charAt(i)) * PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Murmur3 fmix64 finalizer: spreads every input bit over the output.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Canonical digest of an output and its top-level element count.
+     */
+    public record Digest(long hash, long count) {
+    }
+
+    private record StoreKey(String planId, DigestMode mode, int length, long contentHash) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * Digest judging mode for one assembled pipeline: compares canonical digests
+ * of the raw outputs (CanonicalDigester) instead of extracting, normalizing
+ * and comparing trees.
+ *
+ * Applies only when the oracle output is large; smaller outputs, non-array
+ * outputs and malformed JSON return null and take the regular phases. Failure
+ * reasons match the comparator the digest stands in for.
+ */
+@Slf4j
+public class DigestComparator implements RawOutputComparator {
+
+    private final CanonicalDigester digester;
+    private final DigestMode mode;
+    private final String planId;
+
+    DigestComparator(CanonicalDigester digester, DigestMode mode, String planId) {
+        this.digester = digester;
+        this.mode = mode;
+        this.planId = planId;
+    }
+
+    @Override
+    public ComparisonResult compareRaw(String userRaw, String oracleRaw, JudgingContext context) {
+        if (userRaw == null || oracleRaw == null || oracleRaw.length() < digester.getMinOutputChars()) {
+            return null;
+        }
+        try {
+            CanonicalDigester.Digest expected = digester.expected(oracleRaw, mode, planId);
+            CanonicalDigester.Digest actual = expected != null ? digester.digest(userRaw, mode) : null;
+            if (actual == null) {
+                return null;
+            }
+            if (actual.equals(expected)) {
+                log.trace("[DigestComparator] {} digests match ({} elements)", mode, actual.count());
+                return ComparisonResult.passed();
+            }
+            if (mode == DigestMode.ORDERED) {
+                return ComparisonResult.failed("Output mismatch (JSON deep comparison)");
+            }
+            if (actual.count() != expected.count()) {
+                return ComparisonResult.failed(
+                        "Set size mismatch: got " + actual.count() + ", expected " + expected.count());
+            }
+            return ComparisonResult.failed("Set contents mismatch (elements differ after normalization)");
+        } catch (IOException e) {
+            log.debug("[DigestComparator] Falling back to tree judging: {}", e.getMessage());
+            return null;
+        }
+    }
+}
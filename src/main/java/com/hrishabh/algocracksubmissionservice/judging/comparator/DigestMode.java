@@ -0,0 +1,23 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+/**
+ * Canonical form a digest is computed over, mirroring the pipeline's
+ * normalizer (see CanonicalDigester).
+ */
+public enum DigestMode {
+
+    /**
+     * IdentityNormalizer: element order is significant.
+     */
+    ORDERED,
+
+    /**
+     * SortedListNormalizer: top-level elements form a multiset.
+     */
+    UNORDERED,
+
+    /**
+     * SortedNestedListNormalizer: a multiset of multisets.
+     */
+    UNORDERED_NESTED
+}
@@ -0,0 +1,25 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+
+/**
+ * Optional fast path that judges raw user vs oracle output directly, without
+ * the extract → normalize → compare phases building structured values.
+ *
+ * Used for outputs that can be compared as two token streams (long
+ * design-class operation logs). When the raw form cannot be streamed
+ * (malformed or unexpected shape), implementations return null and the
+ * pipeline falls back to the regular phases.
+ */
+public interface RawOutputComparator {
+
+    /**
+     * Compare raw user output vs raw oracle output.
+     *
+     * @param userRaw   Raw user output as returned by CXE
+     * @param oracleRaw Raw oracle output as returned by CXE
+     * @param context   Judging context with question metadata
+     * @return ComparisonResult, or null to fall back to the regular phases
+     */
+    ComparisonResult compareRaw(String userRaw, String oracleRaw, JudgingContext context);
+}
@@ -3,6 +3,7 @@ package com.hrishabh.algocracksubmissionservice.judging.comparator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.PackedEdgeList;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -29,6 +30,11 @@ public class SetEqualityComparator implements OutputComparator {
     @Override
     public ComparisonResult compare(Object userNormalized, Object oracleNormalized, JudgingContext context) {
 
+        // Packed edge lists from EdgeNormalizer: primitive array equality
+        if (userNormalized instanceof PackedEdgeList || oracleNormalized instanceof PackedEdgeList) {
+            return comparePackedEdges(userNormalized, oracleNormalized);
+        }
+
         // Both should be sorted JsonNodes from normalizer phase
         if (userNormalized instanceof JsonNode && oracleNormalized instanceof JsonNode) {
             JsonNode userNode = (JsonNode) userNormalized;
@@ -72,4 +78,21 @@ public class SetEqualityComparator implements OutputComparator {
 
         return ComparisonResult.failed("Set contents mismatch");
     }
+
+    private ComparisonResult comparePackedEdges(Object userNormalized, Object oracleNormalized) {
+        if (!(userNormalized instanceof PackedEdgeList) || !(oracleNormalized instanceof PackedEdgeList)) {
+            // One side had non-integer labels — the edge sets cannot match
+            return ComparisonResult.failed("Set contents mismatch (elements differ after normalization)");
+        }
+        PackedEdgeList userEdges = (PackedEdgeList) userNormalized;
+        PackedEdgeList oracleEdges = (PackedEdgeList) oracleNormalized;
+        if (userEdges.size() != oracleEdges.size()) {
+            return ComparisonResult.failed(
+                    "Set size mismatch: got " + userEdges.size() + ", expected " + oracleEdges.size());
+        }
+        if (userEdges.equals(oracleEdges)) {
+            return ComparisonResult.passed();
+        }
+        return ComparisonResult.failed("Set contents mismatch (elements differ after normalization)");
+    }
 }
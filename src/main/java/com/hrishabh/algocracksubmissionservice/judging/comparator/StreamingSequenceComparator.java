@@ -0,0 +1,261 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgeBudget;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.OutputPreview;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming judge for design-class operation logs (Phase 7 hints).
+ *
+ * CXE returns one result per operation: [result_op0, result_op1, ...].
+ * Instead of parsing both arrays into trees (DesignClassExtractor) and
+ * comparing them whole (JsonDeepComparator), this walks the user and oracle
+ * token streams in lockstep, one operation at a time:
+ *
+ * STATEFUL_SEQUENCE: op 0 (constructor) is skipped; every later result must
+ *   match. The first divergent operation index is reported.
+ * ROUND_TRIP: only the last operation's result matters; earlier results
+ *   (e.g. the serialized form) are walked but not judged.
+ *
+ * Operation counts are checked like DesignClassSizeValidator (a count
+ * mismatch takes precedence over a content mismatch), so this replaces
+ * extraction, the size validator and comparison in one pass.
+ *
+ * Scalars are compared token to token; array/object results are read one
+ * element at a time into a tree and compared with JsonNode equality, so the
+ * semantics match JsonDeepComparator. Peak memory is bounded by the largest
+ * single operation result, not by the length of the log.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamingSequenceComparator implements RawOutputComparator {
+
+    /**
+     * Longest rendering of a divergent operation result in failure reasons.
+     */
+    private static final int MAX_VALUE_CHARS = 200;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ComparisonResult compareRaw(String userRaw, String oracleRaw, JudgingContext context) {
+        if (userRaw == null || oracleRaw == null || userRaw.isBlank() || oracleRaw.isBlank()) {
+            return null;
+        }
+        List<String> hints = context.getValidationHints();
+        boolean roundTrip = hints != null && hints.contains("ROUND_TRIP");
+
+        try (JsonParser user = objectMapper.createParser(userRaw);
+                JsonParser oracle = objectMapper.createParser(oracleRaw)) {
+            if (user.nextToken() != JsonToken.START_ARRAY || oracle.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            return roundTrip ? compareLast(user, oracle) : compareSequence(user, oracle);
+        } catch (IOException e) {
+            // Malformed JSON somewhere in the log: let the regular phases handle it
+            log.debug("[StreamingSequenceComparator] Falling back to tree judging: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * STATEFUL_SEQUENCE: compare every operation after the constructor.
+     */
+    private ComparisonResult compareSequence(JsonParser user, JsonParser oracle) throws IOException {
+        int index = 0;
+        int firstDivergence = -1;
+        String got = null;
+        String expected = null;
+
+        while (true) {
+            JsonToken u = user.nextToken();
+            JsonToken o = oracle.nextToken();
+            if (u == JsonToken.END_ARRAY || o == JsonToken.END_ARRAY) {
+                return finish(user, u, oracle, o, index, firstDivergence, got, expected);
+            }
+            if (u == null || o == null) {
+                throw new IOException("Unexpected end of input at operation " + index);
+            }
+            JudgeBudget.checkpoint();
+
+            if (index == 0 || firstDivergence >= 0) {
+                // Constructor slot, or already diverged: only counting from here on
+                user.skipChildren();
+                oracle.skipChildren();
+            } else {
+                Divergence divergence = compareElement(user, u, oracle, o);
+                if (divergence != null) {
+                    firstDivergence = index;
+                    got = divergence.got;
+                    expected = divergence.expected;
+                }
+            }
+            index++;
+        }
+    }
+
+    /**
+     * ROUND_TRIP: walk every operation, judge only the last pair.
+     */
+    private ComparisonResult compareLast(JsonParser user, JsonParser oracle) throws IOException {
+        int index = 0;
+        Divergence last = null;
+
+        while (true) {
+            JsonToken u = user.nextToken();
+            JsonToken o = oracle.nextToken();
+            if (u == JsonToken.END_ARRAY || o == JsonToken.END_ARRAY) {
+                int divergence = last != null ? index - 1 : -1;
+                return finish(user, u, oracle, o, index, divergence,
+                        last != null ? last.got : null, last != null ? last.expected : null);
+            }
+            if (u == null || o == null) {
+                throw new IOException("Unexpected end of input at operation " + index);
+            }
+            JudgeBudget.checkpoint();
+            last = compareElement(user, u, oracle, o);
+            index++;
+        }
+    }
+
+    /**
+     * One stream has ended after `compared` operations. Count what is left on
+     * the other, then report a count mismatch before any content mismatch.
+     */
+    private ComparisonResult finish(JsonParser user, JsonToken u, JsonParser oracle, JsonToken o,
+            int compared, int firstDivergence, String got, String expected) throws IOException {
+        int userCount = u == JsonToken.END_ARRAY ? compared : compared + 1 + countRemaining(user);
+        int oracleCount = o == JsonToken.END_ARRAY ? compared : compared + 1 + countRemaining(oracle);
+
+        if (userCount != oracleCount) {
+            log.info("[StreamingSequenceComparator] Operation count mismatch: user={}, oracle={}",
+                    userCount, oracleCount);
+            return ComparisonResult.failed("Operation count mismatch: your class produced " + userCount
+                    + " results, expected " + oracleCount);
+        }
+        if (firstDivergence >= 0) {
+            return ComparisonResult.failed("Operation " + firstDivergence + " result mismatch: got "
+                    + got + ", expected " + expected);
+        }
+        log.trace("[StreamingSequenceComparator] All {} operation results match", userCount);
+        return ComparisonResult.passed();
+    }
+
+    /**
+     * Count the elements left in an array whose current token is the start
+     * (or value) of an element that has not been skipped yet.
+     */
+    private int countRemaining(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input while counting operations");
+            }
+            parser.skipChildren();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Compare the current element of both streams, leaving both parsers on
+     * the element's last token. Returns null when equal.
+     */
+    private Divergence compareElement(JsonParser user, JsonToken u, JsonParser oracle, JsonToken o)
+            throws IOException {
+        if (u.isStructStart() || o.isStructStart()) {
+            JsonNode userNode = user.readValueAsTree();
+            JsonNode oracleNode = oracle.readValueAsTree();
+            if (userNode != null && userNode.equals(oracleNode)) {
+                return null;
+            }
+            return new Divergence(render(userNode), render(oracleNode));
+        }
+        if (scalarsEqual(user, u, oracle, o)) {
+            return null;
+        }
+        return new Divergence(render(user, u), render(oracle, o));
+    }
+
+    /**
+     * Scalar equality with JsonNode semantics: same node kind and value.
+     */
+    private boolean scalarsEqual(JsonParser user, JsonToken u, JsonParser oracle, JsonToken o)
+            throws IOException {
+        if (u != o) {
+            return false;
+        }
+        switch (u) {
+            case VALUE_NUMBER_INT:
+                if (user.getNumberType() != oracle.getNumberType()) {
+                    return false;
+                }
+                return user.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? user.getBigIntegerValue().equals(oracle.getBigIntegerValue())
+                        : user.getLongValue() == oracle.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                return Double.compare(user.getDoubleValue(), oracle.getDoubleValue()) == 0;
+            case VALUE_STRING:
+                return textEquals(user, oracle);
+            default:
+                // true / false / null: equal token is equal value
+                return true;
+        }
+    }
+
+    private boolean textEquals(JsonParser user, JsonParser oracle) throws IOException {
+        int length = user.getTextLength();
+        if (length != oracle.getTextLength()) {
+            return false;
+        }
+        char[] a = user.getTextCharacters();
+        char[] b = oracle.getTextCharacters();
+        int offA = user.getTextOffset();
+        int offB = oracle.getTextOffset();
+        for (int i = 0; i < length; i++) {
+            if (a[offA + i] != b[offB + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String render(JsonParser parser, JsonToken token) throws IOException {
+        String text = parser.getText();
+        if (token == JsonToken.VALUE_STRING) {
+            text = objectMapper.writeValueAsString(text);
+        }
+        return truncate(text);
+    }
+
+    private String render(JsonNode node) {
+        return node == null ? "null" : truncate(OutputPreview.of(node).render());
+    }
+
+    private String truncate(String text) {
+        return text.length() <= MAX_VALUE_CHARS ? text : text.substring(0, MAX_VALUE_CHARS) + "...";
+    }
+
+    private static final class Divergence {
+        private final String got;
+        private final String expected;
+
+        private Divergence(String got, String expected) {
+            this.got = got;
+            this.expected = expected;
+        }
+    }
+}
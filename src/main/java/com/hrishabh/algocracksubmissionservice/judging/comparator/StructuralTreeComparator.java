@@ -3,8 +3,8 @@ package com.hrishabh.algocracksubmissionservice.judging.comparator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.util.ArrayTree;
 import com.hrishabh.algocracksubmissionservice.judging.util.TreeTraversalUtil;
-import com.hrishabh.algocracksubmissionservice.judging.util.TreeTraversalUtil.TreeNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,8 +13,8 @@ import org.springframework.stereotype.Component;
  * Structural tree comparator — compares two tree outputs for structural
  * equivalence.
  *
- * Parses level-order JSON arrays into tree structures, then performs
- * recursive structural comparison. This handles cases where different
+ * Parses level-order JSON arrays into array-backed trees, then performs
+ * an iterative, linear structural comparison. This handles cases where different
  * serialization orderings might produce different level-order arrays
  * for structurally equivalent trees.
  *
@@ -49,21 +49,21 @@ public class StructuralTreeComparator implements OutputComparator {
             return ComparisonResult.failed("Cannot parse tree output for structural comparison");
         }
 
-        // Build trees from level-order arrays
-        TreeNode userTree = TreeTraversalUtil.buildFromLevelOrder(userJson);
-        TreeNode oracleTree = TreeTraversalUtil.buildFromLevelOrder(oracleJson);
+        // Build array-backed trees from level-order arrays
+        ArrayTree userTree = TreeTraversalUtil.buildArrayTree(userJson);
+        ArrayTree oracleTree = TreeTraversalUtil.buildArrayTree(oracleJson);
 
         // Node count fast-fail
-        int userCount = TreeTraversalUtil.countNodes(userTree);
-        int oracleCount = TreeTraversalUtil.countNodes(oracleTree);
+        int userCount = userTree.size();
+        int oracleCount = oracleTree.size();
         if (userCount != oracleCount) {
             return ComparisonResult.failed(
                     "Tree size mismatch: got " + userCount + " nodes, expected " + oracleCount);
         }
 
-        // Recursive structural comparison
-        if (TreeTraversalUtil.isStructurallyEqual(userTree, oracleTree)) {
-            log.debug("[StructuralTreeComparator] Trees are structurally equal ({} nodes)", userCount);
+        // Iterative structural comparison
+        if (userTree.isStructurallyEqual(oracleTree)) {
+            log.trace("[StructuralTreeComparator] Trees are structurally equal ({} nodes)", userCount);
             return ComparisonResult.passed();
         }
 
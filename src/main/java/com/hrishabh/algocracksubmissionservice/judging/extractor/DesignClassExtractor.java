@@ -66,7 +66,7 @@ public class DesignClassExtractor implements OutputExtractor {
             }
 
             // Default for CLASS with no specific hint: return parsed array as-is
-            log.debug("[DesignClassExtractor] No design hint, returning parsed array");
+            log.trace("[DesignClassExtractor] No design hint, returning parsed array");
             return array;
 
         } catch (Exception e) {
@@ -86,7 +86,7 @@ public class DesignClassExtractor implements OutputExtractor {
      */
     private JsonNode extractRoundTrip(JsonNode array) {
         JsonNode lastElement = array.get(array.size() - 1);
-        log.debug("[DesignClassExtractor] ROUND_TRIP: extracted last element (type={})",
+        log.trace("[DesignClassExtractor] ROUND_TRIP: extracted last element (type={})",
                 lastElement.getNodeType());
         return lastElement;
     }
@@ -105,7 +105,7 @@ public class DesignClassExtractor implements OutputExtractor {
         for (int i = 1; i < array.size(); i++) {
             filtered.add(array.get(i));
         }
-        log.debug("[DesignClassExtractor] STATEFUL_SEQUENCE: extracted {} observable outputs", filtered.size());
+        log.trace("[DesignClassExtractor] STATEFUL_SEQUENCE: extracted {} observable outputs", filtered.size());
         return filtered;
     }
 }
@@ -66,7 +66,7 @@ public class CharMatrixNormalizer implements OutputNormalizer {
         }
 
         if (transformed) {
-            log.debug("[CharMatrixNormalizer] Normalized {} rows from string to char array form",
+            log.trace("[CharMatrixNormalizer] Normalized {} rows from string to char array form",
                     node.size());
         }
 
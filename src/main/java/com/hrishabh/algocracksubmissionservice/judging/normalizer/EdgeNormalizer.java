@@ -3,13 +3,14 @@ package com.hrishabh.algocracksubmissionservice.judging.normalizer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgeBudget;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,6 +21,14 @@ import java.util.List;
  *
  * Example: [[1,2],[3,1],[2,3]] → [[1,2],[1,3],[2,3]]
  *
+ * Fast path: when every edge is a pair of int labels (the normal case), each
+ * edge is packed into one long (min << 32 | max) and the primitive array is
+ * sorted — the result is a PackedEdgeList, no per-edge JsonNodes. Numeric
+ * text is coerced as asInt() would, so ["1","2"] and [1,2] are the same edge.
+ *
+ * Fallback: any non-integer label or non-pair edge sends the whole list
+ * through the JsonNode path (per-edge ArrayNodes sorted by string form).
+ *
  * For questions like Critical Connections (#3) where edge order and
  * direction within edges don't matter.
  */
@@ -41,33 +50,89 @@ public class EdgeNormalizer implements OutputNormalizer {
             return extracted;
         }
 
+        PackedEdgeList packed = pack(node);
+        if (packed != null) {
+            log.trace("[EdgeNormalizer] Normalized {} packed edges", packed.size());
+            return packed;
+        }
+        return normalizeNodes(node);
+    }
+
+    /** label() of something that is not an int label. */
+    private static final long NOT_A_LABEL = Long.MIN_VALUE;
+
+    /**
+     * Pack and sort integer edges, or return null if any edge is not an
+     * [int, int] pair.
+     */
+    private PackedEdgeList pack(JsonNode node) {
+        int count = node.size();
+        long[] edges = new long[count];
+        for (int i = 0; i < count; i++) {
+            JsonNode edge = node.get(i);
+            if (!edge.isArray() || edge.size() != 2) {
+                return null;
+            }
+            long a = label(edge.get(0));
+            long b = label(edge.get(1));
+            if (a == NOT_A_LABEL || b == NOT_A_LABEL) {
+                return null;
+            }
+            edges[i] = PackedEdgeList.pack((int) a, (int) b);
+        }
+        Arrays.sort(edges);
+        return new PackedEdgeList(edges);
+    }
+
+    /**
+     * An int label, or an int written as text; NOT_A_LABEL otherwise.
+     */
+    private static long label(JsonNode node) {
+        if (node.isInt()) {
+            return node.intValue();
+        }
+        if (node.isTextual()) {
+            try {
+                return Integer.parseInt(node.textValue().trim());
+            } catch (NumberFormatException e) {
+                return NOT_A_LABEL;
+            }
+        }
+        return NOT_A_LABEL;
+    }
+
+    /**
+     * JsonNode fallback for non-integer labels or irregular edges.
+     */
+    private ArrayNode normalizeNodes(JsonNode node) {
         // Step 1: Normalize each edge [a,b] → [min,max]
         List<ArrayNode> normalizedEdges = new ArrayList<>();
         for (JsonNode edge : node) {
+            ArrayNode normalizedEdge = objectMapper.createArrayNode();
             if (edge.isArray() && edge.size() == 2) {
-                int a = edge.get(0).asInt();
-                int b = edge.get(1).asInt();
-
-                ArrayNode normalizedEdge = objectMapper.createArrayNode();
-                normalizedEdge.add(Math.min(a, b));
-                normalizedEdge.add(Math.max(a, b));
-                normalizedEdges.add(normalizedEdge);
+                JsonNode a = edge.get(0);
+                JsonNode b = edge.get(1);
+                boolean swap = a.toString().compareTo(b.toString()) > 0;
+                normalizedEdge.add(swap ? b : a);
+                normalizedEdge.add(swap ? a : b);
             } else {
                 // Non-standard edge, keep as-is
-                ArrayNode wrapper = objectMapper.createArrayNode();
-                edge.forEach(wrapper::add);
-                normalizedEdges.add(wrapper);
+                edge.forEach(normalizedEdge::add);
             }
+            normalizedEdges.add(normalizedEdge);
         }
 
         // Step 2: Sort edges by string representation
-        normalizedEdges.sort(Comparator.comparing(ArrayNode::toString));
+        normalizedEdges.sort((a, b) -> {
+            JudgeBudget.checkpoint();
+            return a.toString().compareTo(b.toString());
+        });
 
         // Rebuild the edge list
         ArrayNode result = objectMapper.createArrayNode();
         normalizedEdges.forEach(result::add);
 
-        log.debug("[EdgeNormalizer] Normalized {} edges", normalizedEdges.size());
+        log.trace("[EdgeNormalizer] Normalized {} edges (JsonNode fallback)", normalizedEdges.size());
         return result;
     }
 }
@@ -0,0 +1,92 @@
+package com.hrishabh.algocracksubmissionservice.judging.normalizer;
+
+import com.hrishabh.algocracksubmissionservice.judging.OutputPreview;
+
+import java.util.Arrays;
+
+/**
+ * Canonical form of an undirected integer edge list: each edge packed into
+ * one long as (min << 32 | max), the whole array sorted.
+ *
+ * Two edge lists are equal as sets of undirected edges iff their packed
+ * arrays are equal, so comparison is a single Arrays.equals over primitives.
+ *
+ * toString renders [[a,b],...] capped to OutputPreview's head/tail budget,
+ * so failure diagnostics never materialize the full list.
+ */
+public final class PackedEdgeList {
+
+    private final long[] edges;
+
+    PackedEdgeList(long[] sortedEdges) {
+        this.edges = sortedEdges;
+    }
+
+    /**
+     * Pack an undirected edge; direction does not matter.
+     */
+    static long pack(int a, int b) {
+        int min = Math.min(a, b);
+        int max = Math.max(a, b);
+        return ((long) min << 32) | (max & 0xFFFFFFFFL);
+    }
+
+    public int size() {
+        return edges.length;
+    }
+
+    public int from(int index) {
+        return (int) (edges[index] >> 32);
+    }
+
+    public int to(int index) {
+        return (int) edges[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof PackedEdgeList && Arrays.equals(edges, ((PackedEdgeList) o).edges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(edges);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder head = new StringBuilder(64).append('[');
+        int i = 0;
+        for (; i < edges.length && head.length() < OutputPreview.HEAD_CHARS; i++) {
+            appendEdge(head, i);
+        }
+        if (i == edges.length) {
+            return head.append(']').toString();
+        }
+
+        // Walk back from the end for the tail, without overlapping the head
+        int tailStart = edges.length;
+        int tailChars = 0;
+        while (tailStart > i && tailChars < OutputPreview.TAIL_CHARS) {
+            tailStart--;
+            tailChars += String.valueOf(from(tailStart)).length() + String.valueOf(to(tailStart)).length() + 4;
+        }
+        if (tailStart > i) {
+            head.append("...[").append(tailStart - i).append(" edges truncated]...");
+        }
+        for (int j = tailStart; j < edges.length; j++) {
+            appendEdge(head, j);
+        }
+        return head.append(']').toString();
+    }
+
+    private void appendEdge(StringBuilder sb, int index) {
+        if (index > 0) {
+            sb.append(',');
+        }
+        sb.append('[').append(from(index)).append(',').append(to(index)).append(']');
+    }
+}
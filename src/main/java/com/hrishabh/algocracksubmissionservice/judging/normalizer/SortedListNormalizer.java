@@ -3,6 +3,7 @@ package com.hrishabh.algocracksubmissionservice.judging.normalizer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgeBudget;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SortedListNormalizer implements OutputNormalizer {
 
+    /**
+     * String order, with a judge-budget checkpoint per comparison (the sort
+     * is the long-running part of this phase on big outputs).
+     */
+    private static final Comparator<JsonNode> BY_TEXT = (a, b) -> {
+        JudgeBudget.checkpoint();
+        return a.toString().compareTo(b.toString());
+    };
+
     private final ObjectMapper objectMapper;
 
     @Override
@@ -43,13 +53,13 @@ public class SortedListNormalizer implements OutputNormalizer {
         List<JsonNode> elements = new ArrayList<>();
         node.forEach(elements::add);
 
-        elements.sort(Comparator.comparing(JsonNode::toString));
+        elements.sort(BY_TEXT);
 
         // Rebuild sorted array
         ArrayNode sorted = objectMapper.createArrayNode();
         elements.forEach(sorted::add);
 
-        log.debug("[SortedListNormalizer] Sorted {} elements", elements.size());
+        log.trace("[SortedListNormalizer] Sorted {} elements", elements.size());
         return sorted;
     }
 }
@@ -3,6 +3,7 @@ package com.hrishabh.algocracksubmissionservice.judging.normalizer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgeBudget;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SortedNestedListNormalizer implements OutputNormalizer {
 
+    /**
+     * String order, with a judge-budget checkpoint per comparison.
+     */
+    private static final Comparator<JsonNode> BY_TEXT = (a, b) -> {
+        JudgeBudget.checkpoint();
+        return a.toString().compareTo(b.toString());
+    };
+
     private final ObjectMapper objectMapper;
 
     @Override
@@ -47,7 +56,7 @@ public class SortedNestedListNormalizer implements OutputNormalizer {
                 // Sort the inner array elements
                 List<JsonNode> innerList = new ArrayList<>();
                 innerElement.forEach(innerList::add);
-                innerList.sort(Comparator.comparing(JsonNode::toString));
+                innerList.sort(BY_TEXT);
 
                 ArrayNode sortedInner = objectMapper.createArrayNode();
                 innerList.forEach(sortedInner::add);
@@ -61,13 +70,13 @@ public class SortedNestedListNormalizer implements OutputNormalizer {
         }
 
         // Step 2: Sort the outer list by string representation
-        normalizedInner.sort(Comparator.comparing(ArrayNode::toString));
+        normalizedInner.sort(BY_TEXT);
 
         // Rebuild the outer array
         ArrayNode result = objectMapper.createArrayNode();
         normalizedInner.forEach(result::add);
 
-        log.debug("[SortedNestedListNormalizer] Normalized {} inner lists", normalizedInner.size());
+        log.trace("[SortedNestedListNormalizer] Normalized {} inner lists", normalizedInner.size());
         return result;
     }
 }
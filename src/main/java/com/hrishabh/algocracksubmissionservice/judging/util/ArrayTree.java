@@ -0,0 +1,197 @@
+package com.hrishabh.algocracksubmissionservice.judging.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Array-backed binary tree over a level-order JSON array.
+ *
+ * Nodes are numbered 0..size-1 in the order they appear (non-null) in the
+ * level-order array, which is exactly BFS order. Each node keeps:
+ * - slot[i]:  position of its value inside the level-order array
+ * - left[i]:  node number of its left child, or NONE
+ * - right[i]: node number of its right child, or NONE
+ *
+ * No per-node objects and no recursion — a 10^6-node skewed tree costs three
+ * int arrays and cannot overflow the judge thread's stack.
+ *
+ * Because numbering is BFS order, two trees are structurally equal iff they
+ * have the same size and, for every node i, equal values and identical
+ * child numbers. All checks are therefore single linear loops.
+ */
+public final class ArrayTree {
+
+    /**
+     * Marker for an absent child.
+     */
+    public static final int NONE = -1;
+
+    private static final ArrayTree EMPTY = new ArrayTree(null, new int[0], new int[0], new int[0], 0);
+
+    private final JsonNode levelOrder;
+    private final int[] slot;
+    private final int[] left;
+    private final int[] right;
+    private final int size;
+
+    private ArrayTree(JsonNode levelOrder, int[] slot, int[] left, int[] right, int size) {
+        this.levelOrder = levelOrder;
+        this.slot = slot;
+        this.left = left;
+        this.right = right;
+        this.size = size;
+    }
+
+    /**
+     * Build from a level-order JSON array.
+     * Format: [1, 2, 3, null, null, 4, 5]
+     *
+     * The parent "queue" is simply a cursor over node numbers, since children
+     * are numbered in the same order their parents are dequeued.
+     *
+     * @param levelOrder JSON array in level-order format
+     * @return Array-backed tree (empty if array is null/empty/rooted at null)
+     */
+    public static ArrayTree fromLevelOrder(JsonNode levelOrder) {
+        if (levelOrder == null || !levelOrder.isArray() || levelOrder.isEmpty()
+                || levelOrder.get(0).isNull()) {
+            return EMPTY;
+        }
+
+        int length = levelOrder.size();
+        int nonNull = 0;
+        for (int i = 0; i < length; i++) {
+            if (!levelOrder.get(i).isNull()) {
+                nonNull++;
+            }
+        }
+
+        int[] slot = new int[nonNull];
+        int[] left = new int[nonNull];
+        int[] right = new int[nonNull];
+
+        slot[0] = 0;
+        int size = 1;
+        int parent = 0;
+        int i = 1;
+        while (parent < size && i < length) {
+            // Left child
+            if (!levelOrder.get(i).isNull()) {
+                slot[size] = i;
+                left[parent] = size++;
+            } else {
+                left[parent] = NONE;
+            }
+            i++;
+
+            // Right child
+            if (i < length && !levelOrder.get(i).isNull()) {
+                slot[size] = i;
+                right[parent] = size++;
+            } else {
+                right[parent] = NONE;
+            }
+            i++;
+
+            parent++;
+        }
+
+        // Remaining nodes (leaves past the end of the array) have no children
+        for (; parent < size; parent++) {
+            left[parent] = NONE;
+            right[parent] = NONE;
+        }
+
+        return new ArrayTree(levelOrder, slot, left, right, size);
+    }
+
+    /**
+     * Number of (non-null) nodes in the tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Value of node i.
+     */
+    public JsonNode value(int node) {
+        return levelOrder.get(slot[node]);
+    }
+
+    /**
+     * Left child of node i, or NONE.
+     */
+    public int left(int node) {
+        return left[node];
+    }
+
+    /**
+     * Right child of node i, or NONE.
+     */
+    public int right(int node) {
+        return right[node];
+    }
+
+    /**
+     * Check if two trees are structurally identical (same shape and values).
+     * Linear, iterative — relies on both trees being numbered in BFS order.
+     */
+    public boolean isStructurallyEqual(ArrayTree other) {
+        if (other == null || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (left[i] != other.left[i] || right[i] != other.right[i]) {
+                return false;
+            }
+            if (!value(i).equals(other.value(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if the tree is in linked list form (every left child is null).
+     * Every node is reachable from the root, so this is equivalent to walking
+     * the right spine and checking each left pointer.
+     */
+    public boolean isLinkedList() {
+        for (int i = 0; i < size; i++) {
+            if (left[i] != NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Height of the tree in nodes (0 for empty). Computed in one BFS-order
+     * pass: a child's depth is its parent's depth + 1, and parents always
+     * precede children in the numbering.
+     */
+    public int height() {
+        if (size == 0) {
+            return 0;
+        }
+        int[] depth = new int[size];
+        depth[0] = 1;
+        int max = 1;
+        for (int i = 0; i < size; i++) {
+            int d = depth[i] + 1;
+            if (left[i] != NONE) {
+                depth[left[i]] = d;
+                if (d > max) max = d;
+            }
+            if (right[i] != NONE) {
+                depth[right[i]] = d;
+                if (d > max) max = d;
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hrishabh.algocracksubmissionservice.judging.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Adjacency list in compressed sparse row (CSR) form.
+ *
+ * Node i's neighbours are targets[offsets[i] .. offsets[i+1]). Two int
+ * arrays for the whole graph — no per-node lists, no boxed integers.
+ *
+ * Built straight from the JSON token stream of an adjacency list such as
+ * [[2,4],[1,3],[2,4],[1,3]]. Neighbour labels are stored exactly as they
+ * appear (Clone Graph outputs are 1-indexed); range checks are up to the
+ * caller.
+ */
+public final class CsrAdjacency {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int nodeCount;
+    private final int firstNullList;
+
+    private CsrAdjacency(int[] offsets, int[] targets, int nodeCount, int firstNullList) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.nodeCount = nodeCount;
+        this.firstNullList = firstNullList;
+    }
+
+    /**
+     * Parse an adjacency list from a parser positioned before its first token.
+     * A null entry (instead of a neighbour array) is recorded and read as an
+     * empty list.
+     *
+     * @throws IOException if the stream is not an array of integer arrays
+     */
+    public static CsrAdjacency parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Adjacency list must be a JSON array");
+        }
+
+        int[] offsets = new int[17];
+        int[] targets = new int[32];
+        int nodes = 0;
+        int edges = 0;
+        int firstNull = -1;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_NULL) {
+                if (firstNull < 0) {
+                    firstNull = nodes;
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token != JsonToken.VALUE_NUMBER_INT) {
+                        throw new IOException("Neighbour of node " + nodes + " is not an integer: " + token);
+                    }
+                    if (edges == targets.length) {
+                        targets = Arrays.copyOf(targets, edges * 2);
+                    }
+                    targets[edges++] = parser.getIntValue();
+                }
+            } else {
+                throw new IOException("Node " + nodes + " is not a neighbour array: " + token);
+            }
+            nodes++;
+            if (nodes == offsets.length) {
+                offsets = Arrays.copyOf(offsets, nodes * 2);
+            }
+            offsets[nodes] = edges;
+        }
+
+        return new CsrAdjacency(offsets, targets, nodes, firstNull);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return offsets[nodeCount];
+    }
+
+    /**
+     * Index of the first node whose neighbour list was null, or -1.
+     */
+    public int firstNullList() {
+        return firstNullList;
+    }
+
+    /**
+     * Start (inclusive) of node's slice in targets.
+     */
+    public int start(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * End (exclusive) of node's slice in targets.
+     */
+    public int end(int node) {
+        return offsets[node + 1];
+    }
+
+    /**
+     * Neighbour label at a targets position (see start/end).
+     */
+    public int target(int position) {
+        return targets[position];
+    }
+}
@@ -0,0 +1,348 @@
+package com.hrishabh.algocracksubmissionservice.judging.util;
+
+/**
+ * Bitmask constraint engine for N×N grid-rule outputs (Sudoku, Latin
+ * squares, valid-Sudoku checks, N-Queens boards).
+ *
+ * Works directly on primitive int[][] / char[][] grids. Each unit (row,
+ * column, box, diagonal) is scanned with a single long mask where bit (v-1)
+ * marks value v as seen, so an int-grid check allocates nothing (beyond the
+ * Violation it returns on failure) and never boxes.
+ *
+ * Units are scanned in a fixed order — all rows, then all columns, then all
+ * boxes — so the first reported violation is deterministic.
+ *
+ * Cell values are 1..size; EMPTY (0) marks an unfilled cell. char grids
+ * map '.' to EMPTY, '1'-'9' to 1-9 and 'A'-'Z' to 10-35.
+ */
+public final class GridConstraints {
+
+    /**
+     * Value of an unfilled cell.
+     */
+    public static final int EMPTY = 0;
+
+    /**
+     * Largest supported grid side (one bit per value in a long mask).
+     */
+    public static final int MAX_SIZE = 64;
+
+    private static final GridConstraints SUDOKU = new GridConstraints(9, 3, 3, true);
+    private static final GridConstraints PARTIAL_SUDOKU = new GridConstraints(9, 3, 3, false);
+
+    /**
+     * Kinds of unit a violation can be reported against.
+     */
+    public enum Unit {
+        ROW, COLUMN, BOX, DIAGONAL, ANTI_DIAGONAL, GRID
+    }
+
+    /**
+     * What went wrong in the reported unit.
+     */
+    public enum Kind {
+        /** Grid or row has the wrong dimensions. */
+        SHAPE,
+        /** Cell value outside 1..size (or empty when the grid must be filled). */
+        INVALID_VALUE,
+        /** Value repeated within a unit. */
+        DUPLICATE,
+        /** Unit that must contain a value (e.g. one queen per row) has none. */
+        MISSING
+    }
+
+    private final int size;
+    private final int boxRows;
+    private final int boxCols;
+    private final boolean requireFilled;
+
+    /**
+     * @param size          grid side N (values 1..N)
+     * @param boxRows       rows per box, or 0 for no box constraint
+     * @param boxCols       columns per box, or 0 for no box constraint
+     * @param requireFilled whether EMPTY cells are a violation
+     */
+    public GridConstraints(int size, int boxRows, int boxCols, boolean requireFilled) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Grid size must be 1-" + MAX_SIZE + ": " + size);
+        }
+        if (boxRows > 0 && (boxRows * boxCols != size || size % boxRows != 0 || size % boxCols != 0)) {
+            throw new IllegalArgumentException(
+                    "Box " + boxRows + "x" + boxCols + " does not tile a " + size + "x" + size + " grid");
+        }
+        this.size = size;
+        this.boxRows = boxRows;
+        this.boxCols = boxCols;
+        this.requireFilled = requireFilled;
+    }
+
+    /**
+     * Solved 9×9 Sudoku: every row, column and 3×3 box holds 1-9 exactly once.
+     */
+    public static GridConstraints sudoku() {
+        return SUDOKU;
+    }
+
+    /**
+     * Partially filled 9×9 board (valid-Sudoku): no repeats among filled cells.
+     */
+    public static GridConstraints partialSudoku() {
+        return PARTIAL_SUDOKU;
+    }
+
+    /**
+     * N×N Latin square (rows and columns only).
+     */
+    public static GridConstraints latinSquare(int size, boolean requireFilled) {
+        return new GridConstraints(size, 0, 0, requireFilled);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Check an int grid. Returns null when every constraint holds.
+     */
+    public Violation check(int[][] grid) {
+        Violation shape = checkShape(grid == null ? -1 : grid.length, grid);
+        if (shape != null) {
+            return shape;
+        }
+
+        // Rows (also validates every cell value once)
+        for (int r = 0; r < size; r++) {
+            long seen = 0;
+            int[] row = grid[r];
+            for (int c = 0; c < size; c++) {
+                int v = row[c];
+                if (v == EMPTY && !requireFilled) {
+                    continue;
+                }
+                if (v < 1 || v > size) {
+                    return new Violation(Kind.INVALID_VALUE, Unit.ROW, r, r, c, v);
+                }
+                long bit = 1L << (v - 1);
+                if ((seen & bit) != 0) {
+                    return new Violation(Kind.DUPLICATE, Unit.ROW, r, r, c, v);
+                }
+                seen |= bit;
+            }
+        }
+
+        // Columns
+        for (int c = 0; c < size; c++) {
+            long seen = 0;
+            for (int r = 0; r < size; r++) {
+                int v = grid[r][c];
+                if (v == EMPTY) {
+                    continue;
+                }
+                long bit = 1L << (v - 1);
+                if ((seen & bit) != 0) {
+                    return new Violation(Kind.DUPLICATE, Unit.COLUMN, c, r, c, v);
+                }
+                seen |= bit;
+            }
+        }
+
+        // Boxes, numbered left-to-right then top-to-bottom
+        if (boxRows > 0) {
+            int boxesPerRow = size / boxCols;
+            for (int b = 0; b < size; b++) {
+                int top = (b / boxesPerRow) * boxRows;
+                int left = (b % boxesPerRow) * boxCols;
+                long seen = 0;
+                for (int r = top; r < top + boxRows; r++) {
+                    int[] row = grid[r];
+                    for (int c = left; c < left + boxCols; c++) {
+                        int v = row[c];
+                        if (v == EMPTY) {
+                            continue;
+                        }
+                        long bit = 1L << (v - 1);
+                        if ((seen & bit) != 0) {
+                            return new Violation(Kind.DUPLICATE, Unit.BOX, b, r, c, v);
+                        }
+                        seen |= bit;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Check a char grid. Returns null when every constraint holds.
+     * Cells are mapped through valueOf into one N×N int buffer, then checked
+     * exactly like an int grid.
+     */
+    public Violation check(char[][] grid) {
+        Violation shape = checkShape(grid == null ? -1 : grid.length, grid);
+        if (shape != null) {
+            return shape;
+        }
+        int[][] values = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                values[r][c] = valueOf(grid[r][c]);
+            }
+        }
+        return check(values);
+    }
+
+    /**
+     * Check an N-Queens board ('Q' = queen, anything else empty): exactly one
+     * queen per row, at most one per column and per diagonal.
+     * Returns null when the board is a valid solution.
+     */
+    public static Violation checkQueens(char[][] board) {
+        int n = board == null ? -1 : board.length;
+        if (n < 1 || n > MAX_SIZE) {
+            return new Violation(Kind.SHAPE, Unit.GRID, 0, -1, -1, n);
+        }
+        long columns = 0;
+        // 2n-1 diagonals each; n <= 64 needs up to 127 bits, so use two words
+        long[] diagonals = new long[2];
+        long[] antiDiagonals = new long[2];
+        for (int r = 0; r < n; r++) {
+            char[] row = board[r];
+            if (row == null || row.length != n) {
+                return new Violation(Kind.SHAPE, Unit.ROW, r, r, -1, row == null ? 0 : row.length);
+            }
+            int queenCol = -1;
+            for (int c = 0; c < n; c++) {
+                if (row[c] != 'Q') {
+                    continue;
+                }
+                if (queenCol >= 0) {
+                    return new Violation(Kind.DUPLICATE, Unit.ROW, r, r, c, 'Q');
+                }
+                queenCol = c;
+            }
+            if (queenCol < 0) {
+                return new Violation(Kind.MISSING, Unit.ROW, r, r, -1, 'Q');
+            }
+            long colBit = 1L << queenCol;
+            if ((columns & colBit) != 0) {
+                return new Violation(Kind.DUPLICATE, Unit.COLUMN, queenCol, r, queenCol, 'Q');
+            }
+            columns |= colBit;
+            int d = r - queenCol + n - 1;
+            if (testAndSet(diagonals, d)) {
+                return new Violation(Kind.DUPLICATE, Unit.DIAGONAL, d, r, queenCol, 'Q');
+            }
+            int a = r + queenCol;
+            if (testAndSet(antiDiagonals, a)) {
+                return new Violation(Kind.DUPLICATE, Unit.ANTI_DIAGONAL, a, r, queenCol, 'Q');
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Map a grid character to its cell value: '.' (or '0') → EMPTY,
+     * '1'-'9' → 1-9, 'A'-'Z' / 'a'-'z' → 10-35. Anything else → -1.
+     */
+    public static int valueOf(char ch) {
+        if (ch == '.' || ch == '0') {
+            return EMPTY;
+        }
+        if (ch >= '1' && ch <= '9') {
+            return ch - '0';
+        }
+        if (ch >= 'A' && ch <= 'Z') {
+            return ch - 'A' + 10;
+        }
+        if (ch >= 'a' && ch <= 'z') {
+            return ch - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private Violation checkShape(int rows, Object grid) {
+        if (rows != size) {
+            return new Violation(Kind.SHAPE, Unit.GRID, 0, -1, -1, Math.max(rows, 0));
+        }
+        for (int r = 0; r < size; r++) {
+            int length = rowLength(grid, r);
+            if (length != size) {
+                return new Violation(Kind.SHAPE, Unit.ROW, r, r, -1, length);
+            }
+        }
+        return null;
+    }
+
+    private static int rowLength(Object grid, int r) {
+        if (grid instanceof int[][] ints) {
+            return ints[r] == null ? 0 : ints[r].length;
+        }
+        char[][] chars = (char[][]) grid;
+        return chars[r] == null ? 0 : chars[r].length;
+    }
+
+    private static boolean testAndSet(long[] words, int index) {
+        long bit = 1L << (index & 63);
+        int word = index >>> 6;
+        if ((words[word] & bit) != 0) {
+            return true;
+        }
+        words[word] |= bit;
+        return false;
+    }
+
+    /**
+     * First constraint violation found in a grid.
+     *
+     * For SHAPE violations on the whole grid, value is the row count; for
+     * SHAPE on a row, value is that row's length.
+     */
+    public static final class Violation {
+
+        private final Kind kind;
+        private final Unit unit;
+        private final int unitIndex;
+        private final int row;
+        private final int col;
+        private final int value;
+
+        Violation(Kind kind, Unit unit, int unitIndex, int row, int col, int value) {
+            this.kind = kind;
+            this.unit = unit;
+            this.unitIndex = unitIndex;
+            this.row = row;
+            this.col = col;
+            this.value = value;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Unit getUnit() {
+            return unit;
+        }
+
+        public int getUnitIndex() {
+            return unitIndex;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getCol() {
+            return col;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + unit + " " + unitIndex + " at (" + row + "," + col + "): " + value;
+        }
+    }
+}
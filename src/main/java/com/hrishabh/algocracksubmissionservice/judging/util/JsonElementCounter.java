@@ -0,0 +1,89 @@
+package com.hrishabh.algocracksubmissionservice.judging.util;
+
+/**
+ * Counts the top-level elements of a raw JSON array without parsing it.
+ *
+ * A single pass over the characters tracking nesting depth and string state:
+ * a comma at depth 1 outside a string separates two top-level elements. No
+ * tokens, nodes or substrings are created, so counting a multi-megabyte
+ * output costs one scan and no allocation.
+ *
+ * The count is structural only — malformed JSON still gets a count, and the
+ * extractor reports the parse error as before.
+ */
+public final class JsonElementCounter {
+
+    /**
+     * Returned when the raw output is not a JSON array.
+     */
+    public static final long NOT_AN_ARRAY = -1;
+
+    private JsonElementCounter() {
+        // Utility class
+    }
+
+    /**
+     * Count top-level elements, stopping as soon as the count exceeds limit.
+     *
+     * @param raw   Raw output string
+     * @param limit Stop scanning once more than this many elements are seen
+     * @return element count (at most limit + 1), or NOT_AN_ARRAY
+     */
+    public static long countTopLevel(String raw, long limit) {
+        if (raw == null) {
+            return NOT_AN_ARRAY;
+        }
+        int length = raw.length();
+        int i = 0;
+        while (i < length && Character.isWhitespace(raw.charAt(i))) {
+            i++;
+        }
+        if (i == length || raw.charAt(i) != '[') {
+            return NOT_AN_ARRAY;
+        }
+
+        long count = 0;
+        boolean sawElement = false;
+        int depth = 1;
+        boolean inString = false;
+        for (i++; i < length; i++) {
+            char c = raw.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    inString = true;
+                    sawElement = true;
+                    break;
+                case '[':
+                case '{':
+                    depth++;
+                    sawElement = true;
+                    break;
+                case ']':
+                case '}':
+                    if (--depth == 0) {
+                        return sawElement ? count + 1 : 0;
+                    }
+                    break;
+                case ',':
+                    if (depth == 1 && ++count > limit) {
+                        return count;
+                    }
+                    break;
+                default:
+                    if (!Character.isWhitespace(c)) {
+                        sawElement = true;
+                    }
+            }
+        }
+        // Unterminated array: count what was seen
+        return sawElement ? count + 1 : count;
+    }
+}
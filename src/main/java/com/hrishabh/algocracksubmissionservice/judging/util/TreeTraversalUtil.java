@@ -17,6 +17,11 @@ import java.util.*;
  * This utility class is used by extractors, comparators, and validators
  * that deal with tree structures. Keeping traversal logic here avoids
  * duplication across components.
+ *
+ * Judging hot paths should prefer {@link #buildArrayTree(JsonNode)}, which
+ * allocates no per-node objects. The TreeNode API is kept for callers that
+ * need to rewire nodes; all of its traversals are iterative so degenerate
+ * (skewed) trees cannot overflow the stack.
  */
 @Slf4j
 public final class TreeTraversalUtil {
@@ -55,7 +60,7 @@ public final class TreeTraversalUtil {
         }
 
         TreeNode root = new TreeNode(levelOrder.get(0));
-        Queue<TreeNode> queue = new LinkedList<>();
+        Queue<TreeNode> queue = new ArrayDeque<>();
         queue.offer(root);
 
         int i = 1;
@@ -84,6 +89,16 @@ public final class TreeTraversalUtil {
         return root;
     }
 
+    /**
+     * Build an array-backed tree from a level-order JSON array.
+     *
+     * @param levelOrder JSON array in level-order format
+     * @return ArrayTree (empty if array is empty/null)
+     */
+    public static ArrayTree buildArrayTree(JsonNode levelOrder) {
+        return ArrayTree.fromLevelOrder(levelOrder);
+    }
+
     /**
      * Serialize a tree to level-order JSON array.
      * Trailing nulls are trimmed for canonical form.
@@ -127,39 +142,60 @@ public final class TreeTraversalUtil {
     }
 
     /**
-     * Count the total number of nodes in a tree.
+     * Count the total number of nodes in a tree (iterative).
      */
     public static int countNodes(TreeNode root) {
         if (root == null)
             return 0;
-        return 1 + countNodes(root.left) + countNodes(root.right);
+
+        int count = 0;
+        Deque<TreeNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            TreeNode current = stack.pop();
+            count++;
+            if (current.left != null)
+                stack.push(current.left);
+            if (current.right != null)
+                stack.push(current.right);
+        }
+        return count;
     }
 
     /**
      * Check if two trees are structurally identical (same shape and values).
+     * Walks both trees in lockstep with an explicit stack (iterative).
      *
      * @param a First tree root
      * @param b Second tree root
      * @return true if trees have identical structure and values
      */
     public static boolean isStructurallyEqual(TreeNode a, TreeNode b) {
-        if (a == null && b == null)
-            return true;
-        if (a == null || b == null)
-            return false;
-
-        // Compare node values
-        if (!a.value.equals(b.value))
-            return false;
-
-        // Recurse on both subtrees
-        return isStructurallyEqual(a.left, b.left)
-                && isStructurallyEqual(a.right, b.right);
+        Deque<TreeNode[]> stack = new ArrayDeque<>();
+        stack.push(new TreeNode[] { a, b });
+
+        while (!stack.isEmpty()) {
+            TreeNode[] pair = stack.pop();
+            TreeNode x = pair[0];
+            TreeNode y = pair[1];
+
+            if (x == null && y == null)
+                continue;
+            if (x == null || y == null)
+                return false;
+
+            // Compare node values
+            if (!x.value.equals(y.value))
+                return false;
+
+            stack.push(new TreeNode[] { x.right, y.right });
+            stack.push(new TreeNode[] { x.left, y.left });
+        }
+        return true;
     }
 
     /**
      * Check if a tree is a valid linked list (all left children are null).
-     * Used by FlattenedTreeValidator.
      */
     public static boolean isLinkedList(TreeNode root) {
         TreeNode current = root;
@@ -1,13 +1,16 @@
 package com.hrishabh.algocracksubmissionservice.judging.validator;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.util.CsrAdjacency;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Class 3: Independence/Ownership Validator (POST_COMPARE).
@@ -29,6 +32,10 @@ import java.util.List;
  *
  * True deep-copy verification would require CXE-side instrumentation
  * (checking object identity before serialization).
+ *
+ * The adjacency list is parsed from the token stream into a primitive CSR
+ * (CsrAdjacency), and every check is O(V+E) — thousands of nodes cost a few
+ * int arrays, not a List of boxed Integers per node.
  */
 @Slf4j
 @Component
@@ -49,24 +56,11 @@ public class DeepCopyValidator implements OutputValidator {
         }
 
         try {
-            String outputStr = userOutput instanceof String
-                    ? (String) userOutput
-                    : objectMapper.writeValueAsString(userOutput);
-
-            List<List<Integer>> adjacencyList = objectMapper.readValue(
-                    outputStr, new TypeReference<List<List<Integer>>>() {
-                    });
+            CsrAdjacency graph = readAdjacency(userOutput);
 
             // Check 1: Empty graph — valid only when oracle is also empty (null input)
-            if (adjacencyList.isEmpty()) {
-                // Parse oracle to check if it's also empty
-                String oracleStr = oracleOutput instanceof String
-                        ? (String) oracleOutput
-                        : objectMapper.writeValueAsString(oracleOutput);
-                List<List<Integer>> oracleList = objectMapper.readValue(
-                        oracleStr, new TypeReference<List<List<Integer>>>() {
-                        });
-                if (oracleList.isEmpty()) {
+            if (graph.nodeCount() == 0) {
+                if (readAdjacency(oracleOutput).nodeCount() == 0) {
                     log.debug("[DeepCopyValidator] Both user and oracle graphs are empty — valid null graph case");
                     return ValidationResult.passed();
                 }
@@ -74,16 +68,16 @@ public class DeepCopyValidator implements OutputValidator {
                         "Deep copy validation failed: output graph is empty but expected non-empty");
             }
 
-            int nodeCount = adjacencyList.size();
+            int nodeCount = graph.nodeCount();
 
-            // Check 2: All neighbour indices within valid range [0, nodeCount)
+            // Check 2: All neighbour indices within valid range [1, nodeCount]
             for (int i = 0; i < nodeCount; i++) {
-                List<Integer> neighbours = adjacencyList.get(i);
-                if (neighbours == null) {
+                if (i == graph.firstNullList()) {
                     return ValidationResult.failed(
                             "Deep copy validation failed: node " + (i + 1) + " has null neighbour list");
                 }
-                for (int neighbour : neighbours) {
+                for (int p = graph.start(i); p < graph.end(i); p++) {
+                    int neighbour = graph.target(p);
                     if (neighbour < 1 || neighbour > nodeCount) {
                         return ValidationResult.failed(
                                 "Deep copy validation failed: node " + (i + 1)
@@ -94,17 +88,9 @@ public class DeepCopyValidator implements OutputValidator {
             }
 
             // Check 3: Symmetry — for undirected graphs, edges must be bidirectional
-            for (int i = 0; i < nodeCount; i++) {
-                for (int neighbour : adjacencyList.get(i)) {
-                    int neighbourIdx = neighbour - 1; // 1-indexed to 0-indexed
-                    List<Integer> reverseNeighbours = adjacencyList.get(neighbourIdx);
-                    if (!reverseNeighbours.contains(i + 1)) {
-                        return ValidationResult.failed(
-                                "Deep copy validation failed: edge from node " + (i + 1)
-                                        + " to node " + neighbour
-                                        + " is not bidirectional (not an undirected graph)");
-                    }
-                }
+            ValidationResult symmetry = checkSymmetry(graph);
+            if (!symmetry.isPassed()) {
+                return symmetry;
             }
 
             log.debug("[DeepCopyValidator] Graph structure validated: {} nodes, all edges bidirectional", nodeCount);
@@ -117,4 +103,67 @@ public class DeepCopyValidator implements OutputValidator {
             return ValidationResult.passed();
         }
     }
+
+    /**
+     * Every edge u→v needs a reverse edge v→u. Linear in V+E:
+     * 1. Build the transpose (for each v, all u with u→v) by counting sort.
+     * 2. For each v, mark v's own neighbours, then every u in transpose(v)
+     *    must be marked — otherwise u→v has no v→u.
+     * Labels are 1-indexed and already range-checked.
+     */
+    private ValidationResult checkSymmetry(CsrAdjacency graph) {
+        int nodeCount = graph.nodeCount();
+        int edgeCount = graph.edgeCount();
+
+        int[] reverseOffsets = new int[nodeCount + 1];
+        for (int p = 0; p < edgeCount; p++) {
+            reverseOffsets[graph.target(p)]++;
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] cursor = Arrays.copyOf(reverseOffsets, nodeCount);
+        int[] reverseSources = new int[edgeCount];
+        for (int u = 0; u < nodeCount; u++) {
+            for (int p = graph.start(u); p < graph.end(u); p++) {
+                reverseSources[cursor[graph.target(p) - 1]++] = u;
+            }
+        }
+
+        // mark[w] == v + 1 means w is a neighbour of v (0 = never marked)
+        int[] mark = new int[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            for (int p = graph.start(v); p < graph.end(v); p++) {
+                mark[graph.target(p) - 1] = v + 1;
+            }
+            for (int q = reverseOffsets[v]; q < reverseOffsets[v + 1]; q++) {
+                int u = reverseSources[q];
+                if (mark[u] != v + 1) {
+                    return ValidationResult.failed(
+                            "Deep copy validation failed: edge from node " + (u + 1)
+                                    + " to node " + (v + 1)
+                                    + " is not bidirectional (not an undirected graph)");
+                }
+            }
+        }
+        return ValidationResult.passed();
+    }
+
+    /**
+     * Parse an adjacency list from the token stream — JsonNode outputs are
+     * traversed in place, strings are parsed directly.
+     */
+    private CsrAdjacency readAdjacency(Object output) throws IOException {
+        if (output instanceof JsonNode) {
+            try (JsonParser parser = ((JsonNode) output).traverse(objectMapper)) {
+                return CsrAdjacency.parse(parser);
+            }
+        }
+        String text = output instanceof String
+                ? (String) output
+                : objectMapper.writeValueAsString(output);
+        try (JsonParser parser = objectMapper.getFactory().createParser(text)) {
+            return CsrAdjacency.parse(parser);
+        }
+    }
 }
@@ -53,7 +53,7 @@ public class DesignClassSizeValidator implements OutputValidator {
                             + " results, expected " + oracleSize);
         }
 
-        log.debug("[DesignClassSizeValidator] Operation counts match: {}", userSize);
+        log.trace("[DesignClassSizeValidator] Operation counts match: {}", userSize);
         return ValidationResult.passed();
     }
 
@@ -3,8 +3,8 @@ package com.hrishabh.algocracksubmissionservice.judging.validator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.util.ArrayTree;
 import com.hrishabh.algocracksubmissionservice.judging.util.TreeTraversalUtil;
-import com.hrishabh.algocracksubmissionservice.judging.util.TreeTraversalUtil.TreeNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -44,34 +44,24 @@ public class LinkedListShapeValidator implements OutputValidator {
         }
 
         // Build tree from level-order representation
-        TreeNode tree = TreeTraversalUtil.buildFromLevelOrder(userJson);
-        if (tree == null) {
+        ArrayTree tree = TreeTraversalUtil.buildArrayTree(userJson);
+        if (tree.isEmpty()) {
             // Empty tree is technically a valid linked list
             return ValidationResult.passed();
         }
 
         // Check: must be a linked list (all left = null, only right pointers)
-        if (!TreeTraversalUtil.isLinkedList(tree)) {
+        if (!tree.isLinkedList()) {
             return ValidationResult.failed(
                     "Output must be in linked list form (all left children null, " +
                             "only right pointers used). Got a tree with left children.");
         }
 
-        int depth = countLinkedListDepth(tree);
-        log.debug("[LinkedListShapeValidator] Output is valid linked list form ({} nodes)", depth);
+        // In linked list form every node lies on the right spine
+        log.trace("[LinkedListShapeValidator] Output is valid linked list form ({} nodes)", tree.size());
         return ValidationResult.passed();
     }
 
-    private int countLinkedListDepth(TreeNode root) {
-        int count = 0;
-        TreeNode current = root;
-        while (current != null) {
-            count++;
-            current = current.right;
-        }
-        return count;
-    }
-
     private JsonNode toJsonNode(Object obj) {
         if (obj instanceof JsonNode)
             return (JsonNode) obj;
@@ -0,0 +1,80 @@
+package com.hrishabh.algocracksubmissionservice.judging.validator;
+
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.util.JsonElementCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Class 0: Output Size Guard (PRE_EXTRACT)
+ *
+ * Rejects user output that is far larger than the oracle's before it is
+ * parsed. StructuralSafetyValidator only sees outputs after extraction, so a
+ * cyclic linked list serialized as millions of elements would otherwise be
+ * fully materialized as a tree just to be rejected.
+ *
+ * Limits scale with the oracle output of the same testcase:
+ * - raw length      ≤ factor × oracle length   + slackChars
+ * - element count   ≤ factor × oracle elements + slackElements
+ *
+ * Length is checked first (O(1)); elements are counted with
+ * JsonElementCounter, which stops as soon as the limit is passed. Correct
+ * outputs have the oracle's element count (give or take trailing nulls), so
+ * the slack only has to absorb formatting differences.
+ *
+ * Trigger: pipelines that parse output as a JSON array (list/tree/node types)
+ */
+@Slf4j
+@Component
+public class OutputSizeGuardValidator implements OutputValidator {
+
+    private final long factor;
+    private final long slackChars;
+    private final long slackElements;
+
+    public OutputSizeGuardValidator(
+            @Value("${judging.size-guard.factor:4}") long factor,
+            @Value("${judging.size-guard.slack-chars:4096}") long slackChars,
+            @Value("${judging.size-guard.slack-elements:64}") long slackElements) {
+        this.factor = Math.max(1, factor);
+        this.slackChars = slackChars;
+        this.slackElements = slackElements;
+    }
+
+    @Override
+    public ValidationStage getStage() {
+        return ValidationStage.PRE_EXTRACT;
+    }
+
+    @Override
+    public ValidationResult validate(Object userOutput, Object oracleOutput, JudgingContext context) {
+        if (!(userOutput instanceof String) || !(oracleOutput instanceof String)) {
+            return ValidationResult.passed();
+        }
+        String userRaw = (String) userOutput;
+        String oracleRaw = (String) oracleOutput;
+
+        long maxChars = factor * oracleRaw.length() + slackChars;
+        if (userRaw.length() > maxChars) {
+            log.info("[OutputSizeGuardValidator] Output length {} exceeds limit {} (oracle {})",
+                    userRaw.length(), maxChars, oracleRaw.length());
+            return ValidationResult.failed("Output too large: " + userRaw.length()
+                    + " characters, expected about " + oracleRaw.length() + ". Possible cycle in output.");
+        }
+
+        long oracleElements = JsonElementCounter.countTopLevel(oracleRaw, Long.MAX_VALUE);
+        if (oracleElements == JsonElementCounter.NOT_AN_ARRAY) {
+            return ValidationResult.passed();
+        }
+        long maxElements = factor * oracleElements + slackElements;
+        long userElements = JsonElementCounter.countTopLevel(userRaw, maxElements);
+        if (userElements > maxElements) {
+            log.info("[OutputSizeGuardValidator] Output has more than {} elements (oracle {})",
+                    maxElements, oracleElements);
+            return ValidationResult.failed("Output too large: more than " + maxElements
+                    + " elements, expected " + oracleElements + ". Possible cycle in output.");
+        }
+        return ValidationResult.passed();
+    }
+}
@@ -22,7 +22,7 @@ public interface OutputValidator {
     /**
      * Validate structural constraints on user output.
      *
-     * @param userOutput   The extracted user output
+     * @param userOutput   The extracted user output (raw string for PRE_EXTRACT)
      * @param oracleOutput The extracted oracle output (for reference)
      * @param context      Judging context with question metadata
      * @return ValidationResult with passed/failed status and details
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.models.NodeType;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.util.ArrayTree;
 import com.hrishabh.algocracksubmissionservice.judging.util.ListTraversalUtil;
 import com.hrishabh.algocracksubmissionservice.judging.util.TreeTraversalUtil;
 import lombok.RequiredArgsConstructor;
@@ -70,7 +71,7 @@ public class StructuralSafetyValidator implements OutputValidator {
                     "List output contains suspicious repeating pattern. Possible cycle in output.");
         }
 
-        log.debug("[StructuralSafetyValidator] List output passed safety checks (size: {})", node.size());
+        log.trace("[StructuralSafetyValidator] List output passed safety checks (size: {})", node.size());
         return ValidationResult.passed();
     }
 
@@ -88,8 +89,8 @@ public class StructuralSafetyValidator implements OutputValidator {
         }
 
         // Check 2: Build tree and verify node count matches array size expectations
-        TreeTraversalUtil.TreeNode tree = TreeTraversalUtil.buildFromLevelOrder(node);
-        int nodeCount = TreeTraversalUtil.countNodes(tree);
+        ArrayTree tree = TreeTraversalUtil.buildArrayTree(node);
+        int nodeCount = tree.size();
 
         // In level-order, array size should be <= 2*nodeCount + 1 (with nulls)
         // A bloated array suggests back-edges or structural corruption
@@ -98,7 +99,7 @@ public class StructuralSafetyValidator implements OutputValidator {
                     node.size(), nodeCount);
         }
 
-        log.debug("[StructuralSafetyValidator] Tree output passed safety checks (nodes: {})", nodeCount);
+        log.trace("[StructuralSafetyValidator] Tree output passed safety checks (nodes: {})", nodeCount);
         return ValidationResult.passed();
     }
 
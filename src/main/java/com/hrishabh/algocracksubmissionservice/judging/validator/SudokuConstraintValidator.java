@@ -1,14 +1,16 @@
 package com.hrishabh.algocracksubmissionservice.judging.validator;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.util.GridConstraints;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * Class 4: Constraint/Rule Validator — SudokuConstraintValidator (POST_COMPARE)
@@ -21,6 +23,10 @@ import java.util.Set;
  * This is necessary because multiple valid solutions exist — oracle comparison
  * alone is insufficient for correctness.
  *
+ * The output is read into a primitive int[9][9] (JsonNode cells directly, raw
+ * strings through a streaming parser — no intermediate tree) and checked by
+ * the bitmask GridConstraints engine.
+ *
  * Trigger: validationHints contains "SUDOKU_RULES"
  */
 @Slf4j
@@ -28,6 +34,14 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class SudokuConstraintValidator implements OutputValidator {
 
+    private static final int SIZE = 9;
+    private static final int BOX = 3;
+
+    /**
+     * Marker for a cell that is not a number or digit string.
+     */
+    private static final int INVALID_CELL = -1;
+
     private final ObjectMapper objectMapper;
 
     @Override
@@ -37,78 +51,141 @@ public class SudokuConstraintValidator implements OutputValidator {
 
     @Override
     public ValidationResult validate(Object userOutput, Object oracleOutput, JudgingContext context) {
-        JsonNode userJson = toJsonNode(userOutput);
-        if (userJson == null || !userJson.isArray() || userJson.size() != 9) {
+        int[][] grid = new int[SIZE][];
+        int rows = readGrid(userOutput, grid);
+        if (rows != SIZE) {
             return ValidationResult.failed("Sudoku output must be a 9x9 grid (got invalid format)");
         }
 
-        // Parse into int grid
-        int[][] grid = new int[9][9];
-        for (int row = 0; row < 9; row++) {
-            JsonNode rowNode = userJson.get(row);
-            if (rowNode == null || !rowNode.isArray() || rowNode.size() != 9) {
-                return ValidationResult.failed("Sudoku row " + row + " must have 9 elements");
-            }
-            for (int col = 0; col < 9; col++) {
-                grid[row][col] = rowNode.get(col).asInt();
-                if (grid[row][col] < 1 || grid[row][col] > 9) {
-                    return ValidationResult.failed(
-                            "Invalid digit at (" + row + "," + col + "): " + grid[row][col]);
-                }
-            }
+        GridConstraints.Violation violation = GridConstraints.sudoku().check(grid);
+        if (violation != null) {
+            return ValidationResult.failed(describe(violation));
         }
 
-        // Validate rows
-        for (int row = 0; row < 9; row++) {
-            Set<Integer> seen = new HashSet<>();
-            for (int col = 0; col < 9; col++) {
-                if (!seen.add(grid[row][col])) {
-                    return ValidationResult.failed(
-                            "Duplicate " + grid[row][col] + " in row " + row);
-                }
-            }
+        log.trace("[SudokuConstraintValidator] Sudoku output passes all constraint checks");
+        return ValidationResult.passed();
+    }
+
+    private String describe(GridConstraints.Violation violation) {
+        switch (violation.getKind()) {
+            case SHAPE:
+                return violation.getUnit() == GridConstraints.Unit.ROW
+                        ? "Sudoku row " + violation.getRow() + " must have 9 elements"
+                        : "Sudoku output must be a 9x9 grid (got invalid format)";
+            case INVALID_VALUE:
+                return "Invalid digit at (" + violation.getRow() + "," + violation.getCol() + "): "
+                        + Math.max(violation.getValue(), 0);
+            default:
+                break;
+        }
+        switch (violation.getUnit()) {
+            case ROW:
+                return "Duplicate " + violation.getValue() + " in row " + violation.getUnitIndex();
+            case COLUMN:
+                return "Duplicate " + violation.getValue() + " in column " + violation.getUnitIndex();
+            default:
+                int box = violation.getUnitIndex();
+                return "Duplicate " + violation.getValue() + " in box (" + box / BOX + "," + box % BOX + ")";
         }
+    }
 
-        // Validate columns
-        for (int col = 0; col < 9; col++) {
-            Set<Integer> seen = new HashSet<>();
-            for (int row = 0; row < 9; row++) {
-                if (!seen.add(grid[row][col])) {
-                    return ValidationResult.failed(
-                            "Duplicate " + grid[row][col] + " in column " + col);
-                }
+    /**
+     * Fill grid rows from the output. Returns the number of rows read, or -1
+     * when the output is not a 9-row array of arrays. Rows may come back
+     * short or long; GridConstraints reports those as SHAPE violations.
+     */
+    private int readGrid(Object output, int[][] grid) {
+        if (output instanceof JsonNode) {
+            return readGrid((JsonNode) output, grid);
+        }
+        if (output == null) {
+            return -1;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(output.toString().trim())) {
+            return readGrid(parser, grid);
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private int readGrid(JsonNode node, int[][] grid) {
+        if (!node.isArray() || node.size() != SIZE) {
+            return -1;
+        }
+        for (int r = 0; r < SIZE; r++) {
+            JsonNode rowNode = node.get(r);
+            if (rowNode.isTextual()) {
+                grid[r] = charRow(rowNode.asText());
+                continue;
             }
+            int length = rowNode.isArray() ? rowNode.size() : 0;
+            int[] row = new int[length];
+            for (int c = 0; c < length; c++) {
+                JsonNode cell = rowNode.get(c);
+                row[c] = cell.isTextual() ? textCell(cell.asText()) : cell.asInt();
+            }
+            grid[r] = row;
         }
+        return SIZE;
+    }
 
-        // Validate 3x3 boxes
-        for (int boxRow = 0; boxRow < 3; boxRow++) {
-            for (int boxCol = 0; boxCol < 3; boxCol++) {
-                Set<Integer> seen = new HashSet<>();
-                for (int r = 0; r < 3; r++) {
-                    for (int c = 0; c < 3; c++) {
-                        int val = grid[boxRow * 3 + r][boxCol * 3 + c];
-                        if (!seen.add(val)) {
-                            return ValidationResult.failed(
-                                    "Duplicate " + val + " in box (" + boxRow + "," + boxCol + ")");
-                        }
-                    }
+    private int readGrid(JsonParser parser, int[][] grid) throws Exception {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            return -1;
+        }
+        int rows = 0;
+        JsonToken token;
+        int[] buffer = new int[SIZE];
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null || rows == SIZE) {
+                return -1;
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                grid[rows++] = charRow(parser.getText());
+                continue;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                grid[rows++] = new int[0];
+                parser.skipChildren();
+                continue;
+            }
+            int length = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    return -1;
                 }
+                int value;
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    value = parser.getIntValue();
+                } else if (token == JsonToken.VALUE_STRING) {
+                    value = textCell(parser.getText());
+                } else {
+                    parser.skipChildren();
+                    value = INVALID_CELL;
+                }
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, length * 2);
+                }
+                buffer[length++] = value;
             }
+            grid[rows++] = Arrays.copyOf(buffer, length);
         }
-
-        log.debug("[SudokuConstraintValidator] Sudoku output passes all constraint checks");
-        return ValidationResult.passed();
+        return rows;
     }
 
-    private JsonNode toJsonNode(Object obj) {
-        if (obj instanceof JsonNode)
-            return (JsonNode) obj;
-        if (obj == null)
-            return null;
-        try {
-            return objectMapper.readTree(obj.toString().trim());
-        } catch (Exception e) {
-            return null;
+    private static int[] charRow(String text) {
+        int[] row = new int[text.length()];
+        for (int c = 0; c < row.length; c++) {
+            row[c] = digit(text.charAt(c));
         }
+        return row;
+    }
+
+    private static int textCell(String text) {
+        return text.length() == 1 ? digit(text.charAt(0)) : INVALID_CELL;
+    }
+
+    private static int digit(char ch) {
+        return ch >= '0' && ch <= '9' ? ch - '0' : INVALID_CELL;
     }
 }
@@ -5,6 +5,14 @@ package com.hrishabh.algocracksubmissionservice.judging.validator;
  */
 public enum ValidationStage {
 
+    /**
+     * Run on the RAW user/oracle output strings, before extraction.
+     * Use for cheap streaming guards that must reject an output before any
+     * tree is built from it (e.g., a cyclic list serialized as millions of
+     * elements).
+     */
+    PRE_EXTRACT,
+
     /**
      * Run BEFORE comparison.
      * Use for structural constraints that must hold regardless of equality
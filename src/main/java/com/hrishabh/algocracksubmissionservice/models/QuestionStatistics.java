@@ -9,6 +9,10 @@ import java.time.LocalDateTime;
  * Tracks aggregate statistics for each question.
  * Used for displaying acceptance rates, average runtimes, etc.
  * Owned by SubmissionService.
+ *
+ * Written only by QuestionStatisticsAggregator's batched upserts, which
+ * also maintain the running sums and distinct-user sketches behind the
+ * averages and unique counts (unmapped columns).
  */
 @Entity
 @Getter
@@ -65,22 +69,4 @@ public class QuestionStatistics extends BaseModel {
         }
         return (acceptedSubmissions * 100.0) / totalSubmissions;
     }
-
-    public void incrementSubmissions(boolean accepted, Integer runtimeMs, Integer memoryKb) {
-        this.totalSubmissions++;
-        if (accepted) {
-            this.acceptedSubmissions++;
-            if (runtimeMs != null) {
-                if (this.bestRuntimeMs == null || runtimeMs < this.bestRuntimeMs) {
-                    this.bestRuntimeMs = runtimeMs;
-                }
-            }
-            if (memoryKb != null) {
-                if (this.bestMemoryKb == null || memoryKb < this.bestMemoryKb) {
-                    this.bestMemoryKb = memoryKb;
-                }
-            }
-        }
-        this.lastSubmissionAt = LocalDateTime.now();
-    }
 }
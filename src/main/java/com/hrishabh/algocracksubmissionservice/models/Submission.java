@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_submission_id", columnList = "submissionId"),
         @Index(name = "idx_user_status", columnList = "userId, status"),
         @Index(name = "idx_question_status", columnList = "questionId, status"),
-        @Index(name = "idx_status_queued", columnList = "status, queuedAt")
+        @Index(name = "idx_status_queued", columnList = "status, queuedAt"),
+        @Index(name = "idx_status_lease", columnList = "status, leaseExpiresAt")
 })
 public class Submission {
 
@@ -138,6 +139,27 @@ public class Submission {
     @Column(length = 50)
     private String workerId;
 
+    /**
+     * Node holding the work-queue lease (see SubmissionWorkQueue).
+     * Written only by the queue's claim / renew / recover statements, never
+     * by entity saves, so a save can't overwrite a renewed lease.
+     */
+    @Column(length = 64, insertable = false, updatable = false)
+    private String claimedBy;
+
+    /**
+     * When the current lease lapses; an unfinished submission past it is
+     * requeued by orphan recovery.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Number of times the submission has been claimed.
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer attempts;
+
     /**
      * Created timestamp
      */
@@ -163,6 +185,13 @@ public class Submission {
     @Column(name = "difficulty_level", length = 10)
     private String difficultyLevel;
 
+    /**
+     * Contest the submission was made in, or null for practice.
+     * Selects the scheduling class (see SubmissionScheduler).
+     */
+    @Column(name = "contest_id")
+    private Long contestId;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
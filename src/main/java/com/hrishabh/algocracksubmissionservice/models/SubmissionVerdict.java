@@ -8,6 +8,7 @@ public enum SubmissionVerdict {
     WRONG_ANSWER,
     TIME_LIMIT_EXCEEDED,
     MEMORY_LIMIT_EXCEEDED,
+    OUTPUT_LIMIT_EXCEEDED,
     RUNTIME_ERROR,
     COMPILATION_ERROR,
     INTERNAL_ERROR
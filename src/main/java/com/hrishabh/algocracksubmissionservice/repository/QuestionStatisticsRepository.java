@@ -2,7 +2,13 @@ package com.hrishabh.algocracksubmissionservice.repository;
 
 import com.hrishabh.algocracksubmissionservice.models.QuestionStatistics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +20,148 @@ public interface QuestionStatisticsRepository extends JpaRepository<QuestionStat
      * Find statistics for a specific question.
      */
     Optional<QuestionStatistics> findByQuestionId(Long questionId);
+
+    /**
+     * Add a batch of submissions to a question's statistics, creating the row
+     * if needed: counts and sums are added, bests take the minimum, and the
+     * averages are recomputed from the new sums (MySQL assigns left to right,
+     * so they see the updated sums). One statement per question and flush,
+     * instead of a versioned read-modify-write per submission. While a row's
+     * history is still being backfilled (history_pending) its averages keep
+     * their current values.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO question_statistics (question_id, total_submissions, accepted_submissions, best_runtime_ms, best_memory_kb, last_submission_at, "
+            + "runtime_sum, runtime_samples, avg_runtime_ms, memory_sum, memory_samples, avg_memory_kb, solve_attempts_sum, first_solves, avg_attempts_to_solve, created_at, updated_at, version) "
+            + "VALUES (:questionId, :submissions, :accepted, :bestRuntimeMs, :bestMemoryKb, :lastSubmissionAt, "
+            + ":runtimeSum, :runtimeSamples, ROUND(:runtimeSum / NULLIF(:runtimeSamples, 0)), :memorySum, :memorySamples, ROUND(:memorySum / NULLIF(:memorySamples, 0)), "
+            + ":solveAttempts, :firstSolves, :solveAttempts / NULLIF(:firstSolves, 0), :now, :now, 0) AS delta "
+            + "ON DUPLICATE KEY UPDATE total_submissions = question_statistics.total_submissions + delta.total_submissions, "
+            + "accepted_submissions = question_statistics.accepted_submissions + delta.accepted_submissions, "
+            + "best_runtime_ms = COALESCE(LEAST(question_statistics.best_runtime_ms, delta.best_runtime_ms), question_statistics.best_runtime_ms, delta.best_runtime_ms), "
+            + "best_memory_kb = COALESCE(LEAST(question_statistics.best_memory_kb, delta.best_memory_kb), question_statistics.best_memory_kb, delta.best_memory_kb), "
+            + "last_submission_at = COALESCE(GREATEST(question_statistics.last_submission_at, delta.last_submission_at), question_statistics.last_submission_at, delta.last_submission_at), "
+            + "runtime_sum = question_statistics.runtime_sum + delta.runtime_sum, "
+            + "runtime_samples = question_statistics.runtime_samples + delta.runtime_samples, "
+            + "avg_runtime_ms = IF(question_statistics.history_pending, question_statistics.avg_runtime_ms, ROUND(question_statistics.runtime_sum / NULLIF(question_statistics.runtime_samples, 0))), "
+            + "memory_sum = question_statistics.memory_sum + delta.memory_sum, "
+            + "memory_samples = question_statistics.memory_samples + delta.memory_samples, "
+            + "avg_memory_kb = IF(question_statistics.history_pending, question_statistics.avg_memory_kb, ROUND(question_statistics.memory_sum / NULLIF(question_statistics.memory_samples, 0))), "
+            + "solve_attempts_sum = question_statistics.solve_attempts_sum + delta.solve_attempts_sum, "
+            + "first_solves = question_statistics.first_solves + delta.first_solves, "
+            + "avg_attempts_to_solve = IF(question_statistics.history_pending, question_statistics.avg_attempts_to_solve, question_statistics.solve_attempts_sum / NULLIF(question_statistics.first_solves, 0)), "
+            + "updated_at = delta.updated_at, version = COALESCE(question_statistics.version, 0) + 1", nativeQuery = true)
+    int upsertDelta(@Param("questionId") Long questionId, @Param("submissions") long submissions,
+            @Param("accepted") long accepted, @Param("bestRuntimeMs") Integer bestRuntimeMs,
+            @Param("bestMemoryKb") Integer bestMemoryKb, @Param("lastSubmissionAt") LocalDateTime lastSubmissionAt,
+            @Param("runtimeSum") long runtimeSum, @Param("runtimeSamples") long runtimeSamples,
+            @Param("memorySum") long memorySum, @Param("memorySamples") long memorySamples,
+            @Param("solveAttempts") long solveAttempts, @Param("firstSolves") long firstSolves,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Lock a question's row and read its distinct-user sketches. Each row is
+     * [unique_attempts_sketch, unique_solves_sketch].
+     */
+    @Query(value = "SELECT unique_attempts_sketch, unique_solves_sketch FROM question_statistics WHERE question_id = :questionId FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockSketches(@Param("questionId") Long questionId);
+
+    /**
+     * Store merged sketches with their estimates; the estimates are held
+     * while the row's history is being backfilled.
+     */
+    @Modifying
+    @Query(value = "UPDATE question_statistics SET unique_attempts_sketch = :attemptsSketch, unique_solves_sketch = :solvesSketch, "
+            + "unique_attempts = IF(history_pending, unique_attempts, :uniqueAttempts), unique_solves = IF(history_pending, unique_solves, :uniqueSolves) "
+            + "WHERE question_id = :questionId", nativeQuery = true)
+    int updateSketches(@Param("questionId") Long questionId, @Param("attemptsSketch") byte[] attemptsSketch,
+            @Param("solvesSketch") byte[] solvesSketch, @Param("uniqueAttempts") long uniqueAttempts,
+            @Param("uniqueSolves") long uniqueSolves);
+
+    /**
+     * Lock a question and language's accepted runtime / memory distribution.
+     * Each row is [runtime_histogram, memory_histogram].
+     */
+    @Query(value = "SELECT runtime_histogram, memory_histogram FROM question_language_distribution WHERE question_id = :questionId AND language = :language FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockDistribution(@Param("questionId") Long questionId, @Param("language") String language);
+
+    /**
+     * Read a question and language's distribution without locking. Each row
+     * is [runtime_histogram, memory_histogram].
+     */
+    @Query(value = "SELECT runtime_histogram, memory_histogram FROM question_language_distribution WHERE question_id = :questionId AND language = :language", nativeQuery = true)
+    List<Object[]> findDistribution(@Param("questionId") Long questionId, @Param("language") String language);
+
+    /**
+     * Read the distributions of the given questions in the given languages
+     * without locking, in one query (a superset of the wanted pairs). Each
+     * row is [question_id, language, runtime_histogram, memory_histogram].
+     */
+    @Query(value = "SELECT question_id, language, runtime_histogram, memory_histogram FROM question_language_distribution WHERE question_id IN (:questionIds) AND language IN (:languages)", nativeQuery = true)
+    List<Object[]> findDistributions(@Param("questionIds") Collection<Long> questionIds,
+            @Param("languages") Collection<String> languages);
+
+    /**
+     * Store a merged distribution, creating the row if needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO question_language_distribution (question_id, language, samples, runtime_histogram, memory_histogram, updated_at) "
+            + "VALUES (:questionId, :language, :samples, :runtimeHistogram, :memoryHistogram, :now) AS merged "
+            + "ON DUPLICATE KEY UPDATE samples = merged.samples, runtime_histogram = merged.runtime_histogram, "
+            + "memory_histogram = merged.memory_histogram, updated_at = merged.updated_at", nativeQuery = true)
+    int upsertDistribution(@Param("questionId") Long questionId, @Param("language") String language,
+            @Param("samples") long samples, @Param("runtimeHistogram") byte[] runtimeHistogram,
+            @Param("memoryHistogram") byte[] memoryHistogram, @Param("now") LocalDateTime now);
+
+    // ── History backfill (V8, QuestionStatisticsAggregator) ───────────────
+
+    /**
+     * Lock the backfill's state. Each row is [cutoff_at, max_submission_id,
+     * next_submission_id, completed_at].
+     */
+    @Query(value = "SELECT cutoff_at, max_submission_id, next_submission_id, completed_at FROM question_statistics_backfill WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockBackfill();
+
+    /**
+     * Move the backfill's cursor past the submissions it has counted.
+     */
+    @Modifying
+    @Query(value = "UPDATE question_statistics_backfill SET next_submission_id = :nextSubmissionId WHERE id = 1", nativeQuery = true)
+    int advanceBackfill(@Param("nextSubmissionId") long nextSubmissionId);
+
+    @Modifying
+    @Query(value = "UPDATE question_statistics_backfill SET completed_at = :now WHERE id = 1", nativeQuery = true)
+    int completeBackfill(@Param("now") LocalDateTime now);
+
+    /**
+     * Add history to a question's sums only: its counts, bests and last
+     * submission time already include these submissions.
+     */
+    @Modifying
+    @Query(value = "UPDATE question_statistics SET runtime_sum = runtime_sum + :runtimeSum, runtime_samples = runtime_samples + :runtimeSamples, "
+            + "memory_sum = memory_sum + :memorySum, memory_samples = memory_samples + :memorySamples, "
+            + "solve_attempts_sum = solve_attempts_sum + :solveAttempts, first_solves = first_solves + :firstSolves "
+            + "WHERE question_id = :questionId", nativeQuery = true)
+    int addHistory(@Param("questionId") Long questionId, @Param("runtimeSum") long runtimeSum,
+            @Param("runtimeSamples") long runtimeSamples, @Param("memorySum") long memorySum,
+            @Param("memorySamples") long memorySamples, @Param("solveAttempts") long solveAttempts,
+            @Param("firstSolves") long firstSolves);
+
+    /**
+     * Questions whose derived columns are held until the backfill ends.
+     */
+    @Query(value = "SELECT question_id FROM question_statistics WHERE history_pending = 1 ORDER BY question_id LIMIT :limit", nativeQuery = true)
+    List<Long> findHistoryPending(@Param("limit") int limit);
+
+    /**
+     * Recompute a question's derived columns from its backfilled sums and
+     * sketch estimates, and stop holding them. Run under lockSketches.
+     */
+    @Modifying
+    @Query(value = "UPDATE question_statistics SET unique_attempts = :uniqueAttempts, unique_solves = :uniqueSolves, "
+            + "avg_runtime_ms = ROUND(runtime_sum / NULLIF(runtime_samples, 0)), avg_memory_kb = ROUND(memory_sum / NULLIF(memory_samples, 0)), "
+            + "avg_attempts_to_solve = solve_attempts_sum / NULLIF(first_solves, 0), history_pending = 0 "
+            + "WHERE question_id = :questionId", nativeQuery = true)
+    int publishHistory(@Param("questionId") Long questionId, @Param("uniqueAttempts") long uniqueAttempts,
+            @Param("uniqueSolves") long uniqueSolves);
 }
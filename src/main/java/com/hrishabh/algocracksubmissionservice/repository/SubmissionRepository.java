@@ -5,9 +5,11 @@ import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +42,172 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
          */
         List<Submission> findByStatusInOrderByQueuedAtAsc(List<SubmissionStatus> statuses);
 
+        // ── Work queue (SubmissionWorkQueue) ────────────────────────────────
+
+        /**
+         * Scheduling candidates: QUEUED submissions, at most perUser per user,
+         * every user's oldest first, then by age. A plain read — the rows the
+         * scheduler picks are locked with lockQueuedByIds. Each row is
+         * [id, submission_id, user_id, question_id, contest_id, queued_at,
+         * language].
+         */
+        @Query(value = "SELECT id, submission_id, user_id, question_id, contest_id, queued_at, language FROM (SELECT id, submission_id, user_id, question_id, contest_id, queued_at, language, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY queued_at) AS user_rank FROM submission WHERE status = 'QUEUED') queued WHERE user_rank <= :perUser ORDER BY user_rank, queued_at LIMIT :window", nativeQuery = true)
+        List<Object[]> findQueuedCandidates(@Param("perUser") int perUser, @Param("window") int window);
+
+        /**
+         * Lock the given submissions for claiming if they are still QUEUED,
+         * skipping rows other nodes have locked. Must run in the claiming
+         * transaction. Each row is [id, submission_id].
+         */
+        @Query(value = "SELECT id, submission_id FROM submission WHERE id IN (:ids) AND status = 'QUEUED' FOR UPDATE SKIP LOCKED", nativeQuery = true)
+        List<Object[]> lockQueuedByIds(@Param("ids") List<Long> ids);
+
+        /**
+         * Claim locked rows for a node: COMPILING, started now, leased until
+         * leaseExpiresAt.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET status = 'COMPILING', started_at = :now, claimed_by = :node, lease_expires_at = :leaseExpiresAt, attempts = attempts + 1, updated_at = :now WHERE id IN (:ids)", nativeQuery = true)
+        int markClaimed(@Param("ids") List<Long> ids, @Param("node") String node,
+                        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                        @Param("now") LocalDateTime now);
+
+        /**
+         * Extend the leases a node still holds on unfinished submissions.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET lease_expires_at = :leaseExpiresAt WHERE submission_id IN (:submissionIds) AND claimed_by = :node AND status IN ('COMPILING', 'RUNNING')", nativeQuery = true)
+        int renewLeases(@Param("submissionIds") List<String> submissionIds, @Param("node") String node,
+                        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+        /**
+         * Hand a claimed submission that never started back to the queue.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET status = 'QUEUED', claimed_by = NULL, lease_expires_at = NULL, attempts = attempts - 1, updated_at = :now WHERE submission_id = :submissionId AND claimed_by = :node AND status = 'COMPILING'", nativeQuery = true)
+        int releaseClaim(@Param("submissionId") String submissionId, @Param("node") String node,
+                        @Param("now") LocalDateTime now);
+
+        /**
+         * Requeue orphaned work: unfinished submissions whose lease expired,
+         * or that predate leases and have been stuck since staleBefore.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET status = 'QUEUED', claimed_by = NULL, lease_expires_at = NULL, updated_at = :now WHERE status IN ('COMPILING', 'RUNNING') AND attempts < :maxAttempts AND (lease_expires_at < :now OR (lease_expires_at IS NULL AND queued_at < :staleBefore))", nativeQuery = true)
+        int requeueExpired(@Param("now") LocalDateTime now,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("maxAttempts") int maxAttempts);
+
+        /**
+         * Fail orphaned work that has already used up its attempts.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET status = 'FAILED', error_message = :reason, completed_at = :now, claimed_by = NULL, lease_expires_at = NULL, updated_at = :now WHERE status IN ('COMPILING', 'RUNNING') AND attempts >= :maxAttempts AND (lease_expires_at < :now OR (lease_expires_at IS NULL AND queued_at < :staleBefore))", nativeQuery = true)
+        int failExpired(@Param("now") LocalDateTime now,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("maxAttempts") int maxAttempts,
+                        @Param("reason") String reason);
+
+        // ── Status transitions (SubmissionProcessingService) ────────────────
+        //
+        // Narrow compare-and-set UPDATEs: each writes only the columns the
+        // transition changes, and only if the row is still in flight. A full
+        // entity save would rewrite code, user_agent and the rest of the row
+        // for every transition. The binlog shrinks with it only under
+        // binlog_row_image=MINIMAL (see application.yml).
+
+        /**
+         * Record the final verdict of a submission still in flight under the
+         * given node's claim. Returns 0 if it is no longer COMPILING or
+         * RUNNING (already finalized, or failed by orphan recovery) or is no
+         * longer claimed by the node (requeued and re-claimed elsewhere).
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET status = 'COMPLETED', verdict = :verdict, runtime_ms = :runtimeMs, memory_kb = :memoryKb, test_results = :testResults, compilation_output = :compilationOutput, error_message = :errorMessage, worker_id = :workerId, completed_at = :now, updated_at = :now WHERE submission_id = :submissionId AND claimed_by = :node AND status IN ('COMPILING', 'RUNNING')", nativeQuery = true)
+        int completeInFlight(@Param("submissionId") String submissionId, @Param("node") String node,
+                        @Param("verdict") String verdict,
+                        @Param("runtimeMs") Integer runtimeMs, @Param("memoryKb") Integer memoryKb,
+                        @Param("testResults") String testResults,
+                        @Param("compilationOutput") String compilationOutput,
+                        @Param("errorMessage") String errorMessage, @Param("workerId") String workerId,
+                        @Param("now") LocalDateTime now);
+
+        /**
+         * Fail a submission still in flight under the given node's claim.
+         * Returns 0 if it is no longer COMPILING or RUNNING or no longer
+         * claimed by the node.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET status = 'FAILED', error_message = :errorMessage, completed_at = :now, updated_at = :now WHERE submission_id = :submissionId AND claimed_by = :node AND status IN ('COMPILING', 'RUNNING')", nativeQuery = true)
+        int failInFlight(@Param("submissionId") String submissionId, @Param("node") String node,
+                        @Param("errorMessage") String errorMessage,
+                        @Param("now") LocalDateTime now);
+
+        // ── Question statistics (QuestionStatisticsAggregator) ─────────────
+
+        /**
+         * Lock the given submissions and return those not yet counted in
+         * question_statistics, locking in ascending id order. Must run in the
+         * flushing transaction.
+         */
+        @Query(value = "SELECT id FROM submission WHERE id IN (:ids) AND stats_applied = 0 ORDER BY id FOR UPDATE", nativeQuery = true)
+        List<Long> lockStatsPending(@Param("ids") List<Long> ids);
+
+        /**
+         * COMPLETED submissions not counted in question_statistics that
+         * completed before the given time, oldest first, skipping rows a
+         * flush has locked. Must run in the reconciling transaction. Each row
+         * is [id, question_id, verdict, runtime_ms, memory_kb, completed_at,
+         * user_id, language].
+         */
+        @Query(value = "SELECT id, question_id, verdict, runtime_ms, memory_kb, completed_at, user_id, language FROM submission WHERE stats_applied = 0 AND completed_at < :before AND status = 'COMPLETED' ORDER BY completed_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+        List<Object[]> lockStatsUnapplied(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+        /**
+         * COMPLETED submissions up to the history backfill's limits (V8),
+         * after the given id, in id order. Not locked: they were counted
+         * before the backfill began and no longer change. Each row is
+         * [id, question_id, verdict, runtime_ms, memory_kb, completed_at,
+         * user_id, language].
+         */
+        @Query(value = "SELECT id, question_id, verdict, runtime_ms, memory_kb, completed_at, user_id, language FROM submission WHERE id > :afterId AND id <= :maxId AND status = 'COMPLETED' AND completed_at <= :cutoff ORDER BY id LIMIT :limit", nativeQuery = true)
+        List<Object[]> findStatsHistory(@Param("afterId") long afterId, @Param("maxId") long maxId,
+                        @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+        /**
+         * Of the given accepted submissions, those that are their user's first
+         * accept on the question, with the user's number of submissions to the
+         * question up to and including it (idx_user_question). Each row is
+         * [id, attempts].
+         */
+        @Query(value = "SELECT s.id, (SELECT COUNT(*) FROM submission p WHERE p.user_id = s.user_id AND p.question_id = s.question_id AND p.id <= s.id) FROM submission s WHERE s.id IN (:ids) AND NOT EXISTS (SELECT 1 FROM submission p WHERE p.user_id = s.user_id AND p.question_id = s.question_id AND p.id < s.id AND p.status = 'COMPLETED' AND p.verdict = 'ACCEPTED')", nativeQuery = true)
+        List<Object[]> findFirstAccepts(@Param("ids") List<Long> ids);
+
+        /**
+         * Mark submissions as counted in question_statistics.
+         */
+        @Modifying
+        @Query(value = "UPDATE submission SET stats_applied = 1 WHERE id IN (:ids)", nativeQuery = true)
+        int markStatsApplied(@Param("ids") List<Long> ids);
+
+        /**
+         * Number of QUEUED submissions per scheduling class. Each row is
+         * [is_contest (0/1), count].
+         */
+        @Query(value = "SELECT contest_id IS NOT NULL, COUNT(*) FROM submission WHERE status = 'QUEUED' GROUP BY contest_id IS NOT NULL", nativeQuery = true)
+        List<Object[]> countQueuedByClass();
+
+        /**
+         * Number of nodes holding a live lease on unfinished work.
+         */
+        @Query(value = "SELECT COUNT(DISTINCT claimed_by) FROM submission WHERE status IN ('COMPILING', 'RUNNING') AND lease_expires_at > :now", nativeQuery = true)
+        long countActiveNodes(@Param("now") LocalDateTime now);
+
+        /**
+         * Number of a user's submissions in the given statuses (idx_user_status).
+         */
+        long countByUserIdAndStatusIn(String userId, List<SubmissionStatus> statuses);
+
         // ── Inter-Service Query Methods (Phase 7) ──────────────────────────
 
         /**
@@ -73,6 +241,6 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
         @Query("SELECT FUNCTION('DATE', s.queuedAt), COUNT(s) FROM Submission s WHERE s.userId = :userId AND s.queuedAt >= :from AND s.queuedAt < :to GROUP BY FUNCTION('DATE', s.queuedAt) ORDER BY FUNCTION('DATE', s.queuedAt) ASC")
         List<Object[]> countSubmissionsGroupedByDateBetween(
                         @Param("userId") String userId,
-                        @Param("from") java.time.LocalDateTime from,
-                        @Param("to") java.time.LocalDateTime to);
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,207 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.repository.QuestionStatisticsRepository;
+import com.hrishabh.algocracksubmissionservice.service.sketch.LogLinearHistogram;
+import com.hrishabh.algocracksubmissionservice.service.sketch.LogLinearHistogram.Ranks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * "Beats X%" for accepted submissions: where a runtime and memory fall in
+ * the distribution of accepted submissions to the same question in the
+ * same language.
+ *
+ * The distributions are the histograms QuestionStatisticsAggregator keeps
+ * in question_language_distribution. Their cumulative counts are cached
+ * here (LRU, up to maxCached question / language pairs, ~14 KB each), so a
+ * lookup is a bucket index and two array reads. The aggregator publishes
+ * the merged histograms of its own flushes; other nodes' flushes are picked
+ * up by reloading entries older than refreshMillis.
+ *
+ * A list of submissions (a history page) preloads the pairs it needs with
+ * preload(), one query for all missing or stale entries, instead of one
+ * query per row on the lookups that follow.
+ */
+@Slf4j
+@Component
+public class AcceptedDistributions {
+
+    /**
+     * Percentage of accepted submissions a result beats, null when unknown.
+     */
+    public record Beats(Double runtimePercent, Double memoryPercent) {
+        static final Beats UNKNOWN = new Beats(null, null);
+    }
+
+    /**
+     * A question and language whose distribution is looked up.
+     */
+    public record QuestionLanguage(Long questionId, String language) {
+    }
+
+    private record Entry(Ranks runtime, Ranks memory, long loadedAt) {
+    }
+
+    private final QuestionStatisticsRepository statsRepository;
+    private final long refreshMillis;
+    private final Map<String, Entry> cache;
+
+    public AcceptedDistributions(QuestionStatisticsRepository statsRepository,
+            MeterRegistry registry,
+            @Value("${submission.statistics.distributions.max-cached:1000}") int maxCached,
+            @Value("${submission.statistics.distributions.refresh-millis:30000}") long refreshMillis) {
+        this.statsRepository = statsRepository;
+        this.refreshMillis = refreshMillis;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxCached;
+            }
+        };
+        Gauge.builder("question.distribution.cached", this, AcceptedDistributions::size)
+                .description("Question / language distributions cached for percentile lookups")
+                .register(registry);
+    }
+
+    /**
+     * Where an accepted result falls among accepted submissions to the
+     * question in its language.
+     */
+    public Beats beats(Long questionId, String language, Integer runtimeMs, Integer memoryKb) {
+        if (questionId == null || language == null) {
+            return Beats.UNKNOWN;
+        }
+        Entry entry = entry(questionId, language);
+        return new Beats(runtimeMs != null ? entry.runtime().percentAbove(runtimeMs) : null,
+                memoryKb != null ? entry.memory().percentAbove(memoryKb) : null);
+    }
+
+    /**
+     * Load the missing or stale distributions among the given pairs in one
+     * query, so the beats() lookups that follow are served from the cache.
+     */
+    public void preload(Collection<QuestionLanguage> pairs) {
+        long now = System.currentTimeMillis();
+        Map<String, QuestionLanguage> wanted = new HashMap<>();
+        Map<String, Entry> stale = new HashMap<>();
+        synchronized (cache) {
+            for (QuestionLanguage pair : pairs) {
+                if (pair.questionId() == null || pair.language() == null) {
+                    continue;
+                }
+                String key = key(pair.questionId(), pair.language());
+                Entry entry = cache.get(key);
+                if (entry == null || now - entry.loadedAt() >= refreshMillis) {
+                    wanted.put(key, pair);
+                    if (entry != null) {
+                        stale.put(key, entry);
+                    }
+                }
+            }
+        }
+        if (wanted.isEmpty()) {
+            return;
+        }
+
+        Map<String, Entry> loaded = new HashMap<>();
+        try {
+            Set<Long> questionIds = new HashSet<>();
+            Set<String> languages = new HashSet<>();
+            for (QuestionLanguage pair : wanted.values()) {
+                questionIds.add(pair.questionId());
+                languages.add(pair.language());
+            }
+            for (Object[] row : statsRepository.findDistributions(questionIds, languages)) {
+                String key = key(((Number) row[0]).longValue(), (String) row[1]);
+                if (wanted.containsKey(key)) {
+                    loaded.put(key, new Entry(LogLinearHistogram.fromBytes((byte[]) row[2]).ranks(),
+                            LogLinearHistogram.fromBytes((byte[]) row[3]).ranks(), now));
+                }
+            }
+            for (String key : wanted.keySet()) {
+                loaded.putIfAbsent(key, new Entry(Ranks.empty(), Ranks.empty(), now));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[Distributions] Failed to load {} distributions: {}", wanted.size(), e.getMessage());
+            for (String key : wanted.keySet()) {
+                loaded.put(key, fallback(stale.get(key), now));
+            }
+        }
+        synchronized (cache) {
+            cache.putAll(loaded);
+        }
+    }
+
+    /**
+     * Replace a cached distribution with one that has just committed.
+     */
+    public void publish(Long questionId, String language, LogLinearHistogram runtime, LogLinearHistogram memory) {
+        Entry entry = new Entry(runtime.ranks(), memory.ranks(), System.currentTimeMillis());
+        synchronized (cache) {
+            cache.put(key(questionId, language), entry);
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private Entry entry(Long questionId, String language) {
+        String key = key(questionId, language);
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < refreshMillis) {
+            return entry;
+        }
+        // Loaded outside the lock: concurrent misses may both read the row
+        Entry loaded = load(questionId, language, entry);
+        synchronized (cache) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private Entry load(Long questionId, String language, Entry stale) {
+        long now = System.currentTimeMillis();
+        try {
+            List<Object[]> rows = statsRepository.findDistribution(questionId, language);
+            if (rows.isEmpty()) {
+                return new Entry(Ranks.empty(), Ranks.empty(), now);
+            }
+            return new Entry(LogLinearHistogram.fromBytes((byte[]) rows.get(0)[0]).ranks(),
+                    LogLinearHistogram.fromBytes((byte[]) rows.get(0)[1]).ranks(), now);
+        } catch (RuntimeException e) {
+            log.warn("[Distributions] Failed to load question {} / {}: {}", questionId, language, e.getMessage());
+            return fallback(stale, now);
+        }
+    }
+
+    /**
+     * Percentiles are decoration: when a load fails, serve what we had and
+     * retry after refreshMillis.
+     */
+    private static Entry fallback(Entry stale, long now) {
+        return stale != null
+                ? new Entry(stale.runtime(), stale.memory(), now)
+                : new Entry(Ranks.empty(), Ranks.empty(), now);
+    }
+
+    private static String key(Long questionId, String language) {
+        return questionId + ":" + language;
+    }
+}
@@ -0,0 +1,220 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.exception.ServiceOverloadedException;
+import com.hrishabh.algocracksubmissionservice.exception.TooManyRequestsException;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.TrafficClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for submit and RUN requests.
+ *
+ * Rejects requests up front, with a Retry-After, when they can't start
+ * within their latency objective. Accepting them anyway would only queue
+ * work that times out downstream. Shedding early keeps p99 flat through a
+ * spike instead of letting timeouts cascade.
+ *
+ * Submit, per traffic class:
+ *   estimated wait = QUEUED ahead × service time / capacity
+ *   - QUEUED ahead: the class's queue depth, refreshed by SubmissionWorkQueue
+ *   - service time: this node's smoothed dispatch-to-completion time; before
+ *     the first completion, the smoothed CXE latency, else defaultServiceMillis
+ *   - capacity: maxInFlight × nodes holding leases (at least one), scaled
+ *     to the class's scheduler share while the other class is backlogged
+ *   Over the class SLO → 503 Service Unavailable, Retry-After = time for the
+ *   backlog to drain back to the SLO. A user who already has
+ *   maxPendingPerUser unfinished submissions → 429 Too Many Requests.
+ *   Accepted submissions get their estimated start time.
+ *
+ * RUN is synchronous and holds a request thread for the whole CXE round
+ * trip, so it is shed on live load instead:
+ *   - maxConcurrentRuns RUN requests already in flight on this node → 503
+ *   - smoothed CXE latency over runLatencySloMillis → 503 (CXE is
+ *     saturated; the RUN would time out anyway). The average decays while
+ *     no CXE calls are in flight (CxeLatencyTracker), so shedding every RUN
+ *     doesn't keep the node shedding after CXE has recovered, and a hung
+ *     call doesn't loosen it
+ *
+ * Meters: admission.rejected{endpoint, reason}, admission.run.in.flight,
+ * admission.estimated.wait{class}, admission.cxe.latency.
+ */
+@Slf4j
+@Service
+public class AdmissionControlService {
+
+    private static final List<SubmissionStatus> UNFINISHED = List.of(
+            SubmissionStatus.QUEUED, SubmissionStatus.COMPILING, SubmissionStatus.RUNNING);
+
+    /**
+     * An accepted submission's estimated queue wait and start time.
+     */
+    public record Admission(Duration estimatedWait, LocalDateTime estimatedStart) {
+    }
+
+    private final SubmissionWorkQueue workQueue;
+    private final SubmissionScheduler scheduler;
+    private final SubmissionRepository submissionRepository;
+    private final CxeLatencyTracker cxeLatencyTracker;
+
+    private final boolean enabled;
+    private final Map<TrafficClass, Duration> waitSlo = new EnumMap<>(TrafficClass.class);
+    private final int maxPendingPerUser;
+    private final double defaultServiceMillis;
+    private final int maxConcurrentRuns;
+    private final long runLatencySloMillis;
+
+    private final AtomicInteger runsInFlight = new AtomicInteger();
+    private final Counter submitOverloaded;
+    private final Counter submitUserLimit;
+    private final Counter runConcurrency;
+    private final Counter runCxeLatency;
+
+    public AdmissionControlService(SubmissionWorkQueue workQueue, SubmissionScheduler scheduler,
+            SubmissionRepository submissionRepository, CxeLatencyTracker cxeLatencyTracker, MeterRegistry registry,
+            @Value("${submission.admission.enabled:true}") boolean enabled,
+            @Value("${submission.admission.contest-wait-slo-seconds:300}") long contestWaitSloSeconds,
+            @Value("${submission.admission.practice-wait-slo-seconds:120}") long practiceWaitSloSeconds,
+            @Value("${submission.admission.max-pending-per-user:5}") int maxPendingPerUser,
+            @Value("${submission.admission.default-service-millis:3000}") double defaultServiceMillis,
+            @Value("${submission.admission.max-concurrent-runs:50}") int maxConcurrentRuns,
+            @Value("${submission.admission.run-latency-slo-millis:10000}") long runLatencySloMillis) {
+        this.workQueue = workQueue;
+        this.scheduler = scheduler;
+        this.submissionRepository = submissionRepository;
+        this.cxeLatencyTracker = cxeLatencyTracker;
+        this.enabled = enabled;
+        this.waitSlo.put(TrafficClass.CONTEST, Duration.ofSeconds(contestWaitSloSeconds));
+        this.waitSlo.put(TrafficClass.PRACTICE, Duration.ofSeconds(practiceWaitSloSeconds));
+        this.maxPendingPerUser = maxPendingPerUser;
+        this.defaultServiceMillis = defaultServiceMillis;
+        this.maxConcurrentRuns = maxConcurrentRuns;
+        this.runLatencySloMillis = runLatencySloMillis;
+
+        this.submitOverloaded = rejected(registry, "submit", "overloaded");
+        this.submitUserLimit = rejected(registry, "submit", "user_limit");
+        this.runConcurrency = rejected(registry, "run", "concurrency");
+        this.runCxeLatency = rejected(registry, "run", "cxe_latency");
+        Gauge.builder("admission.run.in.flight", runsInFlight, AtomicInteger::get)
+                .description("RUN requests executing on this node")
+                .register(registry);
+        Gauge.builder("admission.cxe.latency", cxeLatencyTracker, t -> Math.max(0, t.latencyMillis()))
+                .description("Smoothed CXE round-trip latency in milliseconds")
+                .register(registry);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            Gauge.builder("admission.estimated.wait", this, s -> s.estimateWait(trafficClass).toMillis())
+                    .description("Estimated queue wait in milliseconds for a submission accepted now")
+                    .tag("class", trafficClass.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Admit a submission or shed it.
+     *
+     * @throws TooManyRequestsException   if the user already has
+     *                                    maxPendingPerUser unfinished submissions
+     * @throws ServiceOverloadedException if the estimated wait exceeds the
+     *                                    class's SLO
+     */
+    public Admission admitSubmission(String userId, Long contestId) {
+        TrafficClass trafficClass = TrafficClass.of(contestId);
+        Duration wait = estimateWait(trafficClass);
+        if (!enabled) {
+            return new Admission(wait, LocalDateTime.now().plus(wait));
+        }
+
+        if (userId != null && submissionRepository.countByUserIdAndStatusIn(userId, UNFINISHED) >= maxPendingPerUser) {
+            submitUserLimit.increment();
+            log.warn("[Admission] User {} already has {} unfinished submissions", userId, maxPendingPerUser);
+            throw new TooManyRequestsException("Too many pending submissions. Wait for one to finish.",
+                    retryAfterSeconds(serviceMillis()));
+        }
+
+        Duration slo = waitSlo.get(trafficClass);
+        if (wait.compareTo(slo) > 0) {
+            submitOverloaded.increment();
+            log.warn("[Admission] Shedding {} submission: estimated wait {} ms > SLO {} ms",
+                    trafficClass, wait.toMillis(), slo.toMillis());
+            throw new ServiceOverloadedException("Submission queue is full. Please retry later.",
+                    retryAfterSeconds(wait.minus(slo).toMillis()));
+        }
+        return new Admission(wait, LocalDateTime.now().plus(wait));
+    }
+
+    /**
+     * Admit a RUN request or shed it. An admitted run must call runFinished().
+     *
+     * @throws ServiceOverloadedException if too many runs are in flight or
+     *                                    CXE latency exceeds the RUN SLO
+     */
+    public void admitRun() {
+        if (!enabled) {
+            runsInFlight.incrementAndGet();
+            return;
+        }
+        double cxeLatency = cxeLatencyTracker.latencyMillis();
+        if (cxeLatency > runLatencySloMillis) {
+            runCxeLatency.increment();
+            log.warn("[Admission] Shedding RUN: CXE latency {} ms > SLO {} ms", (long) cxeLatency,
+                    runLatencySloMillis);
+            throw new ServiceOverloadedException("Code execution is overloaded. Please retry later.",
+                    retryAfterSeconds(cxeLatency - runLatencySloMillis));
+        }
+        if (runsInFlight.incrementAndGet() > maxConcurrentRuns) {
+            runsInFlight.decrementAndGet();
+            runConcurrency.increment();
+            log.warn("[Admission] Shedding RUN: {} runs in flight", maxConcurrentRuns);
+            throw new ServiceOverloadedException("Too many runs in progress. Please retry later.",
+                    retryAfterSeconds(Math.max(cxeLatency, 0)));
+        }
+    }
+
+    public void runFinished() {
+        runsInFlight.decrementAndGet();
+    }
+
+    /**
+     * Estimated wait for a submission of the class accepted now.
+     */
+    public Duration estimateWait(TrafficClass trafficClass) {
+        double capacity = (double) workQueue.getMaxInFlight() * Math.max(1, workQueue.activeNodes());
+        TrafficClass other = trafficClass == TrafficClass.CONTEST ? TrafficClass.PRACTICE : TrafficClass.CONTEST;
+        if (scheduler.depth(other) > 0) {
+            capacity *= scheduler.share(trafficClass);
+        }
+        return Duration.ofMillis((long) Math.ceil(scheduler.depth(trafficClass) * serviceMillis() / capacity));
+    }
+
+    private double serviceMillis() {
+        double service = workQueue.serviceTimeMillis();
+        if (service < 0) {
+            service = cxeLatencyTracker.latencyMillis();
+        }
+        return service >= 0 ? service : defaultServiceMillis;
+    }
+
+    private static long retryAfterSeconds(double millis) {
+        return Math.max(1, (long) Math.ceil(millis / 1000));
+    }
+
+    private static Counter rejected(MeterRegistry registry, String endpoint, String reason) {
+        return Counter.builder("admission.rejected")
+                .description("Requests shed by admission control")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.client.ProblemServiceClient;
+import com.hrishabh.algocracksubmissionservice.dto.ContestRegistrationDto;
+import com.hrishabh.algocracksubmissionservice.exception.ServiceOverloadedException;
+import com.hrishabh.algocracksubmissionservice.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verifies that a submission's contestId is a contest its user is
+ * registered for and that is running, before the submission gets contest
+ * scheduling weight (SubmissionScheduler) and the contest wait SLO
+ * (AdmissionControlService).
+ *
+ * Registrations come from ProblemService. Verified registrations are
+ * cached (LRU, up to maxCached) for cacheMillis, so a contest's submission
+ * burst costs one lookup per user; a contest that ends is seen after at
+ * most cacheMillis. Rejections aren't cached, so a user who registers late
+ * is accepted on the next submit. If ProblemService can't be reached the
+ * submit is refused with 503 rather than scheduled unverified.
+ *
+ * Meters: submission.contest.rejected.
+ */
+@Slf4j
+@Component
+public class ContestRegistrations {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final ProblemServiceClient problemServiceClient;
+    private final long cacheMillis;
+    private final Map<String, Long> verifiedAt;
+    private final Counter rejected;
+
+    public ContestRegistrations(ProblemServiceClient problemServiceClient, MeterRegistry registry,
+            @Value("${submission.contest.registration-cache-millis:60000}") long cacheMillis,
+            @Value("${submission.contest.max-cached:10000}") int maxCached) {
+        this.problemServiceClient = problemServiceClient;
+        this.cacheMillis = cacheMillis;
+        this.verifiedAt = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxCached;
+            }
+        };
+        this.rejected = Counter.builder("submission.contest.rejected")
+                .description("Submits refused because the user isn't registered for a running contest")
+                .register(registry);
+    }
+
+    /**
+     * Check that the user may submit to the contest; a null contestId is a
+     * practice submission and always passes.
+     *
+     * @throws ValidationException if the user isn't registered for the
+     *                             contest or the contest isn't running
+     * @throws ServiceOverloadedException if the registration can't be looked up
+     */
+    public void requireActiveRegistration(Long contestId, String userId) {
+        if (contestId == null) {
+            return;
+        }
+        String key = contestId + ":" + userId;
+        long now = System.currentTimeMillis();
+        Long verified;
+        synchronized (verifiedAt) {
+            verified = verifiedAt.get(key);
+        }
+        if (verified != null && now - verified < cacheMillis) {
+            return;
+        }
+
+        ContestRegistrationDto registration;
+        try {
+            registration = problemServiceClient.getContestRegistration(contestId, userId);
+        } catch (RuntimeException e) {
+            log.warn("[ContestRegistrations] Failed to look up contest {} for user {}: {}",
+                    contestId, userId, e.getMessage());
+            throw new ServiceOverloadedException(
+                    "Contest registration could not be verified, retry shortly", RETRY_AFTER_SECONDS);
+        }
+        if (registration == null || !registration.isRegistered() || !registration.isActive()) {
+            rejected.increment();
+            throw new ValidationException(
+                    "User " + userId + " is not registered for a running contest " + contestId);
+        }
+        synchronized (verifiedAt) {
+            verifiedAt.put(key, now);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live CXE load as seen from this node: calls in flight and an exponentially
+ * weighted moving average of the round-trip latency (submit + poll).
+ * Recorded by CxeExecutionAdapter for every execution (submissions, oracle
+ * runs and RUN requests alike); read by AdmissionControlService.
+ *
+ * The average decays with time since the last sample, halving every
+ * halfLife. Admission sheds RUNs while it is over the SLO, and a node that
+ * sheds every RUN (and executes nothing else) would otherwise never measure
+ * again and stay shedding after CXE recovered; decayed, it falls back under
+ * the SLO, RUNs are admitted and their round trips re-measure CXE. It only
+ * decays while no call is in flight: a call still out is no evidence that
+ * CXE recovered, and one that hangs would otherwise let admission loosen
+ * while it waits.
+ */
+@Component
+public class CxeLatencyTracker {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final double halfLifeMillis;
+    private double latencyMillis = -1;
+    private long sampledAtMillis;
+
+    public CxeLatencyTracker(
+            @Value("${submission.admission.cxe-latency-half-life-millis:15000}") long halfLifeMillis) {
+        this.halfLifeMillis = halfLifeMillis;
+    }
+
+    /**
+     * Mark a CXE call as started.
+     *
+     * @return start timestamp to pass to end()
+     */
+    public long begin() {
+        started(System.currentTimeMillis());
+        return System.nanoTime();
+    }
+
+    public void end(long startNanos) {
+        ended(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), System.currentTimeMillis());
+    }
+
+    synchronized void started(long nowMillis) {
+        if (inFlight.get() == 0) {
+            // Keep the decay of the idle time so far; none accrues while out
+            latencyMillis = decayed(nowMillis);
+            sampledAtMillis = nowMillis;
+        }
+        inFlight.incrementAndGet();
+    }
+
+    synchronized void ended(long millis, long nowMillis) {
+        // Blended before the call leaves: its time out was not idle
+        record(millis, nowMillis);
+        inFlight.decrementAndGet();
+    }
+
+    public void record(long millis) {
+        record(millis, System.currentTimeMillis());
+    }
+
+    public synchronized void record(long millis, long nowMillis) {
+        double previous = decayed(nowMillis);
+        latencyMillis = previous < 0 ? millis : previous + SMOOTHING * (millis - previous);
+        sampledAtMillis = nowMillis;
+    }
+
+    /**
+     * Smoothed CXE round-trip latency, decayed over the time since the last
+     * call with none in flight, or -1 before the first call.
+     */
+    public double latencyMillis() {
+        return latencyMillis(System.currentTimeMillis());
+    }
+
+    public synchronized double latencyMillis(long nowMillis) {
+        return decayed(nowMillis);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private double decayed(long nowMillis) {
+        if (latencyMillis < 0 || inFlight.get() > 0) {
+            return latencyMillis;
+        }
+        long idleMillis = Math.max(0, nowMillis - sampledAtMillis);
+        return latencyMillis * Math.pow(0.5, idleMillis / halfLifeMillis);
+    }
+}
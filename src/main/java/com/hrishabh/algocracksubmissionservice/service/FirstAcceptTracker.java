@@ -0,0 +1,89 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds users' first accepted submission on a question, and how many
+ * submissions it took them, for avg_attempts_to_solve.
+ *
+ * The submission table is the source of truth: a batch of accepted
+ * submissions is resolved with one findFirstAccepts query (an index range
+ * per user and question), so the answer is the same on every node and
+ * after a restart. Users this node has already seen solve a question are
+ * remembered (LRU, up to maxTracked) with their earliest accept seen, so
+ * their repeat accepts, common when users resubmit to improve runtime, skip
+ * the query. Only accepts after the remembered one skip it: reconciliation
+ * and the history backfill can bring in an earlier accept later.
+ */
+@Component
+public class FirstAcceptTracker {
+
+    /**
+     * An accepted submission to resolve.
+     */
+    public record Accept(long submissionId, String userId) {
+    }
+
+    /**
+     * First accepts in a batch and the attempts they took in total.
+     */
+    public record FirstAccepts(long solves, long attempts) {
+    }
+
+    private final SubmissionRepository submissionRepository;
+    private final Map<String, Long> solved;
+
+    public FirstAcceptTracker(SubmissionRepository submissionRepository,
+            @Value("${submission.statistics.max-tracked-solvers:100000}") int maxTracked) {
+        this.submissionRepository = submissionRepository;
+        this.solved = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxTracked;
+            }
+        };
+    }
+
+    /**
+     * Resolve a batch of committed accepted submissions to one question. Call
+     * solved() once the statistics that count them have committed.
+     */
+    public synchronized FirstAccepts resolve(Long questionId, List<Accept> accepts) {
+        List<Long> unknown = new ArrayList<>(accepts.size());
+        for (Accept accept : accepts) {
+            Long earliest = solved.get(key(accept.userId(), questionId));
+            if (earliest == null || accept.submissionId() < earliest) {
+                unknown.add(accept.submissionId());
+            }
+        }
+        long solves = 0;
+        long attempts = 0;
+        if (!unknown.isEmpty()) {
+            for (Object[] row : submissionRepository.findFirstAccepts(unknown)) {
+                solves++;
+                attempts += ((Number) row[1]).longValue();
+            }
+        }
+        return new FirstAccepts(solves, attempts);
+    }
+
+    /**
+     * Remember that these users have solved the question.
+     */
+    public synchronized void solved(Long questionId, List<Accept> accepts) {
+        for (Accept accept : accepts) {
+            solved.merge(key(accept.userId(), questionId), accept.submissionId(), Math::min);
+        }
+    }
+
+    private static String key(String userId, Long questionId) {
+        return questionId + ":" + userId;
+    }
+}
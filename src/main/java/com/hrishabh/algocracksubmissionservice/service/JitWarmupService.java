@@ -0,0 +1,286 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.adapter.CxeExecutionAdapter;
+import com.hrishabh.algocracksubmissionservice.dto.ExecutionRequest;
+import com.hrishabh.algocracksubmissionservice.dto.SubmissionStatusDto;
+import com.hrishabh.algocracksubmissionservice.dto.internal.BatchExecutionResult;
+import com.hrishabh.algocracksubmissionservice.dto.internal.CodeBundle;
+import com.hrishabh.algocracksubmissionservice.dto.internal.TestCaseInput;
+import com.hrishabh.algocracksubmissionservice.judging.ExecutionOutput;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingPipeline;
+import com.hrishabh.algocracksubmissionservice.judging.PipelineAssembler;
+import com.hrishabh.algocracksubmissionservice.judging.WarmupScenarios;
+import com.hrishabh.algocracksubmissionservice.models.Language;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JIT warm-up of the judging and serialization paths at startup.
+ *
+ * Right after a deploy, JudgingPipeline, Jackson and the CXE translation
+ * code run interpreted / C1-compiled, so the first few hundred submissions
+ * (typically a contest start) see a latency spike. Once the application is
+ * up, this feeds synthetic payloads through the real components in rounds:
+ *
+ * - every PipelineAssembler route (WarmupScenarios): assemble, then judge
+ *   passing and failing outputs (without JudgingMetrics, so the synthetic
+ *   testcases stay out of the judging meters)
+ * - CxeExecutionAdapter.translateToRequest / translateToResult
+ * - Jackson: the CXE request, the CXE status response, and the testResults
+ *   JSON via SubmissionProcessingService.buildTestResultsJson
+ *
+ * Steady state is reached when STABLE_ROUNDS consecutive rounds take within
+ * steadyTolerance of the previous round; warm-up also stops at maxRounds or
+ * maxDurationMillis. Until it stops, WarmupHealthIndicator reports
+ * OUT_OF_SERVICE, which keeps the readiness group (and so the load balancer)
+ * from routing traffic here. Warm-up is best effort: a failure or timeout
+ * is logged and readiness is released anyway.
+ *
+ * Meters: warmup.time.to.steady.state, warmup.rounds.
+ */
+@Slf4j
+@Service
+public class JitWarmupService {
+
+    private static final int STABLE_ROUNDS = 3;
+    private static final int TESTCASES = 20;
+
+    /**
+     * Warm-up lifecycle, as reported by WarmupHealthIndicator.
+     */
+    public enum State {
+        PENDING, RUNNING, COMPLETE, DISABLED, FAILED
+    }
+
+    private final PipelineAssembler pipelineAssembler;
+    private final CxeExecutionAdapter cxeExecutionAdapter;
+    private final SubmissionProcessingService submissionProcessingService;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int payloadSize;
+    private final int iterationsPerRound;
+    private final int maxRounds;
+    private final long maxDurationMillis;
+    private final double steadyTolerance;
+
+    private volatile State state = State.PENDING;
+    private volatile int rounds;
+    private volatile boolean steady;
+    private volatile long elapsedNanos;
+    private volatile long firstRoundNanos;
+    private volatile long lastRoundNanos;
+
+    public JitWarmupService(PipelineAssembler pipelineAssembler, CxeExecutionAdapter cxeExecutionAdapter,
+            SubmissionProcessingService submissionProcessingService, ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.payload-size:200}") int payloadSize,
+            @Value("${warmup.iterations-per-round:50}") int iterationsPerRound,
+            @Value("${warmup.max-rounds:200}") int maxRounds,
+            @Value("${warmup.max-duration-millis:30000}") long maxDurationMillis,
+            @Value("${warmup.steady-tolerance:0.1}") double steadyTolerance) {
+        this.pipelineAssembler = pipelineAssembler;
+        this.cxeExecutionAdapter = cxeExecutionAdapter;
+        this.submissionProcessingService = submissionProcessingService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.payloadSize = payloadSize;
+        this.iterationsPerRound = iterationsPerRound;
+        this.maxRounds = maxRounds;
+        this.maxDurationMillis = maxDurationMillis;
+        this.steadyTolerance = steadyTolerance;
+
+        TimeGauge.builder("warmup.time.to.steady.state", this, TimeUnit.NANOSECONDS, s -> s.elapsedNanos)
+                .description("Time the startup JIT warm-up ran before releasing readiness")
+                .register(registry);
+        Gauge.builder("warmup.rounds", this, s -> s.rounds)
+                .description("Warm-up rounds run at startup")
+                .register(registry);
+    }
+
+    /**
+     * Start warm-up once the application is up (liveness is already
+     * reported; readiness waits for this).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            state = State.DISABLED;
+            log.info("[JitWarmup] Disabled — readiness not gated");
+            return;
+        }
+        Thread thread = new Thread(this::run, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Run warm-up rounds until steady state, maxRounds or maxDurationMillis.
+     */
+    public void run() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        try {
+            List<WarmupScenarios.Scenario> scenarios = WarmupScenarios.all(payloadSize);
+            CodeBundle bundle = codeBundle();
+            SubmissionStatusDto status = statusResponse();
+            int stableRounds = 0;
+            long previous = -1;
+
+            while (rounds < maxRounds && System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                judgeRound(scenarios);
+                translateRound(bundle, status);
+                long roundNanos = System.nanoTime() - roundStart;
+
+                if (rounds == 0) {
+                    firstRoundNanos = roundNanos;
+                }
+                lastRoundNanos = roundNanos;
+                rounds++;
+                elapsedNanos = System.nanoTime() - start;
+
+                if (previous > 0 && Math.abs(roundNanos - previous) <= steadyTolerance * previous) {
+                    if (++stableRounds >= STABLE_ROUNDS) {
+                        steady = true;
+                        break;
+                    }
+                } else {
+                    stableRounds = 0;
+                }
+                previous = roundNanos;
+            }
+            state = State.COMPLETE;
+            log.info("[JitWarmup] {} after {} rounds in {} ms (round time {} ms -> {} ms, {} routes)",
+                    steady ? "Steady state" : "Stopped without steady state", rounds,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    String.format("%.2f", firstRoundNanos / 1e6), String.format("%.2f", lastRoundNanos / 1e6),
+                    scenarios.size());
+        } catch (Exception e) {
+            elapsedNanos = System.nanoTime() - start;
+            state = State.FAILED;
+            log.error("[JitWarmup] Warm-up failed after {} rounds, releasing readiness: {}",
+                    rounds, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * True once warm-up no longer holds back readiness.
+     */
+    public boolean isDone() {
+        State s = state;
+        return s == State.COMPLETE || s == State.DISABLED || s == State.FAILED;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Progress / result, for the health endpoint.
+     */
+    public Map<String, Object> details() {
+        Map<String, Object> details = new HashMap<>();
+        details.put("state", state.name());
+        details.put("rounds", rounds);
+        details.put("steady", steady);
+        details.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        details.put("firstRoundMs", firstRoundNanos / 1e6);
+        details.put("lastRoundMs", lastRoundNanos / 1e6);
+        return details;
+    }
+
+    /**
+     * Every route: assemble, judge the passing pair, and every few iterations
+     * a mismatching output so the failure / preview paths compile too.
+     */
+    private void judgeRound(List<WarmupScenarios.Scenario> scenarios) {
+        for (WarmupScenarios.Scenario scenario : scenarios) {
+            JudgingPipeline pipeline = pipelineAssembler.assembleUninstrumented(scenario.context());
+            ExecutionOutput user = ExecutionOutput.builder().rawOutput(scenario.userOutput()).build();
+            ExecutionOutput oracle = ExecutionOutput.builder().rawOutput(scenario.oracleOutput()).build();
+            ExecutionOutput wrong = ExecutionOutput.builder().rawOutput("[-1]").build();
+            for (int i = 0; i < iterationsPerRound; i++) {
+                pipeline.judge(user, oracle, scenario.context());
+                if ((i & 7) == 0) {
+                    pipeline.judge(wrong, oracle, scenario.context()).getNormalizedUserOutput();
+                }
+            }
+        }
+    }
+
+    /**
+     * CXE request / response translation and their JSON (de)serialization.
+     */
+    private void translateRound(CodeBundle bundle, SubmissionStatusDto status) throws Exception {
+        for (int i = 0; i < iterationsPerRound; i++) {
+            ExecutionRequest request = cxeExecutionAdapter.translateToRequest(bundle);
+            objectMapper.writeValueAsString(request);
+            String json = objectMapper.writeValueAsString(status);
+            BatchExecutionResult result = cxeExecutionAdapter.translateToResult(
+                    objectMapper.readValue(json, SubmissionStatusDto.class));
+            submissionProcessingService.buildTestResultsJson(result.getOutputs(), -1);
+        }
+    }
+
+    private static CodeBundle codeBundle() {
+        List<TestCaseInput> testcases = new ArrayList<>(TESTCASES);
+        for (int i = 0; i < TESTCASES; i++) {
+            testcases.add(TestCaseInput.builder()
+                    .index(i)
+                    .input("{\"nums\":[" + i + ",7,11,15,3,9,2,8],\"target\":" + (i + 9) + "}")
+                    .build());
+        }
+        return CodeBundle.builder()
+                .executionId("warmup")
+                .code("class Solution { public int[] twoSum(int[] nums, int target) { return null; } }")
+                .language(Language.JAVA)
+                .questionId(0L)
+                .userId("warmup")
+                .testcases(testcases)
+                .metadata(CodeBundle.QuestionMetadataBundle.builder()
+                        .fullyQualifiedPackageName("com.algocrack.solution.warmup")
+                        .functionName("twoSum")
+                        .returnType("int[]")
+                        .parameters(List.of(
+                                CodeBundle.Parameter.builder().name("nums").type("int[]").build(),
+                                CodeBundle.Parameter.builder().name("target").type("int").build()))
+                        .build())
+                .build();
+    }
+
+    private static SubmissionStatusDto statusResponse() {
+        List<SubmissionStatusDto.TestCaseResult> results = new ArrayList<>(TESTCASES);
+        for (int i = 0; i < TESTCASES; i++) {
+            results.add(SubmissionStatusDto.TestCaseResult.builder()
+                    .index(i)
+                    .passed(true)
+                    .actualOutput("[" + i + "," + (i + 1) + "]")
+                    .executionTimeMs(3L)
+                    .build());
+        }
+        return SubmissionStatusDto.builder()
+                .submissionId("warmup")
+                .status("COMPLETED")
+                .runtimeMs(60)
+                .memoryKb(40_000)
+                .testCaseResults(results)
+                .workerId("warmup")
+                .build();
+    }
+}
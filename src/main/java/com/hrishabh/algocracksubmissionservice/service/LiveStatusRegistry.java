@@ -0,0 +1,79 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.dto.SubmissionDetailDto;
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory status of the submissions this node is processing.
+ *
+ * Only durable transitions are written to the submission row: the claim
+ * (COMPILING, by SubmissionWorkQueue) and the final verdict. Transient
+ * states in between (RUNNING, and whatever else processing reports) live
+ * here. Status reads and WebSocket pushes for those submissions are served
+ * from this registry, not from MySQL.
+ *
+ * Crash safety: nothing here has to survive. If the node dies, reads fall
+ * back to the persisted row, which shows the last durable state (claimed,
+ * i.e. COMPILING). Its lease then lapses, and orphan recovery requeues it.
+ * Other nodes serve the persisted state as well; the transient state is
+ * local to the node doing the work.
+ *
+ * Entries are added when processing starts and removed once the final
+ * state has committed (or processing gave up), so the registry never holds
+ * more than the node's in-flight submissions.
+ *
+ * Meters: submission.live.tracked, submission.live.reads.
+ */
+@Component
+public class LiveStatusRegistry {
+
+    private final Map<String, SubmissionDetailDto> live = new ConcurrentHashMap<>();
+    private final Counter reads;
+
+    public LiveStatusRegistry(MeterRegistry registry) {
+        Gauge.builder("submission.live.tracked", live, Map::size)
+                .description("In-flight submissions whose status is served from memory")
+                .register(registry);
+        this.reads = Counter.builder("submission.live.reads")
+                .description("Submission status reads served from memory instead of the database")
+                .register(registry);
+    }
+
+    /**
+     * Record a submission's current (transient) state.
+     */
+    public void update(Submission submission) {
+        live.put(submission.getSubmissionId(), SubmissionDetailDto.fromEntity(submission));
+    }
+
+    /**
+     * Live state of a submission this node is processing, if any.
+     */
+    public Optional<SubmissionDetailDto> find(String submissionId) {
+        SubmissionDetailDto detail = live.get(submissionId);
+        if (detail != null) {
+            reads.increment();
+        }
+        return Optional.ofNullable(detail);
+    }
+
+    /**
+     * Stop tracking a submission: its final state is persisted, or it is
+     * back to whatever the database says.
+     */
+    public void release(String submissionId) {
+        live.remove(submissionId);
+    }
+
+    public int size() {
+        return live.size();
+    }
+}
@@ -0,0 +1,151 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.Candidate;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups claimed submissions by (questionId, language) before dispatch, so
+ * SubmissionProcessingService resolves the question's metadata, HIDDEN
+ * testcases and oracle outputs once per group instead of once per
+ * submission.
+ *
+ * A group opens with its first submission and is dispatched when it holds
+ * maxGroupSize submissions or window after it opened, whichever comes
+ * first; SubmissionWorkQueue also dispatches everything held once it has
+ * no free slots left, since nothing more could join. The window is small
+ * next to a CXE round trip. Grouping happens after SubmissionScheduler has
+ * picked, so it never changes who is served, only how their work is
+ * dispatched. With a zero window, only submissions claimed together are
+ * grouped; when disabled, every submission is its own group.
+ *
+ * Used only by the "submission-queue" thread; not thread-safe.
+ *
+ * Meters: submission.affinity.group.size.
+ */
+@Component
+public class QuestionAffinityBatcher {
+
+    /**
+     * Claimed submissions to one question in one language, dispatched together.
+     */
+    public record Group(Long questionId, String language, List<Candidate> members) {
+
+        public List<String> submissionIds() {
+            List<String> ids = new ArrayList<>(members.size());
+            for (Candidate member : members) {
+                ids.add(member.submissionId());
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Group key; submissionId is set only when grouping is disabled.
+     */
+    private record Key(Long questionId, String language, String submissionId) {
+    }
+
+    private static final class Open {
+        private final List<Candidate> members = new ArrayList<>();
+        private final long dueAt;
+
+        Open(long dueAt) {
+            this.dueAt = dueAt;
+        }
+    }
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxGroupSize;
+    private final DistributionSummary groupSize;
+    private final Map<Key, Open> open = new LinkedHashMap<>();
+
+    public QuestionAffinityBatcher(MeterRegistry registry,
+            @Value("${submission.queue.affinity.enabled:true}") boolean enabled,
+            @Value("${submission.queue.affinity.window-millis:25}") long windowMillis,
+            @Value("${submission.queue.affinity.max-group-size:8}") int maxGroupSize) {
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+        this.groupSize = DistributionSummary.builder("submission.affinity.group.size")
+                .description("Submissions dispatched together for one question and language")
+                .register(registry);
+    }
+
+    /**
+     * Hold a claimed submission in its question's group.
+     */
+    public void add(Candidate candidate, long nowMillis) {
+        Key key = new Key(candidate.questionId(), candidate.language(), enabled ? null : candidate.submissionId());
+        open.computeIfAbsent(key, k -> new Open(enabled ? nowMillis + windowMillis : nowMillis))
+                .members.add(candidate);
+    }
+
+    /**
+     * Take out the groups that are full or whose window has elapsed.
+     */
+    public List<Group> drainDue(long nowMillis) {
+        return drain(nowMillis, false);
+    }
+
+    /**
+     * Take out every group, due or not.
+     */
+    public List<Group> drainAll() {
+        return drain(0, true);
+    }
+
+    /**
+     * Milliseconds until the next group is due: 0 if one is already,
+     * Long.MAX_VALUE if nothing is held.
+     */
+    public long millisUntilDue(long nowMillis) {
+        long until = Long.MAX_VALUE;
+        for (Open group : open.values()) {
+            if (group.members.size() >= maxGroupSize) {
+                return 0;
+            }
+            until = Math.min(until, Math.max(0, group.dueAt - nowMillis));
+        }
+        return until;
+    }
+
+    public int held() {
+        int held = 0;
+        for (Open group : open.values()) {
+            held += group.members.size();
+        }
+        return held;
+    }
+
+    private List<Group> drain(long nowMillis, boolean all) {
+        List<Group> due = new ArrayList<>();
+        Iterator<Map.Entry<Key, Open>> it = open.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Open> entry = it.next();
+            List<Candidate> members = entry.getValue().members;
+            if (!all && members.size() < maxGroupSize && entry.getValue().dueAt > nowMillis) {
+                continue;
+            }
+            it.remove();
+            // A group past maxGroupSize (one large claim) is dispatched in chunks
+            for (int from = 0; from < members.size(); from += maxGroupSize) {
+                List<Candidate> chunk = List.copyOf(
+                        members.subList(from, Math.min(members.size(), from + maxGroupSize)));
+                Candidate first = chunk.get(0);
+                due.add(new Group(first.questionId(), first.language(), chunk));
+                groupSize.record(chunk.size());
+            }
+        }
+        return due;
+    }
+}
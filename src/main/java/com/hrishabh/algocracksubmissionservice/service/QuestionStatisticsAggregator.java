@@ -0,0 +1,629 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionVerdict;
+import com.hrishabh.algocracksubmissionservice.repository.QuestionStatisticsRepository;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.FirstAcceptTracker.Accept;
+import com.hrishabh.algocracksubmissionservice.service.FirstAcceptTracker.FirstAccepts;
+import com.hrishabh.algocracksubmissionservice.service.sketch.HyperLogLog;
+import com.hrishabh.algocracksubmissionservice.service.sketch.LogLinearHistogram;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains question_statistics from finalized submissions without
+ * contending on the per-question row.
+ *
+ * A versioned read-modify-write per submission serializes every verdict on
+ * a hot question behind one row lock (and fails the losers of optimistic
+ * locking). Instead, record() adds the submission to an in-memory delta for
+ * its question, striped LongAdder / LongAccumulator cells that any number
+ * of threads update without a lock, and one "question-stats" thread applies
+ * the deltas every flushInterval: a single transaction with one upsert per
+ * question, which also marks the counted submissions stats_applied.
+ *
+ * Every column is maintained incrementally, without scanning submissions:
+ * - counts, bests, last submission time: added / min / max in the upsert
+ * - avg runtime / memory (accepted submissions): running sums and sample
+ *   counts, the average recomputed from them
+ * - unique attempts / solves: HyperLogLog sketches of the users, built per
+ *   flush and merged into the persisted ones under the row lock, so every
+ *   node's flushes combine without counting a user twice
+ * - avg attempts to solve: FirstAcceptTracker finds the users' first
+ *   accepts among the batch and the attempts each took
+ * - accepted runtime / memory distribution per language
+ *   (question_language_distribution): LogLinearHistograms merged the same
+ *   way, then published to AcceptedDistributions for percentile lookups
+ *
+ * A flush takes a delta out of the map and seals it. Writers register on
+ * the delta (a LongAdder) before checking the seal, and the flush waits for
+ * registered writers to finish before reading it. A writer that finds its
+ * delta sealed starts over on a fresh one, so no update is lost.
+ *
+ * Crash safety: the verdict commits before record(), so a node that dies
+ * loses only unflushed deltas, and their submissions stay COMPLETED with
+ * stats_applied = 0. Reconciliation (at start, then every
+ * reconcileInterval) counts such rows from the submission table once they
+ * have completed more than reconcileGrace ago, using SKIP LOCKED so it
+ * never blocks a live flush. A flush locks its submissions first and drops
+ * any delta whose submissions reconciliation already counted, leaving the
+ * rest of them to reconciliation as well, so nothing is counted twice.
+ *
+ * Lock order: every transaction here takes its locks in one global order,
+ * so two nodes flushing (or a flush and a reconciliation) over the same
+ * questions wait on each other instead of deadlocking: submission rows by
+ * ascending id, then each question's statistics row by ascending
+ * questionId, and within a question its distribution rows by language.
+ *
+ * History: submissions completed before V8 count in the rows' counts but
+ * not in the columns maintained incrementally (sums, sketches, attempts to
+ * solve, distributions). A backfill on its own "question-stats-backfill"
+ * thread adds them in id order, reconcileBatchSize per transaction, through
+ * the same apply() minus the counts, with its cursor in
+ * question_statistics_backfill so any node can resume it. Flushes run
+ * alongside it and hold a row's derived columns until the backfill
+ * publishes them from the completed sums and sketches.
+ *
+ * Meters: question.statistics.pending, question.statistics.flushed,
+ * question.statistics.reconciled, question.statistics.backfilled.
+ */
+@Slf4j
+@Service
+public class QuestionStatisticsAggregator implements SmartLifecycle {
+
+    private final SubmissionRepository submissionRepository;
+    private final QuestionStatisticsRepository statsRepository;
+    private final FirstAcceptTracker firstAcceptTracker;
+    private final AcceptedDistributions acceptedDistributions;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final long reconcileIntervalMillis;
+    private final long reconcileGraceSeconds;
+    private final int reconcileBatchSize;
+
+    private final ConcurrentHashMap<Long, Delta> deltas = new ConcurrentHashMap<>();
+    private final LongAdder pending = new LongAdder();
+    private final Counter flushed;
+    private final Counter reconciled;
+    private final Counter backfilled;
+    private final Object signal = new Object();
+
+    private volatile boolean running;
+    private Thread thread;
+    private Thread backfillThread;
+
+    public QuestionStatisticsAggregator(SubmissionRepository submissionRepository,
+            QuestionStatisticsRepository statsRepository,
+            FirstAcceptTracker firstAcceptTracker,
+            AcceptedDistributions acceptedDistributions,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${submission.statistics.enabled:true}") boolean enabled,
+            @Value("${submission.statistics.flush-interval-millis:1000}") long flushIntervalMillis,
+            @Value("${submission.statistics.reconcile-interval-millis:60000}") long reconcileIntervalMillis,
+            @Value("${submission.statistics.reconcile-grace-seconds:30}") long reconcileGraceSeconds,
+            @Value("${submission.statistics.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.submissionRepository = submissionRepository;
+        this.statsRepository = statsRepository;
+        this.firstAcceptTracker = firstAcceptTracker;
+        this.acceptedDistributions = acceptedDistributions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        this.reconcileGraceSeconds = reconcileGraceSeconds;
+        this.reconcileBatchSize = reconcileBatchSize;
+
+        Gauge.builder("question.statistics.pending", pending, LongAdder::sum)
+                .description("Finalized submissions not yet flushed to question_statistics by this node")
+                .register(registry);
+        this.flushed = Counter.builder("question.statistics.flushed")
+                .description("Submissions counted in question_statistics by this node's flushes")
+                .register(registry);
+        this.reconciled = Counter.builder("question.statistics.reconciled")
+                .description("Submissions counted in question_statistics by reconciliation")
+                .register(registry);
+        this.backfilled = Counter.builder("question.statistics.backfilled")
+                .description("Submissions completed before V8 counted by this node's history backfill")
+                .register(registry);
+    }
+
+    /**
+     * Count a submission whose verdict has committed. Lock-free; the
+     * statistics row is updated at a later flush.
+     */
+    public void record(Submission submission) {
+        while (true) {
+            Delta delta = deltas.computeIfAbsent(submission.getQuestionId(), Delta::new);
+            delta.writers.increment();
+            try {
+                if (!delta.sealed) {
+                    delta.add(submission.getId(), submission.getUserId(), submission.getLanguage(),
+                            submission.getVerdict() == SubmissionVerdict.ACCEPTED, submission.getRuntimeMs(),
+                            submission.getMemoryKb(), submission.getCompletedAt());
+                    pending.increment();
+                    return;
+                }
+            } finally {
+                delta.writers.decrement();
+            }
+            // Taken out by a flush: retry on the question's next delta
+        }
+    }
+
+    // ── Lifecycle ──────────────────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.warn("[QuestionStatistics] Disabled — question_statistics will not be updated by this node");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::loop, "question-stats");
+        thread.setDaemon(true);
+        thread.start();
+        backfillThread = new Thread(this::backfillLoop, "question-stats-backfill");
+        backfillThread.setDaemon(true);
+        backfillThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (backfillThread != null) {
+            backfillThread.interrupt();
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(flushIntervalMillis * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (enabled) {
+            // Apply everything recorded so far; whatever misses this is reconciled
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after SubmissionWorkQueue (lower phase), so the final flush sees
+     * the verdicts of the node's last submissions.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void loop() {
+        long nextReconcile = 0;
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextReconcile) {
+                    reconcile();
+                    nextReconcile = System.currentTimeMillis() + reconcileIntervalMillis;
+                }
+                flush();
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("[QuestionStatistics] Flush failed: {}", e.getMessage(), e);
+            }
+            synchronized (signal) {
+                try {
+                    signal.wait(flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void backfillLoop() {
+        while (running) {
+            try {
+                if (!backfill()) {
+                    return;
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("[QuestionStatistics] Backfill failed: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(flushIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ── Flush ──────────────────────────────────────────────────────────────
+
+    /**
+     * Take out and seal the current deltas, then apply them.
+     */
+    synchronized void flush() {
+        List<Delta> ready = new ArrayList<>(deltas.size());
+        for (Long questionId : deltas.keySet()) {
+            Delta delta = deltas.remove(questionId);
+            if (delta != null) {
+                delta.sealed = true;
+                ready.add(delta);
+            }
+        }
+        for (Delta delta : ready) {
+            while (delta.writers.sum() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        // The map hands deltas out in hash order; apply them in lock order
+        ready.sort(Comparator.comparingLong(delta -> delta.questionId));
+
+        List<Long> ids = new ArrayList<>();
+        for (Delta delta : ready) {
+            ids.addAll(delta.submissionIds());
+        }
+        Collections.sort(ids);
+        // If the transaction fails, the rows stay unmarked and are reconciled
+        pending.add(-ids.size());
+        AfterCommit afterCommit = new AfterCommit();
+        int applied = transactionTemplate.execute(status -> {
+            Set<Long> unapplied = new HashSet<>(submissionRepository.lockStatsPending(ids));
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> marked = new ArrayList<>(ids.size());
+            for (Delta delta : ready) {
+                List<Long> deltaIds = delta.submissionIds();
+                if (!unapplied.containsAll(deltaIds)) {
+                    // Reconciliation counted some of these; it counts the rest too
+                    continue;
+                }
+                apply(delta, now, afterCommit, false);
+                marked.addAll(deltaIds);
+            }
+            if (!marked.isEmpty()) {
+                submissionRepository.markStatsApplied(marked);
+            }
+            return marked.size();
+        });
+        afterCommit.run();
+
+        flushed.increment(applied);
+        if (applied < ids.size()) {
+            log.warn("[QuestionStatistics] {} submissions were already reconciled; left to reconciliation",
+                    ids.size() - applied);
+        }
+        log.debug("[QuestionStatistics] Flushed {} submissions across {} questions", applied, ready.size());
+    }
+
+    // ── Reconciliation ─────────────────────────────────────────────────────
+
+    /**
+     * Count COMPLETED submissions that no flush counted (their node died
+     * before flushing), in batches of reconcileBatchSize.
+     */
+    void reconcile() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(reconcileGraceSeconds);
+        int counted;
+        do {
+            AfterCommit afterCommit = new AfterCommit();
+            counted = transactionTemplate.execute(status -> {
+                List<Object[]> rows = submissionRepository.lockStatsUnapplied(before, reconcileBatchSize);
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                List<Long> ids = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    ids.add(((Number) row[0]).longValue());
+                }
+                LocalDateTime now = LocalDateTime.now();
+                for (Delta delta : byQuestion(rows)) {
+                    apply(delta, now, afterCommit, false);
+                }
+                submissionRepository.markStatsApplied(ids);
+                return ids.size();
+            });
+            afterCommit.run();
+            if (counted > 0) {
+                reconciled.increment(counted);
+                log.info("[QuestionStatistics] Reconciled {} submissions missing from question_statistics", counted);
+            }
+        } while (counted == reconcileBatchSize && running);
+    }
+
+    // ── History backfill ───────────────────────────────────────────────────
+
+    /**
+     * One step of the history backfill: count the next reconcileBatchSize
+     * submissions of history, or once they are all counted, publish the
+     * derived columns of the next reconcileBatchSize questions. Not
+     * synchronized with flush(); the state row's lock keeps nodes from
+     * repeating each other's steps.
+     *
+     * @return false once the backfill is complete
+     */
+    boolean backfill() {
+        AfterCommit afterCommit = new AfterCommit();
+        BackfillStep step = transactionTemplate.execute(status -> {
+            List<Object[]> state = statsRepository.lockBackfill();
+            if (state.isEmpty() || state.get(0)[3] != null) {
+                return new BackfillStep(false, 0);
+            }
+            long maxId = ((Number) state.get(0)[1]).longValue();
+            long nextId = ((Number) state.get(0)[2]).longValue();
+            List<Object[]> rows = submissionRepository.findStatsHistory(nextId, maxId,
+                    toLocalDateTime(state.get(0)[0]), reconcileBatchSize);
+            if (!rows.isEmpty()) {
+                LocalDateTime now = LocalDateTime.now();
+                for (Delta delta : byQuestion(rows)) {
+                    apply(delta, now, afterCommit, true);
+                }
+                statsRepository.advanceBackfill(((Number) rows.get(rows.size() - 1)[0]).longValue());
+                return new BackfillStep(true, rows.size());
+            }
+            List<Long> questionIds = statsRepository.findHistoryPending(reconcileBatchSize);
+            for (Long questionId : questionIds) {
+                List<Object[]> sketches = statsRepository.lockSketches(questionId);
+                if (sketches.isEmpty()) {
+                    continue;
+                }
+                statsRepository.publishHistory(questionId,
+                        HyperLogLog.fromBytes((byte[]) sketches.get(0)[0]).estimate(),
+                        HyperLogLog.fromBytes((byte[]) sketches.get(0)[1]).estimate());
+            }
+            if (questionIds.isEmpty()) {
+                statsRepository.completeBackfill(LocalDateTime.now());
+                log.info("[QuestionStatistics] History backfill complete");
+                return new BackfillStep(false, 0);
+            }
+            return new BackfillStep(true, 0);
+        });
+        afterCommit.run();
+        backfilled.increment(step.counted());
+        return step.more();
+    }
+
+    /**
+     * Group submission rows ([id, question_id, verdict, runtime_ms,
+     * memory_kb, completed_at, user_id, language]) into deltas, in lock order.
+     */
+    private static Collection<Delta> byQuestion(List<Object[]> rows) {
+        Map<Long, Delta> byQuestion = new TreeMap<>();
+        for (Object[] row : rows) {
+            Long questionId = ((Number) row[1]).longValue();
+            byQuestion.computeIfAbsent(questionId, Delta::new).add(((Number) row[0]).longValue(),
+                    (String) row[6], (String) row[7],
+                    SubmissionVerdict.ACCEPTED.name().equals(row[2]),
+                    row[3] != null ? ((Number) row[3]).intValue() : null,
+                    row[4] != null ? ((Number) row[4]).intValue() : null,
+                    toLocalDateTime(row[5]));
+        }
+        return byQuestion.values();
+    }
+
+    /**
+     * Add a delta to its question's row and merge its user sketches and
+     * distributions into the persisted ones. What the tracker and the
+     * distribution cache learn is handed to afterCommit. History is already
+     * in the row's counts, so only its sums are added.
+     */
+    private void apply(Delta delta, LocalDateTime now, AfterCommit afterCommit, boolean history) {
+        HyperLogLog attempted = new HyperLogLog();
+        HyperLogLog solved = new HyperLogLog();
+        List<Accept> accepts = new ArrayList<>();
+        Map<String, Distribution> distributions = new TreeMap<>();
+        for (Entry entry : delta.entries) {
+            attempted.add(entry.userId());
+            if (entry.accepted()) {
+                solved.add(entry.userId());
+                accepts.add(new Accept(entry.submissionId(), entry.userId()));
+                if (entry.language() != null) {
+                    distributions.computeIfAbsent(entry.language(), Distribution::new)
+                            .record(entry.runtimeMs(), entry.memoryKb());
+                }
+            }
+        }
+        FirstAccepts firstAccepts = accepts.isEmpty()
+                ? new FirstAccepts(0, 0)
+                : firstAcceptTracker.resolve(delta.questionId, accepts);
+
+        if (history) {
+            statsRepository.addHistory(delta.questionId, delta.runtimeSum.sum(), delta.runtimeSamples.sum(),
+                    delta.memorySum.sum(), delta.memorySamples.sum(), firstAccepts.attempts(), firstAccepts.solves());
+        } else {
+            statsRepository.upsertDelta(delta.questionId, delta.submissions.sum(), delta.accepted.sum(),
+                    best(delta.bestRuntimeMs), best(delta.bestMemoryKb), delta.lastSubmissionAt(),
+                    delta.runtimeSum.sum(), delta.runtimeSamples.sum(), delta.memorySum.sum(),
+                    delta.memorySamples.sum(), firstAccepts.attempts(), firstAccepts.solves(), now);
+        }
+
+        List<Object[]> sketches = statsRepository.lockSketches(delta.questionId);
+        if (!sketches.isEmpty()) {
+            attempted.merge(HyperLogLog.fromBytes((byte[]) sketches.get(0)[0]));
+            solved.merge(HyperLogLog.fromBytes((byte[]) sketches.get(0)[1]));
+        }
+        statsRepository.updateSketches(delta.questionId, attempted.toBytes(), solved.toBytes(),
+                attempted.estimate(), solved.estimate());
+
+        // The question's row lock above also serializes first inserts here
+        for (Distribution distribution : distributions.values()) {
+            List<Object[]> persisted = statsRepository.lockDistribution(delta.questionId, distribution.language);
+            if (!persisted.isEmpty()) {
+                distribution.runtime.merge(LogLinearHistogram.fromBytes((byte[]) persisted.get(0)[0]));
+                distribution.memory.merge(LogLinearHistogram.fromBytes((byte[]) persisted.get(0)[1]));
+            }
+            statsRepository.upsertDistribution(delta.questionId, distribution.language,
+                    Math.max(distribution.runtime.total(), distribution.memory.total()),
+                    distribution.runtime.toBytes(), distribution.memory.toBytes(), now);
+        }
+
+        afterCommit.accepts.put(delta.questionId, accepts);
+        afterCommit.distributions.put(delta.questionId, distributions.values());
+    }
+
+    private static Integer best(LongAccumulator accumulator) {
+        long value = accumulator.get();
+        return value == Long.MAX_VALUE ? null : (int) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * What a backfill step did: whether steps remain, and how many
+     * submissions of history it counted.
+     */
+    private record BackfillStep(boolean more, int counted) {
+    }
+
+    /**
+     * A submission in a delta.
+     */
+    private record Entry(long submissionId, String userId, String language, boolean accepted, Integer runtimeMs,
+            Integer memoryKb) {
+    }
+
+    /**
+     * Accepted runtimes and memory of one language in a delta.
+     */
+    private static final class Distribution {
+        private final String language;
+        private final LogLinearHistogram runtime = new LogLinearHistogram();
+        private final LogLinearHistogram memory = new LogLinearHistogram();
+
+        Distribution(String language) {
+            this.language = language;
+        }
+
+        void record(Integer runtimeMs, Integer memoryKb) {
+            if (runtimeMs != null) {
+                runtime.record(runtimeMs);
+            }
+            if (memoryKb != null) {
+                memory.record(memoryKb);
+            }
+        }
+    }
+
+    /**
+     * What a committed flush or reconciliation batch tells the first-accept
+     * tracker and the distribution cache; nothing is shared before commit.
+     */
+    private final class AfterCommit {
+        private final Map<Long, List<Accept>> accepts = new HashMap<>();
+        private final Map<Long, Collection<Distribution>> distributions = new HashMap<>();
+
+        void run() {
+            accepts.forEach(firstAcceptTracker::solved);
+            distributions.forEach((questionId, merged) -> merged.forEach(distribution ->
+                    acceptedDistributions.publish(questionId, distribution.language, distribution.runtime,
+                            distribution.memory)));
+        }
+    }
+
+    /**
+     * A question's statistics accumulated since the last flush.
+     */
+    static final class Delta {
+
+        private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        private final Long questionId;
+        private final LongAdder submissions = new LongAdder();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAccumulator bestRuntimeMs = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator bestMemoryKb = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator lastSubmissionAt = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private final LongAdder runtimeSum = new LongAdder();
+        private final LongAdder runtimeSamples = new LongAdder();
+        private final LongAdder memorySum = new LongAdder();
+        private final LongAdder memorySamples = new LongAdder();
+        private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+        private final LongAdder writers = new LongAdder();
+        private volatile boolean sealed;
+
+        Delta(Long questionId) {
+            this.questionId = questionId;
+        }
+
+        void add(long submissionId, String userId, String language, boolean isAccepted, Integer runtimeMs,
+                Integer memoryKb, LocalDateTime completedAt) {
+            submissions.increment();
+            if (isAccepted) {
+                accepted.increment();
+                if (runtimeMs != null) {
+                    bestRuntimeMs.accumulate(runtimeMs);
+                    runtimeSum.add(runtimeMs);
+                    runtimeSamples.increment();
+                }
+                if (memoryKb != null) {
+                    bestMemoryKb.accumulate(memoryKb);
+                    memorySum.add(memoryKb);
+                    memorySamples.increment();
+                }
+            }
+            LocalDateTime at = completedAt != null ? completedAt : LocalDateTime.now();
+            // Microseconds, the precision of the datetime(6) column
+            lastSubmissionAt.accumulate(ChronoUnit.MICROS.between(EPOCH, at));
+            entries.add(new Entry(submissionId, userId, language, isAccepted, runtimeMs, memoryKb));
+        }
+
+        List<Long> submissionIds() {
+            List<Long> ids = new ArrayList<>();
+            for (Entry entry : entries) {
+                ids.add(entry.submissionId());
+            }
+            return ids;
+        }
+
+        LocalDateTime lastSubmissionAt() {
+            return EPOCH.plus(lastSubmissionAt.get(), ChronoUnit.MICROS);
+        }
+    }
+}
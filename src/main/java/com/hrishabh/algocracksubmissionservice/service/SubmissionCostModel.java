@@ -0,0 +1,70 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimated cost of judging a submission, for SubmissionScheduler.
+ *
+ * Cost = testcase count × historical runtime per testcase, per question,
+ * learned from this node's own executions: every judged submission records
+ * its testcase count and total runtime, and the per-testcase runtime is an
+ * exponentially weighted moving average (weight smoothing on the newest
+ * sample). Questions not seen yet cost defaultCostMillis.
+ *
+ * Kept in memory for at most maxQuestions questions; past that, an arbitrary
+ * entry is dropped per new question (it simply goes back to the default).
+ */
+@Component
+public class SubmissionCostModel {
+
+    private final double defaultCostMillis;
+    private final double smoothing;
+    private final int maxQuestions;
+
+    private final Map<Long, Estimate> estimates = new ConcurrentHashMap<>();
+
+    public SubmissionCostModel(
+            @Value("${submission.scheduler.cost.default-millis:2000}") double defaultCostMillis,
+            @Value("${submission.scheduler.cost.smoothing:0.2}") double smoothing,
+            @Value("${submission.scheduler.cost.max-questions:10000}") int maxQuestions) {
+        this.defaultCostMillis = defaultCostMillis;
+        this.smoothing = smoothing;
+        this.maxQuestions = maxQuestions;
+    }
+
+    /**
+     * Estimated executor time, in milliseconds, for one submission to a
+     * question.
+     */
+    public double estimateMillis(Long questionId) {
+        Estimate estimate = questionId != null ? estimates.get(questionId) : null;
+        return estimate != null ? estimate.testcases * estimate.millisPerTestcase : defaultCostMillis;
+    }
+
+    /**
+     * Record an execution of a question's testcases.
+     */
+    public void record(Long questionId, int testcases, Long totalRuntimeMs) {
+        if (questionId == null || testcases <= 0 || totalRuntimeMs == null || totalRuntimeMs < 0) {
+            return;
+        }
+        double sample = (double) totalRuntimeMs / testcases;
+        if (!estimates.containsKey(questionId) && estimates.size() >= maxQuestions) {
+            Iterator<Long> it = estimates.keySet().iterator();
+            if (it.hasNext()) {
+                estimates.remove(it.next());
+            }
+        }
+        estimates.merge(questionId, new Estimate(testcases, sample),
+                (old, fresh) -> new Estimate(testcases,
+                        old.millisPerTestcase + smoothing * (sample - old.millisPerTestcase)));
+    }
+
+    private record Estimate(int testcases, double millisPerTestcase) {
+    }
+}
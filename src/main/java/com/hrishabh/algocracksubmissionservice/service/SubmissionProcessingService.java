@@ -8,19 +8,20 @@ import com.hrishabh.algocracksubmissionservice.dto.QuestionMetadataApiDto;
 import com.hrishabh.algocracksubmissionservice.dto.TestCaseDto;
 import com.hrishabh.algocracksubmissionservice.dto.internal.*;
 import com.hrishabh.algocracksubmissionservice.judging.*;
-import com.hrishabh.algocracksubmissionservice.repository.QuestionStatisticsRepository;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.CanonicalDigester;
 import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +33,29 @@ import java.util.stream.Collectors;
  *
  * Error handling (compilation, runtime, timeout) stays in this orchestration
  * layer. Only semantic correctness flows through the JudgingPipeline.
+ *
+ * Processing is not one transaction: the CXE round trips (user code, then
+ * the oracle) take up to 30 s each, and a transaction around them would pin
+ * a pooled JDBC connection for the whole time, so ~pool-size concurrent
+ * submissions would starve every other endpoint. No connection is held
+ * across remote calls or judging.
+ *
+ * Only durable transitions are written: the claim (COMPILING and startedAt,
+ * by SubmissionWorkQueue) and the final verdict or failure, each in its own
+ * short transaction. The final write is a narrow compare-and-set UPDATE of
+ * the verdict columns (SubmissionRepository.completeInFlight / failInFlight),
+ * not an entity save, and only applies while the row is still claimed by
+ * the processing node; a node that lost its claim records, counts and
+ * pushes nothing. Transient states in between (RUNNING) are kept in
+ * LiveStatusRegistry, which serves status reads and WebSocket pushes for
+ * the submission until its final state has committed.
+ *
+ * Submissions claimed together for the same question and language
+ * (QuestionAffinityBatcher) are processed as a group: metadata, HIDDEN
+ * testcases, the oracle run and the judging pipeline are resolved once for
+ * the group and the user bundles go to the adapter as one batch
+ * (ExecutionAdapter.executeAll), while every submission keeps its own
+ * status pushes, verdict, statistics and result message.
  */
 @Slf4j
 @Service
@@ -40,11 +64,17 @@ public class SubmissionProcessingService {
 
     private final ExecutionAdapter executionAdapter;
     private final PipelineAssembler pipelineAssembler;
+    private final ParallelJudgingExecutor parallelJudgingExecutor;
+    private final JudgeBudgetPolicy judgeBudgetPolicy;
+    private final CanonicalDigester canonicalDigester;
     private final SubmissionRepository submissionRepository;
-    private final QuestionStatisticsRepository statsRepository;
+    private final QuestionStatisticsAggregator statisticsAggregator;
+    private final TransactionTemplate transactionTemplate;
     private final ProblemServiceClient problemServiceClient;
     private final WebSocketService webSocketService;
+    private final LiveStatusRegistry liveStatusRegistry;
     private final OracleExecutionService oracleExecutionService;
+    private final SubmissionCostModel submissionCostModel;
     private final ObjectMapper objectMapper;
 
     /**
@@ -52,61 +82,116 @@ public class SubmissionProcessingService {
      *
      * @param submissionId The UUID of the submission to process (NOT the entity to
      *                     avoid detached entity issues)
+     * @param nodeId       the node holding the claim (SubmissionWorkQueue); the
+     *                     final state is written only while it still does
+     * @return completes when processing has finished (successfully or not);
+     *         SubmissionWorkQueue uses it to track in-flight work
+     */
+    @Async
+    public CompletableFuture<Void> processSubmission(String submissionId, String nodeId) {
+        process(List.of(submissionId), nodeId);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Process a question-affinity group (QuestionAffinityBatcher) of claimed
+     * submissions to one question in one language, asynchronously.
+     *
+     * @param submissionIds UUIDs of the group's submissions
+     * @param nodeId        the node holding the group's claims
+     * @return completes when every submission in the group has finished
      */
     @Async
-    @Transactional
-    public void processSubmission(String submissionId) {
-        log.info("Starting async processing for submission: {}", submissionId);
+    public CompletableFuture<Void> processGroup(List<String> submissionIds, String nodeId) {
+        process(submissionIds, nodeId);
+        return CompletableFuture.completedFuture(null);
+    }
 
-        // Re-fetch submission within this transaction to avoid detached entity issues
-        Submission submission = submissionRepository.findBySubmissionId(submissionId)
-                .orElseThrow(() -> new RuntimeException("Submission not found: " + submissionId));
+    private void process(List<String> submissionIds, String nodeId) {
+        log.info("Starting async processing for submission(s): {}", submissionIds);
 
-        try {
-            // 1. Update status to COMPILING
+        // 1. Start: load the claimed submissions (already COMPILING in the database)
+        List<Submission> group = new ArrayList<>(submissionIds.size());
+        for (String submissionId : submissionIds) {
+            submissionRepository.findBySubmissionId(submissionId).ifPresentOrElse(group::add,
+                    () -> log.error("Submission not found: {}", submissionId));
+        }
+        if (group.isEmpty()) {
+            throw new RuntimeException("Submission not found: " + String.join(", ", submissionIds));
+        }
+        for (Submission submission : group) {
             submission.setStatus(SubmissionStatus.COMPILING);
-            submission.setStartedAt(LocalDateTime.now());
-            submission = submissionRepository.save(submission);
-            webSocketService.sendStatus(submission);
+            if (submission.getStartedAt() == null) {
+                submission.setStartedAt(LocalDateTime.now());
+            }
+        }
+
+        // Not yet finalized: failed together if the group's shared work fails
+        List<Submission> unfinished = new ArrayList<>(group);
+        try {
+            for (Submission submission : group) {
+                liveStatusRegistry.update(submission);
+                webSocketService.sendStatus(submission);
+            }
 
-            // 2. Fetch question metadata and test cases via ProblemService API
-            Long questionId = submission.getQuestionId();
+            // 2. Fetch question metadata and test cases via ProblemService API,
+            // once for the whole group
+            Submission first = group.get(0);
+            Long questionId = first.getQuestionId();
             QuestionMetadataApiDto metadata = problemServiceClient.getMetadata(
-                    questionId, submission.getLanguage().toUpperCase());
+                    questionId, first.getLanguage().toUpperCase());
             if (metadata == null) {
                 throw new RuntimeException(
-                        "Question metadata not found for questionId: " + questionId + ", language: " + submission.getLanguage());
+                        "Question metadata not found for questionId: " + questionId + ", language: " + first.getLanguage());
             }
 
             // Fetch HIDDEN testcases via ProblemService API
             List<TestCaseDto> testCases = problemServiceClient.getTestCases(questionId, "HIDDEN");
 
-            // 3. Build CodeBundle and execute via adapter (same pipeline as RUN and ORACLE)
+            // 3. Build CodeBundles and execute via adapter (same pipeline as RUN and ORACLE)
             List<TestCaseInput> testCaseInputs = testCases.stream()
                     .map(tc -> TestCaseInput.builder().input(tc.getInput()).build())
                     .collect(Collectors.toList());
 
-            CodeBundle userBundle = buildCodeBundle(submission, metadata, testCaseInputs);
+            List<CodeBundle> userBundles = new ArrayList<>(group.size());
+            for (Submission submission : group) {
+                userBundles.add(buildCodeBundle(submission, metadata, testCaseInputs));
+            }
 
-            // 4. Update status to RUNNING
-            submission.setStatus(SubmissionStatus.RUNNING);
-            submission = submissionRepository.save(submission);
-            webSocketService.sendStatus(submission);
+            // 4. Update status to RUNNING (in memory only)
+            for (Submission submission : group) {
+                submission.setStatus(SubmissionStatus.RUNNING);
+                liveStatusRegistry.update(submission);
+                webSocketService.sendStatus(submission);
+            }
 
-            // 5. Execute user code via adapter
-            log.info("Executing user code for: {}", submissionId);
-            BatchExecutionResult userResult = executionAdapter.execute(userBundle);
+            // 5. Execute user code via adapter, the group's bundles as one batch
+            log.info("Executing user code for: {}", submissionIds);
+            List<BatchExecutionResult> userResults = userBundles.size() == 1
+                    ? List.of(executionAdapter.execute(userBundles.get(0)))
+                    : executionAdapter.executeAll(userBundles);
 
             // 6. Handle execution-layer errors BEFORE pipeline
             // (compilation, runtime, timeout — these are not semantic correctness issues)
-            if (!userResult.isSuccess()) {
+            List<Integer> toJudge = new ArrayList<>(group.size());
+            for (int i = 0; i < group.size(); i++) {
+                Submission submission = group.get(i);
+                BatchExecutionResult userResult = userResults.get(i);
+                submissionCostModel.record(questionId, testCaseInputs.size(), userResult.getTotalRuntimeMs());
+                if (userResult.isSuccess()) {
+                    toJudge.add(i);
+                    continue;
+                }
                 SubmissionVerdict errorVerdict = mapExecutionErrorToVerdict(userResult);
-                log.info("Execution error for {}: {}", submissionId, errorVerdict);
-                finalizeSubmission(submission, errorVerdict, userResult, null);
+                log.info("Execution error for {}: {}", submission.getSubmissionId(), errorVerdict);
+                finalizeSubmission(submission, nodeId, errorVerdict, userResult, null);
+                unfinished.remove(submission);
+            }
+            if (toJudge.isEmpty()) {
                 return;
             }
 
-            // 7. Execute oracle to get expected outputs
+            // 7. Execute oracle once for the group to get expected outputs
             log.info("Executing oracle for question: {}", questionId);
             List<TestCaseInput> oracleInputs = testCases.stream()
                     .map(tc -> TestCaseInput.builder().input(tc.getInput()).build())
@@ -115,84 +200,148 @@ public class SubmissionProcessingService {
 
             if (!oracleResult.isSuccess()) {
                 log.error("Oracle execution failed for question {}: {}", questionId, oracleResult.getStatus());
-                finalizeSubmission(submission, SubmissionVerdict.INTERNAL_ERROR, userResult, null);
+                for (int i : toJudge) {
+                    finalizeSubmission(group.get(i), nodeId, SubmissionVerdict.INTERNAL_ERROR, userResults.get(i), null);
+                    unfinished.remove(group.get(i));
+                }
                 return;
             }
 
-            // 8. Judge via JudgingPipeline (same pipeline as RUN path)
-            SubmissionVerdict verdict = judgeViaPipeline(userResult, oracleResult, metadata);
-
-            // 9. Finalize submission
-            finalizeSubmission(submission, verdict, userResult,
-                    buildTestResultsJson(userResult.getOutputs()));
+            // 8. Judge via JudgingPipeline (same pipeline as RUN path), assembled
+            // once for the group; each submission gets its own verdict
+            JudgingContext judgingContext = buildJudgingContext(metadata);
+            JudgingPipeline pipeline = pipelineAssembler.assemble(judgingContext);
+            for (int i : toJudge) {
+                Submission submission = group.get(i);
+                BatchExecutionResult userResult = userResults.get(i);
+                try {
+                    Judgement judgement = judgeViaPipeline(userResult, oracleResult, testCases, judgingContext,
+                            pipeline);
+
+                    // 9. Finalize submission
+                    finalizeSubmission(submission, nodeId, judgement.verdict(), userResult,
+                            buildTestResultsJson(userResult.getOutputs(), judgement.failedIndex()));
+                } catch (Exception e) {
+                    failSubmission(submission, nodeId, e);
+                }
+                unfinished.remove(submission);
+            }
 
         } catch (Exception e) {
-            log.error("Processing failed for {}: {}", submissionId, e.getMessage(), e);
+            for (Submission submission : unfinished) {
+                failSubmission(submission, nodeId, e);
+            }
+        } finally {
+            // Safety net: each submission's entry is released as soon as its own
+            // final write commits; anything left here never got one (the rows
+            // are left to orphan recovery)
+            for (Submission submission : group) {
+                liveStatusRegistry.release(submission.getSubmissionId());
+            }
+        }
+    }
 
-            submission.setStatus(SubmissionStatus.FAILED);
-            submission.setErrorMessage(e.getMessage());
-            submission.setCompletedAt(LocalDateTime.now());
-            submissionRepository.save(submission);
+    /**
+     * Record a processing failure and notify the client, unless this node
+     * no longer holds the claim.
+     */
+    private void failSubmission(Submission submission, String nodeId, Exception e) {
+        String submissionId = submission.getSubmissionId();
+        log.error("Processing failed for {}: {}", submissionId, e.getMessage(), e);
 
-            webSocketService.sendError(submission, e.getMessage());
+        submission.setStatus(SubmissionStatus.FAILED);
+        submission.setErrorMessage(e.getMessage());
+        submission.setCompletedAt(LocalDateTime.now());
+        Integer failed = transactionTemplate.execute(status -> submissionRepository.failInFlight(
+                submissionId, nodeId, submission.getErrorMessage(), submission.getCompletedAt()));
+        // Committed (or lost): status reads go to the row from here on,
+        // not after the rest of the group
+        liveStatusRegistry.release(submissionId);
+        if (failed == null || failed == 0) {
+            log.warn("Submission {} is no longer in flight on node {}; failure not recorded", submissionId, nodeId);
+            return;
         }
+
+        webSocketService.sendError(submission, e.getMessage());
+    }
+
+    /**
+     * Verdict and the index of the testcase that decided it (-1 if accepted).
+     */
+    private record Judgement(SubmissionVerdict verdict, int failedIndex) {
     }
 
     /**
      * Judge user results against oracle results via the JudgingPipeline.
      * Same pipeline as the RUN path — no divergent judging systems.
      */
-    private SubmissionVerdict judgeViaPipeline(BatchExecutionResult userResult,
-            BatchExecutionResult oracleResult, QuestionMetadataApiDto metadata) {
+    private Judgement judgeViaPipeline(BatchExecutionResult userResult, BatchExecutionResult oracleResult,
+            List<TestCaseDto> testCases, JudgingContext judgingContext, JudgingPipeline pipeline) {
         List<TestCaseOutput> userOutputs = userResult.getOutputs();
         List<TestCaseOutput> oracleOutputs = oracleResult.getOutputs();
 
-        // Build judging context (same as UnifiedExecutionService)
-        JudgingContext judgingContext = buildJudgingContext(metadata);
-
-        // Assemble pipeline ONCE per question
-        JudgingPipeline pipeline = pipelineAssembler.assemble(judgingContext);
-
         log.debug("Judging {} testcases via pipeline", userOutputs.size());
 
+        // A per-testcase runtime error (user code ran but errored on this case)
+        // ends the scan at its index — only the testcases before it are judged
+        int runtimeErrorIndex = -1;
         for (int i = 0; i < userOutputs.size(); i++) {
+            String error = userOutputs.get(i).getError();
+            if (error != null && !error.isEmpty()) {
+                runtimeErrorIndex = i;
+                break;
+            }
+        }
+        int judgedCount = runtimeErrorIndex >= 0 ? runtimeErrorIndex : userOutputs.size();
+
+        // Build ExecutionOutput wrappers for the pipeline
+        List<ExecutionOutput> userExecOutputs = new ArrayList<>(judgedCount);
+        List<ExecutionOutput> oracleExecOutputs = new ArrayList<>(judgedCount);
+        for (int i = 0; i < judgedCount; i++) {
             TestCaseOutput userOutput = userOutputs.get(i);
             TestCaseOutput oracleOutput = (i < oracleOutputs.size()) ? oracleOutputs.get(i) : null;
 
-            // Check for per-testcase runtime error (user code ran but errored on this case)
-            if (userOutput.getError() != null && !userOutput.getError().isEmpty()) {
-                log.info("Runtime error on test case {}: {}", i, userOutput.getError());
-                return SubmissionVerdict.RUNTIME_ERROR;
-            }
-
-            // Build ExecutionOutput wrappers for the pipeline
-            ExecutionOutput userExecOutput = ExecutionOutput.builder()
+            userExecOutputs.add(ExecutionOutput.builder()
                     .rawOutput(userOutput.getOutput())
                     .error(userOutput.getError())
                     .executionTimeMs(userOutput.getExecutionTimeMs())
-                    .build();
+                    .testcaseId(i < testCases.size() ? testCases.get(i).getId() : null)
+                    .build());
 
-            ExecutionOutput oracleExecOutput = ExecutionOutput.builder()
+            oracleExecOutputs.add(ExecutionOutput.builder()
                     .rawOutput(oracleOutput != null ? oracleOutput.getOutput() : null)
                     .error(oracleOutput != null ? oracleOutput.getError() : null)
-                    .build();
-
-            // Judge via pipeline
-            JudgingResult result = pipeline.judge(userExecOutput, oracleExecOutput, judgingContext);
+                    .build());
+        }
 
+        // Judge via pipeline — parallel for large suites, lowest failing index wins.
+        // The budget bounds judging time per testcase and for the whole submission.
+        ParallelJudgingExecutor.FirstFailure firstFailure = parallelJudgingExecutor.judgeUntilFirstFailure(
+                pipeline, userExecOutputs, oracleExecOutputs, judgingContext, judgeBudgetPolicy.start());
+
+        if (!firstFailure.isAllPassed()) {
+            JudgingResult result = firstFailure.getResult();
+            if (result.getBudgetExceeded() == JudgeBudget.Kind.OUTPUT_SIZE) {
+                log.info("Output limit exceeded on test case {}: {}", firstFailure.getIndex(),
+                        result.getFailureReason());
+                return new Judgement(SubmissionVerdict.OUTPUT_LIMIT_EXCEEDED, firstFailure.getIndex());
+            }
             if (result.isJudgeError()) {
-                log.error("Judge error on test case {}: {}", i, result.getFailureReason());
-                return SubmissionVerdict.INTERNAL_ERROR;
+                log.error("Judge error on test case {}: {}", firstFailure.getIndex(), result.getFailureReason());
+                return new Judgement(SubmissionVerdict.INTERNAL_ERROR, firstFailure.getIndex());
             }
+            log.info("Wrong answer on test case {}: {}", firstFailure.getIndex(), result.getFailureReason());
+            return new Judgement(SubmissionVerdict.WRONG_ANSWER, firstFailure.getIndex());
+        }
 
-            if (!result.isPassed()) {
-                log.info("Wrong answer on test case {}: {}", i, result.getFailureReason());
-                return SubmissionVerdict.WRONG_ANSWER;
-            }
+        if (runtimeErrorIndex >= 0) {
+            log.info("Runtime error on test case {}: {}", runtimeErrorIndex,
+                    userOutputs.get(runtimeErrorIndex).getError());
+            return new Judgement(SubmissionVerdict.RUNTIME_ERROR, runtimeErrorIndex);
         }
 
         log.info("All test cases passed");
-        return SubmissionVerdict.ACCEPTED;
+        return new Judgement(SubmissionVerdict.ACCEPTED, -1);
     }
 
     /**
@@ -219,7 +368,7 @@ public class SubmissionProcessingService {
     /**
      * Finalize submission with results and notify client.
      */
-    private void finalizeSubmission(Submission submission, SubmissionVerdict verdict,
+    private void finalizeSubmission(Submission submission, String nodeId, SubmissionVerdict verdict,
             BatchExecutionResult userResult, String testResults) {
         submission.setStatus(SubmissionStatus.COMPLETED);
         submission.setVerdict(verdict);
@@ -232,15 +381,27 @@ public class SubmissionProcessingService {
         submission.setCompletedAt(LocalDateTime.now());
         submission.setWorkerId(userResult.getWorkerId());
         submission.setTestResults(testResults != null ? testResults
-                : buildTestResultsJson(userResult.getOutputs()));
+                : buildTestResultsJson(userResult.getOutputs(), -1));
         submission.setCompilationOutput(userResult.getCompilationOutput());
         submission.setErrorMessage(userResult.getErrorMessage());
-        submissionRepository.save(submission);
 
-        log.info("Submission {} completed with verdict: {}", submission.getSubmissionId(), verdict);
+        // The verdict is a compare-and-set on the row this node still has
+        // claimed (short transaction): if orphan recovery requeued it, or
+        // another node re-claimed or finished it, nothing is recorded, counted
+        // or pushed from here
+        Integer completed = transactionTemplate.execute(status -> submissionRepository.completeInFlight(
+                submission.getSubmissionId(), nodeId, verdict.name(), submission.getRuntimeMs(), submission.getMemoryKb(),
+                submission.getTestResults(), submission.getCompilationOutput(),
+                submission.getErrorMessage(), submission.getWorkerId(), submission.getCompletedAt()));
+        liveStatusRegistry.release(submission.getSubmissionId());
+        if (completed == null || completed == 0) {
+            log.warn("Submission {} is no longer in flight on node {}; verdict {} not recorded",
+                    submission.getSubmissionId(), nodeId, verdict);
+            return;
+        }
+        statisticsAggregator.record(submission);
 
-        // Update question statistics
-        updateQuestionStatistics(submission);
+        log.info("Submission {} completed with verdict: {}", submission.getSubmissionId(), verdict);
 
         // Notify client
         webSocketService.sendResult(submission);
@@ -344,19 +505,33 @@ public class SubmissionProcessingService {
 
     /**
      * Build testResults JSON from execution outputs.
+     *
+     * Outputs large enough to be judged by digest are kept in full only for
+     * the testcase that decided the verdict (diagnosticIndex); the others are
+     * stored as a capped preview with their original length. Package-private
+     * for JitWarmupService and the allocation budget test.
      */
-    private String buildTestResultsJson(List<TestCaseOutput> outputs) {
+    String buildTestResultsJson(List<TestCaseOutput> outputs, int diagnosticIndex) {
         if (outputs == null || outputs.isEmpty()) {
             return "[]";
         }
         try {
             List<Map<String, Object>> testResults = new ArrayList<>();
-            for (TestCaseOutput output : outputs) {
+            for (int i = 0; i < outputs.size(); i++) {
+                TestCaseOutput output = outputs.get(i);
                 Map<String, Object> result = new HashMap<>();
                 result.put("index", output.getIndex());
                 result.put("passed", output.getError() == null || output.getError().isEmpty());
                 result.put("time", output.getExecutionTimeMs());
-                result.put("output", output.getOutput());
+                String text = output.getOutput();
+                if (text != null && text.length() >= canonicalDigester.getMinOutputChars()
+                        && i != diagnosticIndex) {
+                    result.put("output", OutputPreview.cap(text));
+                    result.put("outputChars", text.length());
+                    result.put("truncated", true);
+                } else {
+                    result.put("output", text);
+                }
                 if (output.getError() != null) {
                     result.put("error", output.getError());
                 }
@@ -368,28 +543,4 @@ public class SubmissionProcessingService {
             return "[]";
         }
     }
-
-    /**
-     * Update question statistics after submission completes.
-     */
-    @Transactional
-    public void updateQuestionStatistics(Submission submission) {
-        Long questionId = submission.getQuestionId();
-
-        QuestionStatistics stats = statsRepository.findByQuestionId(questionId)
-                .orElseGet(() -> QuestionStatistics.builder()
-                        .questionId(questionId)
-                        .totalSubmissions(0)
-                        .acceptedSubmissions(0)
-                        .build());
-
-        stats.incrementSubmissions(
-                submission.getVerdict() == SubmissionVerdict.ACCEPTED,
-                submission.getRuntimeMs(),
-                submission.getMemoryKb());
-
-        statsRepository.save(stats);
-        log.debug("Updated statistics for question {}: total={}, accepted={}",
-                questionId, stats.getTotalSubmissions(), stats.getAcceptedSubmissions());
-    }
 }
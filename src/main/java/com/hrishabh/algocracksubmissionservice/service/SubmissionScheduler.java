@@ -0,0 +1,275 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Priority and fair-share ordering of QUEUED submissions, consulted by
+ * SubmissionWorkQueue whenever it has free slots.
+ *
+ * Start-time fair queuing at two levels, in units of estimated executor
+ * milliseconds (SubmissionCostModel: testcases × historical runtime):
+ *
+ * 1. Traffic class — CONTEST (contestId set) or PRACTICE. Each class
+ *    advances its virtual time by cost / weight per dispatch, and the class
+ *    with the lowest virtual time goes next. With weights 4:1, contest gets
+ *    ~80% of the executor time while both are backlogged, practice keeps
+ *    the rest, and either gets everything when the other is idle. An idle
+ *    class can't bank credit: its virtual time is lifted to the system's
+ *    when it returns.
+ * 2. User, within a class — each user's next submission starts where the
+ *    user's previous one finished (virtual start + cost), so a user who
+ *    spams submits or submits an expensive question waits behind everyone
+ *    else's next submission, in proportion to what they already consumed.
+ *
+ * Aging: every key is reduced by agingRate × time waited, so a submission
+ * (or a class) that has waited long enough is picked no matter how much its
+ * user (or class) has been served.
+ *
+ * Candidates come from the database a window at a time (capped per user),
+ * so fairness is exact within the window; the state is per node.
+ *
+ * Meters: submission.scheduler.queue.depth{class},
+ * submission.scheduler.wait{class} (queue wait, with percentiles).
+ */
+@Component
+public class SubmissionScheduler {
+
+    /**
+     * Scheduling class of a submission.
+     */
+    public enum TrafficClass {
+        CONTEST, PRACTICE;
+
+        public static TrafficClass of(Long contestId) {
+            return contestId != null ? CONTEST : PRACTICE;
+        }
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * A QUEUED submission that may be claimed.
+     */
+    public record Candidate(long id, String submissionId, String userId, Long questionId, String language,
+            TrafficClass trafficClass, LocalDateTime queuedAt) {
+    }
+
+    private static final int CLASSES = TrafficClass.values().length;
+
+    private final SubmissionCostModel costModel;
+    private final int candidateWindow;
+    private final int candidatesPerUser;
+    private final double[] weights = new double[CLASSES];
+    private final double agingRate;
+    private final int maxTrackedUsers;
+
+    private final Tags tags = new Tags(null);
+    private final Map<TrafficClass, AtomicLong> depth = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Timer> waits = new EnumMap<>(TrafficClass.class);
+
+    public SubmissionScheduler(SubmissionCostModel costModel, MeterRegistry registry,
+            @Value("${submission.scheduler.candidate-window:256}") int candidateWindow,
+            @Value("${submission.scheduler.candidates-per-user:4}") int candidatesPerUser,
+            @Value("${submission.scheduler.contest-weight:4}") double contestWeight,
+            @Value("${submission.scheduler.practice-weight:1}") double practiceWeight,
+            @Value("${submission.scheduler.aging-rate:1.0}") double agingRate,
+            @Value("${submission.scheduler.max-tracked-users:10000}") int maxTrackedUsers) {
+        this.costModel = costModel;
+        this.candidateWindow = candidateWindow;
+        this.candidatesPerUser = candidatesPerUser;
+        this.weights[TrafficClass.CONTEST.ordinal()] = contestWeight;
+        this.weights[TrafficClass.PRACTICE.ordinal()] = practiceWeight;
+        this.agingRate = agingRate;
+        this.maxTrackedUsers = maxTrackedUsers;
+
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            AtomicLong classDepth = new AtomicLong();
+            depth.put(trafficClass, classDepth);
+            Gauge.builder("submission.scheduler.queue.depth", classDepth, AtomicLong::get)
+                    .description("QUEUED submissions across all nodes, as of the last refresh")
+                    .tag("class", trafficClass.tag())
+                    .register(registry);
+            waits.put(trafficClass, Timer.builder("submission.scheduler.wait")
+                    .description("Time from submit to dispatch")
+                    .tag("class", trafficClass.tag())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    public int getCandidateWindow() {
+        return candidateWindow;
+    }
+
+    public int getCandidatesPerUser() {
+        return candidatesPerUser;
+    }
+
+    /**
+     * Pick up to limit candidates, best first. Doesn't change the fair-share
+     * state: only the picks that are actually claimed are charged, through
+     * dispatched().
+     */
+    public synchronized List<Candidate> select(List<Candidate> candidates, int limit, LocalDateTime now) {
+        List<Candidate> remaining = new ArrayList<>(candidates);
+        List<Candidate> picked = new ArrayList<>(Math.min(limit, remaining.size()));
+        Tags scratch = new Tags(tags);
+        while (picked.size() < limit && !remaining.isEmpty()) {
+            int trafficClass = nextClass(scratch, remaining, now);
+            int best = -1;
+            double bestKey = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < remaining.size(); i++) {
+                Candidate candidate = remaining.get(i);
+                if (candidate.trafficClass().ordinal() != trafficClass) {
+                    continue;
+                }
+                double key = scratch.userStart(trafficClass, candidate.userId()) - credit(candidate, now);
+                if (best < 0 || key < bestKey || (key == bestKey && older(candidate, remaining.get(best)))) {
+                    best = i;
+                    bestKey = key;
+                }
+            }
+            Candidate next = remaining.remove(best);
+            charge(scratch, next);
+            picked.add(next);
+        }
+        return picked;
+    }
+
+    /**
+     * Charge a claimed submission to its class and user, and record its wait.
+     * Call in the order select() returned the claims.
+     */
+    public synchronized void dispatched(Candidate candidate, LocalDateTime now) {
+        charge(tags, candidate);
+        Map<String, Double> users = tags.userFinish.get(candidate.trafficClass().ordinal());
+        if (users.size() > maxTrackedUsers) {
+            // A user whose finish tag is behind the class is equivalent to an unseen one
+            double classVirtual = tags.classVirtual[candidate.trafficClass().ordinal()];
+            users.values().removeIf(finish -> finish <= classVirtual);
+        }
+        if (candidate.queuedAt() != null) {
+            waits.get(candidate.trafficClass()).record(Duration.between(candidate.queuedAt(), now));
+        }
+    }
+
+    public void updateDepth(TrafficClass trafficClass, long queued) {
+        depth.get(trafficClass).set(queued);
+    }
+
+    public long depth(TrafficClass trafficClass) {
+        return depth.get(trafficClass).get();
+    }
+
+    /**
+     * Fraction of executor time the class gets while every class is backlogged.
+     */
+    public double share(TrafficClass trafficClass) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        return weights[trafficClass.ordinal()] / total;
+    }
+
+    /**
+     * The class with the lowest (aged) virtual time among the candidates.
+     */
+    private int nextClass(Tags t, List<Candidate> remaining, LocalDateTime now) {
+        double[] credit = new double[CLASSES];
+        boolean[] present = new boolean[CLASSES];
+        for (Candidate candidate : remaining) {
+            int k = candidate.trafficClass().ordinal();
+            present[k] = true;
+            credit[k] = Math.max(credit[k], credit(candidate, now));
+        }
+        int best = -1;
+        double bestKey = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < CLASSES; k++) {
+            if (!present[k]) {
+                continue;
+            }
+            double key = Math.max(t.classFinish[k], t.systemVirtual) - credit[k];
+            if (best < 0 || key < bestKey) {
+                best = k;
+                bestKey = key;
+            }
+        }
+        return best;
+    }
+
+    private void charge(Tags t, Candidate candidate) {
+        int k = candidate.trafficClass().ordinal();
+        double cost = costModel.estimateMillis(candidate.questionId());
+        double classStart = Math.max(t.classFinish[k], t.systemVirtual);
+        t.classFinish[k] = classStart + cost / weights[k];
+        t.systemVirtual = classStart;
+        double userStart = t.userStart(k, candidate.userId());
+        t.userFinish.get(k).put(candidate.userId(), userStart + cost);
+        t.classVirtual[k] = userStart;
+    }
+
+    private double credit(Candidate candidate, LocalDateTime now) {
+        if (candidate.queuedAt() == null) {
+            return 0;
+        }
+        return agingRate * Math.max(0, Duration.between(candidate.queuedAt(), now).toMillis());
+    }
+
+    private static boolean older(Candidate a, Candidate b) {
+        if (a.queuedAt() != null && b.queuedAt() != null && !a.queuedAt().equals(b.queuedAt())) {
+            return a.queuedAt().isBefore(b.queuedAt());
+        }
+        return a.id() < b.id();
+    }
+
+    /**
+     * Virtual-time state. A scratch copy reads through to its base for users
+     * it hasn't charged yet, so select() never copies the user maps.
+     */
+    private static final class Tags {
+
+        private final Tags base;
+        private double systemVirtual;
+        private final double[] classFinish;
+        private final double[] classVirtual;
+        private final List<Map<String, Double>> userFinish = new ArrayList<>(CLASSES);
+
+        Tags(Tags base) {
+            this.base = base;
+            this.systemVirtual = base != null ? base.systemVirtual : 0;
+            this.classFinish = base != null ? base.classFinish.clone() : new double[CLASSES];
+            this.classVirtual = base != null ? base.classVirtual.clone() : new double[CLASSES];
+            for (int k = 0; k < CLASSES; k++) {
+                userFinish.add(new HashMap<>());
+            }
+        }
+
+        /**
+         * Virtual start of the user's next submission in the class.
+         */
+        double userStart(int k, String userId) {
+            Double finish = userFinish.get(k).get(userId);
+            if (finish == null && base != null) {
+                finish = base.userFinish.get(k).get(userId);
+            }
+            return finish != null ? Math.max(finish, classVirtual[k]) : classVirtual[k];
+        }
+    }
+}
@@ -28,10 +28,16 @@ import java.util.stream.Collectors;
 public class SubmissionService {
     private final SubmissionRepository submissionRepository;
     private final ProblemServiceClient problemServiceClient;
-    private final SubmissionProcessingService processingService;
+    private final SubmissionWorkQueue workQueue;
+    private final LiveStatusRegistry liveStatusRegistry;
+    private final AcceptedDistributions acceptedDistributions;
 
     /**
-     * Create a new submission and trigger async processing.
+     * Create a new submission. The QUEUED row is the work item: it is claimed
+     * and processed through SubmissionWorkQueue, on this or any other node.
+     * The caller verifies the contestId first (SubmissionController, through
+     * ContestRegistrations): that is a remote call, and this transaction
+     * holds a pooled connection.
      */
     @Transactional
     public Submission createAndProcess(SubmissionRequestDto request) {
@@ -45,6 +51,7 @@ public class SubmissionService {
                 .questionId(request.getQuestionId())
                 .language(request.getLanguage())
                 .code(request.getCode())
+                .contestId(request.getContestId())
                 .status(SubmissionStatus.QUEUED)
                 .queuedAt(LocalDateTime.now())
                 .ipAddress(request.getIpAddress())
@@ -53,26 +60,32 @@ public class SubmissionService {
         // Save to database
         submission = submissionRepository.save(submission);
         log.info("Submission {} created with status QUEUED", submissionId);
-        // Trigger async processing AFTER this transaction commits
-        // This ensures the submission is visible in the database before async
-        // processing starts
+        // Wake the work queue AFTER this transaction commits, so the row is
+        // visible to the claim query; if this node is busy (or dies), the row
+        // stays QUEUED and is claimed by the next free node
         final String submissionIdFinal = submissionId;
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
-                log.debug("Transaction committed, triggering async processing for: {}", submissionIdFinal);
-                processingService.processSubmission(submissionIdFinal);
+                log.debug("Transaction committed, waking work queue for: {}", submissionIdFinal);
+                workQueue.wakeUp();
             }
         });
         return submission;
     }
 
     /**
-     * Find submission by external UUID.
+     * Find submission by external UUID. Submissions this node is processing
+     * are served from LiveStatusRegistry without touching the database.
      */
     public Optional<SubmissionDetailDto> findBySubmissionId(String submissionId) {
+        Optional<SubmissionDetailDto> live = liveStatusRegistry.find(submissionId);
+        if (live.isPresent()) {
+            return live;
+        }
         return submissionRepository.findBySubmissionId(submissionId)
-                .map(SubmissionDetailDto::fromEntity);
+                .map(SubmissionDetailDto::fromEntity)
+                .map(this::withPercentiles);
     }
 
     /**
@@ -87,12 +100,39 @@ public class SubmissionService {
             submissions = submissionRepository.findByUserIdOrderByQueuedAtDesc(userId, PageRequest.of(page, size));
         }
 
+        // One distribution query for the page's accepted rows, not one per row
+        List<AcceptedDistributions.QuestionLanguage> accepted = submissions.getContent()
+                .stream()
+                .filter(s -> s.getVerdict() == SubmissionVerdict.ACCEPTED)
+                .map(s -> new AcceptedDistributions.QuestionLanguage(s.getQuestionId(), s.getLanguage()))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!accepted.isEmpty()) {
+            acceptedDistributions.preload(accepted);
+        }
+
+        // Overlay the live state of submissions still being processed here
         return submissions.getContent()
                 .stream()
-                .map(SubmissionDetailDto::fromEntity)
+                .map(s -> liveStatusRegistry.find(s.getSubmissionId())
+                        .orElseGet(() -> withPercentiles(SubmissionDetailDto.fromEntity(s))))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Add "beats X%" to an accepted submission, from the cached distribution
+     * of its question and language (preloaded for history pages).
+     */
+    private SubmissionDetailDto withPercentiles(SubmissionDetailDto dto) {
+        if (SubmissionVerdict.ACCEPTED.name().equals(dto.getVerdict())) {
+            AcceptedDistributions.Beats beats = acceptedDistributions.beats(dto.getQuestionId(), dto.getLanguage(),
+                    dto.getRuntimeMs(), dto.getMemoryKb());
+            dto.setRuntimeBeatsPercent(beats.runtimePercent());
+            dto.setMemoryBeatsPercent(beats.memoryPercent());
+        }
+        return dto;
+    }
+
     /**
      * Get question metadata for execution request via ProblemService API.
      */
@@ -0,0 +1,480 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.QuestionAffinityBatcher.Group;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.Candidate;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.TrafficClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable work queue on the submission table.
+ *
+ * A submission is work while its row is QUEUED. Every node runs one
+ * "submission-queue" thread that:
+ *
+ * 1. Claims: reads a window of QUEUED candidates, lets SubmissionScheduler
+ *    pick up to min(batchSize, free slots) of them (fair share per user,
+ *    contest ahead of practice, weighted by cost, aged), then in one short
+ *    transaction locks the picks with SELECT ... FOR UPDATE SKIP LOCKED and
+ *    marks them COMPILING, claimed_by = this node, leased for leaseDuration.
+ *    SKIP LOCKED lets any number of nodes claim concurrently without
+ *    blocking on, or double-claiming, each other's rows; a pick another
+ *    node got first is simply skipped.
+ * 2. Groups the claims by question and language (QuestionAffinityBatcher,
+ *    which holds a group open for a short window) and dispatches each group
+ *    to SubmissionProcessingService (submissionExecutor) as one task; a
+ *    group of one goes through processSubmission. A rejected task's claims
+ *    are released back to QUEUED right away.
+ * 3. Renews, every leaseDuration / 3, the leases on its in-flight work, so a
+ *    lease only lapses when its node is gone (crash, partition, long pause).
+ * 4. Recovers orphans, every recoveryInterval: unfinished (COMPILING /
+ *    RUNNING) rows whose lease lapsed — or that predate leases and were
+ *    queued before now - leaseDuration — go back to QUEUED; after
+ *    maxAttempts claims they are FAILED instead of retried forever.
+ * 5. Refreshes, every depthRefreshInterval, the QUEUED depth per class and
+ *    the number of nodes holding leases, which AdmissionControlService
+ *    turns into wait estimates together with the smoothed service time.
+ *
+ * New submissions call wakeUp() after commit so they're claimed without
+ * waiting for the next poll. The queue doesn't claim until the startup JIT
+ * warm-up has finished, so a fresh node doesn't judge cold.
+ *
+ * Meters: submission.queue.in.flight, submission.queue.depth,
+ * submission.queue.claimed, submission.queue.recovered{outcome}.
+ */
+@Slf4j
+@Service
+public class SubmissionWorkQueue implements SmartLifecycle {
+
+    private static final double SERVICE_TIME_SMOOTHING = 0.2;
+
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionProcessingService processingService;
+    private final SubmissionScheduler scheduler;
+    private final QuestionAffinityBatcher batcher;
+    private final JitWarmupService jitWarmupService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final long pollIntervalMillis;
+    private final Duration leaseDuration;
+    private final long recoveryIntervalMillis;
+    private final int maxAttempts;
+    private final long depthRefreshMillis;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicInteger activeNodes = new AtomicInteger();
+    private double serviceMillis = -1;
+    private final Counter claimed;
+    private final Counter requeued;
+    private final Counter abandoned;
+    private final Object signal = new Object();
+
+    private volatile boolean running;
+    private volatile boolean wakeRequested;
+    private Thread thread;
+
+    public SubmissionWorkQueue(SubmissionRepository submissionRepository,
+            SubmissionProcessingService processingService,
+            SubmissionScheduler scheduler,
+            QuestionAffinityBatcher batcher,
+            JitWarmupService jitWarmupService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${submission.queue.enabled:true}") boolean enabled,
+            @Value("${submission.queue.node-id:}") String nodeId,
+            @Value("${submission.queue.batch-size:8}") int batchSize,
+            @Value("${submission.queue.max-in-flight:10}") int maxInFlight,
+            @Value("${submission.queue.poll-interval-millis:500}") long pollIntervalMillis,
+            @Value("${submission.queue.lease-seconds:120}") long leaseSeconds,
+            @Value("${submission.queue.recovery-interval-millis:15000}") long recoveryIntervalMillis,
+            @Value("${submission.queue.max-attempts:3}") int maxAttempts,
+            @Value("${submission.queue.depth-refresh-millis:1000}") long depthRefreshMillis) {
+        this.submissionRepository = submissionRepository;
+        this.processingService = processingService;
+        this.scheduler = scheduler;
+        this.batcher = batcher;
+        this.jitWarmupService = jitWarmupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.recoveryIntervalMillis = recoveryIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.depthRefreshMillis = depthRefreshMillis;
+
+        Gauge.builder("submission.queue.in.flight", inFlight, Set::size)
+                .description("Submissions claimed by this node and not yet finished")
+                .register(registry);
+        Gauge.builder("submission.queue.depth", queueDepth, AtomicLong::get)
+                .description("QUEUED submissions across all nodes, as of the last refresh")
+                .register(registry);
+        this.claimed = Counter.builder("submission.queue.claimed")
+                .description("Submissions claimed by this node")
+                .register(registry);
+        this.requeued = Counter.builder("submission.queue.recovered")
+                .description("Orphaned submissions recovered by this node")
+                .tag("outcome", "requeued")
+                .register(registry);
+        this.abandoned = Counter.builder("submission.queue.recovered")
+                .description("Orphaned submissions recovered by this node")
+                .tag("outcome", "failed")
+                .register(registry);
+    }
+
+    /**
+     * Claim new work now instead of at the next poll. Cheap; safe to call from
+     * any thread (e.g. after the creating transaction commits).
+     */
+    public void wakeUp() {
+        synchronized (signal) {
+            wakeRequested = true;
+            signal.notifyAll();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long queueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Nodes holding a lease on unfinished work, as of the last refresh.
+     */
+    public int activeNodes() {
+        return activeNodes.get();
+    }
+
+    /**
+     * Smoothed dispatch-to-completion time of this node's submissions, or -1
+     * before the first one finishes.
+     */
+    public synchronized double serviceTimeMillis() {
+        return serviceMillis;
+    }
+
+    // ── Lifecycle ──────────────────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.warn("[SubmissionWorkQueue] Disabled — QUEUED submissions will not be processed by this node");
+            return;
+        }
+        running = true;
+        thread = new Thread(this::loop, "submission-queue");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("[SubmissionWorkQueue] Started on node {} (batch={}, maxInFlight={}, lease={}s, maxAttempts={})",
+                nodeId, batchSize, maxInFlight, leaseDuration.toSeconds(), maxAttempts);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void loop() {
+        long nextRenewal = 0;
+        long nextRecovery = 0;
+        long nextDepthRefresh = 0;
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextRecovery) {
+                    recoverOrphans();
+                    nextRecovery = now + recoveryIntervalMillis;
+                }
+                if (now >= nextDepthRefresh) {
+                    refreshDepth();
+                    nextDepthRefresh = now + depthRefreshMillis;
+                }
+                if (now >= nextRenewal) {
+                    renewLeases();
+                    nextRenewal = now + leaseDuration.toMillis() / 3;
+                }
+                int claims = jitWarmupService.isDone() ? claimAndDispatch() : 0;
+                // A full batch suggests more is waiting: claim again right away
+                if (claims < batchSize || inFlight.size() >= maxInFlight) {
+                    awaitSignal();
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("[SubmissionWorkQueue] Poll failed: {}", e.getMessage(), e);
+                awaitSignal();
+            }
+        }
+        releaseHeld();
+    }
+
+    /**
+     * Wait for a wake-up, the poll interval, or the next affinity group to
+     * fall due, whichever comes first.
+     */
+    private void awaitSignal() {
+        long timeout = Math.min(pollIntervalMillis, batcher.millisUntilDue(System.currentTimeMillis()));
+        if (timeout <= 0) {
+            return;
+        }
+        synchronized (signal) {
+            if (!wakeRequested) {
+                try {
+                    signal.wait(timeout);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+            wakeRequested = false;
+        }
+    }
+
+    // ── Claim / dispatch ───────────────────────────────────────────────────
+
+    /**
+     * Claim up to the free capacity, then hand the affinity groups that are
+     * due to the processor. Claims held in an open group count as in flight.
+     *
+     * @return number of submissions claimed, less those whose dispatch was
+     *         rejected
+     */
+    int claimAndDispatch() {
+        int limit = Math.min(batchSize, maxInFlight - inFlight.size());
+        int claimed = 0;
+        if (limit > 0) {
+            long now = System.currentTimeMillis();
+            for (Candidate candidate : claim(limit)) {
+                inFlight.add(candidate.submissionId());
+                batcher.add(candidate, now);
+                claimed++;
+            }
+        }
+        // Without free slots nothing more can join a group: don't wait for it
+        List<Group> due = inFlight.size() >= maxInFlight
+                ? batcher.drainAll()
+                : batcher.drainDue(System.currentTimeMillis());
+        for (Group group : due) {
+            claimed -= dispatch(group);
+        }
+        return claimed;
+    }
+
+    private List<Candidate> claim(int limit) {
+        List<Candidate> candidates = toCandidates(submissionRepository.findQueuedCandidates(
+                scheduler.getCandidatesPerUser(), scheduler.getCandidateWindow()));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Candidate> picked = scheduler.select(candidates, limit, now);
+        List<Candidate> won = transactionTemplate.execute(status -> {
+            List<Long> pickedIds = new ArrayList<>(picked.size());
+            for (Candidate candidate : picked) {
+                pickedIds.add(candidate.id());
+            }
+            Set<Long> locked = new HashSet<>();
+            for (Object[] row : submissionRepository.lockQueuedByIds(pickedIds)) {
+                locked.add(((Number) row[0]).longValue());
+            }
+            if (locked.isEmpty()) {
+                return List.<Candidate>of();
+            }
+            submissionRepository.markClaimed(new ArrayList<>(locked), nodeId, now.plus(leaseDuration), now);
+            return picked.stream().filter(candidate -> locked.contains(candidate.id())).toList();
+        });
+        if (won == null || won.isEmpty()) {
+            return List.of();
+        }
+        for (Candidate candidate : won) {
+            scheduler.dispatched(candidate, now);
+        }
+        claimed.increment(won.size());
+        log.debug("[SubmissionWorkQueue] Claimed {} of {} picked ({} candidates)", won.size(), picked.size(),
+                candidates.size());
+        return won;
+    }
+
+    private static List<Candidate> toCandidates(List<Object[]> rows) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            candidates.add(new Candidate(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    (String) row[2],
+                    row[3] != null ? ((Number) row[3]).longValue() : null,
+                    (String) row[6],
+                    TrafficClass.of(row[4] != null ? ((Number) row[4]).longValue() : null),
+                    row[5] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[5]));
+        }
+        return candidates;
+    }
+
+    /**
+     * Hand a group to the processor.
+     *
+     * @return number of its submissions released because the executor
+     *         rejected the task
+     */
+    private int dispatch(Group group) {
+        List<String> submissionIds = group.submissionIds();
+        long started = System.nanoTime();
+        try {
+            CompletableFuture<Void> processing = submissionIds.size() == 1
+                    ? processingService.processSubmission(submissionIds.get(0), nodeId)
+                    : processingService.processGroup(submissionIds, nodeId);
+            processing.whenComplete((ignored, error) -> {
+                submissionIds.forEach(inFlight::remove);
+                recordServiceTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                if (error != null) {
+                    log.error("[SubmissionWorkQueue] Processing {} failed: {}", submissionIds, error.getMessage());
+                }
+                wakeUp();
+            });
+            return 0;
+        } catch (TaskRejectedException e) {
+            log.warn("[SubmissionWorkQueue] Executor rejected {}, releasing claims", submissionIds);
+            release(submissionIds);
+            return submissionIds.size();
+        }
+    }
+
+    /**
+     * Put claims held in open groups back to QUEUED when the queue stops.
+     */
+    private void releaseHeld() {
+        for (Group group : batcher.drainAll()) {
+            try {
+                release(group.submissionIds());
+            } catch (Exception e) {
+                // Their leases lapse and orphan recovery requeues them
+                log.warn("[SubmissionWorkQueue] Failed to release held claims {}: {}", group.submissionIds(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void release(List<String> submissionIds) {
+        submissionIds.forEach(inFlight::remove);
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String submissionId : submissionIds) {
+                submissionRepository.releaseClaim(submissionId, nodeId, now);
+            }
+        });
+    }
+
+    private synchronized void recordServiceTime(long millis) {
+        serviceMillis = serviceMillis < 0 ? millis : serviceMillis + SERVICE_TIME_SMOOTHING * (millis - serviceMillis);
+    }
+
+    // ── Leases / recovery ──────────────────────────────────────────────────
+
+    void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        List<String> held = new ArrayList<>(inFlight);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(leaseDuration);
+        Integer renewed = transactionTemplate.execute(status ->
+                submissionRepository.renewLeases(held, nodeId, expiresAt));
+        log.debug("[SubmissionWorkQueue] Renewed {} of {} leases", renewed, held.size());
+    }
+
+    void recoverOrphans() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(leaseDuration);
+        String reason = "Processing abandoned after " + maxAttempts + " attempts";
+        int[] recovered = transactionTemplate.execute(status -> new int[] {
+                submissionRepository.failExpired(now, staleBefore, maxAttempts, reason),
+                submissionRepository.requeueExpired(now, staleBefore, maxAttempts)
+        });
+        if (recovered != null && (recovered[0] > 0 || recovered[1] > 0)) {
+            abandoned.increment(recovered[0]);
+            requeued.increment(recovered[1]);
+            log.warn("[SubmissionWorkQueue] Recovered orphaned submissions: {} requeued, {} failed",
+                    recovered[1], recovered[0]);
+        }
+    }
+
+    void refreshDepth() {
+        long contest = 0;
+        long practice = 0;
+        for (Object[] row : submissionRepository.countQueuedByClass()) {
+            long count = ((Number) row[1]).longValue();
+            boolean isContest = row[0] instanceof Boolean flag ? flag : ((Number) row[0]).intValue() != 0;
+            if (isContest) {
+                contest = count;
+            } else {
+                practice = count;
+            }
+        }
+        scheduler.updateDepth(TrafficClass.CONTEST, contest);
+        scheduler.updateDepth(TrafficClass.PRACTICE, practice);
+        queueDepth.set(contest + practice);
+        activeNodes.set((int) submissionRepository.countActiveNodes(LocalDateTime.now()));
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String id = host + "-" + suffix;
+        return id.length() <= 64 ? id : id.substring(id.length() - 64);
+    }
+}
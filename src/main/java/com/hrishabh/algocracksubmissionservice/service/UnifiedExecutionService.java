@@ -39,6 +39,8 @@ public class UnifiedExecutionService {
         private final RunGuardService runGuard;
         private final ProblemServiceClient problemServiceClient;
         private final PipelineAssembler pipelineAssembler;
+        private final ParallelJudgingExecutor parallelJudgingExecutor;
+        private final JudgeBudgetPolicy judgeBudgetPolicy;
 
         /**
          * Execute code in RUN mode (synchronous).
@@ -303,32 +305,45 @@ public class UnifiedExecutionService {
                 JudgingPipeline pipeline = pipelineAssembler.assemble(judgingContext);
                 System.out.println("[buildRunResponse] Pipeline assembled");
 
-                List<RunResponseDto.TestCaseRunResult> tcResults = new ArrayList<>();
-                boolean allPassed = true;
-
+                // Build ExecutionOutput wrappers for the pipeline
+                List<ExecutionOutput> userExecOutputs = new ArrayList<>(userOutputs.size());
+                List<ExecutionOutput> oracleExecOutputs = new ArrayList<>(userOutputs.size());
                 for (int i = 0; i < userOutputs.size(); i++) {
                         TestCaseOutput userOutput = userOutputs.get(i);
                         TestCaseOutput oracleOutput = (i < oracleOutputs.size()) ? oracleOutputs.get(i) : null;
 
-                        System.out.println("\n[buildRunResponse] TestCase[" + i + "] PIPELINE JUDGING:");
-                        System.out.println("    userOutput:     \"" + userOutput.getOutput() + "\"");
-                        System.out.println(
-                                        "    oracleOutput:   \""
-                                                        + (oracleOutput != null ? oracleOutput.getOutput() : null)
-                                                        + "\"");
-
-                        ExecutionOutput userExecOutput = ExecutionOutput.builder()
+                        userExecOutputs.add(ExecutionOutput.builder()
                                         .rawOutput(userOutput.getOutput())
                                         .error(userOutput.getError())
                                         .executionTimeMs(userOutput.getExecutionTimeMs())
-                                        .build();
+                                        .build());
 
-                        ExecutionOutput oracleExecOutput = ExecutionOutput.builder()
+                        oracleExecOutputs.add(ExecutionOutput.builder()
                                         .rawOutput(oracleOutput != null ? oracleOutput.getOutput() : null)
                                         .error(oracleOutput != null ? oracleOutput.getError() : null)
-                                        .build();
+                                        .build());
+                }
 
-                        JudgingResult result = pipeline.judge(userExecOutput, oracleExecOutput, judgingContext);
+                // RUN reports every testcase — judge all (parallel for large suites)
+                JudgingResult[] results = parallelJudgingExecutor.judgeAll(
+                                pipeline, userExecOutputs, oracleExecOutputs, judgingContext,
+                                judgeBudgetPolicy.start());
+
+                List<RunResponseDto.TestCaseRunResult> tcResults = new ArrayList<>();
+                boolean allPassed = true;
+
+                for (int i = 0; i < userOutputs.size(); i++) {
+                        TestCaseOutput userOutput = userOutputs.get(i);
+                        TestCaseOutput oracleOutput = (i < oracleOutputs.size()) ? oracleOutputs.get(i) : null;
+                        JudgingResult result = results[i];
+
+                        System.out.println("\n[buildRunResponse] TestCase[" + i + "] PIPELINE JUDGING:");
+                        // Display copies are size-capped — raw outputs can be megabytes
+                        String actualDisplay = OutputPreview.cap(userOutput.getOutput());
+                        String expectedDisplay = OutputPreview.cap(
+                                        oracleOutput != null ? oracleOutput.getOutput() : null);
+                        System.out.println("    userOutput:     \"" + actualDisplay + "\"");
+                        System.out.println("    oracleOutput:   \"" + expectedDisplay + "\"");
                         System.out.println("    pipeline.judge(): passed=" + result.isPassed()
                                         + (result.getFailureReason() != null ? ", reason=" + result.getFailureReason()
                                                         : ""));
@@ -341,8 +356,8 @@ public class UnifiedExecutionService {
                         tcResults.add(RunResponseDto.TestCaseRunResult.builder()
                                         .index(i)
                                         .passed(passed)
-                                        .actualOutput(userOutput.getOutput())
-                                        .expectedOutput(oracleOutput != null ? oracleOutput.getOutput() : null)
+                                        .actualOutput(actualDisplay)
+                                        .expectedOutput(expectedDisplay)
                                         .executionTimeMs(userOutput.getExecutionTimeMs())
                                         .error(userOutput.getError())
                                         .build());
@@ -0,0 +1,25 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * "warmup" health contributor: OUT_OF_SERVICE while the startup JIT warm-up
+ * is running, UP afterwards. It is part of the readiness group (see
+ * management.endpoint.health.group.readiness), so the instance only reports
+ * ready once the judging and serialization paths are compiled.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final JitWarmupService jitWarmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = jitWarmupService.isDone() ? Health.up() : Health.outOfService();
+        return builder.withDetails(jitWarmupService.details()).build();
+    }
+}
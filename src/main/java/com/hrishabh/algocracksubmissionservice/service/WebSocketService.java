@@ -3,6 +3,7 @@ package com.hrishabh.algocracksubmissionservice.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionVerdict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -21,6 +22,7 @@ import java.util.Map;
 public class WebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final AcceptedDistributions acceptedDistributions;
     private static final ObjectMapper mapper = new ObjectMapper();
 
     /**
@@ -54,6 +56,12 @@ public class WebSocketService {
         message.put("memoryKb", submission.getMemoryKb());
         message.put("passedTestCases", counts[0]);
         message.put("totalTestCases", counts[1]);
+        if (submission.getVerdict() == SubmissionVerdict.ACCEPTED) {
+            AcceptedDistributions.Beats beats = acceptedDistributions.beats(submission.getQuestionId(),
+                    submission.getLanguage(), submission.getRuntimeMs(), submission.getMemoryKb());
+            message.put("runtimeBeatsPercent", beats.runtimePercent());
+            message.put("memoryBeatsPercent", beats.memoryPercent());
+        }
 
         log.info("Sending result to {}: verdict={}", destination, submission.getVerdict());
         messagingTemplate.convertAndSend(destination, message);
@@ -0,0 +1,175 @@
+package com.hrishabh.algocracksubmissionservice.service.sketch;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * HDR-style histogram of non-negative int values (runtime ms, memory KB):
+ * values below 64 are counted exactly, larger ones in log-linear buckets of
+ * 32 per power of two, so a bucket spans at most ~3% of its values. 864
+ * buckets cover 0 to Integer.MAX_VALUE; larger values land in the last.
+ *
+ * Histograms merge by adding counts, so each node's batches can be added
+ * to the persisted histogram in any order. ranks() freezes the cumulative
+ * counts, after which "what fraction of values is above v" is one bucket
+ * index and two array reads.
+ *
+ * Serialized form: a format byte, then the non-empty buckets as varint
+ * (gap from the previous non-empty bucket, count) pairs; a few hundred
+ * bytes for a typical distribution. Not thread-safe.
+ */
+public final class LogLinearHistogram {
+
+    private static final int FORMAT = 1;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** 64 exact buckets, then 32 for each of the 25 powers of two up to 2^31. */
+    static final int BUCKETS = 2 * SUB_BUCKETS + (Integer.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    public void record(long value) {
+        counts[bucket(value)]++;
+        total++;
+    }
+
+    public void merge(LogLinearHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Freeze the current counts for constant-time rank queries.
+     */
+    public Ranks ranks() {
+        long[] atLeast = new long[BUCKETS + 1];
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            atLeast[i] = atLeast[i + 1] + counts[i];
+        }
+        return new Ranks(atLeast);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT);
+        int previous = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                writeVarint(out, i - previous);
+                writeVarint(out, counts[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Read a histogram written by toBytes(); null or empty is an empty
+     * histogram.
+     *
+     * @throws IllegalArgumentException if the bytes aren't a histogram
+     */
+    public static LogLinearHistogram fromBytes(byte[] bytes) {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        if (bytes == null || bytes.length == 0) {
+            return histogram;
+        }
+        if (bytes[0] != FORMAT) {
+            throw new IllegalArgumentException("Unknown histogram format " + bytes[0]);
+        }
+        int[] position = {1};
+        int bucket = -1;
+        while (position[0] < bytes.length) {
+            bucket += (int) readVarint(bytes, position);
+            long count = readVarint(bytes, position);
+            if (bucket < 0 || bucket >= BUCKETS || count < 0) {
+                throw new IllegalArgumentException("Corrupt histogram at byte " + position[0]);
+            }
+            histogram.counts[bucket] += count;
+            histogram.total += count;
+        }
+        return histogram;
+    }
+
+    static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+        long clamped = Math.min(value, Integer.MAX_VALUE);
+        // Keep the top SUB_BUCKET_BITS + 1 bits: the mantissa is in [32, 64)
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(clamped) - SUB_BUCKET_BITS;
+        return 2 * SUB_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (clamped >>> shift) - SUB_BUCKETS;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated histogram");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt histogram varint");
+    }
+
+    /**
+     * Immutable cumulative counts of a histogram.
+     */
+    public static final class Ranks {
+
+        private static final Ranks EMPTY = new Ranks(new long[BUCKETS + 1]);
+
+        /** atLeast[i]: values in bucket i or above. */
+        private final long[] atLeast;
+
+        private Ranks(long[] atLeast) {
+            this.atLeast = atLeast;
+        }
+
+        public static Ranks empty() {
+            return EMPTY;
+        }
+
+        public long total() {
+            return atLeast[0];
+        }
+
+        /**
+         * Percentage of values greater than the given one ("beats X%"),
+         * counting values in its own bucket as half greater, to one decimal;
+         * null if there are no values.
+         */
+        public Double percentAbove(long value) {
+            long total = atLeast[0];
+            if (total == 0) {
+                return null;
+            }
+            int bucket = bucket(value);
+            long above = atLeast[bucket + 1];
+            long same = atLeast[bucket] - above;
+            return Math.round((above + same / 2.0) * 1000.0 / total) / 10.0;
+        }
+    }
+}
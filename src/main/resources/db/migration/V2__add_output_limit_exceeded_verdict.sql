@@ -0,0 +1,6 @@
+-- V2__add_output_limit_exceeded_verdict.sql
+-- OUTPUT_LIMIT_EXCEEDED: user output above the judge's output-size ceiling
+-- (judging.budget.max-output-chars) is rejected before it is parsed.
+
+ALTER TABLE `submission`
+  MODIFY `verdict` enum('ACCEPTED','COMPILATION_ERROR','INTERNAL_ERROR','MEMORY_LIMIT_EXCEEDED','OUTPUT_LIMIT_EXCEEDED','RUNTIME_ERROR','TIME_LIMIT_EXCEEDED','WRONG_ANSWER') DEFAULT NULL;
@@ -0,0 +1,11 @@
+-- V3__add_submission_queue_lease.sql
+-- Durable work queue on the submission table: QUEUED rows are claimed in
+-- batches (SELECT ... FOR UPDATE SKIP LOCKED over idx_status_queued) by a
+-- node, which holds a renewable lease while it processes them. Rows whose
+-- lease expired are requeued (or failed after too many attempts).
+
+ALTER TABLE `submission`
+  ADD COLUMN `claimed_by` varchar(64) DEFAULT NULL,
+  ADD COLUMN `lease_expires_at` datetime(6) DEFAULT NULL,
+  ADD COLUMN `attempts` int NOT NULL DEFAULT 0,
+  ADD KEY `idx_status_lease` (`status`,`lease_expires_at`);
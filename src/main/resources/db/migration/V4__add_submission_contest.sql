@@ -0,0 +1,6 @@
+-- V4__add_submission_contest.sql
+-- Contest submissions are scheduled in their own traffic class, ahead of
+-- practice traffic (see SubmissionScheduler). NULL = practice.
+
+ALTER TABLE `submission`
+  ADD COLUMN `contest_id` bigint DEFAULT NULL;
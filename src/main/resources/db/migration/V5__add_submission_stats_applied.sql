@@ -0,0 +1,12 @@
+-- V5__add_submission_stats_applied.sql
+-- question_statistics is maintained from in-memory per-question deltas
+-- flushed in batches (see QuestionStatisticsAggregator). A flush marks the
+-- submissions it counted; COMPLETED rows left unmarked (the node died with
+-- unflushed deltas) are counted later by reconciliation.
+
+ALTER TABLE `submission`
+  ADD COLUMN `stats_applied` tinyint(1) NOT NULL DEFAULT 0,
+  ADD KEY `idx_stats_pending` (`stats_applied`,`completed_at`);
+
+-- Everything finalized so far is already in question_statistics
+UPDATE `submission` SET `stats_applied` = 1 WHERE `status` = 'COMPLETED';
@@ -0,0 +1,22 @@
+-- V6__add_question_statistics_sketches.sql
+-- Incrementally maintained question statistics (QuestionStatisticsAggregator):
+--   avg_runtime_ms / avg_memory_kb   running sums and sample counts of
+--                                     accepted submissions
+--   unique_attempts / unique_solves  HyperLogLog sketches of the users who
+--                                     attempted / solved, merged by every node
+--   avg_attempts_to_solve            attempts up to each user's first accept
+-- idx_user_question serves the first-accept lookup.
+-- Existing submissions are counted into these columns by the V8 backfill.
+
+ALTER TABLE `question_statistics`
+  ADD COLUMN `runtime_sum` bigint NOT NULL DEFAULT 0,
+  ADD COLUMN `runtime_samples` bigint NOT NULL DEFAULT 0,
+  ADD COLUMN `memory_sum` bigint NOT NULL DEFAULT 0,
+  ADD COLUMN `memory_samples` bigint NOT NULL DEFAULT 0,
+  ADD COLUMN `solve_attempts_sum` bigint NOT NULL DEFAULT 0,
+  ADD COLUMN `first_solves` bigint NOT NULL DEFAULT 0,
+  ADD COLUMN `unique_attempts_sketch` varbinary(3073) DEFAULT NULL,
+  ADD COLUMN `unique_solves_sketch` varbinary(3073) DEFAULT NULL;
+
+ALTER TABLE `submission`
+  ADD KEY `idx_user_question` (`user_id`,`question_id`);
@@ -0,0 +1,15 @@
+-- V7__add_question_language_distribution.sql
+-- Runtime and memory distributions of accepted submissions per question
+-- and language (LogLinearHistogram, serialized), for "beats X%" lookups.
+-- Maintained by QuestionStatisticsAggregator alongside question_statistics.
+-- Existing accepted submissions are counted in by the V8 backfill.
+
+CREATE TABLE IF NOT EXISTS `question_language_distribution` (
+  `question_id` bigint NOT NULL,
+  `language` varchar(20) NOT NULL,
+  `samples` bigint NOT NULL DEFAULT 0,
+  `runtime_histogram` blob,
+  `memory_histogram` blob,
+  `updated_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`question_id`,`language`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,33 @@
+-- V8__backfill_question_statistics_history.sql
+-- The columns V6 and V7 added (sums, sketches, attempts to solve,
+-- per-language distributions) start empty. Submissions completed before
+-- this migration are counted into them by a backfill
+-- (QuestionStatisticsAggregator, its own thread), in batches by id, while
+-- flushes keep counting new verdicts. The existing rows stay in place and
+-- their counts are not touched.
+--
+-- History is the COMPLETED submissions with id <= max_submission_id and
+-- completed_at <= cutoff_at. Later verdicts reach the columns through
+-- flushes. next_submission_id is the backfill's cursor. Nodes take turns
+-- through the row lock on this table.
+
+CREATE TABLE IF NOT EXISTS `question_statistics_backfill` (
+  `id` tinyint NOT NULL,
+  `cutoff_at` datetime(6) NOT NULL,
+  `max_submission_id` bigint NOT NULL,
+  `next_submission_id` bigint NOT NULL,
+  `completed_at` datetime(6) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `question_statistics_backfill` (`id`, `cutoff_at`, `max_submission_id`, `next_submission_id`)
+SELECT 1, NOW(6), COALESCE(MAX(`id`), 0), 0 FROM `submission`;
+
+-- Rows that exist now have history to backfill. Until a row's backfill is
+-- done its derived columns (averages, unique counts) keep their current
+-- values rather than showing averages over the new verdicts alone. Rows
+-- created later get the default 0.
+ALTER TABLE `question_statistics`
+  ADD COLUMN `history_pending` tinyint(1) NOT NULL DEFAULT 1;
+ALTER TABLE `question_statistics`
+  ALTER COLUMN `history_pending` SET DEFAULT 0;
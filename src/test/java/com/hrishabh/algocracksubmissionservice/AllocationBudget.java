@@ -0,0 +1,97 @@
+package com.hrishabh.algocracksubmissionservice;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Per-operation allocation budgets for hot paths, measured with the
+ * per-thread allocation counter of com.sun.management.ThreadMXBean.
+ *
+ * Each operation is warmed up, then run ITERATIONS times on the calling
+ * thread; bytes/op is the counter delta divided by the iteration count.
+ * JIT escape analysis can only lower the figure, so the budgets are upper
+ * bounds with headroom, not exact expectations. Log levels are left as
+ * configured, so figures include whatever logging production would do.
+ *
+ * Usage: measure() every operation, then assertWithinBudgets() once. A
+ * breach fails the test with the full table in the message, breaches
+ * marked, so one run shows every regression at once.
+ */
+public final class AllocationBudget {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 200;
+
+    private final String title;
+    private final List<Row> rows = new ArrayList<>();
+
+    public AllocationBudget(String title) {
+        this.title = title;
+        assumeTrue(threadMXBean().isThreadAllocatedMemorySupported(),
+                "per-thread allocation counters not supported by this JVM");
+        threadMXBean().setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Measure one operation and record it against its budget.
+     *
+     * @return bytes allocated per operation
+     */
+    public long measure(String operation, long budgetBytes, Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long bytesPerOp = (allocatedBytes() - before) / ITERATIONS;
+        rows.add(new Row(operation, bytesPerOp, budgetBytes));
+        return bytesPerOp;
+    }
+
+    /**
+     * Fail, with the report, if any operation exceeded its budget.
+     */
+    public void assertWithinBudgets() {
+        if (rows.stream().anyMatch(Row::breached)) {
+            fail("Allocation budget exceeded\n" + report());
+        }
+    }
+
+    private String report() {
+        int width = "operation".length();
+        for (Row row : rows) {
+            width = Math.max(width, row.operation.length());
+        }
+        String format = "  %-" + width + "s %14s %14s %7s  %s%n";
+        StringBuilder sb = new StringBuilder();
+        sb.append("[AllocationBudget] ").append(title).append(" (bytes/op)").append(System.lineSeparator());
+        sb.append(String.format(format, "operation", "allocated", "budget", "used", ""));
+        for (Row row : rows) {
+            sb.append(String.format(format, row.operation, row.bytesPerOp, row.budgetBytes,
+                    row.bytesPerOp * 100 / Math.max(1, row.budgetBytes) + "%",
+                    row.breached() ? "<-- OVER BUDGET" : ""));
+        }
+        return sb.toString();
+    }
+
+    private static long allocatedBytes() {
+        return threadMXBean().getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    private record Row(String operation, long bytesPerOp, long budgetBytes) {
+
+        boolean breached() {
+            return bytesPerOp > budgetBytes;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hrishabh.algocracksubmissionservice.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.AllocationBudget;
+import com.hrishabh.algocracksubmissionservice.dto.SubmissionStatusDto;
+import com.hrishabh.algocracksubmissionservice.dto.internal.CodeBundle;
+import com.hrishabh.algocracksubmissionservice.dto.internal.TestCaseInput;
+import com.hrishabh.algocracksubmissionservice.models.Language;
+import com.hrishabh.algocracksubmissionservice.service.CxeLatencyTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation budgets for the CXE translation layer, for a 100-testcase
+ * submission. Budgets are roughly twice the measured figure; re-measure from
+ * the failure report when a change legitimately moves one.
+ */
+class CxeExecutionAdapterAllocationTest {
+
+    private static final int TESTCASES = 100;
+
+    private final CxeExecutionAdapter adapter = new CxeExecutionAdapter(null, null, new ObjectMapper(), new CxeLatencyTracker(15_000));
+
+    @Test
+    void translationStaysWithinBudget() {
+        CodeBundle bundle = bundle();
+        SubmissionStatusDto status = status();
+        assertEquals(TESTCASES, adapter.translateToRequest(bundle).getTestCases().size());
+        assertEquals(TESTCASES, adapter.translateToResult(status).getOutputs().size());
+
+        AllocationBudget budget = new AllocationBudget("CxeExecutionAdapter, " + TESTCASES + " testcases");
+        budget.measure("translateToRequest", 260_000, () -> adapter.translateToRequest(bundle));
+        budget.measure("translateToResult", 24_000, () -> adapter.translateToResult(status));
+        budget.assertWithinBudgets();
+    }
+
+    private static CodeBundle bundle() {
+        List<TestCaseInput> testcases = new ArrayList<>(TESTCASES);
+        for (int i = 0; i < TESTCASES; i++) {
+            testcases.add(TestCaseInput.builder()
+                    .index(i)
+                    .input("{\"nums\":[" + i + ",7,11,15,3,9,2,8],\"target\":" + (i + 9) + "}")
+                    .build());
+        }
+        return CodeBundle.builder()
+                .executionId("exec-1")
+                .code("class Solution { public int[] twoSum(int[] nums, int target) { return null; } }")
+                .language(Language.JAVA)
+                .questionId(1L)
+                .userId("42")
+                .testcases(testcases)
+                .metadata(CodeBundle.QuestionMetadataBundle.builder()
+                        .fullyQualifiedPackageName("com.algocrack.solution.q1")
+                        .functionName("twoSum")
+                        .returnType("int[]")
+                        .parameters(List.of(
+                                CodeBundle.Parameter.builder().name("nums").type("int[]").build(),
+                                CodeBundle.Parameter.builder().name("target").type("int").build()))
+                        .build())
+                .build();
+    }
+
+    private static SubmissionStatusDto status() {
+        List<SubmissionStatusDto.TestCaseResult> results = new ArrayList<>(TESTCASES);
+        for (int i = 0; i < TESTCASES; i++) {
+            results.add(SubmissionStatusDto.TestCaseResult.builder()
+                    .index(i)
+                    .actualOutput("[" + i + "," + (i + 1) + "]")
+                    .executionTimeMs(3L)
+                    .build());
+        }
+        return SubmissionStatusDto.builder()
+                .submissionId("exec-1")
+                .status("COMPLETED")
+                .runtimeMs(120)
+                .memoryKb(40_000)
+                .testCaseResults(results)
+                .workerId("worker-1")
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.JsonDeepComparator;
+import com.hrishabh.algocracksubmissionservice.judging.extractor.JsonArrayExtractor;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.IdentityNormalizer;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.OutputNormalizer;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.SortedListNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Judge budgets: oversized output and overrunning components end the testcase
+ * with a budget result instead of running to completion.
+ *
+ * Time budgets run on a test clock, so where a budget trips does not depend
+ * on how fast this machine sorts or what it logs.
+ */
+class JudgeBudgetTest {
+
+    private static final long UNLIMITED = TimeUnit.HOURS.toNanos(1);
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JudgingMetrics metrics = new JudgingMetrics(registry, false, 1.0, 100);
+    private final JudgingContext context = JudgingContext.builder().questionId(7L).returnType("int[]").build();
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger clockReads = new AtomicInteger();
+
+    @Test
+    void rejectsOversizedUserOutputBeforeExtraction() {
+        JudgingResult result = pipeline(new IdentityNormalizer())
+                .judge(out("[1,2,3,4,5]"), out("[1]"), context, new JudgeBudget(UNLIMITED, UNLIMITED, 10));
+
+        assertFalse(result.isPassed());
+        assertFalse(result.isJudgeError());
+        assertEquals(JudgeBudget.Kind.OUTPUT_SIZE, result.getBudgetExceeded());
+        assertEquals("Output size limit exceeded: 11 characters (limit 10)", result.getFailureReason());
+        assertEquals(1.0, registry.get("judging.budget.trips")
+                .tags("kind", "output_size", "scope", "testcase", "component", "none").counter().count());
+    }
+
+    @Test
+    void chargesOverrunToTheComponentThatRan() {
+        OutputNormalizer slow = (extracted, ctx) -> {
+            now.addAndGet(6 * BUDGET);
+            return extracted;
+        };
+        JudgingResult result = pipeline(slow)
+                .judge(out("[1]"), out("[1]"), context, new JudgeBudget(BUDGET, UNLIMITED, 100, now::get));
+
+        assertTrue(result.isJudgeError());
+        assertEquals(JudgeBudget.Kind.TIME, result.getBudgetExceeded());
+        assertTrue(result.getFailureReason().startsWith("Judge time budget exceeded (testcase) in "));
+        assertEquals(1.0, registry.get("judging.budget.trips")
+                .tags("kind", "time", "scope", "testcase").counter().count());
+    }
+
+    @Test
+    void checkpointsCancelLongSorts() {
+        ArrayNode big = mapper.createArrayNode();
+        for (int i = 500_000; i > 0; i--) {
+            big.add(i);
+        }
+        JudgingPipeline pipeline = JudgingPipeline.builder()
+                .extractor((raw, ctx) -> big)
+                .normalizer(new SortedListNormalizer(mapper))
+                .comparator(new JsonDeepComparator(mapper))
+                .metrics(metrics)
+                .build();
+
+        // Every clock read is a millisecond later: the budget runs out on
+        // the sort's fourth checkpoint read, a few thousand comparisons in
+        JudgingResult result = pipeline.judge(out("[]"), out("[]"), context,
+                new JudgeBudget(BUDGET, UNLIMITED, Long.MAX_VALUE, this::tickingClock));
+
+        assertEquals(JudgeBudget.Kind.TIME, result.getBudgetExceeded());
+        assertEquals("Judge time budget exceeded (testcase) in SortedListNormalizer", result.getFailureReason());
+        assertEquals(1.0, registry.get("judging.budget.trips")
+                .tags("component", "SortedListNormalizer").counter().count());
+        // Budget creation, testcase start, extractor, normalizer, then the sort's reads
+        assertEquals(4 + 4, clockReads.get());
+    }
+
+    @Test
+    void submissionDeadlineEndsTheSuite() {
+        ParallelJudgingExecutor executor = new ParallelJudgingExecutor(1, 64, 1_000_000);
+        JudgeBudget expired = new JudgeBudget(UNLIMITED, -1, 100);
+
+        ParallelJudgingExecutor.FirstFailure failure = executor.judgeUntilFirstFailure(
+                pipeline(new IdentityNormalizer()), List.of(out("[1]"), out("[2]")), List.of(out("[1]"), out("[2]")),
+                context, expired);
+
+        assertEquals(0, failure.getIndex());
+        assertEquals("Judge time budget exceeded (submission) in judging", failure.getResult().getFailureReason());
+        assertEquals(1.0, registry.get("judging.budget.trips")
+                .tags("scope", "submission", "component", "none").counter().count());
+        executor.shutdown();
+    }
+
+    @Test
+    void checkpointIsANoOpOutsideABudgetedTestcase() {
+        for (int i = 0; i < 10 * JudgeBudget.CHECK_INTERVAL; i++) {
+            JudgeBudget.checkpoint();
+        }
+        JudgingResult result = pipeline(new IdentityNormalizer()).judge(out("[1]"), out("[1]"), context, null);
+        assertTrue(result.isPassed());
+        assertNull(result.getBudgetExceeded());
+    }
+
+    private JudgingPipeline pipeline(OutputNormalizer normalizer) {
+        return JudgingPipeline.builder()
+                .extractor(new JsonArrayExtractor(mapper))
+                .normalizer(normalizer)
+                .comparator(new JsonDeepComparator(mapper))
+                .metrics(metrics)
+                .build();
+    }
+
+    private static ExecutionOutput out(String raw) {
+        return ExecutionOutput.builder().rawOutput(raw).build();
+    }
+
+    private long tickingClock() {
+        return TimeUnit.MILLISECONDS.toNanos(clockReads.getAndIncrement());
+    }
+}
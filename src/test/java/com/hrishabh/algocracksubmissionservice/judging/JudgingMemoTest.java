@@ -0,0 +1,106 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.JsonDeepComparator;
+import com.hrishabh.algocracksubmissionservice.judging.extractor.JsonArrayExtractor;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.IdentityNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Memoized judging: repeated raw outputs are judged once per testcase and
+ * plan, and a hash match alone never serves a result.
+ */
+class JudgingMemoTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JudgingMemo memo = new JudgingMemo(registry, true, 1000, 1_000_000, 1000);
+    private final JudgingContext context = JudgingContext.builder().questionId(42L).returnType("int[]").build();
+    private final AtomicInteger extractions = new AtomicInteger();
+    private final JsonArrayExtractor jsonArrayExtractor = new JsonArrayExtractor(mapper);
+
+    @Test
+    void repeatedOutputsAreJudgedOnce() {
+        JudgingPipeline pipeline = pipeline("plan-a");
+
+        assertTrue(pipeline.judge(out(1L, "[1,2]"), out(null, "[1,2]"), context).isPassed());
+        assertTrue(pipeline.judge(out(1L, "[1,2]"), out(null, "[1,2]"), context).isPassed());
+        JudgingResult wrong = pipeline.judge(out(1L, "[2,1]"), out(null, "[1,2]"), context);
+        JudgingResult wrongAgain = pipeline.judge(out(1L, "[2,1]"), out(null, "[1,2]"), context);
+
+        assertEquals(2, extractions.get() / 2);
+        assertFalse(wrongAgain.isPassed());
+        assertEquals(wrong.getFailureReason(), wrongAgain.getFailureReason());
+        assertEquals("[2,1]", wrongAgain.getNormalizedUserOutput());
+        assertEquals(0.5, memo.hitRatio(42L));
+        assertEquals(2.0, registry.get("judging.memo.lookups")
+                .tags("questionId", "42", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void keyCoversPlanTestcaseAndOracle() {
+        pipeline("plan-a").judge(out(1L, "[1]"), out(null, "[1]"), context);
+        pipeline("plan-b").judge(out(1L, "[1]"), out(null, "[1]"), context);
+        pipeline("plan-a").judge(out(2L, "[1]"), out(null, "[1]"), context);
+        pipeline("plan-a").judge(out(1L, "[1]"), out(null, "[2]"), context);
+        // Ad-hoc testcases (no id) are never memoized
+        pipeline("plan-a").judge(out(null, "[1]"), out(null, "[1]"), context);
+        pipeline("plan-a").judge(out(null, "[1]"), out(null, "[1]"), context);
+
+        assertEquals(6, extractions.get() / 2);
+    }
+
+    @Test
+    void hashCollisionIsAMissNotAWrongVerdict() {
+        JudgingMemo.Key stored = new JudgingMemo.Key("plan", 1L, 7L, 3, 9L, 3, "[1]");
+        JudgingMemo.Key colliding = new JudgingMemo.Key("plan", 1L, 7L, 3, 9L, 3, "[2]");
+        memo.put(stored, JudgingResult.passed());
+
+        assertNotNull(memo.get(stored, context));
+        assertNull(memo.get(colliding, context));
+        assertEquals(1.0, registry.get("judging.memo.collisions").counter().count());
+    }
+
+    @Test
+    void judgeErrorsAreNotMemoized() {
+        JudgingMemo.Key key = memo.keyFor("plan", out(1L, "[1]"), out(null, "[1]"));
+        memo.put(key, JudgingResult.judgeError("Oracle execution failed"));
+        memo.put(key, JudgingResult.budgetExceeded(JudgeBudget.Kind.TIME, "Judge time budget exceeded"));
+
+        assertNull(memo.get(key, context));
+        assertNull(memo.keyFor("plan", out(1L, "[1]"),
+                ExecutionOutput.builder().error("boom").build()));
+        assertNull(memo.keyFor("plan", out(1L, "[" + "1,".repeat(600) + "1]"), out(null, "[1]")));
+    }
+
+    @Test
+    void staysWithinItsBounds() {
+        JudgingMemo small = new JudgingMemo(new SimpleMeterRegistry(), true, 32, 1_000_000, 1000);
+        for (long id = 0; id < 1000; id++) {
+            small.put(small.keyFor("plan", out(id, "[" + id + "]"), out(null, "[0]")), JudgingResult.passed());
+        }
+        assertTrue(small.size() <= 32, "memo holds " + small.size() + " entries");
+    }
+
+    private JudgingPipeline pipeline(String planId) {
+        return JudgingPipeline.builder()
+                .extractor((raw, ctx) -> {
+                    extractions.incrementAndGet();
+                    return jsonArrayExtractor.extract(raw, ctx);
+                })
+                .normalizer(new IdentityNormalizer())
+                .comparator(new JsonDeepComparator(mapper))
+                .memo(memo)
+                .planId(planId)
+                .build();
+    }
+
+    private static ExecutionOutput out(Long testcaseId, String raw) {
+        return ExecutionOutput.builder().testcaseId(testcaseId).rawOutput(raw).build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.JsonDeepComparator;
+import com.hrishabh.algocracksubmissionservice.judging.extractor.JsonArrayExtractor;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.IdentityNormalizer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-phase judging metrics: tagged timers when sampled, nothing when disabled.
+ */
+class JudgingMetricsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JudgingContext context = JudgingContext.builder()
+            .questionId(142L)
+            .returnType("int[]")
+            .build();
+
+    @Test
+    void recordsPhaseTimersTaggedByComponentAndBucket() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JudgingPipeline pipeline = pipeline(new JudgingMetrics(registry, true, 1.0, 100));
+
+        pipeline.judge(out("[1,2,3]"), out("[1,2,3]"), context);
+        pipeline.judge(out("[1,2,4]"), out("[1,2,3]"), context);
+
+        Timer extract = registry.find("judging.phase.time")
+                .tags("phase", "extract", "component", "JsonArrayExtractor", "questionBucket", "100-199")
+                .timer();
+        assertNotNull(extract);
+        assertEquals(2, extract.count());
+
+        assertNotNull(registry.find("judging.phase.time")
+                .tags("phase", "compare", "component", "JsonDeepComparator").timer());
+        assertEquals(1.0, registry.get("judging.phase.failures")
+                .tags("phase", "compare", "component", "JsonDeepComparator").counter().count());
+        assertEquals(1.0, registry.get("judging.testcases").tags("outcome", "passed").counter().count());
+        assertEquals(1.0, registry.get("judging.testcases").tags("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void disabledMetricsRegisterNothing() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JudgingMetrics metrics = new JudgingMetrics(registry, false, 1.0, 100);
+
+        assertNull(metrics.startSample(context));
+        pipeline(metrics).judge(out("[1]"), out("[1]"), context);
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private JudgingPipeline pipeline(JudgingMetrics metrics) {
+        return JudgingPipeline.builder()
+                .extractor(new JsonArrayExtractor(mapper))
+                .normalizer(new IdentityNormalizer())
+                .comparator(new JsonDeepComparator(mapper))
+                .metrics(metrics)
+                .build();
+    }
+
+    private static ExecutionOutput out(String raw) {
+        return ExecutionOutput.builder().rawOutput(raw).build();
+    }
+}
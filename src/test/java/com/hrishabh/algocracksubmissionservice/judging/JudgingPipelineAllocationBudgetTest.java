@@ -0,0 +1,170 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.hrishabh.algocracksubmissionservice.AllocationBudget;
+import com.hrishabh.algocracksubmissionservice.models.NodeType;
+import com.hrishabh.algocracksubmissionservice.service.ProcessingTestFixture;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation budgets for JudgingPipeline.judge, one passing testcase of
+ * about N elements per component combination PipelineAssembler wires (the
+ * same routes as the JMH scenarios). Pipelines come from the real assembler
+ * in a bare Spring context over the judging package.
+ *
+ * Budgets are roughly twice the measured figure, with the service's DEBUG
+ * level from application.yml in effect (a full test run applies it);
+ * judging logs nothing per passing testcase below TRACE. When a change
+ * legitimately moves one, lower it to see the measured table in the
+ * failure message, and update it here. The sorting normalizers render each element's text per comparison, which is
+ * why their budgets are an order of magnitude above the rest.
+ */
+class JudgingPipelineAllocationBudgetTest {
+
+    private static final int N = 500;
+
+    private static ProcessingTestFixture fixture;
+    private static PipelineAssembler assembler;
+
+    @BeforeAll
+    static void bootJudging() {
+        fixture = new ProcessingTestFixture();
+        assembler = fixture.assembler();
+    }
+
+    @AfterAll
+    static void close() {
+        fixture.close();
+    }
+
+    @Test
+    void judgeStaysWithinBudgetPerComponentCombination() {
+        AllocationBudget budget = new AllocationBudget("JudgingPipeline.judge, " + N + " elements");
+
+        check(budget, "int[] / identity / jsonDeep", 64_000,
+                JudgingContext.builder().returnType("int[]").isOutputOrderMatters(true).build(),
+                intArray(N, 1), intArray(N, 1));
+        check(budget, "List<Integer> / sortedList / setEquality", 8_000_000,
+                JudgingContext.builder().returnType("List<Integer>").isOutputOrderMatters(false).build(),
+                intArray(N, 7), intArray(N, 1));
+        check(budget, "List<List<Integer>> / sortedNestedList / setEquality", 5_000_000,
+                JudgingContext.builder().returnType("List<List<Integer>>").isOutputOrderMatters(false).build(),
+                triplets(N / 3, 7), triplets(N / 3, 1));
+        check(budget, "edge list / edge / setEquality", 320_000,
+                JudgingContext.builder().returnType("List<List<Integer>>").nodeType(NodeType.GRAPH_NODE)
+                        .isOutputOrderMatters(false).build(),
+                edges(N, 7), edges(N, 1));
+        check(budget, "TreeNode / structuralTree", 100_000,
+                JudgingContext.builder().returnType("TreeNode").nodeType(NodeType.TREE_NODE).build(),
+                intArray(N, 1), intArray(N, 1));
+        check(budget, "ListNode / exactMatch", 64_000,
+                JudgingContext.builder().returnType("ListNode").nodeType(NodeType.LIST_NODE).build(),
+                intArray(N, 1), intArray(N, 1));
+        check(budget, "char[][] / charMatrix", 180_000,
+                JudgingContext.builder().returnType("void").mutationTarget("board")
+                        .effectiveOutputType("char[][]").build(),
+                charMatrix(22), charMatrix(22));
+        check(budget, "CLASS stateful / streamingSequence", 20_000,
+                JudgingContext.builder().executionStrategy("CLASS").returnType("LRUCache")
+                        .validationHints(List.of("STATEFUL_SEQUENCE")).build(),
+                operations(N), operations(N));
+        check(budget, "CLASS round-trip tree / designClass / structuralTree", 110_000,
+                JudgingContext.builder().executionStrategy("CLASS").returnType("Codec")
+                        .nodeType(NodeType.TREE_NODE).validationHints(List.of("ROUND_TRIP")).build(),
+                roundTrip(N), roundTrip(N));
+
+        budget.assertWithinBudgets();
+    }
+
+    private static void check(AllocationBudget budget, String combination, long budgetBytes,
+            JudgingContext context, String user, String oracle) {
+        context.setQuestionId(1L);
+        JudgingPipeline pipeline = assembler.assemble(context);
+        ExecutionOutput userOutput = ExecutionOutput.builder().rawOutput(user).build();
+        ExecutionOutput oracleOutput = ExecutionOutput.builder().rawOutput(oracle).build();
+        assertTrue(pipeline.judge(userOutput, oracleOutput, context).isPassed(), combination);
+
+        budget.measure(combination, budgetBytes, () -> pipeline.judge(userOutput, oracleOutput, context));
+    }
+
+    /**
+     * The values 0..n-1, visited with the given stride (coprime to n) so a
+     * stride other than 1 yields a scrambled permutation.
+     */
+    private static String intArray(int n, int stride) {
+        StringBuilder sb = new StringBuilder(n * 4).append('[');
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append((long) i * stride % n);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String triplets(int groups, int stride) {
+        StringBuilder sb = new StringBuilder(groups * 16).append('[');
+        for (int i = 0; i < groups; i++) {
+            if (i > 0) sb.append(',');
+            int base = (int) ((long) i * stride % groups) * 3;
+            if (stride == 1) {
+                sb.append('[').append(base).append(',').append(base + 1).append(',').append(base + 2).append(']');
+            } else {
+                sb.append('[').append(base + 2).append(',').append(base).append(',').append(base + 1).append(']');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * A path over n nodes; scrambled edges are reordered and reversed.
+     */
+    private static String edges(int n, int stride) {
+        StringBuilder sb = new StringBuilder(n * 12).append('[');
+        for (int i = 0; i < n - 1; i++) {
+            if (i > 0) sb.append(',');
+            int a = (int) ((long) i * stride % (n - 1));
+            if (stride == 1) {
+                sb.append('[').append(a).append(',').append(a + 1).append(']');
+            } else {
+                sb.append('[').append(a + 1).append(',').append(a).append(']');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String charMatrix(int side) {
+        StringBuilder sb = new StringBuilder(side * (side + 3)).append('[');
+        for (int row = 0; row < side; row++) {
+            if (row > 0) sb.append(',');
+            sb.append('"');
+            for (int col = 0; col < side; col++) {
+                sb.append((row * 7 + col * 3) % 4 == 0 ? 'O' : 'X');
+            }
+            sb.append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String operations(int n) {
+        StringBuilder sb = new StringBuilder(n * 5).append("[null");
+        for (int i = 1; i < n; i++) {
+            sb.append(',');
+            switch (i % 4) {
+                case 0 -> sb.append("null");
+                case 1 -> sb.append(-1);
+                case 2 -> sb.append(i % 3 == 0);
+                default -> sb.append(i);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String roundTrip(int n) {
+        String tree = intArray(n, 1);
+        return "[null,\"" + tree.replace(',', '#') + "\"," + tree + ']';
+    }
+}
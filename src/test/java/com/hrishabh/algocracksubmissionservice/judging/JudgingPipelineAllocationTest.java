@@ -0,0 +1,117 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.JsonDeepComparator;
+import com.hrishabh.algocracksubmissionservice.judging.extractor.JsonArrayExtractor;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.IdentityNormalizer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation benchmark per judged testcase for large outputs.
+ *
+ * Passing testcases must not render display strings at all, and rendering
+ * a failure preview must cost a bounded amount regardless of output size.
+ */
+class JudgingPipelineAllocationTest {
+
+    private static final int ELEMENTS = 200_000;
+    private static final int ITERATIONS = 20;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JudgingContext context = JudgingContext.builder()
+            .questionId(1L)
+            .returnType("int[]")
+            .build();
+    private final JudgingPipeline pipeline = JudgingPipeline.builder()
+            .extractor(new JsonArrayExtractor(mapper))
+            .normalizer(new IdentityNormalizer())
+            .comparator(new JsonDeepComparator(mapper))
+            .build();
+
+    @Test
+    void passingTestcaseCarriesNoPreview() {
+        String output = intArray(ELEMENTS, 0);
+        JudgingResult result = pipeline.judge(out(output), out(output), context);
+
+        assertTrue(result.isPassed());
+        assertNull(result.getUserPreview());
+        assertNull(result.getNormalizedUserOutput());
+    }
+
+    @Test
+    void failurePreviewIsCappedAndCheapToRender() {
+        String user = intArray(ELEMENTS, 1);
+        String oracle = intArray(ELEMENTS, 0);
+
+        JudgingResult result = pipeline.judge(out(user), out(oracle), context);
+        assertFalse(result.isPassed());
+
+        // Warm up the preview serializer so one-time setup isn't counted
+        assertNotNull(pipeline.judge(out(user), out(oracle), context).getNormalizedUserOutput());
+
+        long before = allocatedBytes();
+        String preview = result.getNormalizedUserOutput();
+        long renderBytes = allocatedBytes() - before;
+
+        assertTrue(preview.length() < OutputPreview.HEAD_CHARS + OutputPreview.TAIL_CHARS + 64);
+        assertTrue(preview.startsWith("[2,2,3"));
+        assertTrue(preview.endsWith(ELEMENTS + "]"));
+        assertTrue(preview.contains("chars truncated"));
+        // A full render would be ~2 bytes per char of a 1.3M-char string
+        assertTrue(renderBytes < 256 * 1024, "preview render allocated " + renderBytes + " bytes");
+    }
+
+    @Test
+    void reportsBytesPerJudgedTestcase() {
+        String output = intArray(ELEMENTS, 0);
+        String wrong = intArray(ELEMENTS, 1);
+
+        long passBytes = measure(() -> pipeline.judge(out(output), out(output), context));
+        long failBytes = measure(() -> pipeline.judge(out(wrong), out(output), context));
+
+        System.out.printf("[JudgingPipelineAllocationTest] %d-element int[] output (%d chars): "
+                + "pass=%d bytes/testcase, fail=%d bytes/testcase%n",
+                ELEMENTS, output.length(), passBytes, failBytes);
+
+        // Judging a failure must not materialize display strings either:
+        // both paths are dominated by parsing, not rendering
+        assertTrue(failBytes < passBytes * 3 / 2,
+                "fail path allocated " + failBytes + " vs pass " + passBytes);
+    }
+
+    private long measure(Runnable judge) {
+        for (int i = 0; i < 3; i++) {
+            judge.run();
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            judge.run();
+        }
+        return (allocatedBytes() - before) / ITERATIONS;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+
+    private static ExecutionOutput out(String raw) {
+        return ExecutionOutput.builder().rawOutput(raw).build();
+    }
+
+    private static String intArray(int n, int offset) {
+        StringBuilder sb = new StringBuilder(n * 7);
+        sb.append('[');
+        for (int i = 1; i <= n; i++) {
+            if (i > 1) {
+                sb.append(',');
+            }
+            sb.append(i == 1 ? i + offset : i);
+        }
+        return sb.append(']').toString();
+    }
+}
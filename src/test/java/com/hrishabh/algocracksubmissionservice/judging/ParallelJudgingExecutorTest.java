@@ -0,0 +1,173 @@
+package com.hrishabh.algocracksubmissionservice.judging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * First-failure semantics of parallel judging: the lowest failing index is
+ * reported even when a higher one finishes first, and testcases past the
+ * failure are not judged.
+ *
+ * Testcases past HIGH_FAILURE park until the worker that failed it has
+ * published the failure and gone idle, so the testcases started past it are
+ * exactly those already in flight, whatever the scheduling.
+ */
+class ParallelJudgingExecutorTest {
+
+    private static final int PARALLELISM = 4;
+    private static final int COUNT = 200;
+    private static final int LOW_FAILURE = 10;
+    private static final int HIGH_FAILURE = 50;
+
+    private final ParallelJudgingExecutor executor = new ParallelJudgingExecutor(PARALLELISM, 2, Long.MAX_VALUE);
+    private final JudgingPipeline pipeline = mock(JudgingPipeline.class);
+    private final Set<Integer> judged = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch highFailed = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicReference<Thread> highWorker = new AtomicReference<>();
+    private final JudgingResult lowResult = JudgingResult.failed("low", "[10]", "[]");
+    private final JudgingResult highResult = JudgingResult.failed("high", "[50]", "[]");
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void lowestFailingIndexWinsWhenAHigherOneFinishesFirst() throws Exception {
+        when(pipeline.judge(any(), any(), any(), any())).thenAnswer(inv -> {
+            int index = Integer.parseInt(inv.<ExecutionOutput>getArgument(0).getRawOutput());
+            judged.add(index);
+            if (index == LOW_FAILURE) {
+                // Finish only after the higher-index failure has been published
+                assertTrue(highFailed.await(10, TimeUnit.SECONDS));
+                return lowResult;
+            }
+            if (index == HIGH_FAILURE) {
+                highWorker.set(Thread.currentThread());
+                highFailed.countDown();
+                return highResult;
+            }
+            return pass(index);
+        });
+
+        ParallelJudgingExecutor.FirstFailure failure = judgeReleasingOnceHighFailureIsPublished();
+
+        assertEquals(LOW_FAILURE, failure.getIndex());
+        assertEquals("low", failure.getResult().getFailureReason());
+    }
+
+    @Test
+    void higherIndexExceptionIsNotRethrownWhenALowerIndexFailed() throws Exception {
+        when(pipeline.judge(any(), any(), any(), any())).thenAnswer(inv -> {
+            int index = Integer.parseInt(inv.<ExecutionOutput>getArgument(0).getRawOutput());
+            judged.add(index);
+            if (index == LOW_FAILURE) {
+                assertTrue(highFailed.await(10, TimeUnit.SECONDS));
+                return lowResult;
+            }
+            if (index == HIGH_FAILURE) {
+                highWorker.set(Thread.currentThread());
+                highFailed.countDown();
+                throw new IllegalStateException("pipeline failure at " + index);
+            }
+            return pass(index);
+        });
+
+        ParallelJudgingExecutor.FirstFailure failure = judgeReleasingOnceHighFailureIsPublished();
+
+        assertEquals(LOW_FAILURE, failure.getIndex());
+    }
+
+    /**
+     * Testcases past the high failure were claimed before it was published;
+     * they stay in flight until released.
+     */
+    private JudgingResult pass(int index) throws InterruptedException {
+        if (index > HIGH_FAILURE) {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+        }
+        return JudgingResult.passed();
+    }
+
+    /**
+     * Judge the suite on another thread. Once the worker that judged
+     * HIGH_FAILURE has gone idle, it has published the failure; the testcases
+     * started past it by then are the ones in flight, one per other worker at
+     * most. Releasing them must start nothing further.
+     */
+    private ParallelJudgingExecutor.FirstFailure judgeReleasingOnceHighFailureIsPublished() throws Exception {
+        CompletableFuture<ParallelJudgingExecutor.FirstFailure> call = CompletableFuture.supplyAsync(
+                () -> executor.judgeUntilFirstFailure(pipeline, outputs(), outputs(),
+                        JudgingContext.builder().build(), null));
+        Set<Integer> inFlight;
+        try {
+            assertTrue(highFailed.await(10, TimeUnit.SECONDS));
+            awaitIdle(highWorker.get());
+            inFlight = pastHighFailure();
+        } finally {
+            release.countDown();
+        }
+        ParallelJudgingExecutor.FirstFailure failure = call.get(10, TimeUnit.SECONDS);
+
+        assertTrue(inFlight.size() <= PARALLELISM - 1, "in flight past the failure: " + inFlight);
+        assertEquals(inFlight, pastHighFailure(), "testcases started after the failure was published");
+        for (int i = 0; i <= HIGH_FAILURE; i++) {
+            assertTrue(judged.contains(i), "testcase " + i + " not judged");
+        }
+        return failure;
+    }
+
+    private Set<Integer> pastHighFailure() {
+        Set<Integer> past = new TreeSet<>();
+        for (int index : judged) {
+            if (index > HIGH_FAILURE) {
+                past.add(index);
+            }
+        }
+        return past;
+    }
+
+    /**
+     * Wait until a pool worker has left the executor's worker loop. Thread
+     * state alone won't do: it also blocks briefly inside the mock.
+     */
+    private static void awaitIdle(Thread worker) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (inExecutor(worker)) {
+            assertTrue(System.nanoTime() < deadline, worker.getName() + " still judging");
+            Thread.sleep(1);
+        }
+    }
+
+    private static boolean inExecutor(Thread worker) {
+        for (StackTraceElement frame : worker.getStackTrace()) {
+            if (frame.getClassName().startsWith(ParallelJudgingExecutor.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<ExecutionOutput> outputs() {
+        List<ExecutionOutput> outputs = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            outputs.add(ExecutionOutput.builder().rawOutput(Integer.toString(i)).build());
+        }
+        return outputs;
+    }
+}
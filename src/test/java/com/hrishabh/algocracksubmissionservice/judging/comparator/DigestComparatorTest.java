@@ -0,0 +1,96 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Digest judging mode: equal canonical forms pass, anything else fails with
+ * the message of the comparator it stands in for, and outputs the digest
+ * cannot judge fall back to the regular phases (null).
+ */
+class DigestComparatorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CanonicalDigester digester = new CanonicalDigester(mapper, 1, 16);
+    private final JudgingContext context = JudgingContext.builder().build();
+
+    private final RawOutputComparator ordered = digester.comparator(DigestMode.ORDERED, "plan");
+    private final RawOutputComparator unordered = digester.comparator(DigestMode.UNORDERED, "plan");
+    private final RawOutputComparator nested = digester.comparator(DigestMode.UNORDERED_NESTED, "plan");
+
+    @Test
+    void orderedComparesElementWise() {
+        assertTrue(ordered.compareRaw("[1,\"a\",[2,3],null,true]", "[1, \"a\", [2, 3], null, true]", context)
+                .isPassed());
+        assertEquals("Output mismatch (JSON deep comparison)",
+                ordered.compareRaw("[1,[3,2]]", "[1,[2,3]]", context).getReason());
+        assertFalse(ordered.compareRaw("[2,1]", "[1,2]", context).isPassed());
+    }
+
+    @Test
+    void valuesFollowJsonNodeEquality() {
+        // Object field order is irrelevant; number kinds and strings are not
+        assertTrue(ordered.compareRaw("[{\"b\":2,\"a\":[1]}]", "[{\"a\":[1],\"b\":2}]", context).isPassed());
+        assertFalse(ordered.compareRaw("[1.0]", "[1]", context).isPassed());
+        assertFalse(ordered.compareRaw("[\"1\"]", "[1]", context).isPassed());
+        assertFalse(ordered.compareRaw("[{\"a\":1,\"b\":2}]", "[{\"a\":2,\"b\":1}]", context).isPassed());
+        assertFalse(ordered.compareRaw("[[1],[2]]", "[[1,2]]", context).isPassed());
+    }
+
+    @Test
+    void bigIntegersHashByValue() {
+        // 2^64 + 31 and 2^64 + 2^32 share a BigInteger.hashCode()
+        String a = "18446744073709551647";
+        String b = "18446744078004518912";
+        assertEquals(new BigInteger(a).hashCode(), new BigInteger(b).hashCode());
+
+        assertTrue(ordered.compareRaw("[" + a + "]", "[" + a + "]", context).isPassed());
+        assertFalse(ordered.compareRaw("[" + a + "]", "[" + b + "]", context).isPassed());
+        assertFalse(unordered.compareRaw("[1," + a + "]", "[" + b + ",1]", context).isPassed());
+    }
+
+    @Test
+    void unorderedComparesMultisets() {
+        assertTrue(unordered.compareRaw("[3,1,2,1]", "[1,1,2,3]", context).isPassed());
+        assertEquals("Set contents mismatch (elements differ after normalization)",
+                unordered.compareRaw("[3,2,2,1]", "[1,1,2,3]", context).getReason());
+        assertEquals("Set size mismatch: got 3, expected 4",
+                unordered.compareRaw("[3,2,1]", "[1,1,2,3]", context).getReason());
+        // Inner lists stay ordered in the flat mode
+        assertFalse(unordered.compareRaw("[[2,1],[3]]", "[[3],[1,2]]", context).isPassed());
+    }
+
+    @Test
+    void nestedComparesMultisetsOfMultisets() {
+        assertTrue(nested.compareRaw("[[2,1],[3]]", "[[3],[1,2]]", context).isPassed());
+        assertTrue(nested.compareRaw("[5,[1,2]]", "[[2,1],[5]]", context).isPassed());
+        assertFalse(nested.compareRaw("[[1,1],[2]]", "[[1],[1,2]]", context).isPassed());
+    }
+
+    @Test
+    void fallsBackWhenTheDigestCannotJudge() {
+        RawOutputComparator largeOnly = new CanonicalDigester(mapper, 100, 16)
+                .comparator(DigestMode.ORDERED, "plan");
+        assertNull(largeOnly.compareRaw("[1,2]", "[1,2]", context));
+
+        assertNull(ordered.compareRaw("{\"a\":1}", "[1]", context));
+        assertNull(ordered.compareRaw("[1]", "42", context));
+        assertNull(ordered.compareRaw("[1,", "[1,2]", context));
+        assertNull(ordered.compareRaw(null, "[1]", context));
+    }
+
+    @Test
+    void digestIsStableAcrossCalls() throws Exception {
+        String oracle = "[" + "7,".repeat(10_000) + "7]";
+        CanonicalDigester.Digest first = digester.expected(oracle, DigestMode.UNORDERED, "plan");
+        assertEquals(10_001, first.count());
+        assertEquals(first, digester.expected(oracle, DigestMode.UNORDERED, "plan"));
+        assertEquals(first, digester.digest(oracle, DigestMode.UNORDERED));
+        assertNotEquals(first, digester.digest(oracle, DigestMode.ORDERED));
+    }
+}
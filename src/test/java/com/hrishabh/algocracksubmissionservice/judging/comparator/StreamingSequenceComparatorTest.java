@@ -0,0 +1,95 @@
+package com.hrishabh.algocracksubmissionservice.judging.comparator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingSequenceComparatorTest {
+
+    private final StreamingSequenceComparator comparator = new StreamingSequenceComparator(new ObjectMapper());
+    private final JudgingContext stateful = JudgingContext.builder()
+            .executionStrategy("CLASS")
+            .validationHints(List.of("STATEFUL_SEQUENCE"))
+            .build();
+    private final JudgingContext roundTrip = JudgingContext.builder()
+            .executionStrategy("CLASS")
+            .validationHints(List.of("ROUND_TRIP"))
+            .build();
+
+    @Test
+    void skipsConstructorAndReportsFirstDivergentOperation() {
+        String oracle = "[null,null,null,1,-1,\"x\",[1,2],{\"a\":1,\"b\":2},true]";
+
+        assertTrue(comparator.compareRaw(oracle, oracle, stateful).isPassed());
+        // Constructor slot is never judged; object key order does not matter
+        assertTrue(comparator.compareRaw(
+                "[\"ctor\",null,null,1,-1,\"x\",[1,2],{\"b\":2,\"a\":1},true]", oracle, stateful).isPassed());
+
+        ComparisonResult result = comparator.compareRaw(
+                "[null,null,null,1,2,\"x\",[1,3],{\"a\":1,\"b\":2},true]", oracle, stateful);
+        assertEquals("Operation 4 result mismatch: got 2, expected -1", result.getReason());
+
+        assertEquals("Operation 6 result mismatch: got [1,3], expected [1,2]", comparator.compareRaw(
+                "[null,null,null,1,-1,\"x\",[1,3],{\"a\":1,\"b\":2},true]", oracle, stateful).getReason());
+        assertEquals("Operation 3 result mismatch: got 1.0, expected 1", comparator.compareRaw(
+                "[null,null,null,1.0,-1,\"x\",[1,2],{\"a\":1,\"b\":2},true]", oracle, stateful).getReason());
+    }
+
+    @Test
+    void countMismatchTakesPrecedence() {
+        assertEquals("Operation count mismatch: your class produced 3 results, expected 5",
+                comparator.compareRaw("[null,9,[1]]", "[null,1,[1],2,{\"k\":[3]}]", stateful).getReason());
+        assertEquals("Operation count mismatch: your class produced 4 results, expected 2",
+                comparator.compareRaw("[null,1,[2,[3]],4]", "[null,1]", stateful).getReason());
+    }
+
+    @Test
+    void roundTripJudgesOnlyLastOperation() {
+        assertTrue(comparator.compareRaw("[null,\"a#b\",\"ab\"]", "[null,\"a,b\",\"ab\"]", roundTrip).isPassed());
+        assertEquals("Operation 2 result mismatch: got \"ba\", expected \"ab\"",
+                comparator.compareRaw("[null,\"a,b\",\"ba\"]", "[null,\"a,b\",\"ab\"]", roundTrip).getReason());
+    }
+
+    @Test
+    void declinesOutputsItCannotStream() {
+        assertNull(comparator.compareRaw("error", "[null,1]", stateful));
+        assertNull(comparator.compareRaw("[null,1", "[null,1]", stateful));
+        assertNull(comparator.compareRaw("", "[null]", stateful));
+    }
+
+    @Test
+    void longLogsUseNearConstantMemory() {
+        String log = operationLog(1_000_000);
+        comparator.compareRaw(operationLog(1000), operationLog(1000), stateful); // warm-up
+
+        long before = allocatedBytes();
+        assertTrue(comparator.compareRaw(log, log, stateful).isPassed());
+        long allocated = allocatedBytes() - before;
+
+        // The log itself is ~7MB of text; streaming must not scale with it
+        assertTrue(allocated < 1_000_000, "Allocated " + allocated + " bytes for a 1e6-operation log");
+    }
+
+    private static String operationLog(int operations) {
+        StringBuilder sb = new StringBuilder(operations * 7).append("[null");
+        for (int i = 1; i < operations; i++) {
+            sb.append(',');
+            switch (i % 4) {
+                case 0 -> sb.append("null");
+                case 1 -> sb.append(i);
+                case 2 -> sb.append(-1);
+                default -> sb.append(i % 3 == 0);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
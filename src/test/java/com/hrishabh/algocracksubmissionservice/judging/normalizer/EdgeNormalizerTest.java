@@ -0,0 +1,82 @@
+package com.hrishabh.algocracksubmissionservice.judging.normalizer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.OutputPreview;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.SetEqualityComparator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeNormalizerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final EdgeNormalizer normalizer = new EdgeNormalizer(mapper);
+    private final SetEqualityComparator comparator = new SetEqualityComparator(mapper);
+    private final JudgingContext context = JudgingContext.builder().isOutputOrderMatters(false).build();
+
+    @Test
+    void packsIntegerEdgesIgnoringDirectionAndOrder() throws Exception {
+        Object user = normalize("[[3,1],[2,3],[2,1]]");
+        Object oracle = normalize("[[1,2],[1,3],[2,3]]");
+
+        assertInstanceOf(PackedEdgeList.class, user);
+        assertEquals("[[1,2],[1,3],[2,3]]", user.toString());
+        assertTrue(comparator.compare(user, oracle, context).isPassed());
+    }
+
+    @Test
+    void detectsMissingAndExtraEdges() throws Exception {
+        Object oracle = normalize("[[1,2],[1,3],[2,3]]");
+
+        assertEquals("Set size mismatch: got 2, expected 3",
+                comparator.compare(normalize("[[1,2],[1,3]]"), oracle, context).getReason());
+        assertFalse(comparator.compare(normalize("[[1,2],[1,3],[1,4]]"), oracle, context).isPassed());
+    }
+
+    @Test
+    void handlesNegativeLabels() throws Exception {
+        assertEquals("[[-5,-1],[-1,2]]", normalize("[[2,-1],[-1,-5]]").toString());
+    }
+
+    @Test
+    void numericTextLabelsMatchIntLabels() throws Exception {
+        Object user = normalize("[[\"3\",\"1\"],[2,\"3\"],[\" 2 \",1]]");
+        Object oracle = normalize("[[1,2],[1,3],[2,3]]");
+
+        assertInstanceOf(PackedEdgeList.class, user);
+        assertTrue(comparator.compare(user, oracle, context).isPassed());
+        assertTrue(comparator.compare(oracle, user, context).isPassed());
+    }
+
+    @Test
+    void fallsBackToJsonNodesForNonIntegerLabels() throws Exception {
+        Object user = normalize("[[\"b\",\"a\"],[\"c\",\"a\"]]");
+        Object oracle = normalize("[[\"a\",\"c\"],[\"a\",\"b\"]]");
+
+        assertInstanceOf(JsonNode.class, user);
+        assertEquals("[[\"a\",\"b\"],[\"a\",\"c\"]]", user.toString());
+        assertTrue(comparator.compare(user, oracle, context).isPassed());
+        assertFalse(comparator.compare(user, normalize("[[1,2],[1,3]]"), context).isPassed());
+    }
+
+    @Test
+    void rendersLargeEdgeListsCapped() throws Exception {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 100_000; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('[').append(i + 1).append(',').append(i).append(']');
+        }
+        String rendered = normalize(sb.append(']').toString()).toString();
+
+        assertTrue(rendered.startsWith("[[0,1],[1,2],"));
+        assertTrue(rendered.endsWith(",[99999,100000]]"));
+        assertTrue(rendered.contains("edges truncated"));
+        assertTrue(rendered.length() < OutputPreview.HEAD_CHARS + OutputPreview.TAIL_CHARS + 128);
+    }
+
+    private Object normalize(String json) throws Exception {
+        return normalizer.normalize(mapper.readTree(json), context);
+    }
+}
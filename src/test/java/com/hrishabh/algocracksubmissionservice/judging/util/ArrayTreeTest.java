@@ -0,0 +1,116 @@
+package com.hrishabh.algocracksubmissionservice.judging.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayTreeTest {
+
+    private static final int DEGENERATE_SIZE = 1_000_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void buildsLevelOrderTree() throws Exception {
+        ArrayTree tree = ArrayTree.fromLevelOrder(mapper.readTree("[1,2,3,null,null,4,5]"));
+
+        assertEquals(5, tree.size());
+        assertEquals(3, tree.height());
+        assertEquals(1, tree.left(0));
+        assertEquals(2, tree.right(0));
+        assertEquals(ArrayTree.NONE, tree.left(1));
+        assertEquals(4, tree.value(tree.left(2)).asInt());
+        assertEquals(5, tree.value(tree.right(2)).asInt());
+        assertFalse(tree.isLinkedList());
+    }
+
+    @Test
+    void handlesEmptyAndNullRoot() throws Exception {
+        assertTrue(ArrayTree.fromLevelOrder(mapper.readTree("[]")).isEmpty());
+        assertTrue(ArrayTree.fromLevelOrder(mapper.readTree("[null]")).isEmpty());
+        assertTrue(ArrayTree.fromLevelOrder(null).isEmpty());
+        assertTrue(ArrayTree.fromLevelOrder(mapper.readTree("[]"))
+                .isStructurallyEqual(ArrayTree.fromLevelOrder(mapper.readTree("[null]"))));
+    }
+
+    @Test
+    void comparesShapeAndValues() throws Exception {
+        ArrayTree a = ArrayTree.fromLevelOrder(mapper.readTree("[1,2,3,null,4]"));
+        ArrayTree sameWithTrailingNulls = ArrayTree.fromLevelOrder(mapper.readTree("[1,2,3,null,4,null,null]"));
+        ArrayTree mirrored = ArrayTree.fromLevelOrder(mapper.readTree("[1,2,3,4]"));
+        ArrayTree otherValue = ArrayTree.fromLevelOrder(mapper.readTree("[1,2,3,null,5]"));
+
+        assertTrue(a.isStructurallyEqual(sameWithTrailingNulls));
+        assertFalse(a.isStructurallyEqual(mirrored));
+        assertFalse(a.isStructurallyEqual(otherValue));
+    }
+
+    @Test
+    void agreesWithTreeNodeTraversal() throws Exception {
+        JsonNode a = mapper.readTree("[5,4,8,11,null,13,4,7,2,null,null,5,1]");
+        JsonNode b = mapper.readTree("[5,4,8,11,null,13,4,7,2,null,null,null,1]");
+
+        assertEquals(TreeTraversalUtil.countNodes(TreeTraversalUtil.buildFromLevelOrder(a)),
+                TreeTraversalUtil.buildArrayTree(a).size());
+        assertEquals(
+                TreeTraversalUtil.isStructurallyEqual(TreeTraversalUtil.buildFromLevelOrder(a),
+                        TreeTraversalUtil.buildFromLevelOrder(b)),
+                TreeTraversalUtil.buildArrayTree(a).isStructurallyEqual(TreeTraversalUtil.buildArrayTree(b)));
+    }
+
+    // ---- Stress: degenerate 10^6-node trees must not overflow the stack ----
+
+    @Test
+    void rightSkewedMillionNodeTree() {
+        JsonNode levelOrder = skewed(DEGENERATE_SIZE, false);
+
+        ArrayTree tree = ArrayTree.fromLevelOrder(levelOrder);
+        assertEquals(DEGENERATE_SIZE, tree.size());
+        assertEquals(DEGENERATE_SIZE, tree.height());
+        assertTrue(tree.isLinkedList());
+        assertTrue(tree.isStructurallyEqual(ArrayTree.fromLevelOrder(skewed(DEGENERATE_SIZE, false))));
+
+        TreeTraversalUtil.TreeNode root = TreeTraversalUtil.buildFromLevelOrder(levelOrder);
+        assertEquals(DEGENERATE_SIZE, TreeTraversalUtil.countNodes(root));
+        assertTrue(TreeTraversalUtil.isStructurallyEqual(root, root));
+    }
+
+    @Test
+    void leftSkewedMillionNodeTree() {
+        JsonNode levelOrder = skewed(DEGENERATE_SIZE, true);
+
+        ArrayTree tree = ArrayTree.fromLevelOrder(levelOrder);
+        assertEquals(DEGENERATE_SIZE, tree.size());
+        assertEquals(DEGENERATE_SIZE, tree.height());
+        assertFalse(tree.isLinkedList());
+        assertFalse(tree.isStructurallyEqual(ArrayTree.fromLevelOrder(skewed(DEGENERATE_SIZE, false))));
+
+        TreeTraversalUtil.TreeNode root = TreeTraversalUtil.buildFromLevelOrder(levelOrder);
+        assertEquals(DEGENERATE_SIZE, TreeTraversalUtil.countNodes(root));
+        assertFalse(TreeTraversalUtil.isStructurallyEqual(root,
+                TreeTraversalUtil.buildFromLevelOrder(skewed(DEGENERATE_SIZE, false))));
+    }
+
+    /**
+     * Level-order array for a chain of n nodes hanging off one side:
+     * right-skewed [0,null,1,null,2,...] or left-skewed [0,1,null,2,null,...].
+     */
+    private static JsonNode skewed(int n, boolean leftSide) {
+        ArrayNode array = JsonNodeFactory.instance.arrayNode(2 * n);
+        array.add(0);
+        for (int i = 1; i < n; i++) {
+            if (leftSide) {
+                array.add(i);
+                array.addNull();
+            } else {
+                array.addNull();
+                array.add(i);
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hrishabh.algocracksubmissionservice.judging.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridConstraintsTest {
+
+    @Test
+    void acceptsSolvedSudoku() {
+        assertNull(GridConstraints.sudoku().check(solvedSudoku()));
+    }
+
+    @Test
+    void reportsDuplicateInRowColumnAndBox() {
+        int[][] grid = solvedSudoku();
+        int tmp = grid[0][0];
+        grid[0][0] = grid[0][1];
+        grid[0][1] = tmp;
+        // Swapping within a row keeps the row valid but breaks both columns
+        GridConstraints.Violation column = GridConstraints.sudoku().check(grid);
+        assertEquals(GridConstraints.Kind.DUPLICATE, column.getKind());
+        assertEquals(GridConstraints.Unit.COLUMN, column.getUnit());
+        assertEquals(0, column.getUnitIndex());
+
+        grid = solvedSudoku();
+        grid[4][4] = grid[4][5];
+        GridConstraints.Violation row = GridConstraints.sudoku().check(grid);
+        assertEquals(GridConstraints.Unit.ROW, row.getUnit());
+        assertEquals(4, row.getUnitIndex());
+        assertEquals(grid[4][5], row.getValue());
+
+        // A cyclic Latin square is valid by rows and columns but not by boxes
+        int[][] latin = new int[9][9];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                latin[r][c] = (r + c) % 9 + 1;
+            }
+        }
+        assertNull(GridConstraints.latinSquare(9, true).check(latin));
+        GridConstraints.Violation box = GridConstraints.sudoku().check(latin);
+        assertEquals(GridConstraints.Unit.BOX, box.getUnit());
+        assertEquals(0, box.getUnitIndex());
+    }
+
+    @Test
+    void reportsInvalidValuesAndShape() {
+        int[][] grid = solvedSudoku();
+        grid[2][3] = 0;
+        GridConstraints.Violation empty = GridConstraints.sudoku().check(grid);
+        assertEquals(GridConstraints.Kind.INVALID_VALUE, empty.getKind());
+        assertEquals(2, empty.getRow());
+        assertEquals(3, empty.getCol());
+
+        // The same board is fine as a partially filled valid-Sudoku board
+        assertNull(GridConstraints.partialSudoku().check(grid));
+
+        grid[5] = new int[8];
+        GridConstraints.Violation shortRow = GridConstraints.sudoku().check(grid);
+        assertEquals(GridConstraints.Kind.SHAPE, shortRow.getKind());
+        assertEquals(5, shortRow.getRow());
+
+        assertEquals(GridConstraints.Kind.SHAPE, GridConstraints.sudoku().check(new int[3][3]).getKind());
+    }
+
+    @Test
+    void checksCharBoards() {
+        char[][] board = {
+                "53..7....".toCharArray(),
+                "6..195...".toCharArray(),
+                ".98....6.".toCharArray(),
+                "8...6...3".toCharArray(),
+                "4..8.3..1".toCharArray(),
+                "7...2...6".toCharArray(),
+                ".6....28.".toCharArray(),
+                "...419..5".toCharArray(),
+                "....8..79".toCharArray()
+        };
+        assertNull(GridConstraints.partialSudoku().check(board));
+
+        board[0][2] = '5';
+        GridConstraints.Violation violation = GridConstraints.partialSudoku().check(board);
+        assertEquals(GridConstraints.Unit.ROW, violation.getUnit());
+        assertEquals(5, violation.getValue());
+    }
+
+    @Test
+    void supportsLargerBoxedGrids() {
+        // 16x16 with 4x4 boxes, built from the standard shifted pattern
+        int[][] grid = new int[16][16];
+        for (int r = 0; r < 16; r++) {
+            for (int c = 0; c < 16; c++) {
+                grid[r][c] = (r * 4 + r / 4 + c) % 16 + 1;
+            }
+        }
+        assertNull(new GridConstraints(16, 4, 4, true).check(grid));
+        assertThrows(IllegalArgumentException.class, () -> new GridConstraints(10, 3, 3, true));
+    }
+
+    @Test
+    void checksQueens() {
+        char[][] valid = {
+                ".Q..".toCharArray(),
+                "...Q".toCharArray(),
+                "Q...".toCharArray(),
+                "..Q.".toCharArray()
+        };
+        assertNull(GridConstraints.checkQueens(valid));
+
+        char[][] diagonal = {
+                "Q...".toCharArray(),
+                "....".toCharArray(),
+                "..Q.".toCharArray(),
+                "....".toCharArray()
+        };
+        assertEquals(GridConstraints.Kind.MISSING, GridConstraints.checkQueens(diagonal).getKind());
+
+        char[][] attacking = {
+                ".Q..".toCharArray(),
+                "..Q.".toCharArray(),
+                "Q...".toCharArray(),
+                "...Q".toCharArray()
+        };
+        GridConstraints.Violation violation = GridConstraints.checkQueens(attacking);
+        assertEquals(GridConstraints.Unit.DIAGONAL, violation.getUnit());
+        assertEquals(1, violation.getRow());
+    }
+
+    private static int[][] solvedSudoku() {
+        int[][] grid = new int[9][9];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                grid[r][c] = (r * 3 + r / 3 + c) % 9 + 1;
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hrishabh.algocracksubmissionservice.judging.validator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeepCopyValidatorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final DeepCopyValidator validator = new DeepCopyValidator(mapper);
+    private final JudgingContext context = JudgingContext.builder().build();
+
+    @Test
+    void acceptsUndirectedGraphAsStringOrNode() throws Exception {
+        String graph = "[[2,4],[1,3],[2,4],[1,3]]";
+        assertTrue(validator.validate(graph, graph, context).isPassed());
+        assertTrue(validator.validate(mapper.readTree(graph), mapper.readTree(graph), context).isPassed());
+    }
+
+    @Test
+    void reportsStructuralProblems() {
+        assertEquals("Deep copy validation failed: node 2 references invalid neighbour 5 (valid range: 1-3)",
+                validator.validate("[[2],[1,5],[]]", null, context).getReason());
+        assertEquals("Deep copy validation failed: node 2 has null neighbour list",
+                validator.validate("[[],null,[]]", null, context).getReason());
+        assertEquals("Deep copy validation failed: edge from node 1 to node 3 is not bidirectional"
+                        + " (not an undirected graph)",
+                validator.validate("[[2,3],[1],[]]", null, context).getReason());
+    }
+
+    @Test
+    void handlesEmptyAndUnparseableOutputs() {
+        assertTrue(validator.validate("[]", "[]", context).isPassed());
+        assertEquals("Deep copy validation failed: output graph is empty but expected non-empty",
+                validator.validate("[]", "[[2],[1]]", context).getReason());
+        // Not an adjacency list — validation is skipped, never crashes the judge
+        assertTrue(validator.validate("[\"a\"]", "[]", context).isPassed());
+        assertTrue(validator.validate("not json", "[]", context).isPassed());
+        assertFalse(validator.validate(null, "[]", context).isPassed());
+    }
+
+    @Test
+    void validatesDenseGraphInLinearTime() {
+        // Complete graph on 1500 nodes: ~2.2M directed edges
+        int n = 1500;
+        StringBuilder sb = new StringBuilder(n * n * 6).append('[');
+        for (int u = 1; u <= n; u++) {
+            if (u > 1) sb.append(',');
+            sb.append('[');
+            boolean first = true;
+            for (int v = n; v >= 1; v--) {
+                if (v == u) continue;
+                if (!first) sb.append(',');
+                sb.append(v);
+                first = false;
+            }
+            sb.append(']');
+        }
+        String graph = sb.append(']').toString();
+
+        long start = System.nanoTime();
+        assertTrue(validator.validate(graph, graph, context).isPassed());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs < 5_000, "Dense graph validation took " + elapsedMs + "ms");
+    }
+}
@@ -0,0 +1,78 @@
+package com.hrishabh.algocracksubmissionservice.judging.validator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.ExecutionOutput;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingPipeline;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingResult;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.JsonDeepComparator;
+import com.hrishabh.algocracksubmissionservice.judging.normalizer.IdentityNormalizer;
+import com.hrishabh.algocracksubmissionservice.judging.util.JsonElementCounter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutputSizeGuardValidatorTest {
+
+    private final OutputSizeGuardValidator guard = new OutputSizeGuardValidator(4, 16, 8);
+    private final JudgingContext context = JudgingContext.builder().build();
+
+    @Test
+    void countsTopLevelElementsWithoutParsing() {
+        assertEquals(0, JsonElementCounter.countTopLevel(" [ ] ", 100));
+        assertEquals(3, JsonElementCounter.countTopLevel("[1,[2,3],{\"a\":[4,5]}]", 100));
+        assertEquals(2, JsonElementCounter.countTopLevel("[\"a,b]\",\"c\\\",d\"]", 100));
+        assertEquals(JsonElementCounter.NOT_AN_ARRAY, JsonElementCounter.countTopLevel("42", 100));
+        assertEquals(JsonElementCounter.NOT_AN_ARRAY, JsonElementCounter.countTopLevel(null, 100));
+        // Stops one past the limit
+        assertEquals(3, JsonElementCounter.countTopLevel("[1,2,3,4,5,6]", 2));
+    }
+
+    @Test
+    void rejectsOutputsFarAboveTheOracle() {
+        String oracle = "[1,2,3]";
+        assertTrue(guard.validate("[3,2,1]", oracle, context).isPassed());
+        // 4 x 3 + 8 = 20 elements allowed
+        assertTrue(guard.validate(list(20, 1), oracle, context).isPassed());
+        assertEquals("Output too large: more than 20 elements, expected 3. Possible cycle in output.",
+                guard.validate(list(21, 1), oracle, context).getReason());
+        // 4 x 7 + 16 = 44 characters allowed, checked before counting
+        assertTrue(guard.validate("[" + "1".repeat(50) + "]", oracle, context).getReason()
+                .startsWith("Output too large: 52 characters"));
+        // Non-array oracle: only the length limit applies
+        assertTrue(guard.validate("[1,2,3,4,5,6,7,8,9,10]", "\"abcdefgh\"", context).isPassed());
+    }
+
+    @Test
+    void pipelineRejectsBeforeExtraction() {
+        JudgingPipeline pipeline = JudgingPipeline.builder()
+                .extractor((raw, ctx) -> {
+                    throw new AssertionError("extractor must not run");
+                })
+                .normalizer(new IdentityNormalizer())
+                .comparator(new JsonDeepComparator(new ObjectMapper()))
+                .validators(List.of(guard))
+                .build();
+
+        String cyclic = list(1_000_000, 7);
+        JudgingResult result = pipeline.judge(out(cyclic), out("[7,7,7]"), context);
+
+        assertFalse(result.isPassed());
+        assertTrue(result.getFailureReason().startsWith("Output too large"));
+        assertTrue(result.getNormalizedUserOutput().length() < cyclic.length());
+    }
+
+    private static String list(int size, int value) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(i > 0 ? "," : "").append(value);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static ExecutionOutput out(String raw) {
+        return ExecutionOutput.builder().rawOutput(raw).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.hrishabh.algocracksubmissionservice.judging.validator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.judging.JudgingContext;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SudokuConstraintValidatorTest {
+
+    private static final String SOLVED = "[\"534678912\",\"672195348\",\"198342567\","
+            + "\"859761423\",\"426853791\",\"713924856\",\"961537284\",\"287419635\",\"345286179\"]";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SudokuConstraintValidator validator = new SudokuConstraintValidator(mapper);
+    private final JudgingContext context = JudgingContext.builder().build();
+
+    @Test
+    void acceptsSolvedBoardInEveryForm() throws Exception {
+        // Raw string rows, normalized char-array rows (as JsonNode and as text), int rows
+        String charArrays = mapper.writeValueAsString(charArrays(SOLVED));
+        assertTrue(validator.validate(SOLVED, null, context).isPassed());
+        assertTrue(validator.validate(mapper.readTree(SOLVED), null, context).isPassed());
+        assertTrue(validator.validate(mapper.readTree(charArrays), null, context).isPassed());
+        assertTrue(validator.validate(charArrays, null, context).isPassed());
+        assertTrue(validator.validate(charArrays.replace("\"", ""), null, context).isPassed());
+    }
+
+    @Test
+    void keepsExistingFailureMessages() throws Exception {
+        String duplicateInRow = SOLVED.replace("534678912", "534678915");
+        assertEquals("Duplicate 5 in row 0",
+                validator.validate(mapper.readTree(duplicateInRow), null, context).getReason());
+
+        String emptyCell = SOLVED.replace("534678912", "53467891.");
+        assertEquals("Invalid digit at (0,8): 0", validator.validate(emptyCell, null, context).getReason());
+
+        String shortRow = SOLVED.replace("534678912", "53467891");
+        assertEquals("Sudoku row 0 must have 9 elements", validator.validate(shortRow, null, context).getReason());
+
+        assertEquals("Sudoku output must be a 9x9 grid (got invalid format)",
+                validator.validate("[[1,2,3]]", null, context).getReason());
+        assertEquals("Sudoku output must be a 9x9 grid (got invalid format)",
+                validator.validate("not json", null, context).getReason());
+    }
+
+    private String[][] charArrays(String rows) throws Exception {
+        String[] lines = mapper.readValue(rows, String[].class);
+        String[][] grid = new String[lines.length][];
+        for (int r = 0; r < lines.length; r++) {
+            grid[r] = lines[r].split("");
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,101 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.dto.SubmissionDetailDto;
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionVerdict;
+import com.hrishabh.algocracksubmissionservice.repository.QuestionStatisticsRepository;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.sketch.LogLinearHistogram;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A history page gets its "beats X%" from one distribution query for all of
+ * its accepted rows, not one query per row.
+ */
+class AcceptedDistributionsTest {
+
+    private final QuestionStatisticsRepository statsRepository = mock(QuestionStatisticsRepository.class);
+    private final SubmissionRepository repository = mock(SubmissionRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AcceptedDistributions distributions = new AcceptedDistributions(statsRepository, registry, 100,
+            60_000);
+    private final SubmissionService submissions = new SubmissionService(repository, null, null,
+            new LiveStatusRegistry(registry), distributions);
+
+    @Test
+    void historyPageLoadsItsDistributionsInOneQuery() {
+        List<Submission> page = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            page.add(submission("s" + i, (long) (i % 3), i % 2 == 0 ? "java" : "python", SubmissionVerdict.ACCEPTED));
+        }
+        page.add(submission("wa", 9L, "java", SubmissionVerdict.WRONG_ANSWER));
+        when(repository.findByUserIdOrderByQueuedAtDesc(eq("alice"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(page));
+        when(statsRepository.findDistributions(anyCollection(), anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[] {0L, "java", histogram(), histogram()},
+                // Matched by the IN lists but not on the page
+                new Object[] {1L, "java", histogram(), histogram()}));
+
+        List<SubmissionDetailDto> history = submissions.getUserSubmissions("alice", null, 0, 20);
+
+        verify(statsRepository, times(1)).findDistributions(anyCollection(), anyCollection());
+        verify(statsRepository, never()).findDistribution(anyLong(), anyString());
+        // s0: question 0 in java, runtime 10 beats the 90 slower of 1..100
+        assertEquals(90.0, history.get(0).getRuntimeBeatsPercent(), 0.5);
+        assertNull(history.get(12).getRuntimeBeatsPercent());
+        assertEquals(6, distributions.size());
+
+        // Fresh entries aren't loaded again
+        submissions.getUserSubmissions("alice", null, 0, 20);
+        verify(statsRepository, times(1)).findDistributions(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void failedPreloadIsNotRetriedRowByRow() {
+        when(repository.findByUserIdOrderByQueuedAtDesc(eq("alice"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(submission("s1", 1L, "java", SubmissionVerdict.ACCEPTED),
+                        submission("s2", 2L, "java", SubmissionVerdict.ACCEPTED))));
+        when(statsRepository.findDistributions(anyCollection(), anyCollection()))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        List<SubmissionDetailDto> history = submissions.getUserSubmissions("alice", null, 0, 20);
+
+        assertNull(history.get(0).getRuntimeBeatsPercent());
+        verify(statsRepository, never()).findDistribution(anyLong(), anyString());
+    }
+
+    private static byte[] histogram() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int runtime = 1; runtime <= 100; runtime++) {
+            histogram.record(runtime);
+        }
+        return histogram.toBytes();
+    }
+
+    private static Submission submission(String submissionId, Long questionId, String language,
+            SubmissionVerdict verdict) {
+        return Submission.builder()
+                .submissionId(submissionId)
+                .userId("alice")
+                .questionId(questionId)
+                .language(language)
+                .status(SubmissionStatus.COMPLETED)
+                .verdict(verdict)
+                .runtimeMs(10)
+                .memoryKb(4000)
+                .queuedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.exception.ServiceOverloadedException;
+import com.hrishabh.algocracksubmissionservice.exception.TooManyRequestsException;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.TrafficClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Admission decisions from queue depth, node capacity, service time and CXE
+ * latency: estimates follow the backlog, over-SLO submits and runs are shed
+ * with a Retry-After, and a user's own backlog is capped.
+ */
+class AdmissionControlServiceTest {
+
+    private final SubmissionWorkQueue workQueue = mock(SubmissionWorkQueue.class);
+    private final SubmissionRepository repository = mock(SubmissionRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SubmissionScheduler scheduler = new SubmissionScheduler(
+            new SubmissionCostModel(2000, 0.2, 100), registry, 256, 4, 4, 1, 1.0, 10_000);
+    private final CxeLatencyTracker cxeLatency = new CxeLatencyTracker(15_000);
+    private AdmissionControlService admission;
+
+    @BeforeEach
+    void setUp() {
+        when(workQueue.getMaxInFlight()).thenReturn(10);
+        when(workQueue.activeNodes()).thenReturn(2);
+        when(workQueue.serviceTimeMillis()).thenReturn(1000.0);
+        // SLOs: contest 300 s, practice 60 s; 3 pending per user; 4 runs, 5 s CXE latency
+        admission = new AdmissionControlService(workQueue, scheduler, repository, cxeLatency, registry,
+                true, 300, 60, 3, 3000, 4, 5000);
+    }
+
+    @Test
+    void estimatedWaitFollowsBacklogOverClusterCapacity() {
+        scheduler.updateDepth(TrafficClass.PRACTICE, 400);
+
+        // 400 ahead × 1 s / (10 slots × 2 nodes)
+        assertEquals(Duration.ofSeconds(20), admission.estimateWait(TrafficClass.PRACTICE));
+        AdmissionControlService.Admission admitted = admission.admitSubmission("alice", null);
+        assertEquals(Duration.ofSeconds(20), admitted.estimatedWait());
+        assertTrue(admitted.estimatedStart().isAfter(LocalDateTime.now().plusSeconds(19)));
+
+        // Contest backlog takes 4/5 of the capacity away from practice
+        scheduler.updateDepth(TrafficClass.CONTEST, 100);
+        assertEquals(Duration.ofSeconds(100), admission.estimateWait(TrafficClass.PRACTICE));
+        assertEquals(Duration.ofMillis(6250), admission.estimateWait(TrafficClass.CONTEST));
+    }
+
+    @Test
+    void submitOverSloIsShedWithRetryAfter() {
+        scheduler.updateDepth(TrafficClass.PRACTICE, 1500);
+
+        // 75 s estimated against a 60 s SLO
+        ServiceOverloadedException shed = assertThrows(ServiceOverloadedException.class,
+                () -> admission.admitSubmission("alice", null));
+        assertEquals(15, shed.getRetryAfterSeconds());
+        // Contest traffic has its own, looser SLO
+        assertNotNull(admission.admitSubmission("alice", 9L));
+        assertEquals(1.0, registry.get("admission.rejected").tag("reason", "overloaded").counter().count());
+    }
+
+    @Test
+    void userWithTooManyPendingSubmissionsGets429() {
+        when(repository.countByUserIdAndStatusIn(eq("spammer"), anyList())).thenReturn(3L);
+
+        TooManyRequestsException limited = assertThrows(TooManyRequestsException.class,
+                () -> admission.admitSubmission("spammer", null));
+        assertEquals(1, limited.getRetryAfterSeconds());
+        assertNotNull(admission.admitSubmission("alice", null));
+    }
+
+    @Test
+    void runsAreShedOnConcurrencyAndCxeLatency() {
+        for (int i = 0; i < 4; i++) {
+            admission.admitRun();
+        }
+        assertThrows(ServiceOverloadedException.class, admission::admitRun);
+        admission.runFinished();
+        admission.admitRun();
+        assertEquals(4.0, registry.get("admission.run.in.flight").gauge().value());
+
+        for (int i = 0; i < 4; i++) {
+            admission.runFinished();
+        }
+        cxeLatency.record(8000);
+        ServiceOverloadedException shed = assertThrows(ServiceOverloadedException.class, admission::admitRun);
+        assertEquals(3, shed.getRetryAfterSeconds());
+        assertEquals(0.0, registry.get("admission.run.in.flight").gauge().value());
+    }
+
+    @Test
+    void sheddingEndsOnceCxeHasBeenQuiet() {
+        long now = System.currentTimeMillis();
+        // 8 s measured 5 s ago (half-life 15 s): still over the 5 s SLO
+        cxeLatency.record(8000, now - 5_000);
+        assertThrows(ServiceOverloadedException.class, admission::admitRun);
+
+        // Nothing measured since (every RUN was shed): a half-life later it's 4 s
+        assertEquals(4000, cxeLatency.latencyMillis(now + 10_000), 1);
+        CxeLatencyTracker quiet = new CxeLatencyTracker(15_000);
+        quiet.record(8000, now - 15_000);
+        AdmissionControlService recovered = new AdmissionControlService(workQueue, scheduler, repository, quiet,
+                new SimpleMeterRegistry(), true, 300, 60, 3, 3000, 4, 5000);
+        recovered.admitRun();
+
+        // A new sample blends into the decayed average, not the stale one
+        quiet.record(2000, now);
+        assertEquals(3600, quiet.latencyMillis(now), 1);
+    }
+
+    @Test
+    void sheddingHoldsWhileACxeCallIsStillOut() {
+        long now = System.currentTimeMillis();
+        cxeLatency.record(8000, now);
+        cxeLatency.started(now);
+
+        // A minute later the call still hasn't returned: no decay
+        assertEquals(8000, cxeLatency.latencyMillis(now + 60_000), 1);
+
+        // It returns after 60 s; then, idle, the average decays again
+        cxeLatency.ended(60_000, now + 60_000);
+        assertEquals(18_400, cxeLatency.latencyMillis(now + 60_000), 1);
+        assertEquals(9200, cxeLatency.latencyMillis(now + 75_000), 1);
+        assertEquals(0, cxeLatency.inFlight());
+    }
+}
@@ -0,0 +1,68 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.client.ProblemServiceClient;
+import com.hrishabh.algocracksubmissionservice.dto.ContestRegistrationDto;
+import com.hrishabh.algocracksubmissionservice.exception.ServiceOverloadedException;
+import com.hrishabh.algocracksubmissionservice.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A client-supplied contestId is honored only for a user registered for
+ * that contest while it runs.
+ */
+class ContestRegistrationsTest {
+
+    private final ProblemServiceClient problemService = mock(ProblemServiceClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContestRegistrations registrations = new ContestRegistrations(problemService, registry, 60_000, 100);
+
+    @Test
+    void practiceSubmissionsAreNotLookedUp() {
+        registrations.requireActiveRegistration(null, "u1");
+
+        verifyNoInteractions(problemService);
+    }
+
+    @Test
+    void registeredParticipantOfARunningContestIsVerifiedOnce() {
+        when(problemService.getContestRegistration(9L, "u1")).thenReturn(registration(true, true));
+
+        registrations.requireActiveRegistration(9L, "u1");
+        registrations.requireActiveRegistration(9L, "u1");
+
+        verify(problemService, times(1)).getContestRegistration(9L, "u1");
+    }
+
+    @Test
+    void unregisteredUserOrEndedContestIsRejected() {
+        when(problemService.getContestRegistration(9L, "stranger")).thenReturn(null);
+        when(problemService.getContestRegistration(9L, "late")).thenReturn(registration(true, false));
+        when(problemService.getContestRegistration(9L, "viewer")).thenReturn(registration(false, true));
+
+        assertThrows(ValidationException.class, () -> registrations.requireActiveRegistration(9L, "stranger"));
+        assertThrows(ValidationException.class, () -> registrations.requireActiveRegistration(9L, "late"));
+        assertThrows(ValidationException.class, () -> registrations.requireActiveRegistration(9L, "viewer"));
+        // Rejections aren't cached
+        assertThrows(ValidationException.class, () -> registrations.requireActiveRegistration(9L, "stranger"));
+        verify(problemService, times(2)).getContestRegistration(9L, "stranger");
+        assertEquals(4.0, registry.get("submission.contest.rejected").counter().count());
+    }
+
+    @Test
+    void unverifiableRegistrationIsRefusedWithRetry() {
+        when(problemService.getContestRegistration(9L, "u1")).thenThrow(new ResourceAccessException("timeout"));
+
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class,
+                () -> registrations.requireActiveRegistration(9L, "u1"));
+        assertTrue(e.getRetryAfterSeconds() > 0);
+    }
+
+    private static ContestRegistrationDto registration(boolean registered, boolean active) {
+        return ContestRegistrationDto.builder().contestId(9L).userId("u1").registered(registered).active(active).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.adapter.CxeExecutionAdapter;
+import com.hrishabh.algocracksubmissionservice.judging.ExecutionOutput;
+import com.hrishabh.algocracksubmissionservice.judging.PipelineAssembler;
+import com.hrishabh.algocracksubmissionservice.judging.WarmupScenarios;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup warm-up: every route's synthetic outputs pass through the real
+ * assembler without reaching the judging meters, and readiness is held until
+ * the rounds finish.
+ */
+class JitWarmupServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingTestFixture fixture = new ProcessingTestFixture(objectMapper, registry,
+            Map.of("judging.metrics.enabled", true));
+    private final PipelineAssembler assembler = fixture.assembler();
+
+    @AfterEach
+    void close() {
+        fixture.close();
+    }
+
+    @Test
+    void everyScenarioPassesThroughItsRoute() {
+        for (WarmupScenarios.Scenario scenario : WarmupScenarios.all(64)) {
+            assertTrue(assembler.assemble(scenario.context()).judge(
+                    ExecutionOutput.builder().rawOutput(scenario.userOutput()).build(),
+                    ExecutionOutput.builder().rawOutput(scenario.oracleOutput()).build(),
+                    scenario.context()).isPassed(), scenario.route());
+        }
+    }
+
+    @Test
+    void readinessIsHeldUntilWarmupCompletes() {
+        JitWarmupService warmup = warmup(true, 5);
+        WarmupHealthIndicator health = new WarmupHealthIndicator(warmup);
+        assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+
+        warmup.run();
+
+        assertEquals(JitWarmupService.State.COMPLETE, warmup.getState());
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(5, health.health().getDetails().get("rounds"));
+        assertTrue(registry.get("warmup.time.to.steady.state").timeGauge().value() > 0);
+    }
+
+    @Test
+    void warmupStaysOutOfTheJudgingMeters() {
+        warmup(true, 2).run();
+
+        assertTrue(registry.find("judging.phase.time").timers().isEmpty());
+        assertTrue(registry.find("judging.testcases").counters().isEmpty());
+
+        // Metrics are on: a real judgement is counted
+        WarmupScenarios.Scenario scenario = WarmupScenarios.all(16).get(0);
+        assembler.assemble(scenario.context()).judge(
+                ExecutionOutput.builder().rawOutput(scenario.userOutput()).build(),
+                ExecutionOutput.builder().rawOutput(scenario.oracleOutput()).build(), scenario.context());
+        assertFalse(registry.find("judging.testcases").counters().isEmpty());
+    }
+
+    @Test
+    void disabledWarmupDoesNotGateReadiness() {
+        JitWarmupService warmup = warmup(false, 5);
+        warmup.onApplicationReady();
+
+        assertEquals(JitWarmupService.State.DISABLED, warmup.getState());
+        assertEquals(Status.UP, new WarmupHealthIndicator(warmup).health().getStatus());
+    }
+
+    private JitWarmupService warmup(boolean enabled, int maxRounds) {
+        // Tolerance 0 never declares steady state, so exactly maxRounds run
+        return new JitWarmupService(assembler, new CxeExecutionAdapter(null, null, objectMapper, new CxeLatencyTracker(15_000)),
+                fixture.service().build(), objectMapper, registry, enabled, 32, 2, maxRounds, 60_000, 0.0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.dto.SubmissionDetailDto;
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Status reads for in-flight submissions come from memory; once an entry is
+ * released (final state committed, or the node is gone) reads fall back to
+ * the persisted row.
+ */
+class LiveStatusRegistryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LiveStatusRegistry live = new LiveStatusRegistry(registry);
+    private final SubmissionRepository repository = mock(SubmissionRepository.class);
+    private final SubmissionService submissions = new SubmissionService(repository, null, null, live, null);
+
+    @Test
+    void inFlightStatusIsServedFromMemory() {
+        Submission running = submission("s1", SubmissionStatus.RUNNING);
+        live.update(running);
+
+        assertEquals("RUNNING", submissions.findBySubmissionId("s1").orElseThrow().getStatus());
+        verify(repository, never()).findBySubmissionId(anyString());
+        assertEquals(1.0, registry.get("submission.live.reads").counter().count());
+        assertEquals(1.0, registry.get("submission.live.tracked").gauge().value());
+    }
+
+    @Test
+    void releasedOrLostStateFallsBackToThePersistedRow() {
+        // The claim is the last durable transition before the verdict
+        Submission claimed = submission("s1", SubmissionStatus.COMPILING);
+        when(repository.findBySubmissionId("s1")).thenReturn(Optional.of(claimed));
+        live.update(submission("s1", SubmissionStatus.RUNNING));
+
+        live.release("s1");
+
+        assertEquals("COMPILING", submissions.findBySubmissionId("s1").orElseThrow().getStatus());
+        assertEquals(0, live.size());
+    }
+
+    @Test
+    void userHistoryOverlaysLiveStatus() {
+        when(repository.findByUserIdOrderByQueuedAtDesc(eq("alice"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(submission("s2", SubmissionStatus.COMPILING),
+                        submission("s1", SubmissionStatus.COMPLETED))));
+        live.update(submission("s2", SubmissionStatus.RUNNING));
+
+        List<SubmissionDetailDto> history = submissions.getUserSubmissions("alice", null, 0, 20);
+
+        assertEquals(List.of("RUNNING", "COMPLETED"),
+                history.stream().map(SubmissionDetailDto::getStatus).toList());
+    }
+
+    private static Submission submission(String submissionId, SubmissionStatus status) {
+        return Submission.builder()
+                .submissionId(submissionId)
+                .userId("alice")
+                .questionId(1L)
+                .language("java")
+                .status(status)
+                .queuedAt(LocalDateTime.now())
+                .build();
+    }
+}
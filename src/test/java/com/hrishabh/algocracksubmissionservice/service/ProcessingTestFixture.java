@@ -0,0 +1,256 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrishabh.algocracksubmissionservice.adapter.ExecutionAdapter;
+import com.hrishabh.algocracksubmissionservice.client.ProblemServiceClient;
+import com.hrishabh.algocracksubmissionservice.dto.QuestionMetadataApiDto;
+import com.hrishabh.algocracksubmissionservice.dto.TestCaseDto;
+import com.hrishabh.algocracksubmissionservice.dto.internal.BatchExecutionResult;
+import com.hrishabh.algocracksubmissionservice.dto.internal.CodeBundle;
+import com.hrishabh.algocracksubmissionservice.dto.internal.TestCaseOutput;
+import com.hrishabh.algocracksubmissionservice.judging.JudgeBudgetPolicy;
+import com.hrishabh.algocracksubmissionservice.judging.ParallelJudgingExecutor;
+import com.hrishabh.algocracksubmissionservice.judging.PipelineAssembler;
+import com.hrishabh.algocracksubmissionservice.judging.comparator.CanonicalDigester;
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared test setup for the judging stack: a bare Spring context over the
+ * judging package (ObjectMapper and MeterRegistry registered, nothing else)
+ * and a builder for SubmissionProcessingService wired to it, with mocks for
+ * every collaborator a test doesn't set.
+ *
+ * Also the remote side most processing tests stub: a twoSum question whose
+ * reference answer is [0,1] on every testcase, and the ProblemService, CXE
+ * and oracle mocks serving it.
+ *
+ * Close it after use (@AfterEach / @AfterAll): the context owns the
+ * parallel judging pool.
+ */
+public final class ProcessingTestFixture implements AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final AnnotationConfigApplicationContext spring;
+
+    public ProcessingTestFixture() {
+        this(new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    public ProcessingTestFixture(ObjectMapper objectMapper, MeterRegistry registry) {
+        this(objectMapper, registry, Map.of());
+    }
+
+    /**
+     * With properties for the judging beans' @Value settings.
+     */
+    public ProcessingTestFixture(ObjectMapper objectMapper, MeterRegistry registry, Map<String, Object> properties) {
+        this.objectMapper = objectMapper;
+        this.spring = new AnnotationConfigApplicationContext();
+        spring.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+        spring.registerBean(ObjectMapper.class, () -> objectMapper);
+        spring.registerBean(MeterRegistry.class, () -> registry);
+        spring.scan("com.hrishabh.algocracksubmissionservice.judging");
+        spring.refresh();
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public PipelineAssembler assembler() {
+        return spring.getBean(PipelineAssembler.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return spring.getBean(type);
+    }
+
+    /**
+     * A SubmissionProcessingService on this context's judging beans.
+     */
+    public ServiceBuilder service() {
+        return new ServiceBuilder();
+    }
+
+    @Override
+    public void close() {
+        spring.close();
+    }
+
+    // ── Remote stubs ───────────────────────────────────────────────────────
+
+    public static QuestionMetadataApiDto twoSum(Long questionId) {
+        return QuestionMetadataApiDto.builder()
+                .questionId(questionId)
+                .functionName("twoSum")
+                .returnType("int[]")
+                .paramTypes(List.of("int[]", "int"))
+                .paramNames(List.of("nums", "target"))
+                .isOutputOrderMatters(true)
+                .build();
+    }
+
+    public static List<TestCaseDto> twoSumTestCases(int count) {
+        List<TestCaseDto> testCases = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            testCases.add(TestCaseDto.builder().id(i).input("{\"nums\":[2,7],\"target\":9}").build());
+        }
+        return testCases;
+    }
+
+    /**
+     * ProblemService serving twoSum with the given number of testcases;
+     * onCall runs on every call (to count it, or model its latency).
+     */
+    public static ProblemServiceClient problemService(int testCases, Runnable onCall) {
+        ProblemServiceClient problemService = mock(ProblemServiceClient.class);
+        when(problemService.getMetadata(anyLong(), anyString())).thenAnswer(inv -> {
+            onCall.run();
+            return twoSum(inv.getArgument(0));
+        });
+        when(problemService.getTestCases(anyLong(), anyString())).thenAnswer(inv -> {
+            onCall.run();
+            return twoSumTestCases(testCases);
+        });
+        return problemService;
+    }
+
+    /**
+     * A CXE that runs each bundle with the given function, one by one or as
+     * a group.
+     */
+    public static ExecutionAdapter cxe(Function<CodeBundle, BatchExecutionResult> run) {
+        ExecutionAdapter cxe = mock(ExecutionAdapter.class);
+        when(cxe.execute(any())).thenAnswer(inv -> run.apply(inv.getArgument(0)));
+        when(cxe.executeAll(anyList())).thenAnswer(inv -> inv.<List<CodeBundle>>getArgument(0).stream()
+                .map(run)
+                .toList());
+        return cxe;
+    }
+
+    public static OracleExecutionService oracle(Supplier<BatchExecutionResult> run) {
+        OracleExecutionService oracle = mock(OracleExecutionService.class);
+        when(oracle.executeOracle(anyLong(), anyList())).thenAnswer(inv -> run.get());
+        return oracle;
+    }
+
+    /**
+     * A successful run printing output on every testcase.
+     */
+    public static BatchExecutionResult result(int testCases, String output) {
+        List<TestCaseOutput> outputs = new ArrayList<>(testCases);
+        for (int i = 0; i < testCases; i++) {
+            outputs.add(TestCaseOutput.builder().index(i).output(output).executionTimeMs(2L).build());
+        }
+        return BatchExecutionResult.builder()
+                .status(BatchExecutionResult.ExecutionStatus.SUCCESS)
+                .outputs(outputs)
+                .totalRuntimeMs(2L * testCases)
+                .peakMemoryKb(40_000L)
+                .workerId("worker-1")
+                .build();
+    }
+
+    /**
+     * A claimed Java submission to the question, as processing finds it.
+     */
+    public static Submission submission(String submissionId, long questionId) {
+        LocalDateTime now = LocalDateTime.now();
+        return Submission.builder()
+                .submissionId(submissionId)
+                .userId("user-" + submissionId)
+                .questionId(questionId)
+                .language("java")
+                .code("class Solution {}")
+                .status(SubmissionStatus.COMPILING)
+                .queuedAt(now)
+                .startedAt(now)
+                .build();
+    }
+
+    public final class ServiceBuilder {
+
+        private ExecutionAdapter executionAdapter = mock(ExecutionAdapter.class);
+        private SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        private QuestionStatisticsAggregator statisticsAggregator = mock(QuestionStatisticsAggregator.class);
+        private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        private ProblemServiceClient problemServiceClient = mock(ProblemServiceClient.class);
+        private WebSocketService webSocketService = mock(WebSocketService.class);
+        private LiveStatusRegistry liveStatusRegistry = new LiveStatusRegistry(new SimpleMeterRegistry());
+        private OracleExecutionService oracleExecutionService = mock(OracleExecutionService.class);
+        private SubmissionCostModel submissionCostModel = new SubmissionCostModel(2000, 0.2, 100);
+
+        private ServiceBuilder() {
+        }
+
+        public ServiceBuilder executionAdapter(ExecutionAdapter executionAdapter) {
+            this.executionAdapter = executionAdapter;
+            return this;
+        }
+
+        public ServiceBuilder submissionRepository(SubmissionRepository submissionRepository) {
+            this.submissionRepository = submissionRepository;
+            return this;
+        }
+
+        public ServiceBuilder statisticsAggregator(QuestionStatisticsAggregator statisticsAggregator) {
+            this.statisticsAggregator = statisticsAggregator;
+            return this;
+        }
+
+        public ServiceBuilder transactionTemplate(TransactionTemplate transactionTemplate) {
+            this.transactionTemplate = transactionTemplate;
+            return this;
+        }
+
+        public ServiceBuilder problemServiceClient(ProblemServiceClient problemServiceClient) {
+            this.problemServiceClient = problemServiceClient;
+            return this;
+        }
+
+        public ServiceBuilder webSocketService(WebSocketService webSocketService) {
+            this.webSocketService = webSocketService;
+            return this;
+        }
+
+        public ServiceBuilder liveStatusRegistry(LiveStatusRegistry liveStatusRegistry) {
+            this.liveStatusRegistry = liveStatusRegistry;
+            return this;
+        }
+
+        public ServiceBuilder oracleExecutionService(OracleExecutionService oracleExecutionService) {
+            this.oracleExecutionService = oracleExecutionService;
+            return this;
+        }
+
+        public SubmissionProcessingService build() {
+            return new SubmissionProcessingService(executionAdapter, spring.getBean(PipelineAssembler.class),
+                    spring.getBean(ParallelJudgingExecutor.class), spring.getBean(JudgeBudgetPolicy.class),
+                    spring.getBean(CanonicalDigester.class), submissionRepository, statisticsAggregator,
+                    transactionTemplate, problemServiceClient, webSocketService, liveStatusRegistry,
+                    oracleExecutionService, submissionCostModel, objectMapper);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.adapter.CxeExecutionAdapter;
+import com.hrishabh.algocracksubmissionservice.dto.ExecutionRequest;
+import com.hrishabh.algocracksubmissionservice.dto.ExecutionResponse;
+import com.hrishabh.algocracksubmissionservice.dto.SubmissionStatusDto;
+import com.hrishabh.algocracksubmissionservice.dto.internal.BatchExecutionResult;
+import com.hrishabh.algocracksubmissionservice.dto.internal.CodeBundle;
+import com.hrishabh.algocracksubmissionservice.dto.internal.TestCaseInput;
+import com.hrishabh.algocracksubmissionservice.models.Language;
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.QuestionAffinityBatcher.Group;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.Candidate;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.TrafficClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Question-affinity batching at a contest peak: 80% of submissions hit 5
+ * questions. The same arrivals are processed one by one ("before") and in
+ * the groups QuestionAffinityBatcher forms from claims of 8 every 10 ms
+ * with the default 25 ms window ("after"), counting ProblemService calls
+ * and oracle runs: one set per submission before, one per group after.
+ * Every submission must still get exactly its own verdict and result
+ * message. Also checks that the CXE adapter submits a group's bundles
+ * before polling any of them, and reports an interrupted poll as such.
+ */
+class QuestionAffinityBatchingTest {
+
+    private static final int SUBMISSIONS = 400;
+    private static final int HOT_QUESTIONS = 5;
+    private static final int COLD_QUESTIONS = 40;
+    private static final int CLAIM_SIZE = 8;
+    private static final long CLAIM_EVERY_MILLIS = 10;
+    private static final long WINDOW_MILLIS = 25;
+    private static final int MAX_GROUP_SIZE = 8;
+    private static final int TESTCASES = 20;
+
+    private final ProcessingTestFixture fixture = new ProcessingTestFixture();
+    private final AtomicInteger problemServiceCalls = new AtomicInteger();
+    private final AtomicInteger oracleRuns = new AtomicInteger();
+    private final Map<String, String> verdicts = new ConcurrentHashMap<>();
+    private final Map<String, Submission> rows = new ConcurrentHashMap<>();
+    private WebSocketService webSocket;
+
+    @AfterEach
+    void close() {
+        fixture.close();
+    }
+
+    @Test
+    void contestPeakGroupsCutPerSubmissionOverhead() {
+        List<Candidate> arrivals = contestPeak();
+
+        // Before: every submission resolves its question and runs the oracle alone
+        SubmissionProcessingService before = service();
+        for (Candidate candidate : arrivals) {
+            before.processSubmission(candidate.submissionId(), "node-a");
+        }
+        assertVerdictsFannedOut(arrivals);
+        assertEquals(2 * SUBMISSIONS, problemServiceCalls.get(), "metadata and testcases per submission");
+        assertEquals(SUBMISSIONS, oracleRuns.get(), "oracle runs");
+
+        // After: a claim of 8 every 10 ms (logical clock), grouped within the 25 ms window
+        resetCounters();
+        SubmissionProcessingService after = service();
+        QuestionAffinityBatcher batcher = new QuestionAffinityBatcher(new SimpleMeterRegistry(), true,
+                WINDOW_MILLIS, MAX_GROUP_SIZE);
+        List<Group> groups = new ArrayList<>();
+        long now = 0;
+        for (int from = 0; from < arrivals.size(); from += CLAIM_SIZE, now += CLAIM_EVERY_MILLIS) {
+            for (Candidate candidate : arrivals.subList(from, Math.min(arrivals.size(), from + CLAIM_SIZE))) {
+                batcher.add(candidate, now);
+            }
+            groups.addAll(batcher.drainDue(now));
+        }
+        groups.addAll(batcher.drainAll());
+        for (Group group : groups) {
+            if (group.members().size() == 1) {
+                after.processSubmission(group.submissionIds().get(0), "node-a");
+            } else {
+                after.processGroup(group.submissionIds(), "node-a");
+            }
+        }
+        assertVerdictsFannedOut(arrivals);
+
+        // Once per group: metadata, testcases and the oracle
+        assertEquals(2 * groups.size(), problemServiceCalls.get(), "ProblemService calls");
+        assertEquals(groups.size(), oracleRuns.get(), "oracle runs");
+        assertTrue(groups.size() < SUBMISSIONS * 0.6, groups.size() + " groups for " + SUBMISSIONS + " submissions");
+    }
+
+    @Test
+    void cxeAdapterSubmitsTheWholeGroupBeforePolling() {
+        CodeExecutionClientService cxe = mock(CodeExecutionClientService.class);
+        when(cxe.submitCode(any())).thenAnswer(inv -> {
+            String id = inv.<ExecutionRequest>getArgument(0).getSubmissionId();
+            if (id.equals("s1")) {
+                throw new IllegalStateException("CXE unavailable");
+            }
+            return ExecutionResponse.builder().submissionId("cxe-" + id).build();
+        });
+        when(cxe.getStatus(anyString())).thenAnswer(inv -> SubmissionStatusDto.builder()
+                .submissionId(inv.getArgument(0)).status("COMPLETED").build());
+        when(cxe.getResults(anyString())).thenAnswer(inv -> SubmissionStatusDto.builder()
+                .submissionId(inv.getArgument(0))
+                .status("COMPLETED")
+                .runtimeMs(12)
+                .workerId(inv.getArgument(0))
+                .testCaseResults(List.of(SubmissionStatusDto.TestCaseResult.builder()
+                        .index(0).passed(true).actualOutput("[0,1]").build()))
+                .build());
+        CxeLatencyTracker latency = new CxeLatencyTracker(15_000);
+        CxeExecutionAdapter adapter = new CxeExecutionAdapter(cxe, null, fixture.objectMapper(), latency);
+
+        List<BatchExecutionResult> results = adapter.executeAll(List.of(bundle("s0"), bundle("s1"), bundle("s2")));
+
+        InOrder order = inOrder(cxe);
+        order.verify(cxe, times(3)).submitCode(any());
+        order.verify(cxe, times(2)).getStatus(anyString());
+        assertEquals("cxe-s0", results.get(0).getWorkerId());
+        assertEquals(BatchExecutionResult.ExecutionStatus.INTERNAL_ERROR, results.get(1).getStatus());
+        assertEquals("cxe-s2", results.get(2).getWorkerId());
+        assertEquals(0, latency.inFlight());
+    }
+
+    @Test
+    void cxeAdapterReportsAnInterruptedPollAsAnInterruption() {
+        CodeExecutionClientService cxe = mock(CodeExecutionClientService.class);
+        when(cxe.submitCode(any())).thenAnswer(inv -> ExecutionResponse.builder()
+                .submissionId("cxe-" + inv.<ExecutionRequest>getArgument(0).getSubmissionId()).build());
+        when(cxe.getStatus(anyString())).thenAnswer(inv -> SubmissionStatusDto.builder()
+                .submissionId(inv.getArgument(0)).status("RUNNING").build());
+        CxeLatencyTracker latency = new CxeLatencyTracker(15_000);
+        CxeExecutionAdapter adapter = new CxeExecutionAdapter(cxe, null, fixture.objectMapper(), latency);
+
+        Thread.currentThread().interrupt();
+        List<BatchExecutionResult> results = adapter.executeAll(List.of(bundle("s0"), bundle("s1")));
+
+        assertTrue(Thread.interrupted(), "interrupt flag restored");
+        for (BatchExecutionResult result : results) {
+            assertEquals(BatchExecutionResult.ExecutionStatus.INTERNAL_ERROR, result.getStatus());
+            assertEquals("Polling interrupted", result.getErrorMessage());
+        }
+        assertEquals(0, latency.inFlight());
+    }
+
+    /**
+     * Arrival order at a contest peak: 80% on the hot questions, the rest
+     * spread over cold ones; one in five submissions is wrong.
+     */
+    private List<Candidate> contestPeak() {
+        Random random = new Random(7);
+        List<Candidate> arrivals = new ArrayList<>(SUBMISSIONS);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            long questionId = random.nextDouble() < 0.8
+                    ? 1 + random.nextInt(HOT_QUESTIONS)
+                    : 100 + random.nextInt(COLD_QUESTIONS);
+            String submissionId = "s" + i;
+            boolean wrong = random.nextInt(5) == 0;
+            LocalDateTime now = LocalDateTime.now();
+            rows.put(submissionId, Submission.builder()
+                    .id((long) i)
+                    .submissionId(submissionId)
+                    .userId("user" + i)
+                    .questionId(questionId)
+                    .language("java")
+                    .code(wrong ? "// wrong" : "// right")
+                    .status(SubmissionStatus.COMPILING)
+                    .queuedAt(now)
+                    .startedAt(now)
+                    .build());
+            arrivals.add(new Candidate(i, submissionId, "user" + i, questionId, "java", TrafficClass.CONTEST, now));
+        }
+        return arrivals;
+    }
+
+    private void assertVerdictsFannedOut(List<Candidate> arrivals) {
+        assertEquals(arrivals.size(), verdicts.size());
+        for (Candidate candidate : arrivals) {
+            boolean wrong = rows.get(candidate.submissionId()).getCode().contains("wrong");
+            assertEquals(wrong ? "WRONG_ANSWER" : "ACCEPTED", verdicts.get(candidate.submissionId()),
+                    candidate.submissionId());
+        }
+        verify(webSocket, times(arrivals.size())).sendResult(any());
+    }
+
+    private void resetCounters() {
+        problemServiceCalls.set(0);
+        oracleRuns.set(0);
+        verdicts.clear();
+        for (Submission row : rows.values()) {
+            row.setStatus(SubmissionStatus.COMPILING);
+            row.setVerdict(null);
+        }
+    }
+
+    private SubmissionProcessingService service() {
+        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        when(submissionRepository.findBySubmissionId(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(rows.get(inv.<String>getArgument(0))));
+        when(submissionRepository.completeInFlight(anyString(), anyString(), anyString(), any(), any(), any(), any(),
+                any(), any(), any())).thenAnswer(inv -> verdicts.putIfAbsent(inv.getArgument(0), inv.getArgument(2)) == null ? 1 : 0);
+        webSocket = mock(WebSocketService.class);
+
+        return fixture.service()
+                // User code: the wrong submissions answer [5,6]
+                .executionAdapter(ProcessingTestFixture.cxe(bundle -> ProcessingTestFixture.result(TESTCASES,
+                        bundle.getCode().contains("wrong") ? "[5,6]" : "[0,1]")))
+                .submissionRepository(submissionRepository)
+                .problemServiceClient(ProcessingTestFixture.problemService(TESTCASES,
+                        problemServiceCalls::incrementAndGet))
+                .webSocketService(webSocket)
+                .oracleExecutionService(ProcessingTestFixture.oracle(() -> {
+                    oracleRuns.incrementAndGet();
+                    return ProcessingTestFixture.result(TESTCASES, "[0,1]");
+                }))
+                .build();
+    }
+
+    private static CodeBundle bundle(String executionId) {
+        return CodeBundle.builder()
+                .executionId(executionId)
+                .code("class Solution { public int[] twoSum(int[] nums, int target) { return null; } }")
+                .language(Language.JAVA)
+                .questionId(1L)
+                .userId("42")
+                .testcases(List.of(TestCaseInput.builder().index(0).input("{\"nums\":[2,7],\"target\":9}").build()))
+                .metadata(CodeBundle.QuestionMetadataBundle.builder()
+                        .fullyQualifiedPackageName("com.algocrack.solution.q1")
+                        .functionName("twoSum")
+                        .returnType("int[]")
+                        .parameters(List.of(CodeBundle.Parameter.builder().name("nums").type("int[]").build(),
+                                CodeBundle.Parameter.builder().name("target").type("int").build()))
+                        .customDataStructureNames(List.of())
+                        .build())
+                .build();
+    }
+}
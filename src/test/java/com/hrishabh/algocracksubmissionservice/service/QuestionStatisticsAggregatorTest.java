@@ -0,0 +1,403 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionVerdict;
+import com.hrishabh.algocracksubmissionservice.repository.QuestionStatisticsRepository;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import com.hrishabh.algocracksubmissionservice.service.sketch.HyperLogLog;
+import com.hrishabh.algocracksubmissionservice.service.sketch.LogLinearHistogram;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batched statistics: deltas become one upsert per question (averages,
+ * distinct users, attempts to solve and per-language distributions
+ * included), submissions
+ * counted by reconciliation are never counted again by a flush, rows a dead
+ * node never flushed are reconciled from the submission table, history is
+ * backfilled into the sums alongside live flushes, and a hot question's
+ * verdicts from many threads are all counted, with one write of its row per
+ * flush. Locks are taken in one global order, so
+ * concurrent flushes on different nodes can't deadlock.
+ */
+class QuestionStatisticsAggregatorTest {
+
+    private static final int THREADS = 16;
+
+    private final SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+    private final QuestionStatisticsRepository statsRepository = mock(QuestionStatisticsRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AcceptedDistributions distributions = new AcceptedDistributions(statsRepository, registry, 100,
+            60_000);
+    private final QuestionStatisticsAggregator aggregator = new QuestionStatisticsAggregator(submissionRepository,
+            statsRepository, new FirstAcceptTracker(submissionRepository, 1000), distributions,
+            mock(PlatformTransactionManager.class), registry, true, 1000, 60_000, 30, 500);
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @Test
+    void deltasAreFlushedAsOneUpsertPerQuestion() {
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        aggregator.record(submission(1L, SubmissionVerdict.ACCEPTED, 50, 4000));
+        aggregator.record(submission(1L, SubmissionVerdict.ACCEPTED, 30, 5000));
+        aggregator.record(submission(1L, SubmissionVerdict.WRONG_ANSWER, 10, 1000));
+        aggregator.record(submission(2L, SubmissionVerdict.WRONG_ANSWER, 10, 1000));
+
+        aggregator.flush();
+
+        verify(statsRepository).upsertDelta(eq(1L), eq(3L), eq(2L), eq(30), eq(4000), any(), eq(80L), eq(2L),
+                eq(9000L), eq(2L), anyLong(), anyLong(), any());
+        verify(statsRepository).upsertDelta(eq(2L), eq(1L), eq(0L), isNull(), isNull(), any(), eq(0L), eq(0L),
+                eq(0L), eq(0L), eq(0L), eq(0L), any());
+        verify(submissionRepository).markStatsApplied(argThat(ids -> ids.size() == 4));
+        assertEquals(4.0, registry.get("question.statistics.flushed").counter().count());
+        assertEquals(0.0, registry.get("question.statistics.pending").gauge().value());
+    }
+
+    @Test
+    void deltaWhoseSubmissionsWereReconciledIsDropped() {
+        Submission counted = submission(1L, SubmissionVerdict.ACCEPTED, 50, 4000);
+        Submission pending = submission(1L, SubmissionVerdict.ACCEPTED, 40, 4000);
+        Submission other = submission(2L, SubmissionVerdict.ACCEPTED, 40, 4000);
+        aggregator.record(counted);
+        aggregator.record(pending);
+        aggregator.record(other);
+        // Reconciliation already counted the first submission
+        when(submissionRepository.lockStatsPending(anyList())).thenReturn(List.of(pending.getId(), other.getId()));
+
+        aggregator.flush();
+
+        verify(statsRepository, never()).upsertDelta(eq(1L), anyLong(), anyLong(), any(), any(), any(), anyLong(),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+        verify(statsRepository).upsertDelta(eq(2L), eq(1L), eq(1L), eq(40), eq(4000), any(), eq(40L), eq(1L),
+                eq(4000L), eq(1L), anyLong(), anyLong(), any());
+        verify(submissionRepository).markStatsApplied(List.of(other.getId()));
+    }
+
+    @Test
+    void reconciliationCountsSubmissionsNoFlushCounted() {
+        Timestamp completed = Timestamp.valueOf(LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.MICROS));
+        when(submissionRepository.lockStatsUnapplied(any(), eq(500))).thenReturn(List.of(
+                new Object[] {10L, 1L, "ACCEPTED", 20, 3000, completed, "alice", "java"},
+                new Object[] {11L, 1L, "TIME_LIMIT_EXCEEDED", null, null, completed, "bob", "java"},
+                new Object[] {12L, 7L, "ACCEPTED", 90, 9000, completed, "alice", "python"}));
+
+        aggregator.reconcile();
+
+        verify(statsRepository).upsertDelta(eq(1L), eq(2L), eq(1L), eq(20), eq(3000), eq(completed.toLocalDateTime()),
+                eq(20L), eq(1L), eq(3000L), eq(1L), anyLong(), anyLong(), any());
+        verify(statsRepository).upsertDelta(eq(7L), eq(1L), eq(1L), eq(90), eq(9000), any(), eq(90L), eq(1L),
+                eq(9000L), eq(1L), anyLong(), anyLong(), any());
+        verify(statsRepository).updateSketches(eq(1L), any(), any(), eq(2L), eq(1L));
+        verify(statsRepository).upsertDistribution(eq(7L), eq("python"), eq(1L), any(), any(), any());
+        verify(submissionRepository).markStatsApplied(List.of(10L, 11L, 12L));
+        assertEquals(3.0, registry.get("question.statistics.reconciled").counter().count());
+    }
+
+    @Test
+    void backfillAddsHistoryToTheSumsWithoutCountingItAgain() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+        Timestamp completed = Timestamp.valueOf(LocalDateTime.now().minusDays(2));
+        when(statsRepository.lockBackfill()).thenReturn(List.<Object[]>of(new Object[] {cutoff, 900L, 100L, null}));
+        when(submissionRepository.findStatsHistory(100L, 900L, cutoff.toLocalDateTime(), 500)).thenReturn(List.of(
+                new Object[] {101L, 1L, "ACCEPTED", 20, 3000, completed, "alice", "java"},
+                new Object[] {140L, 1L, "WRONG_ANSWER", null, null, completed, "bob", "java"},
+                new Object[] {170L, 7L, "ACCEPTED", 90, 9000, completed, "carol", "python"}));
+        when(submissionRepository.findFirstAccepts(List.of(101L))).thenReturn(List.<Object[]>of(
+                new Object[] {101L, 2L}));
+        when(submissionRepository.findFirstAccepts(List.of(170L))).thenReturn(List.<Object[]>of(
+                new Object[] {170L, 1L}));
+
+        assertTrue(aggregator.backfill());
+
+        verify(statsRepository).addHistory(1L, 20L, 1L, 3000L, 1L, 2L, 1L);
+        verify(statsRepository).addHistory(7L, 90L, 1L, 9000L, 1L, 1L, 1L);
+        verify(statsRepository).updateSketches(eq(1L), any(), any(), eq(2L), eq(1L));
+        verify(statsRepository).upsertDistribution(eq(7L), eq("python"), eq(1L), any(), any(), any());
+        verify(statsRepository).advanceBackfill(170L);
+        // Already in the rows' counts, and marked stats_applied by V5
+        verify(statsRepository, never()).upsertDelta(anyLong(), anyLong(), anyLong(), any(), any(), any(),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+        verify(submissionRepository, never()).markStatsApplied(anyList());
+        assertEquals(3.0, registry.get("question.statistics.backfilled").counter().count());
+    }
+
+    @Test
+    void backfillPublishesHeldColumnsOnceHistoryIsCountedThenCompletes() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+        when(statsRepository.lockBackfill()).thenReturn(List.<Object[]>of(new Object[] {cutoff, 900L, 900L, null}));
+        HyperLogLog attempts = new HyperLogLog();
+        attempts.add("alice");
+        attempts.add("bob");
+        HyperLogLog solves = new HyperLogLog();
+        solves.add("alice");
+        when(statsRepository.lockSketches(1L)).thenReturn(List.<Object[]>of(
+                new Object[] {attempts.toBytes(), solves.toBytes()}));
+        when(statsRepository.findHistoryPending(500)).thenReturn(List.of(1L), List.of());
+
+        assertTrue(aggregator.backfill());
+        verify(statsRepository).publishHistory(1L, 2L, 1L);
+        verify(statsRepository, never()).completeBackfill(any());
+
+        assertFalse(aggregator.backfill());
+        verify(statsRepository).completeBackfill(any());
+
+        when(statsRepository.lockBackfill()).thenReturn(List.<Object[]>of(
+                new Object[] {cutoff, 900L, 900L, Timestamp.valueOf(LocalDateTime.now())}));
+        assertFalse(aggregator.backfill());
+        verify(submissionRepository, times(2)).findStatsHistory(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void flushesRunWhileTheBackfillIsBusy() throws Exception {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+        when(statsRepository.lockBackfill()).thenReturn(List.<Object[]>of(new Object[] {cutoff, 900L, 0L, null}));
+        CountDownLatch inBackfill = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(submissionRepository.findStatsHistory(anyLong(), anyLong(), any(), anyInt())).thenAnswer(inv -> {
+            inBackfill.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        ExecutorService backfiller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> step = backfiller.submit(aggregator::backfill);
+            assertTrue(inBackfill.await(10, TimeUnit.SECONDS));
+
+            aggregator.record(submission(1L, SubmissionVerdict.ACCEPTED, 50, 4000));
+            aggregator.flush();
+
+            verify(statsRepository).upsertDelta(eq(1L), eq(1L), eq(1L), eq(50), eq(4000), any(), eq(50L), eq(1L),
+                    eq(4000L), eq(1L), anyLong(), anyLong(), any());
+            assertFalse(step.isDone());
+            release.countDown();
+            step.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            backfiller.shutdownNow();
+        }
+    }
+
+    @Test
+    void averagesUniqueUsersAndAttemptsToSolveAreMaintainedIncrementally() {
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        HyperLogLog persistedAttempts = new HyperLogLog();
+        persistedAttempts.add("carol");
+        persistedAttempts.add("alice");
+        when(statsRepository.lockSketches(1L)).thenReturn(List.<Object[]>of(
+                new Object[] {persistedAttempts.toBytes(), null}));
+        aggregator.record(submission(1L, "alice", SubmissionVerdict.WRONG_ANSWER, null, null));
+        aggregator.record(submission(1L, "alice", SubmissionVerdict.WRONG_ANSWER, null, null));
+        Submission aliceSolves = submission(1L, "alice", SubmissionVerdict.ACCEPTED, 30, 3000);
+        aggregator.record(aliceSolves);
+        Submission bobSolves = submission(1L, "bob", SubmissionVerdict.ACCEPTED, 50, 5000);
+        aggregator.record(bobSolves);
+        // Resubmitted for a better runtime: not a first accept
+        Submission aliceAgain = submission(1L, "alice", SubmissionVerdict.ACCEPTED, 10, 1000);
+        aggregator.record(aliceAgain);
+        when(submissionRepository.findFirstAccepts(anyList())).thenReturn(List.of(
+                new Object[] {aliceSolves.getId(), 3L}, new Object[] {bobSolves.getId(), 1L}));
+
+        aggregator.flush();
+
+        // avg runtime 30 = (30 + 50 + 10) / 3 accepted; 4 attempts over 2 first solves
+        verify(statsRepository).upsertDelta(eq(1L), eq(5L), eq(3L), eq(10), eq(1000), any(), eq(90L), eq(3L),
+                eq(9000L), eq(3L), eq(4L), eq(2L), any());
+        // alice, bob and the already persisted carol
+        verify(statsRepository).updateSketches(eq(1L), any(), any(), eq(3L), eq(2L));
+
+        // Users known to have solved it are not looked up again
+        aggregator.record(submission(1L, "bob", SubmissionVerdict.ACCEPTED, 20, 2000));
+        aggregator.flush();
+        verify(submissionRepository, times(1)).findFirstAccepts(anyList());
+    }
+
+    @Test
+    void olderAcceptReconciledAfterANewerOneIsStillResolved() {
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        nextId.set(200);
+        aggregator.record(submission(1L, "alice", SubmissionVerdict.ACCEPTED, 30, 3000));
+        aggregator.flush();
+
+        // alice's first accept, 150, was on a node that died before flushing
+        Timestamp completed = Timestamp.valueOf(LocalDateTime.now().minusMinutes(5));
+        when(submissionRepository.lockStatsUnapplied(any(), eq(500))).thenReturn(List.<Object[]>of(
+                new Object[] {150L, 1L, "ACCEPTED", 40, 4000, completed, "alice", "java"}));
+        when(submissionRepository.findFirstAccepts(List.of(150L))).thenReturn(List.<Object[]>of(
+                new Object[] {150L, 2L}));
+        aggregator.reconcile();
+
+        verify(submissionRepository).findFirstAccepts(List.of(150L));
+        verify(statsRepository).upsertDelta(eq(1L), eq(1L), eq(1L), eq(40), eq(4000), any(), eq(40L), eq(1L),
+                eq(4000L), eq(1L), eq(2L), eq(1L), any());
+
+        // Accepts after the earliest one known still skip the lookup
+        aggregator.record(submission(1L, "alice", SubmissionVerdict.ACCEPTED, 20, 2000));
+        aggregator.flush();
+        verify(submissionRepository, times(2)).findFirstAccepts(anyList());
+    }
+
+    @Test
+    void acceptedDistributionsAreMergedPerLanguageAndPublished() {
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        LogLinearHistogram persistedRuntime = new LogLinearHistogram();
+        for (int runtime = 1; runtime <= 100; runtime++) {
+            persistedRuntime.record(runtime);
+        }
+        when(statsRepository.lockDistribution(1L, "java")).thenReturn(List.<Object[]>of(
+                new Object[] {persistedRuntime.toBytes(), null}));
+        aggregator.record(submission(1L, "alice", "java", SubmissionVerdict.ACCEPTED, 10, 4000));
+        aggregator.record(submission(1L, "bob", "python", SubmissionVerdict.ACCEPTED, 90, 9000));
+        aggregator.record(submission(1L, "carol", "java", SubmissionVerdict.WRONG_ANSWER, 5, 1000));
+
+        aggregator.flush();
+
+        // 100 persisted + 1 flushed java runtimes; the wrong answer isn't a sample
+        verify(statsRepository).upsertDistribution(eq(1L), eq("java"), eq(101L),
+                argThat(bytes -> LogLinearHistogram.fromBytes(bytes).total() == 101), any(), any());
+        verify(statsRepository).upsertDistribution(eq(1L), eq("python"), eq(1L), any(), any(), any());
+        // Published: lookups don't read the table
+        assertEquals(90.1, distributions.beats(1L, "java", 10, null).runtimePercent());
+        assertEquals(50.0, distributions.beats(1L, "python", null, 9000).memoryPercent());
+        verify(statsRepository, never()).findDistribution(anyLong(), anyString());
+    }
+
+    @Test
+    void flushTakesLocksInOneGlobalOrder() {
+        List<Long> lockedIds = new ArrayList<>();
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> {
+            lockedIds.addAll(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        List<String> writes = new ArrayList<>();
+        doAnswer(inv -> {
+            writes.add("q" + inv.getArgument(0));
+            return 1;
+        }).when(statsRepository).upsertDelta(anyLong(),
+                anyLong(), anyLong(), any(), any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), any());
+        doAnswer(inv -> {
+            writes.add("q" + inv.getArgument(0) + "/" + inv.getArgument(1));
+            return 1;
+        }).when(statsRepository).upsertDistribution(anyLong(), anyString(), anyLong(), any(), any(), any());
+        // Questions and languages arrive out of order; submission ids ascend with arrival
+        long[] questions = {4096, 3, 70_000, 17, 1024, 3};
+        String[] languages = {"python", "java", "cpp"};
+        for (int i = 0; i < questions.length; i++) {
+            for (String language : languages) {
+                aggregator.record(submission(questions[i], "user-" + i, language, SubmissionVerdict.ACCEPTED, 10,
+                        1000));
+            }
+        }
+
+        aggregator.flush();
+
+        List<Long> sortedIds = new ArrayList<>(lockedIds);
+        sortedIds.sort(null);
+        assertEquals(sortedIds, lockedIds);
+        List<String> expected = new ArrayList<>();
+        for (long question : new long[] {3, 17, 1024, 4096, 70_000}) {
+            expected.add("q" + question);
+            for (String language : List.of("cpp", "java", "python")) {
+                expected.add("q" + question + "/" + language);
+            }
+        }
+        assertEquals(expected, writes);
+    }
+
+    @Test
+    void hotQuestionIsOneRowWritePerFlushWithNoLostVerdicts() throws Exception {
+        int submissions = 200_000;
+        AtomicLong upserted = new AtomicLong();
+        AtomicLong rowWrites = new AtomicLong();
+        AtomicLong flushes = new AtomicLong();
+        when(submissionRepository.lockStatsPending(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(statsRepository.upsertDelta(anyLong(), anyLong(), anyLong(), any(), any(), any(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenAnswer(inv -> {
+                    rowWrites.incrementAndGet();
+                    upserted.addAndGet(inv.getArgument(1));
+                    return 1;
+                });
+        doAnswer(inv -> {
+            flushes.incrementAndGet();
+            return 1;
+        }).when(submissionRepository).markStatsApplied(anyList());
+
+        // Verdicts from every thread while a flush thread keeps taking deltas
+        AtomicBoolean flushing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (flushing.get()) {
+                aggregator.flush();
+            }
+        });
+        flusher.start();
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(workers.submit(() -> {
+                    for (int i = 0; i < submissions / THREADS; i++) {
+                        aggregator.record(submission(1L, SubmissionVerdict.ACCEPTED, 42, 4000));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            flushing.set(false);
+            flusher.join();
+            workers.shutdown();
+        }
+        aggregator.flush();
+
+        assertEquals(submissions, upserted.get(), "verdicts counted");
+        assertEquals(flushes.get(), rowWrites.get(), "row writes per flush");
+        assertTrue(flushes.get() > 1, "flushed while verdicts were recorded");
+        assertEquals((double) submissions, registry.get("question.statistics.flushed").counter().count());
+        assertEquals(0.0, registry.get("question.statistics.pending").gauge().value());
+    }
+
+    private Submission submission(long questionId, SubmissionVerdict verdict, Integer runtimeMs,
+            Integer memoryKb) {
+        return submission(questionId, "user-" + nextId.get(), verdict, runtimeMs, memoryKb);
+    }
+
+    private Submission submission(long questionId, String userId, SubmissionVerdict verdict, Integer runtimeMs,
+            Integer memoryKb) {
+        return submission(questionId, userId, "java", verdict, runtimeMs, memoryKb);
+    }
+
+    private Submission submission(long questionId, String userId, String language, SubmissionVerdict verdict,
+            Integer runtimeMs, Integer memoryKb) {
+        return Submission.builder()
+                .id(nextId.getAndIncrement())
+                .userId(userId)
+                .language(language)
+                .questionId(questionId)
+                .verdict(verdict)
+                .runtimeMs(runtimeMs)
+                .memoryKb(memoryKb)
+                .completedAt(LocalDateTime.now())
+                .build();
+    }
+}
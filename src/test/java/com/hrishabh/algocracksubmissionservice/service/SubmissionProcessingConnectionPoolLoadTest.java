@@ -0,0 +1,250 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionVerdict;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Connection-pool occupancy under a burst of concurrent submissions, with
+ * the previous single transaction around processing ("before") and with the
+ * current short per-step transactions ("after").
+ *
+ * The transaction manager models a JDBC pool the way JpaTransactionManager
+ * uses one: a connection is taken when a transaction begins and returned
+ * when it completes; nested REQUIRED transactions join. CXE holds every
+ * caller until as many submissions as can get there are waiting on it; then
+ * the pool is counted, and a probe transaction, standing in for the read
+ * endpoints, asks for a connection.
+ */
+class SubmissionProcessingConnectionPoolLoadTest {
+
+    private static final int POOL_SIZE = 10;
+    private static final int SUBMISSIONS = 40;
+    private static final int TESTCASES = 2;
+
+    private final ProcessingTestFixture fixture = new ProcessingTestFixture();
+    private final Map<String, Submission> rows = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void close() {
+        fixture.close();
+    }
+
+    @Test
+    void transactionAroundProcessingHoldsThePoolThroughCxe() throws Exception {
+        Burst before = runBurst(true);
+
+        assertEquals(POOL_SIZE, before.inUseDuringCxe(), "every connection held by a submission waiting on CXE");
+        assertEquals(2 * SUBMISSIONS, before.remoteCallsHoldingConnection());
+        assertTrue(before.probeWaited(), "readers queue behind submissions");
+    }
+
+    @Test
+    void shortTransactionsKeepThePoolFreeDuringRemoteCalls() throws Exception {
+        Burst after = runBurst(false);
+
+        assertEquals(0, after.inUseDuringCxe(), "connections held while all submissions wait on CXE");
+        assertEquals(0, after.remoteCallsHoldingConnection());
+        assertFalse(after.probeWaited(), "probe waited for a connection");
+        assertTrue(rows.values().stream().allMatch(s -> s.getVerdict() == SubmissionVerdict.ACCEPTED));
+    }
+
+    /**
+     * Run SUBMISSIONS concurrently. User code blocks in CXE until the
+     * submissions that can reach it have (all of them, or with a transaction
+     * around processing one per connection), then the pool is counted and
+     * probed before CXE is let go.
+     */
+    private Burst runBurst(boolean singleTransaction) throws Exception {
+        PoolModel pool = new PoolModel(POOL_SIZE);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(pool);
+        AtomicInteger holdingConnection = new AtomicInteger();
+        Semaphore inCxe = new Semaphore(0);
+        CountDownLatch release = new CountDownLatch(1);
+        SubmissionProcessingService service = fixture.service()
+                .executionAdapter(ProcessingTestFixture.cxe(bundle -> {
+                    if (TransactionSynchronizationManager.hasResource(pool)) {
+                        holdingConnection.incrementAndGet();
+                    }
+                    inCxe.release();
+                    await(release);
+                    return ProcessingTestFixture.result(TESTCASES, "[0,1]");
+                }))
+                .oracleExecutionService(ProcessingTestFixture.oracle(() -> {
+                    if (TransactionSynchronizationManager.hasResource(pool)) {
+                        holdingConnection.incrementAndGet();
+                    }
+                    return ProcessingTestFixture.result(TESTCASES, "[0,1]");
+                }))
+                .submissionRepository(repository())
+                .transactionTemplate(transactionTemplate)
+                .problemServiceClient(ProcessingTestFixture.problemService(TESTCASES, () -> {
+                }))
+                .build();
+
+        ExecutorService workers = Executors.newFixedThreadPool(SUBMISSIONS);
+        Thread probe = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+        }));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                String submissionId = "s" + i;
+                rows.put(submissionId, ProcessingTestFixture.submission(submissionId, 1L));
+                futures.add(workers.submit(() -> {
+                    if (singleTransaction) {
+                        // What @Transactional on processSubmission did
+                        transactionTemplate.executeWithoutResult(
+                                status -> service.processSubmission(submissionId, "node-a"));
+                    } else {
+                        service.processSubmission(submissionId, "node-a");
+                    }
+                }));
+            }
+            int waitingOnCxe = singleTransaction ? POOL_SIZE : SUBMISSIONS;
+            assertTrue(inCxe.tryAcquire(waitingOnCxe, 30, TimeUnit.SECONDS), "submissions reached CXE");
+            int inUse = pool.inUse();
+
+            probe.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (probe.isAlive() && !pool.waited(probe) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            boolean probeWaited = pool.waited(probe);
+
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            probe.join(TimeUnit.SECONDS.toMillis(30));
+            return new Burst(inUse, holdingConnection.get(), probeWaited);
+        } finally {
+            release.countDown();
+            workers.shutdownNow();
+        }
+    }
+
+    private SubmissionRepository repository() {
+        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        when(submissionRepository.findBySubmissionId(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(rows.get((String) inv.getArgument(0))));
+        when(submissionRepository.completeInFlight(anyString(), anyString(), anyString(), any(), any(), any(), any(),
+                any(), any(), any())).thenReturn(1);
+        return submissionRepository;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Connections in use while CXE held its callers, CXE and oracle calls
+     * made while holding a connection, and whether the probe had to wait.
+     */
+    private record Burst(int inUseDuringCxe, int remoteCallsHoldingConnection, boolean probeWaited) {
+    }
+
+    /**
+     * Transaction manager over a modelled connection pool: begin takes a
+     * connection (waiting like Hikari's connectionTimeout), completion
+     * returns it. Records the threads that found no connection free.
+     */
+    private static final class PoolModel extends AbstractPlatformTransactionManager {
+
+        private final Semaphore connections;
+        private final Set<Thread> waited = ConcurrentHashMap.newKeySet();
+        private int inUse;
+
+        PoolModel(int size) {
+            this.connections = new Semaphore(size, true);
+        }
+
+        synchronized int inUse() {
+            return inUse;
+        }
+
+        boolean waited(Thread thread) {
+            return waited.contains(thread);
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Connection[] {(Connection) TransactionSynchronizationManager.getResource(this)};
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Connection[]) transaction)[0] != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            try {
+                if (!connections.tryAcquire()) {
+                    waited.add(Thread.currentThread());
+                    if (!connections.tryAcquire(30, TimeUnit.SECONDS)) {
+                        throw new CannotCreateTransactionException("Connection is not available, request timed out");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("Interrupted waiting for a connection");
+            }
+            synchronized (this) {
+                inUse++;
+            }
+            Connection connection = new Connection();
+            ((Connection[]) transaction)[0] = connection;
+            TransactionSynchronizationManager.bindResource(this, connection);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            TransactionSynchronizationManager.unbindResource(this);
+            synchronized (this) {
+                inUse--;
+            }
+            connections.release();
+        }
+
+        private record Connection() {
+        }
+    }
+}
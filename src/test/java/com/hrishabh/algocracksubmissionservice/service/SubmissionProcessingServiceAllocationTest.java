@@ -0,0 +1,46 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.AllocationBudget;
+import com.hrishabh.algocracksubmissionservice.dto.internal.TestCaseOutput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation budget for serializing a submission's testResults JSON, for a
+ * 100-testcase submission. The budget is roughly twice the measured figure;
+ * re-measure from the failure report when a change legitimately moves it.
+ */
+class SubmissionProcessingServiceAllocationTest {
+
+    private static final int TESTCASES = 100;
+
+    private final ProcessingTestFixture fixture = new ProcessingTestFixture();
+    private final SubmissionProcessingService service = fixture.service().build();
+
+    @AfterEach
+    void close() {
+        fixture.close();
+    }
+
+    @Test
+    void buildTestResultsJsonStaysWithinBudget() {
+        List<TestCaseOutput> outputs = new ArrayList<>(TESTCASES);
+        for (int i = 0; i < TESTCASES; i++) {
+            outputs.add(TestCaseOutput.builder()
+                    .index(i)
+                    .output("[" + i + "," + (i + 1) + "," + (i + 2) + "]")
+                    .executionTimeMs(3L)
+                    .build());
+        }
+        assertTrue(service.buildTestResultsJson(outputs, -1).startsWith("[{"));
+
+        AllocationBudget budget = new AllocationBudget("testResults JSON, " + TESTCASES + " testcases");
+        budget.measure("buildTestResultsJson", 80_000, () -> service.buildTestResultsJson(outputs, -1));
+        budget.assertWithinBudgets();
+    }
+}
@@ -0,0 +1,123 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.adapter.ExecutionAdapter;
+import com.hrishabh.algocracksubmissionservice.client.ProblemServiceClient;
+import com.hrishabh.algocracksubmissionservice.dto.internal.BatchExecutionResult;
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Final writes are compare-and-sets on the processing node's claim: a node
+ * whose claim was lost (lease expired, requeued, re-claimed elsewhere)
+ * records, counts and pushes nothing. Each submission's live status is
+ * released as soon as its own final write commits.
+ */
+class SubmissionProcessingServiceTest {
+
+    private static final String NODE = "node-a";
+
+    private final ProcessingTestFixture fixture = new ProcessingTestFixture();
+    private final SubmissionRepository repository = mock(SubmissionRepository.class);
+    private final ProblemServiceClient problemService = ProcessingTestFixture.problemService(1, () -> {
+    });
+    private final ExecutionAdapter cxe = ProcessingTestFixture.cxe(bundle -> result());
+    private final OracleExecutionService oracle = ProcessingTestFixture.oracle(() -> result());
+    private final QuestionStatisticsAggregator statistics = mock(QuestionStatisticsAggregator.class);
+    private final WebSocketService webSocket = mock(WebSocketService.class);
+    private final LiveStatusRegistry live = new LiveStatusRegistry(new SimpleMeterRegistry());
+    private SubmissionProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findBySubmissionId("s1")).thenReturn(Optional.of(ProcessingTestFixture.submission("s1", 1L)));
+        when(repository.findBySubmissionId("s2")).thenReturn(Optional.of(ProcessingTestFixture.submission("s2", 1L)));
+        service = fixture.service()
+                .executionAdapter(cxe)
+                .submissionRepository(repository)
+                .problemServiceClient(problemService)
+                .oracleExecutionService(oracle)
+                .statisticsAggregator(statistics)
+                .webSocketService(webSocket)
+                .liveStatusRegistry(live)
+                .build();
+    }
+
+    @AfterEach
+    void close() {
+        fixture.close();
+    }
+
+    @Test
+    void verdictIsCountedAndPushedWhileTheClaimIsHeld() {
+        when(repository.completeInFlight(anyString(), anyString(), anyString(), any(), any(), any(), any(), any(),
+                any(), any())).thenReturn(1);
+
+        service.processSubmission("s1", NODE);
+
+        verify(repository).completeInFlight(eq("s1"), eq(NODE), eq("ACCEPTED"), any(), any(), any(), any(), any(),
+                any(), any());
+        verify(statistics).record(any(Submission.class));
+        verify(webSocket).sendResult(any(Submission.class));
+    }
+
+    @Test
+    void lostClaimSkipsStatisticsAndThePush() {
+        when(repository.completeInFlight(anyString(), anyString(), anyString(), any(), any(), any(), any(), any(),
+                any(), any())).thenReturn(0);
+
+        service.processSubmission("s1", NODE);
+
+        verify(statistics, never()).record(any());
+        verify(webSocket, never()).sendResult(any());
+    }
+
+    @Test
+    void lostClaimSkipsTheFailurePush() {
+        when(problemService.getMetadata(anyLong(), anyString())).thenReturn(null);
+        when(repository.failInFlight(anyString(), anyString(), any(), any())).thenReturn(0);
+
+        service.processSubmission("s1", NODE);
+
+        verify(repository).failInFlight(eq("s1"), eq(NODE), any(), any());
+        verify(webSocket, never()).sendError(any(), any());
+    }
+
+    @Test
+    void groupMemberIsReleasedRightAfterItsOwnVerdict() {
+        when(repository.completeInFlight(anyString(), anyString(), anyString(), any(), any(), any(), any(), any(),
+                any(), any())).thenReturn(1);
+        BatchExecutionResult compilationError = BatchExecutionResult.builder()
+                .status(BatchExecutionResult.ExecutionStatus.COMPILATION_ERROR)
+                .compilationOutput("error: ';' expected")
+                .build();
+        when(cxe.executeAll(anyList())).thenReturn(List.of(compilationError, result()));
+        List<Boolean> trackedDuringOracle = new ArrayList<>();
+        when(oracle.executeOracle(anyLong(), anyList())).thenAnswer(inv -> {
+            // s1 is final; s2 is still being judged
+            trackedDuringOracle.add(live.find("s1").isPresent());
+            trackedDuringOracle.add(live.find("s2").isPresent());
+            return result();
+        });
+
+        service.processGroup(List.of("s1", "s2"), NODE);
+
+        assertEquals(List.of(false, true), trackedDuringOracle);
+        assertEquals(0, live.size());
+    }
+
+    private static BatchExecutionResult result() {
+        return ProcessingTestFixture.result(1, "[0,1]");
+    }
+}
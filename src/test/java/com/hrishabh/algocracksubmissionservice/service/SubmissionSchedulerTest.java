@@ -0,0 +1,139 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.Candidate;
+import com.hrishabh.algocracksubmissionservice.service.SubmissionScheduler.TrafficClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fair-share ordering: one user's burst doesn't starve others, expensive
+ * questions cost their user proportionally more turns, contest traffic gets
+ * its weighted share without starving practice, and waiting ages a
+ * submission past everything the fair share would otherwise put first.
+ */
+class SubmissionSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final long CHEAP_QUESTION = 1L;
+    private static final long EXPENSIVE_QUESTION = 2L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SubmissionCostModel costModel = new SubmissionCostModel(100, 0.2, 100);
+    private long nextId;
+
+    @Test
+    void burstFromOneUserDoesNotDelayOthers() {
+        SubmissionScheduler scheduler = scheduler(0.0);
+        List<Candidate> backlog = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            backlog.add(candidate("spammer", CHEAP_QUESTION, TrafficClass.PRACTICE, 60 - i));
+        }
+        backlog.add(candidate("alice", CHEAP_QUESTION, TrafficClass.PRACTICE, 5));
+        backlog.add(candidate("bob", CHEAP_QUESTION, TrafficClass.PRACTICE, 1));
+
+        List<String> order = users(dispatchAll(scheduler, backlog, 3));
+
+        assertEquals(List.of("spammer", "alice", "bob"), order);
+    }
+
+    @Test
+    void expensiveQuestionsCostTheirUserMoreTurns() {
+        costModel.record(EXPENSIVE_QUESTION, 500, 5_000L);
+        costModel.record(CHEAP_QUESTION, 10, 100L);
+        assertEquals(5_000, costModel.estimateMillis(EXPENSIVE_QUESTION), 1e-9);
+        assertEquals(100, costModel.estimateMillis(CHEAP_QUESTION), 1e-9);
+
+        SubmissionScheduler scheduler = scheduler(0.0);
+        List<Candidate> backlog = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            backlog.add(candidate("heavy", EXPENSIVE_QUESTION, TrafficClass.PRACTICE, 100 - i));
+            backlog.add(candidate("light", CHEAP_QUESTION, TrafficClass.PRACTICE, 100 - i));
+        }
+
+        List<String> order = users(dispatchAll(scheduler, backlog, 40));
+
+        // One heavy submission buys the light user ~50 turns
+        assertTrue(order.stream().filter("heavy"::equals).count() <= 2, order.toString());
+    }
+
+    @Test
+    void contestGetsItsWeightedShareAndPracticeIsNotStarved() {
+        SubmissionScheduler scheduler = scheduler(0.0);
+        List<Candidate> backlog = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            backlog.add(candidate("contestant" + i, CHEAP_QUESTION, TrafficClass.CONTEST, 10));
+            backlog.add(candidate("learner" + i, CHEAP_QUESTION, TrafficClass.PRACTICE, 10));
+        }
+
+        List<Candidate> dispatched = dispatchAll(scheduler, backlog, 100);
+
+        long contest = dispatched.stream().filter(c -> c.trafficClass() == TrafficClass.CONTEST).count();
+        assertEquals(80, contest, 1);
+    }
+
+    @Test
+    void agingLiftsALongWaitingSubmissionAheadOfItsFairShare() {
+        SubmissionScheduler scheduler = scheduler(1.0);
+        // The heavy user has used ~50s of virtual time; their next submission
+        // has waited 60s, newer light submissions only 1s
+        costModel.record(EXPENSIVE_QUESTION, 500, 50_000L);
+        scheduler.dispatched(candidate("heavy", EXPENSIVE_QUESTION, TrafficClass.PRACTICE, 61), NOW);
+        List<Candidate> backlog = new ArrayList<>();
+        backlog.add(candidate("heavy", CHEAP_QUESTION, TrafficClass.PRACTICE, 60));
+        for (int i = 0; i < 5; i++) {
+            backlog.add(candidate("light" + i, CHEAP_QUESTION, TrafficClass.PRACTICE, 1));
+        }
+
+        assertEquals("heavy", scheduler.select(backlog, 1, NOW).get(0).userId());
+    }
+
+    @Test
+    void selectDoesNotChargeUntilDispatched() {
+        SubmissionScheduler scheduler = scheduler(0.0);
+        List<Candidate> backlog = List.of(
+                candidate("alice", CHEAP_QUESTION, TrafficClass.PRACTICE, 3),
+                candidate("alice", CHEAP_QUESTION, TrafficClass.PRACTICE, 2),
+                candidate("bob", CHEAP_QUESTION, TrafficClass.PRACTICE, 1));
+
+        assertEquals(List.of("alice", "bob"), users(scheduler.select(backlog, 2, NOW)));
+        assertEquals(List.of("alice", "bob"), users(scheduler.select(backlog, 2, NOW)));
+
+        scheduler.dispatched(backlog.get(0), NOW);
+        assertEquals(List.of("bob", "alice"), users(scheduler.select(backlog.subList(1, 3), 2, NOW)));
+        assertEquals(1, registry.get("submission.scheduler.wait").tag("class", "practice").timer().count());
+    }
+
+    private SubmissionScheduler scheduler(double agingRate) {
+        return new SubmissionScheduler(costModel, registry, 256, 4, 4, 1, agingRate, 10_000);
+    }
+
+    /**
+     * Dispatch n submissions one claim at a time, as a saturated queue would.
+     */
+    private static List<Candidate> dispatchAll(SubmissionScheduler scheduler, List<Candidate> backlog, int n) {
+        List<Candidate> remaining = new ArrayList<>(backlog);
+        List<Candidate> dispatched = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Candidate next = scheduler.select(remaining, 1, NOW).get(0);
+            scheduler.dispatched(next, NOW);
+            remaining.remove(next);
+            dispatched.add(next);
+        }
+        return dispatched;
+    }
+
+    private static List<String> users(List<Candidate> candidates) {
+        return candidates.stream().map(Candidate::userId).toList();
+    }
+
+    private Candidate candidate(String userId, long questionId, TrafficClass trafficClass, int waitedSeconds) {
+        long id = nextId++;
+        return new Candidate(id, "s" + id, userId, questionId, "java", trafficClass, NOW.minusSeconds(waitedSeconds));
+    }
+}
@@ -0,0 +1,109 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.models.Submission;
+import com.hrishabh.algocracksubmissionservice.models.SubmissionStatus;
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * What the verdict write binds for one judged submission (100 testcases,
+ * 4 KB of code): the parameters captured from the completeInFlight call,
+ * against the columns a full-entity merge would have rewritten unchanged.
+ *
+ * Bound parameters are what the driver sends; the row images MySQL writes
+ * to the binlog shrink with them only under binlog_row_image=MINIMAL.
+ */
+class SubmissionVerdictColumnBytesTest {
+
+    private static final int TESTCASES = 100;
+    private static final int CODE_BYTES = 4096;
+
+    private final ProcessingTestFixture fixture = new ProcessingTestFixture();
+
+    @AfterEach
+    void close() {
+        fixture.close();
+    }
+
+    @Test
+    void verdictBindsOnlyTheColumnsItChanges() {
+        Submission submission = submission();
+        List<Object> unchanged = List.of(submission.getCode(), submission.getUserAgent(), submission.getIpAddress(),
+                submission.getDifficultyLevel(), submission.getUserId(), submission.getQueuedAt(),
+                submission.getStartedAt(), submission.getCreatedAt());
+        AtomicReference<Object[]> bound = new AtomicReference<>();
+        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        when(submissionRepository.findBySubmissionId("s1")).thenReturn(Optional.of(submission));
+        when(submissionRepository.completeInFlight(anyString(), anyString(), anyString(), any(), any(), any(), any(),
+                any(), any(), any())).thenAnswer(inv -> {
+                    bound.set(inv.getArguments());
+                    return 1;
+                });
+
+        fixture.service()
+                .executionAdapter(ProcessingTestFixture.cxe(bundle -> ProcessingTestFixture.result(TESTCASES, "[0,1]")))
+                .oracleExecutionService(ProcessingTestFixture.oracle(() -> ProcessingTestFixture.result(TESTCASES,
+                        "[0,1]")))
+                .problemServiceClient(ProcessingTestFixture.problemService(TESTCASES, () -> {
+                }))
+                .submissionRepository(submissionRepository)
+                .build()
+                .processSubmission("s1", "node-a");
+
+        assertEquals(SubmissionStatus.COMPLETED, submission.getStatus());
+        assertNotNull(bound.get(), "verdict written through completeInFlight");
+        verify(submissionRepository, never()).save(any(Submission.class));
+        long boundBytes = 0;
+        for (Object value : bound.get()) {
+            for (Object column : unchanged) {
+                assertNotSame(column, value, "verdict write binds an unchanged column");
+            }
+            boundBytes += bytes(value);
+        }
+        // test_results dominates: the code never goes back over the wire
+        long testResultsBytes = bytes(submission.getTestResults());
+        assertTrue(boundBytes - testResultsBytes < 256,
+                "bound " + boundBytes + " B, of which test_results " + testResultsBytes + " B");
+    }
+
+    /**
+     * Payload bytes of a bound parameter as the driver sends it.
+     */
+    private static long bytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Integer) {
+            return 4;
+        }
+        if (value instanceof Long || value instanceof LocalDateTime) {
+            return 8;
+        }
+        return value.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static Submission submission() {
+        LocalDateTime now = LocalDateTime.now();
+        Submission submission = ProcessingTestFixture.submission("s1", 1L);
+        submission.setId(1L);
+        submission.setCode("/" + "*".repeat(CODE_BYTES - 2) + "/");
+        submission.setIpAddress("203.0.113.7");
+        submission.setUserAgent(
+                "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0 Safari/537.36");
+        submission.setCreatedAt(now);
+        submission.setUpdatedAt(now);
+        submission.setDifficultyLevel("EASY");
+        return submission;
+    }
+}
@@ -0,0 +1,225 @@
+package com.hrishabh.algocracksubmissionservice.service;
+
+import com.hrishabh.algocracksubmissionservice.repository.SubmissionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Work queue claiming and recovery against a mocked repository: claims are
+ * bounded by free capacity, picks another node locked first are skipped,
+ * rejected work goes straight back to QUEUED, claims to one question and
+ * language are dispatched as a group (after the affinity window), and
+ * orphans past their attempts are failed before the rest are requeued.
+ */
+class SubmissionWorkQueueTest {
+
+    private final SubmissionRepository repository = mock(SubmissionRepository.class);
+    private final SubmissionProcessingService processing = mock(SubmissionProcessingService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SubmissionWorkQueue queue;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Every pick is still QUEUED and unlocked unless a test says otherwise
+        when(repository.lockQueuedByIds(anyList())).thenAnswer(inv -> locked(inv.getArgument(0)));
+        queue = queue(0);
+    }
+
+    private SubmissionWorkQueue queue(long affinityWindowMillis) {
+        SubmissionScheduler scheduler = new SubmissionScheduler(new SubmissionCostModel(2000, 0.2, 100),
+                registry, 256, 4, 4, 1, 1.0, 10_000);
+        return new SubmissionWorkQueue(repository, processing, scheduler,
+                new QuestionAffinityBatcher(registry, true, affinityWindowMillis, 8), mock(JitWarmupService.class),
+                transactionManager, registry, true, "node-a", 4, 6, 500, 120, 15_000, 3, 1000);
+    }
+
+    @Test
+    void claimsUpToFreeCapacityAndTracksInFlightWork() {
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenAnswer(inv -> rows(4));
+        when(processing.processSubmission(anyString(), eq("node-a"))).thenAnswer(inv -> {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            running.add(future);
+            return future;
+        });
+
+        assertEquals(4, queue.claimAndDispatch());
+        assertEquals(2, queue.claimAndDispatch());
+        assertEquals(0, queue.claimAndDispatch());
+        verify(repository, times(2)).findQueuedCandidates(4, 256);
+        verify(repository).lockQueuedByIds(argThat(ids -> ids.size() == 4));
+        verify(repository).lockQueuedByIds(argThat(ids -> ids.size() == 2));
+        verify(repository, times(2)).markClaimed(anyList(), eq("node-a"), any(), any());
+        assertEquals(6, queue.inFlightCount());
+
+        running.get(0).complete(null);
+        running.get(1).completeExceptionally(new IllegalStateException("boom"));
+        assertEquals(4, queue.inFlightCount());
+        assertTrue(queue.serviceTimeMillis() >= 0);
+        assertEquals(6.0, registry.get("submission.queue.claimed").counter().count());
+    }
+
+    @Test
+    void picksLockedByAnotherNodeAreSkipped() {
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenAnswer(inv -> rows(3));
+        when(repository.lockQueuedByIds(anyList())).thenReturn(List.<Object[]>of(new Object[] {1L, "s1"}));
+        when(processing.processSubmission(anyString(), eq("node-a"))).thenReturn(new CompletableFuture<>());
+
+        assertEquals(1, queue.claimAndDispatch());
+        verify(repository).markClaimed(eq(List.of(1L)), eq("node-a"), any(), any());
+        verify(processing).processSubmission("s1", "node-a");
+        verify(processing, never()).processSubmission("s0", "node-a");
+        assertEquals(1.0, registry.get("submission.scheduler.wait").tag("class", "practice").timer().count());
+    }
+
+    @Test
+    void rejectedDispatchReleasesTheClaim() {
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenAnswer(inv -> rows(2));
+        when(processing.processSubmission("s0", "node-a")).thenReturn(new CompletableFuture<>());
+        when(processing.processSubmission("s1", "node-a")).thenThrow(new TaskRejectedException("full"));
+
+        assertEquals(1, queue.claimAndDispatch());
+        verify(repository).releaseClaim(eq("s1"), eq("node-a"), any());
+        verify(repository, never()).releaseClaim(eq("s0"), anyString(), any());
+        assertEquals(1, queue.inFlightCount());
+    }
+
+    @Test
+    void emptyQueueClaimsNothing() {
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, queue.claimAndDispatch());
+        verify(repository, never()).lockQueuedByIds(anyList());
+        verify(repository, never()).markClaimed(anyList(), anyString(), any(), any());
+    }
+
+    @Test
+    void recoveryFailsExhaustedOrphansBeforeRequeueingTheRest() {
+        when(repository.failExpired(any(), any(), eq(3), anyString())).thenReturn(1);
+        when(repository.requeueExpired(any(), any(), eq(3))).thenReturn(2);
+
+        queue.recoverOrphans();
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).failExpired(any(), any(), eq(3), eq("Processing abandoned after 3 attempts"));
+        order.verify(repository).requeueExpired(any(), any(), eq(3));
+        assertEquals(2.0, registry.get("submission.queue.recovered").tag("outcome", "requeued").counter().count());
+        assertEquals(1.0, registry.get("submission.queue.recovered").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void refreshesDepthPerClassAndActiveNodes() {
+        when(repository.countQueuedByClass()).thenReturn(List.of(new Object[] {1L, 3L}, new Object[] {0L, 4L}));
+        when(repository.countActiveNodes(any())).thenReturn(2L);
+
+        queue.refreshDepth();
+
+        assertEquals(7, queue.queueDepth());
+        assertEquals(2, queue.activeNodes());
+        assertEquals(3.0, registry.get("submission.scheduler.queue.depth").tag("class", "contest").gauge().value());
+        assertEquals(4.0, registry.get("submission.scheduler.queue.depth").tag("class", "practice").gauge().value());
+    }
+
+    @Test
+    void renewsOnlyHeldLeases() {
+        queue.renewLeases();
+        verify(repository, never()).renewLeases(anyList(), anyString(), any());
+
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenAnswer(inv -> rows(1));
+        when(processing.processSubmission(anyString(), eq("node-a"))).thenReturn(new CompletableFuture<>());
+        queue.claimAndDispatch();
+        queue.renewLeases();
+        verify(repository).renewLeases(eq(List.of("s0")), eq("node-a"), any());
+    }
+
+    @Test
+    void claimsForTheSameQuestionAndLanguageAreDispatchedAsOneGroup() {
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenAnswer(inv -> List.of(
+                row(7L, "java"), row(7L, "java"), row(7L, "python"), row(8L, "java")));
+        when(processing.processGroup(anyList(), eq("node-a"))).thenReturn(new CompletableFuture<>());
+        when(processing.processSubmission(anyString(), eq("node-a"))).thenReturn(new CompletableFuture<>());
+
+        assertEquals(4, queue.claimAndDispatch());
+
+        verify(processing).processGroup(List.of("s0", "s1"), "node-a");
+        verify(processing).processSubmission("s2", "node-a");
+        verify(processing).processSubmission("s3", "node-a");
+        assertEquals(4, queue.inFlightCount());
+    }
+
+    @Test
+    void groupIsHeldOpenForTheWindowThenDispatched() throws Exception {
+        SubmissionWorkQueue windowed = queue(50);
+        when(repository.findQueuedCandidates(anyInt(), anyInt()))
+                .thenAnswer(inv -> List.<Object[]>of(row(7L, "java")))
+                .thenAnswer(inv -> List.<Object[]>of(row(7L, "java")))
+                .thenReturn(List.of());
+        when(processing.processGroup(anyList(), eq("node-a"))).thenReturn(new CompletableFuture<>());
+
+        windowed.claimAndDispatch();
+        windowed.claimAndDispatch();
+        verifyNoInteractions(processing);
+        // Held claims are in flight: their leases are renewed
+        windowed.renewLeases();
+        verify(repository).renewLeases(argThat(ids -> ids.size() == 2), eq("node-a"), any());
+
+        Thread.sleep(60);
+        windowed.claimAndDispatch();
+        verify(processing).processGroup(List.of("s0", "s1"), "node-a");
+    }
+
+    @Test
+    void rejectedGroupReleasesEveryClaim() {
+        when(repository.findQueuedCandidates(anyInt(), anyInt())).thenAnswer(inv -> List.of(
+                row(7L, "java"), row(7L, "java")));
+        when(processing.processGroup(anyList(), eq("node-a"))).thenThrow(new TaskRejectedException("full"));
+
+        assertEquals(0, queue.claimAndDispatch());
+        verify(repository).releaseClaim(eq("s0"), eq("node-a"), any());
+        verify(repository).releaseClaim(eq("s1"), eq("node-a"), any());
+        assertEquals(0, queue.inFlightCount());
+    }
+
+    /**
+     * Candidate rows from distinct practice users, each on its own question,
+     * oldest first.
+     */
+    private List<Object[]> rows(int n) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            rows.add(row(7L + nextId, "java"));
+        }
+        return rows;
+    }
+
+    private Object[] row(long questionId, String language) {
+        long id = nextId++;
+        LocalDateTime queuedAt = LocalDateTime.now().minusSeconds(10);
+        return new Object[] {id, "s" + id, "user" + id, questionId, null, queuedAt.plusNanos(id * 1000), language};
+    }
+
+    private static List<Object[]> locked(List<Long> ids) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : ids) {
+            rows.add(new Object[] {id, "s" + id});
+        }
+        return rows;
+    }
+}
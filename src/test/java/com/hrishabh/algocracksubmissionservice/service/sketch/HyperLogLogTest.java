@@ -0,0 +1,60 @@
+package com.hrishabh.algocracksubmissionservice.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Estimates stay within a few standard errors (1.6%) from a handful of
+ * users to 100k, merging counts shared users once, and the persisted form
+ * round-trips every register.
+ */
+class HyperLogLogTest {
+
+    @Test
+    void estimatesDistinctUsers() {
+        for (int users : new int[] {1, 10, 1_000, 10_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < users; i++) {
+                sketch.add("user-" + i);
+                // Repeat submissions by the same user don't count
+                sketch.add("user-" + i);
+            }
+            double error = Math.abs(sketch.estimate() - users) / (double) users;
+            assertTrue(error < 0.05, users + " users estimated as " + sketch.estimate());
+        }
+    }
+
+    @Test
+    void mergeCountsSharedUsersOnce() {
+        HyperLogLog nodeA = new HyperLogLog();
+        HyperLogLog nodeB = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            nodeA.add("user-" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            nodeB.add("user-" + i);
+        }
+
+        nodeA.merge(nodeB);
+
+        assertEquals(50_000, nodeA.estimate(), 50_000 * 0.05);
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("user-" + i);
+        }
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog read = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(3073, bytes.length);
+        assertArrayEquals(bytes, read.toBytes());
+        assertEquals(sketch.estimate(), read.estimate());
+        assertTrue(HyperLogLog.fromBytes(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {14, 0}));
+    }
+}
@@ -0,0 +1,112 @@
+package com.hrishabh.algocracksubmissionservice.service.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * "Beats X%" from the histogram stays within a percentage point of the
+ * exact rank over a skewed runtime distribution, merging equals recording
+ * everything in one histogram, and the persisted form is small and
+ * round-trips. The cost of a lookup is measured by DistributionLookupBenchmark.
+ */
+class LogLinearHistogramTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void percentAboveTracksTheExactRank() {
+        long[] runtimes = runtimes(SAMPLES, 1);
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long runtime : runtimes) {
+            histogram.record(runtime);
+        }
+        LogLinearHistogram.Ranks ranks = histogram.ranks();
+        long[] sorted = runtimes.clone();
+        Arrays.sort(sorted);
+
+        for (long probe : new long[] {0, 3, 40, 63, 64, 100, 250, 1_000, 5_000, 60_000}) {
+            assertEquals(exactPercentAbove(sorted, probe), ranks.percentAbove(probe), 1.0, "runtime " + probe);
+        }
+        assertEquals(SAMPLES, ranks.total());
+        assertNull(LogLinearHistogram.Ranks.empty().percentAbove(10));
+    }
+
+    @Test
+    void bucketsAreContiguousAndBounded() {
+        assertEquals(0, LogLinearHistogram.bucket(-5));
+        assertEquals(63, LogLinearHistogram.bucket(63));
+        assertEquals(64, LogLinearHistogram.bucket(64));
+        assertEquals(96, LogLinearHistogram.bucket(128));
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucket(Integer.MAX_VALUE));
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucket(Long.MAX_VALUE));
+        int previous = 0;
+        for (long value = 0; value < 1 << 20; value++) {
+            int bucket = LogLinearHistogram.bucket(value);
+            assertTrue(bucket == previous || bucket == previous + 1, "value " + value);
+            previous = bucket;
+        }
+    }
+
+    @Test
+    void mergedHistogramsRoundTripCompactly() {
+        LogLinearHistogram nodeA = new LogLinearHistogram();
+        LogLinearHistogram nodeB = new LogLinearHistogram();
+        LogLinearHistogram all = new LogLinearHistogram();
+        long[] runtimes = runtimes(SAMPLES, 2);
+        for (int i = 0; i < runtimes.length; i++) {
+            (i % 3 == 0 ? nodeA : nodeB).record(runtimes[i]);
+            all.record(runtimes[i]);
+        }
+
+        nodeA.merge(LogLinearHistogram.fromBytes(nodeB.toBytes()));
+
+        byte[] bytes = nodeA.toBytes();
+        assertArrayEquals(all.toBytes(), bytes);
+        assertEquals(SAMPLES, LogLinearHistogram.fromBytes(bytes).total());
+        assertTrue(bytes.length < 2048, bytes.length + " bytes");
+        assertTrue(LogLinearHistogram.fromBytes(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> LogLinearHistogram.fromBytes(new byte[] {9}));
+        assertThrows(IllegalArgumentException.class, () -> LogLinearHistogram.fromBytes(new byte[] {1, (byte) 0x80}));
+    }
+
+    /**
+     * Log-normal runtimes around 40 ms with a long tail, as accepted
+     * submissions to one question look.
+     */
+    private static long[] runtimes(int count, long seed) {
+        Random random = new Random(seed);
+        long[] runtimes = new long[count];
+        for (int i = 0; i < count; i++) {
+            runtimes[i] = Math.round(Math.exp(Math.log(40) + random.nextGaussian()));
+        }
+        return runtimes;
+    }
+
+    /**
+     * Values above the probe plus half of those equal to it, like
+     * percentAbove with one-value buckets.
+     */
+    private static double exactPercentAbove(long[] sorted, long value) {
+        int firstAbove = upperBound(sorted, value);
+        int firstSame = upperBound(sorted, value - 1);
+        return (sorted.length - firstAbove + (firstAbove - firstSame) / 2.0) * 100.0 / sorted.length;
+    }
+
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}